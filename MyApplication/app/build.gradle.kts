@@ -34,6 +34,21 @@ android {
     }
 }
 
+// Offline catalog bundled with the app; tables match path_genie/catalog_tables.php
+val catalogSnapshot = tasks.register<CatalogSnapshotTask>("generateCatalogSnapshot") {
+    sqlDump.set(rootProject.file("../path_genie/sql/education_stream_advisor_app.sql"))
+    tables.set(listOf("education_levels", "streams", "stream_progression", "stream_exams",
+            "stream_jobs", "jobs", "entrance_exams", "education_level_exams",
+            "education_level_jobs"))
+    // outputDir is set by addGeneratedSourceDirectory below
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(catalogSnapshot, CatalogSnapshotTask::outputDir)
+    }
+}
+
 dependencies {
     implementation(libs.appcompat)
     implementation(libs.material)
@@ -50,4 +65,144 @@ dependencies {
     
     // Google Play Billing for subscriptions
     implementation("com.android.billingclient:billing:6.1.0")
-}
\ No newline at end of file
+}
+
+/**
+ * Writes assets/catalog_snapshot.json from the catalog tables of the SQL dump,
+ * in the same format as catalog.php, so a fresh install can browse streams,
+ * exams and jobs before its first sync (see CatalogSyncEngine).
+ *
+ * Only the listed tables are read; nothing else in the dump (users, forum,
+ * roadmaps) reaches the APK. The snapshot carries the change log revision the
+ * dump was taken at (0 if catalog_changes is empty), so the first sync is a
+ * delta from there. A dump without catalog_changes gives revision -1, and the
+ * first sync downloads the full catalog.
+ */
+abstract class CatalogSnapshotTask : DefaultTask() {
+
+    @get:InputFile
+    @get:PathSensitive(PathSensitivity.NONE)
+    abstract val sqlDump: RegularFileProperty
+
+    @get:Input
+    abstract val tables: ListProperty<String>
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        val sql = sqlDump.get().asFile.readText()
+        val rows = linkedMapOf<String, MutableList<List<Pair<String, String?>>>>()
+        // An empty change log means the rows are at revision 0
+        var revision = if (sql.contains("CREATE TABLE `catalog_changes`")) 0L else -1L
+
+        val insert = Regex("INSERT INTO `(\\w+)` \\(([^)]*)\\) VALUES")
+        for (match in insert.findAll(sql)) {
+            val table = match.groupValues[1]
+            if (table != "catalog_changes" && table !in tables.get()) {
+                continue
+            }
+            val columns = match.groupValues[2].split(",").map { it.trim().trim('`') }
+            var i = match.range.last + 1
+
+            // (v, v, ...), (v, v, ...);
+            while (true) {
+                while (sql[i] != '(' && sql[i] != ';') i++
+                if (sql[i] == ';') break
+                i++
+                val values = mutableListOf<String?>()
+                while (true) {
+                    while (sql[i].isWhitespace()) i++
+                    if (sql[i] == '\'') {
+                        val value = StringBuilder()
+                        i++
+                        while (true) {
+                            val c = sql[i]
+                            if (c == '\\') {
+                                value.append(when (val escaped = sql[i + 1]) {
+                                    'n' -> '\n'
+                                    'r' -> '\r'
+                                    't' -> '\t'
+                                    '0' -> '\u0000'
+                                    'Z' -> '\u001A'
+                                    else -> escaped
+                                })
+                                i += 2
+                            } else if (c == '\'' && sql[i + 1] == '\'') {
+                                value.append('\'')
+                                i += 2
+                            } else if (c == '\'') {
+                                i++
+                                break
+                            } else {
+                                value.append(c)
+                                i++
+                            }
+                        }
+                        values.add(value.toString())
+                    } else {
+                        val start = i
+                        while (sql[i] != ',' && sql[i] != ')') i++
+                        val token = sql.substring(start, i).trim()
+                        values.add(if (token.equals("NULL", ignoreCase = true)) null else token)
+                    }
+                    while (sql[i].isWhitespace()) i++
+                    if (sql[i++] == ')') break
+                }
+
+                if (table == "catalog_changes") {
+                    revision = maxOf(revision, values[columns.indexOf("revision")]!!.toLong())
+                } else {
+                    rows.getOrPut(table) { mutableListOf() }.add(columns.zip(values))
+                }
+            }
+        }
+
+        if (revision < 0) {
+            logger.warn("${sqlDump.get().asFile.name} has no catalog_changes table; " +
+                    "the first catalog sync will be a full download")
+        }
+
+        val missing = tables.get().filter { it !in rows }
+        if (missing.isNotEmpty()) {
+            throw GradleException("Catalog tables missing from ${sqlDump.get().asFile.name}: $missing")
+        }
+
+        val out = outputDir.get().file("catalog_snapshot.json").asFile
+        out.parentFile.mkdirs()
+        out.bufferedWriter().use { w ->
+            w.write("{\"version\":\"snapshot\",\"revision\":$revision,\"tables\":{")
+            tables.get().forEachIndexed { t, table ->
+                if (t > 0) w.write(",")
+                w.write("${json(table)}:[")
+                rows.getValue(table).forEachIndexed { r, row ->
+                    if (r > 0) w.write(",")
+                    w.write(row.joinToString(",", "{", "}") { (column, value) ->
+                        "${json(column)}:${json(value)}"
+                    })
+                }
+                w.write("]")
+            }
+            w.write("}}")
+        }
+        logger.info("Catalog snapshot: ${rows.values.sumOf { it.size }} rows, revision $revision")
+    }
+
+    private fun json(value: String?): String {
+        if (value == null) return "null"
+        val s = StringBuilder("\"")
+        for (c in value) {
+            when {
+                c == '"' -> s.append("\\\"")
+                c == '\\' -> s.append("\\\\")
+                c == '\n' -> s.append("\\n")
+                c == '\r' -> s.append("\\r")
+                c == '\t' -> s.append("\\t")
+                c < ' ' -> s.append(String.format("\\u%04x", c.code))
+                else -> s.append(c)
+            }
+        }
+        return s.append('"').toString()
+    }
+}
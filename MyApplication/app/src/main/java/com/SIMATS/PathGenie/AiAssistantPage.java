@@ -200,13 +200,8 @@ public class AiAssistantPage extends AppCompatActivity {
                     addBotMessage("I'm having trouble connecting right now. Please check your internet connection.");
                 });
 
-        // Set longer timeout for AI processing
-        request.setRetryPolicy(new com.android.volley.DefaultRetryPolicy(
-                30000,
-                com.android.volley.DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
-                com.android.volley.DefaultRetryPolicy.DEFAULT_BACKOFF_MULT));
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
+        // Long AI timeout comes from RetryPolicyRegistry (chatbot_local.php is a slow endpoint)
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void removeMessage(int index) {
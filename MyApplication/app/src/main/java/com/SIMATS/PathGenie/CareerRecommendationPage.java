@@ -1,7 +1,8 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
+import com.SIMATS.PathGenie.network.DetailBatcher;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.util.Log;
@@ -12,6 +13,7 @@ import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
@@ -19,17 +21,14 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * CareerRecommendationPage - Premium AI Recommendation Results
@@ -51,16 +50,10 @@ public class CareerRecommendationPage extends AppCompatActivity {
     private LinearLayout examsContainer;
     private LinearLayout jobsContainer;
 
-    private RequestQueue requestQueue;
-
     private List<RecommendationItem> streamItems = new ArrayList<>();
     private List<RecommendationItem> examItems = new ArrayList<>();
     private List<RecommendationItem> jobItems = new ArrayList<>();
 
-    private int pendingStreams = 0;
-    private int pendingExams = 0;
-    private int pendingJobs = 0;
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -73,18 +66,52 @@ public class CareerRecommendationPage extends AppCompatActivity {
             return insets;
         });
 
-        requestQueue = Volley.newRequestQueue(this);
-
         initViews();
         setupClickListeners();
 
-        String streamsJson = getIntent().getStringExtra("recommended_streams");
-        String examsJson = getIntent().getStringExtra("recommended_exams");
-        String jobsJson = getIntent().getStringExtra("recommended_jobs");
+        if (getIntent().hasExtra("risk_tolerance")) {
+            loadRecommendations();
+        } else {
+            String streamsJson = getIntent().getStringExtra("recommended_streams");
+            String examsJson = getIntent().getStringExtra("recommended_exams");
+            String jobsJson = getIntent().getStringExtra("recommended_jobs");
 
-        loadStreams(streamsJson);
-        loadExams(examsJson);
-        loadJobs(jobsJson);
+            loadStreams(streamsJson);
+            loadExams(examsJson);
+            loadJobs(jobsJson);
+        }
+    }
+
+    /**
+     * Results for the answers in the intent. RecommendationLoadingPage has
+     * just stored them, so this is a cache hit rather than another scoring run.
+     */
+    private void loadRecommendations() {
+        Intent intent = getIntent();
+        String interestArea = intent.getStringExtra("interest_area");
+        CatalogRepository.getInstance(this).getRecommendations(
+                intent.getIntExtra("education_level", 1),
+                interestArea != null ? interestArea : "Technology",
+                intent.getIntExtra("career_preference_private", 0),
+                intent.getIntExtra("difficulty_tolerance", 2),
+                intent.getIntExtra("risk_tolerance", 2), this,
+                response -> {
+                    loadStreams(jsonString(response.optJSONArray("recommended_streams")));
+                    loadExams(jsonString(response.optJSONArray("recommended_exams")));
+                    loadJobs(jsonString(response.optJSONArray("recommended_jobs")));
+                },
+                error -> {
+                    Log.e(TAG, "Recommendations failed", error);
+                    Toast.makeText(this, "Failed to get recommendations. Please try again.",
+                            Toast.LENGTH_LONG).show();
+                    loadStreams(null);
+                    loadExams(null);
+                    loadJobs(null);
+                });
+    }
+
+    private static String jsonString(JSONArray array) {
+        return array != null ? array.toString() : null;
     }
 
     private void initViews() {
@@ -124,48 +151,30 @@ public class CareerRecommendationPage extends AppCompatActivity {
             }
             Collections.sort(sortedList, (a, b) -> b.optInt("score", 0) - a.optInt("score", 0));
 
-            pendingStreams = sortedList.size();
+            List<Integer> ids = new ArrayList<>();
+            Map<Integer, Integer> scores = new HashMap<>();
             for (JSONObject obj : sortedList) {
                 int streamId = obj.getInt("stream_id");
-                int score = obj.getInt("score");
-                fetchStreamDetails(streamId, score);
+                ids.add(streamId);
+                scores.put(streamId, obj.getInt("score"));
             }
+
+            // All stream details in one batched request instead of one per stream
+            DetailBatcher.getInstance(this).fetch(this, DetailBatcher.TYPE_STREAM, ids, details -> {
+                for (Map.Entry<Integer, JSONObject> entry : details.entrySet()) {
+                    JSONObject data = entry.getValue();
+                    String name = data.optString("stream_name", "Unknown");
+                    String subjects = data.optString("subjects", "");
+                    streamItems.add(new RecommendationItem(name, subjects, null, scores.get(entry.getKey())));
+                }
+                displayStreams();
+            });
         } catch (Exception e) {
             Log.e(TAG, "Error parsing streams", e);
             addNoDataMessage(streamsContainer, "No streams recommended");
         }
     }
 
-    private void fetchStreamDetails(int streamId, int score) {
-        String url = ApiConfig.getBaseUrl() + "stream_details.php?stream_id=" + streamId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET, url, null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONObject data = response.getJSONObject("data");
-                            String name = data.optString("stream_name", "Unknown");
-                            String subjects = data.optString("subjects", "");
-                            streamItems.add(new RecommendationItem(name, subjects, null, score));
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing stream", e);
-                    } finally {
-                        pendingStreams--;
-                        if (pendingStreams <= 0)
-                            displayStreams();
-                    }
-                },
-                error -> {
-                    Log.e(TAG, "Error fetching stream", error);
-                    pendingStreams--;
-                    if (pendingStreams <= 0)
-                        displayStreams();
-                });
-        requestQueue.add(request);
-    }
-
     private void displayStreams() {
         Collections.sort(streamItems, (a, b) -> b.score - a.score);
         for (int i = 0; i < streamItems.size(); i++) {
@@ -197,47 +206,27 @@ public class CareerRecommendationPage extends AppCompatActivity {
             }
             Collections.sort(sortedList, (a, b) -> b.optInt("score", 0) - a.optInt("score", 0));
 
-            pendingExams = sortedList.size();
+            List<Integer> ids = new ArrayList<>();
+            Map<Integer, Integer> scores = new HashMap<>();
             for (JSONObject obj : sortedList) {
                 int examId = obj.getInt("exam_id");
-                int score = obj.getInt("score");
-                fetchExamDetails(examId, score);
+                ids.add(examId);
+                scores.put(examId, obj.getInt("score"));
             }
+
+            DetailBatcher.getInstance(this).fetch(this, DetailBatcher.TYPE_EXAM, ids, details -> {
+                for (Map.Entry<Integer, JSONObject> entry : details.entrySet()) {
+                    String name = entry.getValue().optString("exam_name", "Unknown");
+                    examItems.add(new RecommendationItem(name, null, null, scores.get(entry.getKey())));
+                }
+                displayExams();
+            });
         } catch (Exception e) {
             Log.e(TAG, "Error parsing exams", e);
             addNoDataMessage(examsContainer, "No exams recommended");
         }
     }
 
-    private void fetchExamDetails(int examId, int score) {
-        String url = ApiConfig.getBaseUrl() + "exam_details.php?exam_id=" + examId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET, url, null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONObject data = response.getJSONObject("data");
-                            String name = data.optString("exam_name", "Unknown");
-                            examItems.add(new RecommendationItem(name, null, null, score));
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing exam", e);
-                    } finally {
-                        pendingExams--;
-                        if (pendingExams <= 0)
-                            displayExams();
-                    }
-                },
-                error -> {
-                    Log.e(TAG, "Error fetching exam", error);
-                    pendingExams--;
-                    if (pendingExams <= 0)
-                        displayExams();
-                });
-        requestQueue.add(request);
-    }
-
     private void displayExams() {
         Collections.sort(examItems, (a, b) -> b.score - a.score);
         for (int i = 0; i < examItems.size(); i++) {
@@ -268,48 +257,29 @@ public class CareerRecommendationPage extends AppCompatActivity {
             }
             Collections.sort(sortedList, (a, b) -> b.optInt("score", 0) - a.optInt("score", 0));
 
-            pendingJobs = sortedList.size();
+            List<Integer> ids = new ArrayList<>();
+            Map<Integer, Integer> scores = new HashMap<>();
             for (JSONObject obj : sortedList) {
                 int jobId = obj.getInt("job_id");
-                int score = obj.getInt("score");
-                fetchJobDetails(jobId, score);
+                ids.add(jobId);
+                scores.put(jobId, obj.getInt("score"));
             }
+
+            DetailBatcher.getInstance(this).fetch(this, DetailBatcher.TYPE_JOB, ids, details -> {
+                for (Map.Entry<Integer, JSONObject> entry : details.entrySet()) {
+                    JSONObject data = entry.getValue();
+                    String name = data.optString("job_name", "Unknown");
+                    String type = data.optString("job_type", "Private");
+                    jobItems.add(new RecommendationItem(name, null, type, scores.get(entry.getKey())));
+                }
+                displayJobs();
+            });
         } catch (Exception e) {
             Log.e(TAG, "Error parsing jobs", e);
             addNoDataMessage(jobsContainer, "No jobs recommended");
         }
     }
 
-    private void fetchJobDetails(int jobId, int score) {
-        String url = ApiConfig.getBaseUrl() + "job_details.php?job_id=" + jobId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET, url, null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONObject data = response.getJSONObject("data");
-                            String name = data.optString("job_name", "Unknown");
-                            String type = data.optString("job_type", "Private");
-                            jobItems.add(new RecommendationItem(name, null, type, score));
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing job", e);
-                    } finally {
-                        pendingJobs--;
-                        if (pendingJobs <= 0)
-                            displayJobs();
-                    }
-                },
-                error -> {
-                    Log.e(TAG, "Error fetching job", error);
-                    pendingJobs--;
-                    if (pendingJobs <= 0)
-                        displayJobs();
-                });
-        requestQueue.add(request);
-    }
-
     private void displayJobs() {
         Collections.sort(jobItems, (a, b) -> b.score - a.score);
         for (int i = 0; i < jobItems.size(); i++) {
@@ -383,14 +353,6 @@ public class CareerRecommendationPage extends AppCompatActivity {
         container.addView(txt);
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
-
     private static class RecommendationItem {
         String name, subtitle, type;
         int score;
@@ -1,10 +1,11 @@
 package com.SIMATS.PathGenie;
 
 import android.app.DatePickerDialog;
+import android.content.ContentResolver;
 import android.content.Intent;
 import android.graphics.Bitmap;
+import android.net.Uri;
 import android.os.Bundle;
-import android.provider.MediaStore;
 import android.util.Log;
 import android.view.View;
 import android.widget.Button;
@@ -26,19 +27,18 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 import com.SIMATS.PathGenie.network.VolleyMultipartRequest;
+import com.SIMATS.PathGenie.utils.ImagePipeline;
 import com.SIMATS.PathGenie.utils.SessionManager;
-import com.android.volley.DefaultRetryPolicy;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.HttpHeaderParser;
-import com.android.volley.toolbox.ImageRequest;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONObject;
 
-import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Calendar;
 import java.util.HashMap;
@@ -62,6 +62,7 @@ public class EditProfilePage extends AppCompatActivity {
     private ImageView backButton;
     private TextView btnSave;
     private ProgressBar loadingProgress;
+    private ProgressBar uploadProgress;
     private ScrollView contentScrollView;
     private ImageView profileImage;
     private View btnCamera; // FrameLayout
@@ -111,7 +112,7 @@ public class EditProfilePage extends AppCompatActivity {
                 new ActivityResultContracts.TakePicturePreview(),
                 bitmap -> {
                     if (bitmap != null) {
-                        processImage(bitmap);
+                        processImage(bitmap, null);
                     }
                 });
 
@@ -119,28 +120,41 @@ public class EditProfilePage extends AppCompatActivity {
                 new ActivityResultContracts.GetContent(),
                 uri -> {
                     if (uri != null) {
-                        try {
-                            Bitmap bitmap = MediaStore.Images.Media.getBitmap(getContentResolver(), uri);
-                            processImage(bitmap);
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                            Toast.makeText(this, "Failed to load image", Toast.LENGTH_SHORT).show();
-                        }
+                        // Decoded off the main thread at avatar size, for the preview only;
+                        // the upload streams or re-encodes the picked image itself
+                        ImagePipeline.decodeUri(this, uri, ImagePipeline.AVATAR_SIZE,
+                                new ImagePipeline.Callback() {
+                                    @Override
+                                    public void onDecoded(Bitmap bitmap) {
+                                        processImage(bitmap, uri);
+                                    }
+
+                                    @Override
+                                    public void onError(Exception e) {
+                                        Toast.makeText(EditProfilePage.this, "Failed to load image",
+                                                Toast.LENGTH_SHORT).show();
+                                    }
+                                });
                     }
                 });
     }
 
-    private void processImage(Bitmap bitmap) {
+    /**
+     * @param source The picked image, or null to upload the bitmap itself
+     *               (camera preview)
+     */
+    private void processImage(Bitmap bitmap, Uri source) {
         // Show immediately locally
         profileImage.setImageBitmap(bitmap);
         // Upload
-        uploadProfileImage(bitmap);
+        uploadProfileImage(bitmap, source);
     }
 
     private void initViews() {
         backButton = findViewById(R.id.backButton);
         btnSave = findViewById(R.id.btnSave);
         loadingProgress = findViewById(R.id.loadingProgress);
+        uploadProgress = findViewById(R.id.uploadProgress);
         contentScrollView = findViewById(R.id.contentScrollView);
         profileImage = findViewById(R.id.profileImage);
         btnCamera = findViewById(R.id.btnCamera);
@@ -453,7 +467,7 @@ public class EditProfilePage extends AppCompatActivity {
             }
         };
 
-        Volley.newRequestQueue(this).add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void checkCameraPermissionAndLaunch() {
@@ -477,15 +491,20 @@ public class EditProfilePage extends AppCompatActivity {
         }
     }
 
-    private void uploadProfileImage(Bitmap bitmap) {
-        // Show loading but don't block user from editing other fields
-        // Or show a toast saying "Uploading..."
+    private void uploadProfileImage(Bitmap bitmap, Uri source) {
+        // Show progress but don't block user from editing other fields
         Toast.makeText(this, "Uploading profile picture...", Toast.LENGTH_SHORT).show();
+        uploadProgress.setIndeterminate(false);
+        uploadProgress.setProgress(0);
+        uploadProgress.setVisibility(View.VISIBLE);
 
         String url = ApiConfig.getBaseUrl() + "upload_profile_image.php";
+        File uploadFile = new File(getCacheDir(), "profile_upload_" + System.currentTimeMillis() + ".jpg");
+        ContentResolver resolver = getContentResolver();
 
         VolleyMultipartRequest multipartRequest = new VolleyMultipartRequest(Request.Method.POST, url,
                 response -> {
+                    uploadProgress.setVisibility(View.GONE);
                     try {
                         String jsonString = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
                         Log.d(TAG, "Upload Response: " + jsonString);
@@ -495,9 +514,14 @@ public class EditProfilePage extends AppCompatActivity {
 
                         if (status) {
                             Toast.makeText(this, "Profile picture updated", Toast.LENGTH_SHORT).show();
-                            // If we received a new URL, we could log it
+                            // Seed the avatar cache so other screens don't download it again
                             String imageUrl = jsonObject.optString("image_url");
                             Log.d(TAG, "New Image URL: " + imageUrl);
+                            if (!imageUrl.isEmpty()) {
+                                String fullUrl = imageUrl.startsWith("http") ? imageUrl
+                                        : ApiConfig.getBaseUrl() + imageUrl;
+                                ImagePipeline.cacheAvatar(this, fullUrl, bitmap);
+                            }
                         } else {
                             Toast.makeText(this, "Upload failed: " + message, Toast.LENGTH_LONG).show();
                         }
@@ -507,6 +531,7 @@ public class EditProfilePage extends AppCompatActivity {
                     }
                 },
                 error -> {
+                    uploadProgress.setVisibility(View.GONE);
                     error.printStackTrace();
                     String errorMsg = "Network Error";
                     if (error.networkResponse != null) {
@@ -521,28 +546,59 @@ public class EditProfilePage extends AppCompatActivity {
                 return params;
             }
 
+            // Prepared once, on the network thread
+            private FilePart image;
+
             @Override
-            protected Map<String, DataPart> getByteData() {
-                Map<String, DataPart> params = new HashMap<>();
-                // Resize image before upload to avoid timeouts with large files
-                byte[] imageData = getFileDataFromDrawable(bitmap);
-                params.put("image", new DataPart("profile_" + System.currentTimeMillis() + ".jpg",
-                        imageData, "image/jpeg"));
+            protected Map<String, FilePart> getFileData() throws IOException {
+                if (image == null) {
+                    image = prepareUpload(bitmap, source, resolver, uploadFile);
+                }
+                Map<String, FilePart> params = new HashMap<>();
+                params.put("image", image);
                 return params;
             }
         };
+        multipartRequest.setProgressListener((bytesWritten, totalBytes) -> {
+            if (totalBytes > 0) {
+                uploadProgress.setProgress((int) (bytesWritten * 100 / totalBytes));
+            } else {
+                uploadProgress.setIndeterminate(true);
+            }
+        });
+        // Deleted however the upload ends, including cancellation
+        multipartRequest.deleteOnFinish(uploadFile);
 
-        // Set explicit retry policy for slower connections or large files
-        // 30 seconds timeout, 1 retry
-        multipartRequest.setRetryPolicy(new DefaultRetryPolicy(
-                30000,
-                DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
-                DefaultRetryPolicy.DEFAULT_BACKOFF_MULT));
+        // Upload timeout comes from RetryPolicyRegistry (not retried - the file would be sent twice)
+        VolleySingleton.getInstance(this).addToRequestQueue(multipartRequest, this);
+    }
 
-        Volley.newRequestQueue(this).add(multipartRequest);
+    /**
+     * The photo part to send. A picked JPEG that is already small and upright
+     * is streamed as it is. Any other picked image is decoded at upload size
+     * only now, compressed to uploadFile and released, so no full-size bitmap
+     * is kept while the page is open. A camera preview is compressed as is.
+     */
+    private static VolleyMultipartRequest.FilePart prepareUpload(Bitmap preview, Uri source,
+            ContentResolver resolver, File uploadFile) throws IOException {
+        if (source != null && ImagePipeline.isUploadReady(resolver, source,
+                ImagePipeline.UPLOAD_MAX_SIZE, ImagePipeline.UPLOAD_MAX_BYTES)) {
+            return new VolleyMultipartRequest.FilePart(uploadFile.getName(), source, resolver, "image/jpeg");
+        }
+        if (source != null) {
+            Bitmap full = ImagePipeline.decodeUriSync(resolver, source, ImagePipeline.UPLOAD_MAX_SIZE);
+            try {
+                writeUploadFile(full, uploadFile);
+            } finally {
+                full.recycle();
+            }
+        } else {
+            writeUploadFile(preview, uploadFile);
+        }
+        return new VolleyMultipartRequest.FilePart(uploadFile.getName(), uploadFile, "image/jpeg");
     }
 
-    private byte[] getFileDataFromDrawable(Bitmap bitmap) {
+    private static void writeUploadFile(Bitmap bitmap, File file) throws IOException {
         // Resize bitmap if too large (max 1024x1024)
         int maxHeight = 1024;
         int maxWidth = 1024;
@@ -555,10 +611,24 @@ public class EditProfilePage extends AppCompatActivity {
             finalBitmap = Bitmap.createScaledBitmap(bitmap, width, height, true);
         }
 
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        // Compress to JPEG 80%
-        finalBitmap.compress(Bitmap.CompressFormat.JPEG, 80, byteArrayOutputStream);
-        return byteArrayOutputStream.toByteArray();
+        // Compress to JPEG 80% into a partial file, renamed once complete so an
+        // interrupted write is never mistaken for the finished image
+        File partial = new File(file.getPath() + ".part");
+        try {
+            FileOutputStream out = new FileOutputStream(partial);
+            try {
+                if (!finalBitmap.compress(Bitmap.CompressFormat.JPEG, 80, out)) {
+                    throw new IOException("Could not compress profile image");
+                }
+            } finally {
+                out.close();
+            }
+            if (!partial.renameTo(file)) {
+                throw new IOException("Could not write " + file);
+            }
+        } finally {
+            partial.delete();
+        }
     }
 
     private void fetchProfileData() {
@@ -567,7 +637,6 @@ public class EditProfilePage extends AppCompatActivity {
 
         String url = ApiConfig.getBaseUrl() + "get_profile.php?user_id=" + userId;
 
-        RequestQueue queue = Volley.newRequestQueue(this);
         JsonObjectRequest request = new JsonObjectRequest(Request.Method.GET, url, null,
                 response -> {
                     loadingProgress.setVisibility(View.GONE);
@@ -592,7 +661,7 @@ public class EditProfilePage extends AppCompatActivity {
                     Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                 });
 
-        queue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void populateForm(JSONObject data) {
@@ -625,13 +694,7 @@ public class EditProfilePage extends AppCompatActivity {
     }
 
     private void loadProfileImage(String url) {
-        ImageRequest imageRequest = new ImageRequest(url,
-                bitmap -> profileImage.setImageBitmap(bitmap),
-                0, 0, ImageView.ScaleType.CENTER_CROP, Bitmap.Config.RGB_565,
-                error -> {
-                    Log.e(TAG, "Error loading image: " + error.getMessage());
-                });
-        Volley.newRequestQueue(this).add(imageRequest);
+        ImagePipeline.loadAvatar(this, url, profileImage);
     }
 
     /**
@@ -986,7 +1049,6 @@ public class EditProfilePage extends AppCompatActivity {
             String url = ApiConfig.getBaseUrl() + "update_profile.php";
             Log.d(TAG, "Saving profile to: " + url);
 
-            RequestQueue queue = Volley.newRequestQueue(this);
             JsonObjectRequest request = new JsonObjectRequest(Request.Method.POST, url, requestBody,
                     response -> {
                         loadingProgress.setVisibility(View.GONE);
@@ -1012,7 +1074,7 @@ public class EditProfilePage extends AppCompatActivity {
                         Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                     });
 
-            queue.add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
 
         } catch (Exception e) {
             loadingProgress.setVisibility(View.GONE);
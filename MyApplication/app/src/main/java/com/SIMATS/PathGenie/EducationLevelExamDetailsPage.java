@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -18,10 +18,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONObject;
 
 /**
@@ -37,7 +33,7 @@ import org.json.JSONObject;
 public class EducationLevelExamDetailsPage extends AppCompatActivity {
 
     private static final String TAG = "ExamDetailsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -110,12 +106,7 @@ public class EducationLevelExamDetailsPage extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         contentScroll.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "exam_details.php?exam_id=" + examId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getExamDetails(examId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     contentScroll.setVisibility(View.VISIBLE);
@@ -139,8 +130,6 @@ public class EducationLevelExamDetailsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching exam: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     private void populateUI(JSONObject exam) {
@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -19,10 +19,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -34,7 +30,7 @@ import org.json.JSONObject;
 public class EducationLevelExamsPage extends AppCompatActivity {
 
     private static final String TAG = "EducationLevelExamsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -115,12 +111,7 @@ public class EducationLevelExamsPage extends AppCompatActivity {
         examsContainer.removeAllViews();
         noExamsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "exams_by_level.php?education_level_id=" + educationLevelId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getExamsByLevel(educationLevelId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -146,8 +137,6 @@ public class EducationLevelExamsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching exams: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -18,10 +18,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONObject;
 
 /**
@@ -36,7 +32,7 @@ import org.json.JSONObject;
 public class EducationLevelJobDetailsPage extends AppCompatActivity {
 
     private static final String TAG = "JobDetailsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -107,12 +103,7 @@ public class EducationLevelJobDetailsPage extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         contentScroll.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "job_details.php?job_id=" + jobId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getJobDetails(jobId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     contentScroll.setVisibility(View.VISIBLE);
@@ -136,8 +127,6 @@ public class EducationLevelJobDetailsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching job: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     private void populateUI(JSONObject job) {
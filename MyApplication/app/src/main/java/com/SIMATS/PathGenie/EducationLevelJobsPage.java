@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -18,10 +18,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -40,7 +36,7 @@ import java.util.List;
 public class EducationLevelJobsPage extends AppCompatActivity {
 
     private static final String TAG = "EducationLevelJobsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -161,12 +157,7 @@ public class EducationLevelJobsPage extends AppCompatActivity {
         jobsContainer.removeAllViews();
         noJobsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "jobs_by_level.php?education_level_id=" + educationLevelId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getJobsByLevel(educationLevelId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -197,8 +188,6 @@ public class EducationLevelJobsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching jobs: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
@@ -0,0 +1,97 @@
+package com.SIMATS.PathGenie;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An answer as listed by get_answers.php, with its replies.
+ *
+ * Immutable, so ForumThreadAdapter can diff an old thread against a new
+ * one; a change (e.g. a like or a new reply) is a new object.
+ */
+public final class ForumAnswer {
+
+    public final int answerId;
+    public final String authorName;
+    public final String text;
+    public final String createdAt;
+    public final int likesCount;
+    public final boolean userLiked;
+    /** Oldest first; shown as rows of their own under the answer */
+    public final List<ForumReply> replies;
+
+    private ForumAnswer(int answerId, String authorName, String text, String createdAt, int likesCount,
+            boolean userLiked, List<ForumReply> replies) {
+        this.answerId = answerId;
+        this.authorName = authorName;
+        this.text = text;
+        this.createdAt = createdAt;
+        this.likesCount = likesCount;
+        this.userLiked = userLiked;
+        this.replies = Collections.unmodifiableList(replies);
+    }
+
+    public static ForumAnswer fromJson(JSONObject answer) throws JSONException {
+        int answerId = answer.getInt("answer_id");
+        List<ForumReply> replies = new ArrayList<>();
+        JSONArray array = answer.optJSONArray("replies");
+        if (array != null) {
+            for (int i = 0; i < array.length(); i++) {
+                replies.add(ForumReply.fromJson(answerId, array.getJSONObject(i)));
+            }
+        }
+        return new ForumAnswer(
+                answerId,
+                answer.optString("full_name", "Anonymous"),
+                answer.getString("answer_text"),
+                answer.optString("created_at", ""),
+                answer.optInt("likes_count", 0),
+                answer.optBoolean("user_liked", false),
+                replies);
+    }
+
+    /** The same answer with a new like state */
+    public ForumAnswer withLike(boolean liked, int count) {
+        return new ForumAnswer(answerId, authorName, text, createdAt, Math.max(0, count), liked, replies);
+    }
+
+    /** The same answer with a reply added at the end */
+    public ForumAnswer withReply(ForumReply reply) {
+        List<ForumReply> more = new ArrayList<>(replies);
+        more.add(reply);
+        return new ForumAnswer(answerId, authorName, text, createdAt, likesCount, userLiked, more);
+    }
+
+    /** Equal apart from the like state, so only the like button needs rebinding */
+    boolean sameExceptLike(ForumAnswer other) {
+        return answerId == other.answerId
+                && authorName.equals(other.authorName)
+                && text.equals(other.text)
+                && createdAt.equals(other.createdAt);
+    }
+
+    /** Compares the card only; replies are diffed as rows of their own */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ForumAnswer)) {
+            return false;
+        }
+        ForumAnswer other = (ForumAnswer) o;
+        return sameExceptLike(other)
+                && likesCount == other.likesCount
+                && userLiked == other.userLiked;
+    }
+
+    @Override
+    public int hashCode() {
+        return answerId;
+    }
+}
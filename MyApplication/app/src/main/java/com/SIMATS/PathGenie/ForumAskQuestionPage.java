@@ -1,6 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 
 import android.os.Bundle;
 import android.util.Log;
@@ -19,9 +20,7 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.SIMATS.PathGenie.utils.SessionManager;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONObject;
 
@@ -38,7 +37,6 @@ public class ForumAskQuestionPage extends AppCompatActivity {
     private Spinner spinnerLevel;
     private Button btnPostQuestion;
 
-    private RequestQueue requestQueue;
     private SessionManager sessionManager;
 
     private String[] educationLevels = { "Select Level", "After 10th", "After 12th", "Diploma", "Undergraduate",
@@ -57,7 +55,6 @@ public class ForumAskQuestionPage extends AppCompatActivity {
             return insets;
         });
 
-        requestQueue = Volley.newRequestQueue(this);
         sessionManager = new SessionManager(this);
 
         initViews();
@@ -139,7 +136,7 @@ public class ForumAskQuestionPage extends AppCompatActivity {
                         resetButton();
                     });
 
-            requestQueue.add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
 
         } catch (Exception e) {
             Log.e(TAG, "Error creating request", e);
@@ -152,13 +149,6 @@ public class ForumAskQuestionPage extends AppCompatActivity {
         btnPostQuestion.setText("Post Question  ➤");
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
 }
 
 
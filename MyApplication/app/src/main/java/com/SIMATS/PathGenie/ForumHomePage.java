@@ -2,14 +2,15 @@ package com.SIMATS.PathGenie;
 
 import android.content.Intent;
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.ForumFeedCache;
+import com.SIMATS.PathGenie.network.ForumFeedPager;
+import com.SIMATS.PathGenie.network.ForumLikeSync;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 import android.graphics.Color;
-import android.graphics.Typeface;
 import android.os.Bundle;
 import android.util.Log;
-import android.view.Gravity;
 import android.view.View;
 import android.widget.FrameLayout;
-import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -19,18 +20,38 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.SIMATS.PathGenie.utils.SessionManager;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
+import com.android.volley.VolleyError;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONArray;
-import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * ForumHomePage - Community Forum main screen with tabs and likes.
+ *
+ * The feed is loaded a page at a time by ForumFeedPager, the next page as
+ * the user nears the end, and shown by ForumQuestionAdapter.
+ *
+ * Each tab's first page is kept by ForumFeedCache, so a tab switch draws
+ * the cached page straight away and refreshes it in the background (not at
+ * all if it is only seconds old), merged in as on a resume. Once the first
+ * tab has loaded, the other tabs are prefetched at low priority. A tab
+ * with nothing cached keeps the old list on screen until its first page
+ * arrives, then diffs it in.
+ *
+ * Coming back to the screen refreshes only the first page and merges it
+ * in, so the pages below and the scroll position are kept.
+ *
+ * Likes are drawn at once and sent in the background by ForumLikeSync.
  */
 public class ForumHomePage extends AppCompatActivity {
 
@@ -38,14 +59,23 @@ public class ForumHomePage extends AppCompatActivity {
     // Using centralized ApiConfig.getBaseUrl()
 
     private TextView tabAll, tabMyQuestions, tabAfter10th, tabAfter12th, tabDiploma, tabUG, tabPG;
-    private LinearLayout questionsContainer;
+    private RecyclerView questionsList;
     private LinearLayout fabAskQuestion;
     private FrameLayout notificationBell;
     private TextView notificationBadge;
     private LinearLayout navHome, navCommunity, navSaved, navProfile;
 
-    private RequestQueue requestQueue;
     private SessionManager sessionManager;
+    private ForumFeedPager feedPager;
+    private ForumFeedCache feedCache;
+    private ForumLikeSync likeSync;
+    private boolean tabsPrefetched;
+    private ForumQuestionAdapter feedAdapter;
+    private List<ForumQuestion> feedQuestions = new ArrayList<>();
+    // False until the current tab has a first page on screen (cached or fetched)
+    private boolean feedLoaded;
+    private int feedLevel = -1;
+    private boolean scrollToTopOnLoad;
 
     private int currentTab = 0;
     private TextView[] allTabs;
@@ -57,6 +87,8 @@ public class ForumHomePage extends AppCompatActivity {
     private static final int LEVEL_DIPLOMA = 3;
     private static final int LEVEL_UG = 4;
     private static final int LEVEL_PG = 5;
+    private static final int[] FEED_LEVELS = { LEVEL_ALL, LEVEL_AFTER_10TH, LEVEL_AFTER_12TH, LEVEL_DIPLOMA,
+            LEVEL_UG, LEVEL_PG };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -70,12 +102,54 @@ public class ForumHomePage extends AppCompatActivity {
             return insets;
         });
 
-        requestQueue = Volley.newRequestQueue(this);
         sessionManager = new SessionManager(this);
+        feedCache = ForumFeedCache.getInstance(this);
+        likeSync = ForumLikeSync.getInstance(this);
+        likeSync.addListener(likeListener);
+        feedPager = new ForumFeedPager(this, sessionManager.getUserId(), new ForumFeedPager.Listener() {
+            @Override
+            public void onPage(JSONArray questions, boolean first, boolean hasMore) {
+                onFeedPage(questions, first);
+            }
+
+            @Override
+            public void onRefresh(JSONArray questions) {
+                onFeedRefreshed(questions);
+            }
+
+            @Override
+            public void onError(VolleyError error, boolean first) {
+                Log.e(TAG, "Error loading questions", error);
+                Toast.makeText(ForumHomePage.this, "Failed to load questions", Toast.LENGTH_SHORT).show();
+                showFeed(null);
+            }
+        });
+        feedAdapter = new ForumQuestionAdapter(ForumQuestionAdapter.STYLE_FEED, new ForumQuestionAdapter.Listener() {
+            @Override
+            public void onOpen(ForumQuestion question) {
+                Intent intent = new Intent(ForumHomePage.this, ForumQuestionDetailsPage.class);
+                intent.putExtra("question_id", question.questionId);
+                startActivity(intent);
+            }
+
+            @Override
+            public void onLike(ForumQuestion question) {
+                toggleLikeQuestion(question);
+            }
+        });
 
         initViews();
         setupClickListeners();
-        loadQuestions(LEVEL_ALL);
+        // After a cold start the cache is on disk only; show it if the network is slower
+        feedCache.warm(sessionManager.getUserId(), FEED_LEVELS, () -> {
+            ForumFeedCache.Entry cached = feedCache.get(sessionManager.getUserId(), feedLevel);
+            if (!feedLoaded && cached != null) {
+                feedQuestions = parseQuestions(cached.questions, new ArrayList<>());
+                feedLoaded = true;
+                showFeed(null);
+            }
+        });
+        // The feed itself is loaded by onResume()
         loadUnreadCount();
     }
 
@@ -88,7 +162,8 @@ public class ForumHomePage extends AppCompatActivity {
         tabDiploma = findViewById(R.id.tabDiploma);
         tabUG = findViewById(R.id.tabUG);
         tabPG = findViewById(R.id.tabPG);
-        questionsContainer = findViewById(R.id.questionsContainer);
+        questionsList = findViewById(R.id.questionsList);
+        ForumQuestionAdapter.attach(questionsList, feedAdapter);
         fabAskQuestion = findViewById(R.id.fabAskQuestion);
         notificationBell = findViewById(R.id.notificationBell);
         notificationBadge = findViewById(R.id.notificationBadge);
@@ -104,6 +179,13 @@ public class ForumHomePage extends AppCompatActivity {
     private void setupClickListeners() {
         // Back icon removed - navigating via bottom nav
 
+        questionsList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                prefetchIfNearEnd();
+            }
+        });
+
         tabAll.setOnClickListener(v -> {
             setActiveTab(0);
             loadQuestions(LEVEL_ALL);
@@ -169,37 +251,149 @@ public class ForumHomePage extends AppCompatActivity {
     }
 
     private void loadQuestions(int educationLevelId) {
-        questionsContainer.removeAllViews();
+        loadQuestions(educationLevelId, false);
+    }
 
-        int userId = sessionManager.getUserId();
-        String url = ApiConfig.getBaseUrl() + "get_questions.php?user_id=" + userId;
-        if (educationLevelId > 0) {
-            url += "&education_level_id=" + educationLevelId;
+    /**
+     * Show a tab: from the cache at once if it has the tab, then from the
+     * server unless the cached page is fresh.
+     *
+     * @param refresh Ask the server even if the cached page is fresh
+     */
+    private void loadQuestions(int educationLevelId, boolean refresh) {
+        boolean tabChanged = educationLevelId != feedLevel;
+        feedLevel = educationLevelId;
+        ForumFeedCache.Entry cached = feedCache.get(sessionManager.getUserId(), educationLevelId);
+        if (cached != null && (tabChanged || !feedLoaded)) {
+            feedQuestions = parseQuestions(cached.questions, new ArrayList<>());
+            feedLoaded = true;
+            scrollToTopOnLoad = false;
+            // Carry on from the cached page; a refresh is merged into it
+            // rather than replacing it, so pages loaded meanwhile stay
+            feedPager.restore(educationLevelId, cached);
+            if (refresh || !cached.isFresh()) {
+                feedPager.refresh();
+            }
+            showFeed(tabChanged ? () -> questionsList.scrollToPosition(0) : null);
+            return;
         }
+        scrollToTopOnLoad = tabChanged;
+        feedLoaded = false;
+        feedPager.reset(educationLevelId);
+        showFeed(null);
+    }
 
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET, url, null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONArray questions = response.getJSONArray("questions");
-                            for (int i = 0; i < questions.length(); i++) {
-                                addQuestionCard(questions.getJSONObject(i));
-                            }
-                            if (questions.length() == 0) {
-                                addNoDataMessage();
-                            }
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing questions", e);
-                    }
-                },
-                error -> {
-                    Log.e(TAG, "Error loading questions", error);
-                    Toast.makeText(this, "Failed to load questions", Toast.LENGTH_SHORT).show();
-                });
+    private void onFeedPage(JSONArray page, boolean first) {
+        feedQuestions = parseQuestions(page, first ? new ArrayList<>() : new ArrayList<>(feedQuestions));
+        feedLoaded = true;
+        boolean scrollToTop = first && scrollToTopOnLoad;
+        showFeed(() -> {
+            if (scrollToTop) {
+                questionsList.scrollToPosition(0);
+            }
+            // A short page may not fill the screen, so no scroll would ask for the next one
+            questionsList.post(this::prefetchIfNearEnd);
+        });
+        if (first) {
+            prefetchOtherTabs();
+        }
+    }
+
+    /**
+     * Merge a refreshed first page into the feed. The page replaces the
+     * questions it covers and the pages loaded below it stay, so the user
+     * keeps their place. If the page doesn't reach into the list (many new
+     * questions since), the feed starts again from the page.
+     */
+    private void onFeedRefreshed(JSONArray page) {
+        List<ForumQuestion> fresh = parseQuestions(page, new ArrayList<>());
+        int overlap = -1;
+        if (!fresh.isEmpty()) {
+            int lastId = fresh.get(fresh.size() - 1).questionId;
+            for (int i = 0; i < feedQuestions.size(); i++) {
+                if (feedQuestions.get(i).questionId == lastId) {
+                    overlap = i;
+                    break;
+                }
+            }
+        }
+
+        if (overlap < 0) {
+            feedPager.restore(feedLevel, feedCache.get(sessionManager.getUserId(), feedLevel));
+            feedQuestions = fresh;
+        } else {
+            Set<Integer> freshIds = new HashSet<>();
+            for (ForumQuestion question : fresh) {
+                freshIds.add(question.questionId);
+            }
+            // Questions above the overlap that the page no longer has were deleted
+            List<ForumQuestion> merged = new ArrayList<>(fresh);
+            for (int i = overlap + 1; i < feedQuestions.size(); i++) {
+                if (!freshIds.contains(feedQuestions.get(i).questionId)) {
+                    merged.add(feedQuestions.get(i));
+                }
+            }
+            feedQuestions = merged;
+        }
+        feedLoaded = true;
+        showFeed(null);
+        prefetchOtherTabs();
+    }
 
-        requestQueue.add(request);
+    /** Once, after the first page from the server */
+    private void prefetchOtherTabs() {
+        if (tabsPrefetched) {
+            return;
+        }
+        tabsPrefetched = true;
+        for (int levelId : FEED_LEVELS) {
+            if (levelId != feedLevel) {
+                feedPager.prefetch(levelId);
+            }
+        }
+    }
+
+    private List<ForumQuestion> parseQuestions(JSONArray page, List<ForumQuestion> into) {
+        for (int i = 0; i < page.length(); i++) {
+            try {
+                ForumQuestion question = ForumQuestion.fromJson(page.getJSONObject(i));
+                // The server hasn't seen likes that are still being sent
+                ForumLikeSync.State pending = likeSync.pending(sessionManager.getUserId(),
+                        ForumLikeSync.TYPE_QUESTION, question.questionId);
+                into.add(pending != null ? question.withLike(pending.liked, pending.count) : question);
+            } catch (Exception e) {
+                Log.e(TAG, "Error parsing question", e);
+            }
+        }
+        return into;
+    }
+
+    /**
+     * Show feedQuestions. Until the tab's first page arrives the previous
+     * list stays up (or a spinner, if there is none).
+     */
+    private void showFeed(Runnable onCommitted) {
+        boolean loading = feedPager.isLoadingMore() || (feedPager.isLoading() && feedQuestions.isEmpty());
+        feedAdapter.submit(feedQuestions, loading,
+                feedLoaded ? "No questions found. Be the first to ask!" : null, onCommitted);
+    }
+
+    /** Request the next page once the user is near the end of the feed */
+    private void prefetchIfNearEnd() {
+        if (!feedLoaded || !feedPager.hasMore() || feedPager.isLoading()) {
+            return;
+        }
+        LinearLayoutManager layout = (LinearLayoutManager) questionsList.getLayoutManager();
+        int first = layout.findFirstVisibleItemPosition();
+        int last = layout.findLastVisibleItemPosition();
+        if (last == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int visible = last - first + 1;
+        if (feedAdapter.getItemCount() - 1 - last <= visible * ApiConfig.FORUM_PREFETCH_SCREENS) {
+            feedPager.loadMore();
+            showFeed(null);
+        }
     }
 
     private void loadUnreadCount() {
@@ -219,198 +413,47 @@ public class ForumHomePage extends AppCompatActivity {
                 },
                 error -> Log.e(TAG, "Error loading unread count", error));
 
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
-    private void addQuestionCard(JSONObject question) {
-        try {
-            int questionId = question.getInt("question_id");
-            String title = question.getString("title");
-            String description = question.optString("description", "");
-            String authorName = question.optString("author_name", "Anonymous");
-            int replies = question.optInt("replies", 0);
-            int likesCount = question.optInt("likes_count", 0);
-            boolean userLiked = question.optBoolean("user_liked", false);
-            int educationLevelId = question.optInt("education_level_id", 0);
-
-            LinearLayout card = new LinearLayout(this);
-            card.setOrientation(LinearLayout.VERTICAL);
-            card.setBackgroundResource(R.drawable.bg_card);
-            card.setPadding(dpToPx(16), dpToPx(16), dpToPx(16), dpToPx(16));
-            LinearLayout.LayoutParams cardParams = new LinearLayout.LayoutParams(
-                    LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-            cardParams.bottomMargin = dpToPx(12);
-            card.setLayoutParams(cardParams);
-
-            // Top row: Badge + Author
-            LinearLayout topRow = new LinearLayout(this);
-            topRow.setOrientation(LinearLayout.HORIZONTAL);
-            topRow.setGravity(Gravity.CENTER_VERTICAL);
-
-            // Education level badge
-            TextView badge = new TextView(this);
-            badge.setText(getEducationLevelLabel(educationLevelId));
-            badge.setTextSize(10);
-            badge.setTextColor(Color.WHITE);
-            badge.setTypeface(null, Typeface.BOLD);
-            badge.setBackgroundResource(R.drawable.bg_category_badge);
-            badge.setPadding(dpToPx(8), dpToPx(3), dpToPx(8), dpToPx(3));
-            topRow.addView(badge);
-
-            // Spacer
-            View spacer = new View(this);
-            spacer.setLayoutParams(new LinearLayout.LayoutParams(0, 0, 1));
-            topRow.addView(spacer);
-
-            // Author
-            TextView txtAuthor = new TextView(this);
-            txtAuthor.setText("by " + authorName);
-            txtAuthor.setTextSize(11);
-            txtAuthor.setTextColor(Color.parseColor("#64748B"));
-            topRow.addView(txtAuthor);
-
-            card.addView(topRow);
-
-            // Title
-            TextView txtTitle = new TextView(this);
-            txtTitle.setText(title);
-            txtTitle.setTextSize(16);
-            txtTitle.setTypeface(null, Typeface.BOLD);
-            txtTitle.setTextColor(Color.parseColor("#0F172A"));
-            LinearLayout.LayoutParams titleParams = new LinearLayout.LayoutParams(
-                    LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-            titleParams.topMargin = dpToPx(10);
-            txtTitle.setLayoutParams(titleParams);
-            card.addView(txtTitle);
-
-            // Description preview
-            if (description != null && !description.isEmpty()) {
-                TextView txtDesc = new TextView(this);
-                String shortDesc = description.length() > 80 ? description.substring(0, 80) + "..." : description;
-                txtDesc.setText(shortDesc);
-                txtDesc.setTextSize(13);
-                txtDesc.setTextColor(Color.parseColor("#64748B"));
-                LinearLayout.LayoutParams descParams = new LinearLayout.LayoutParams(
-                        LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-                descParams.topMargin = dpToPx(6);
-                txtDesc.setLayoutParams(descParams);
-                card.addView(txtDesc);
-            }
-
-            // Bottom row: Like + Replies
-            LinearLayout bottomRow = new LinearLayout(this);
-            bottomRow.setOrientation(LinearLayout.HORIZONTAL);
-            bottomRow.setGravity(Gravity.CENTER_VERTICAL);
-            LinearLayout.LayoutParams bottomParams = new LinearLayout.LayoutParams(
-                    LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-            bottomParams.topMargin = dpToPx(12);
-            bottomRow.setLayoutParams(bottomParams);
-
-            // Like button
-            LinearLayout likeBtn = new LinearLayout(this);
-            likeBtn.setOrientation(LinearLayout.HORIZONTAL);
-            likeBtn.setGravity(Gravity.CENTER_VERTICAL);
-            likeBtn.setPadding(dpToPx(8), dpToPx(6), dpToPx(8), dpToPx(6));
-            likeBtn.setBackgroundResource(R.drawable.bg_tab_unselected);
-
-            ImageView heartIcon = new ImageView(this);
-            heartIcon.setLayoutParams(new LinearLayout.LayoutParams(dpToPx(16), dpToPx(16)));
-            heartIcon.setImageResource(userLiked ? R.drawable.ic_heart_filled : R.drawable.ic_heart_outline);
-            likeBtn.addView(heartIcon);
-
-            TextView likeCount = new TextView(this);
-            likeCount.setText(" " + likesCount);
-            likeCount.setTextSize(12);
-            likeCount.setTextColor(userLiked ? Color.parseColor("#EF4444") : Color.parseColor("#64748B"));
-            likeBtn.addView(likeCount);
-
-            likeBtn.setOnClickListener(
-                    v -> toggleLikeQuestion(questionId, heartIcon, likeCount, userLiked, likesCount));
-
-            bottomRow.addView(likeBtn);
-
-            // Replies
-            TextView txtReplies = new TextView(this);
-            txtReplies.setText("💬 " + replies + " replies");
-            txtReplies.setTextSize(12);
-            txtReplies.setTextColor(Color.parseColor("#64748B"));
-            LinearLayout.LayoutParams repliesParams = new LinearLayout.LayoutParams(
-                    LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.WRAP_CONTENT);
-            repliesParams.setMarginStart(dpToPx(16));
-            txtReplies.setLayoutParams(repliesParams);
-            bottomRow.addView(txtReplies);
-
-            card.addView(bottomRow);
-
-            // Card click - navigate to details
-            card.setOnClickListener(v -> {
-                Intent intent = new Intent(this, ForumQuestionDetailsPage.class);
-                intent.putExtra("question_id", questionId);
-                startActivity(intent);
-            });
-
-            questionsContainer.addView(card);
-
-        } catch (Exception e) {
-            Log.e(TAG, "Error creating question card", e);
-        }
+    private void toggleLikeQuestion(ForumQuestion question) {
+        ForumLikeSync.State state = likeSync.toggle(sessionManager.getUserId(), ForumLikeSync.TYPE_QUESTION,
+                question.questionId, question.userLiked, question.likesCount);
+        updateQuestion(question.withLike(state.liked, state.count));
     }
 
-    private void toggleLikeQuestion(int questionId, ImageView heartIcon, TextView likeCount, boolean wasLiked,
-            int currentCount) {
-        try {
-            JSONObject payload = new JSONObject();
-            payload.put("user_id", sessionManager.getUserId());
-            payload.put("question_id", questionId);
-
-            JsonObjectRequest request = new JsonObjectRequest(
-                    Request.Method.POST,
-                    ApiConfig.getBaseUrl() + "like_question.php",
-                    payload,
-                    response -> {
-                        boolean nowLiked = response.optBoolean("liked", false);
-                        int newCount = nowLiked ? currentCount + 1 : currentCount - 1;
-                        heartIcon.setImageResource(nowLiked ? R.drawable.ic_heart_filled : R.drawable.ic_heart_outline);
-                        likeCount.setText(" " + Math.max(0, newCount));
-                        likeCount.setTextColor(nowLiked ? Color.parseColor("#EF4444") : Color.parseColor("#64748B"));
-                    },
-                    error -> Log.e(TAG, "Error toggling like", error));
-
-            requestQueue.add(request);
-        } catch (Exception e) {
-            Log.e(TAG, "Error creating like request", e);
+    private final ForumLikeSync.Listener likeListener = (type, id, liked, count, rolledBack) -> {
+        if (type != ForumLikeSync.TYPE_QUESTION) {
+            return;
         }
-    }
-
-    private String getEducationLevelLabel(int levelId) {
-        switch (levelId) {
-            case 1:
-                return "AFTER 10TH";
-            case 2:
-                return "AFTER 12TH";
-            case 3:
-                return "DIPLOMA";
-            case 4:
-                return "UG";
-            case 5:
-                return "PG";
-            default:
-                return "GENERAL";
+        for (ForumQuestion question : feedQuestions) {
+            if (question.questionId == id) {
+                updateQuestion(question.withLike(liked, count));
+                if (rolledBack) {
+                    Toast.makeText(this, "Couldn't update like", Toast.LENGTH_SHORT).show();
+                }
+                return;
+            }
+        }
+    };
+
+    /** Replace a question in the feed; only its card is rebound */
+    private void updateQuestion(ForumQuestion updated) {
+        List<ForumQuestion> questions = new ArrayList<>(feedQuestions);
+        for (int i = 0; i < questions.size(); i++) {
+            if (questions.get(i).questionId == updated.questionId) {
+                questions.set(i, updated);
+                feedQuestions = questions;
+                showFeed(null);
+                return;
+            }
         }
     }
 
-    private void addNoDataMessage() {
-        TextView txt = new TextView(this);
-        txt.setText("No questions found. Be the first to ask!");
-        txt.setTextSize(14);
-        txt.setTextColor(Color.parseColor("#94A3B8"));
-        txt.setGravity(Gravity.CENTER);
-        txt.setPadding(dpToPx(16), dpToPx(48), dpToPx(16), dpToPx(48));
-        questionsContainer.addView(txt);
-    }
-
-    private int dpToPx(int dp) {
-        return (int) (dp * getResources().getDisplayMetrics().density);
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        likeSync.removeListener(likeListener);
     }
 
     @Override
@@ -418,15 +461,14 @@ public class ForumHomePage extends AppCompatActivity {
         super.onResume();
         loadUnreadCount();
         if (currentTab == 0) {
-            loadQuestions(LEVEL_ALL);
+            // May be back from asking a question, so don't trust a fresh cache
+            if (feedLoaded && feedLevel == LEVEL_ALL) {
+                // Keep the pages already loaded and the scroll position
+                feedPager.refresh();
+            } else {
+                loadQuestions(LEVEL_ALL, true);
+            }
         }
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
 }
@@ -1,6 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 
 import android.graphics.Color;
 import android.graphics.Typeface;
@@ -24,9 +25,7 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.SIMATS.PathGenie.utils.SessionManager;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -43,7 +42,6 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
     private TextView txtQuestionTitle, txtQuestionDescription, txtQuestionDate, txtAnswersHeader;
     private LinearLayout answersContainer;
 
-    private RequestQueue requestQueue;
     private SessionManager sessionManager;
 
     private int questionId;
@@ -60,7 +58,6 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
             return insets;
         });
 
-        requestQueue = Volley.newRequestQueue(this);
         sessionManager = new SessionManager(this);
 
         questionId = getIntent().getIntExtra("question_id", 0);
@@ -117,7 +114,7 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
                 },
                 error -> Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show());
 
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void loadQuestionAndAnswers() {
@@ -144,7 +141,7 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
                 },
                 error -> Log.e(TAG, "Error loading question details", error));
 
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void loadAnswers() {
@@ -181,7 +178,7 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
                     Toast.makeText(this, "Failed to load answers", Toast.LENGTH_SHORT).show();
                 });
 
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void addAnswerCard(JSONObject answer) {
@@ -402,7 +399,7 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
                 },
                 error -> Toast.makeText(this, "Error returning reply", Toast.LENGTH_SHORT).show());
 
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void addNoAnswersMessage() {
@@ -442,11 +439,4 @@ public class ForumMyQuestionAnswersPage extends AppCompatActivity {
         return (int) (dp * getResources().getDisplayMetrics().density);
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
 }
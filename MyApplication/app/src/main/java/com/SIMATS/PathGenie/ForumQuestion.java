@@ -0,0 +1,84 @@
+package com.SIMATS.PathGenie;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A question as listed by get_questions.php / my_questions.php.
+ *
+ * Immutable, so ForumQuestionAdapter can diff an old list against a new one;
+ * a change (e.g. a like) is a new object from withLike().
+ */
+public final class ForumQuestion {
+
+    public final int questionId;
+    public final String title;
+    public final String description;
+    public final String authorName;
+    public final String status;
+    public final String createdAt;
+    public final int educationLevelId;
+    public final int replies;
+    public final int likesCount;
+    public final boolean userLiked;
+
+    private ForumQuestion(int questionId, String title, String description, String authorName, String status,
+            String createdAt, int educationLevelId, int replies, int likesCount, boolean userLiked) {
+        this.questionId = questionId;
+        this.title = title;
+        this.description = description;
+        this.authorName = authorName;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.educationLevelId = educationLevelId;
+        this.replies = replies;
+        this.likesCount = likesCount;
+        this.userLiked = userLiked;
+    }
+
+    public static ForumQuestion fromJson(JSONObject question) throws JSONException {
+        return new ForumQuestion(
+                question.getInt("question_id"),
+                question.getString("title"),
+                question.optString("description", ""),
+                question.optString("author_name", "Anonymous"),
+                question.optString("status", "PENDING"),
+                question.optString("created_at", ""),
+                question.optInt("education_level_id", 0),
+                question.optInt("replies", 0),
+                question.optInt("likes_count", 0),
+                question.optBoolean("user_liked", false));
+    }
+
+    /** The same question with a new like state */
+    public ForumQuestion withLike(boolean liked, int count) {
+        return new ForumQuestion(questionId, title, description, authorName, status, createdAt,
+                educationLevelId, replies, Math.max(0, count), liked);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ForumQuestion)) {
+            return false;
+        }
+        ForumQuestion other = (ForumQuestion) o;
+        return questionId == other.questionId
+                && educationLevelId == other.educationLevelId
+                && replies == other.replies
+                && likesCount == other.likesCount
+                && userLiked == other.userLiked
+                && title.equals(other.title)
+                && description.equals(other.description)
+                && authorName.equals(other.authorName)
+                && status.equals(other.status)
+                && createdAt.equals(other.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return questionId;
+    }
+}
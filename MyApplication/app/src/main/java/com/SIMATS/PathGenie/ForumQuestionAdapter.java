@@ -0,0 +1,313 @@
+package com.SIMATS.PathGenie;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ForumQuestionAdapter - Question cards for ForumHomePage (the feed) and
+ * ForumMyQuestionsPage.
+ *
+ * Lists are diffed off the main thread (AsyncListDiffer) and rows have
+ * stable ids from question_id, so a refresh or tab switch only rebinds the
+ * cards that changed. Each list keeps its own pool of recycled cards: a card
+ * holds the activity that inflated it, so sharing cards between pages
+ * would keep a finished page alive.
+ *
+ * Usage:
+ * adapter = new ForumQuestionAdapter(ForumQuestionAdapter.STYLE_FEED, listener);
+ * ForumQuestionAdapter.attach(recyclerView, adapter);
+ * adapter.submit(questions, loadingMore, "No questions found.", null);
+ */
+public class ForumQuestionAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    public static final int STYLE_FEED = 0;
+    public static final int STYLE_MY_QUESTIONS = 1;
+
+    private static final int TYPE_QUESTION = 0;
+    private static final int TYPE_MESSAGE = 1;
+    private static final int TYPE_LOADING = 2;
+
+    private static final long ID_MESSAGE = -1;
+    private static final long ID_LOADING = -2;
+    private static final Object LOADING_ROW = new Object();
+
+    private static final int COLOR_MUTED = Color.parseColor("#64748B");
+    private static final int COLOR_LIKED = Color.parseColor("#EF4444");
+    private static final int COLOR_ANSWERED = Color.parseColor("#16A34A");
+    private static final int COLOR_WAITING = Color.parseColor("#F59E0B");
+    private static final int COLOR_EMPTY = Color.parseColor("#94A3B8");
+
+    public interface Listener {
+        /** The card (feed) or its View button (my questions) was tapped */
+        void onOpen(ForumQuestion question);
+
+        /** The like button was tapped (feed only) */
+        void onLike(ForumQuestion question);
+    }
+
+    private static final DiffUtil.ItemCallback<Object> DIFF = new DiffUtil.ItemCallback<Object>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            if (oldItem instanceof ForumQuestion && newItem instanceof ForumQuestion) {
+                return ((ForumQuestion) oldItem).questionId == ((ForumQuestion) newItem).questionId;
+            }
+            return oldItem.getClass() == newItem.getClass();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    private final int style;
+    private final Listener listener;
+    // Rows: ForumQuestion, a String message, or LOADING_ROW
+    private final AsyncListDiffer<Object> differ = new AsyncListDiffer<>(this, DIFF);
+
+    public ForumQuestionAdapter(int style, Listener listener) {
+        this.style = style;
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    /** Set up a list for this adapter */
+    public static void attach(RecyclerView list, ForumQuestionAdapter adapter) {
+        list.setLayoutManager(new LinearLayoutManager(list.getContext()));
+        list.getRecycledViewPool().setMaxRecycledViews(TYPE_QUESTION, 12);
+        list.setAdapter(adapter);
+    }
+
+    /**
+     * Show these questions. The list is diffed against the one shown.
+     *
+     * @param loadingMore  Show a spinner after the questions
+     * @param emptyMessage Shown instead when there are no questions and
+     *                     nothing is loading; null for a blank list
+     * @param onCommitted  Run once the new list is on screen, or null
+     */
+    public void submit(List<ForumQuestion> questions, boolean loadingMore, String emptyMessage,
+            Runnable onCommitted) {
+        List<Object> rows = new ArrayList<>(questions.size() + 1);
+        rows.addAll(questions);
+        if (loadingMore) {
+            rows.add(LOADING_ROW);
+        } else if (questions.isEmpty() && emptyMessage != null) {
+            rows.add(emptyMessage);
+        }
+        differ.submitList(rows, onCommitted);
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        Object row = differ.getCurrentList().get(position);
+        if (row instanceof ForumQuestion) {
+            return TYPE_QUESTION;
+        }
+        return row == LOADING_ROW ? TYPE_LOADING : TYPE_MESSAGE;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        Object row = differ.getCurrentList().get(position);
+        if (row instanceof ForumQuestion) {
+            return ((ForumQuestion) row).questionId;
+        }
+        return row == LOADING_ROW ? ID_LOADING : ID_MESSAGE;
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        switch (viewType) {
+            case TYPE_QUESTION:
+                return new QuestionHolder(LayoutInflater.from(parent.getContext())
+                        .inflate(R.layout.item_forum_question, parent, false));
+            case TYPE_LOADING:
+                return new LoadingHolder(parent);
+            default:
+                return new MessageHolder(parent);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Object row = differ.getCurrentList().get(position);
+        if (holder instanceof QuestionHolder) {
+            bindQuestion((QuestionHolder) holder, (ForumQuestion) row);
+        } else if (holder instanceof MessageHolder) {
+            ((MessageHolder) holder).text.setText((String) row);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        // Pooled cards must not keep this page's listener alive
+        if (holder instanceof QuestionHolder) {
+            QuestionHolder h = (QuestionHolder) holder;
+            h.itemView.setOnClickListener(null);
+            h.btnLike.setOnClickListener(null);
+            h.btnView.setOnClickListener(null);
+        }
+    }
+
+    private void bindQuestion(QuestionHolder h, ForumQuestion question) {
+        if (style == STYLE_FEED) {
+            // Education level badge
+            h.badge.setText(getEducationLevelLabel(question.educationLevelId));
+            h.badge.setTextSize(10);
+            h.badge.setTextColor(Color.WHITE);
+            h.badge.setTypeface(null, Typeface.BOLD);
+            h.badge.setBackgroundResource(R.drawable.bg_category_badge);
+            h.badge.setPadding(dpToPx(h, 8), dpToPx(h, 3), dpToPx(h, 8), dpToPx(h, 3));
+
+            h.meta.setText("by " + question.authorName);
+            h.meta.setTextSize(11);
+
+            // Description preview
+            String description = question.description;
+            h.description.setText(description.length() > 80 ? description.substring(0, 80) + "..." : description);
+            h.description.setVisibility(description.isEmpty() ? View.GONE : View.VISIBLE);
+
+            h.heart.setImageResource(question.userLiked ? R.drawable.ic_heart_filled : R.drawable.ic_heart_outline);
+            h.likes.setText(" " + question.likesCount);
+            h.likes.setTextColor(question.userLiked ? COLOR_LIKED : COLOR_MUTED);
+            h.btnLike.setVisibility(View.VISIBLE);
+            h.btnLike.setOnClickListener(v -> listener.onLike(question));
+
+            h.replies.setText("💬 " + question.replies + " replies");
+            h.btnView.setVisibility(View.GONE);
+            h.btnView.setOnClickListener(null);
+            h.itemView.setOnClickListener(v -> listener.onOpen(question));
+        } else {
+            // Status badge
+            boolean isAnswered = "ANSWERED".equalsIgnoreCase(question.status);
+            h.badge.setText(isAnswered ? "● Answered" : "● Waiting for replies");
+            h.badge.setTextSize(11);
+            h.badge.setTextColor(isAnswered ? COLOR_ANSWERED : COLOR_WAITING);
+            h.badge.setTypeface(null, Typeface.NORMAL);
+            h.badge.setBackgroundResource(isAnswered ? R.drawable.bg_status_answered : R.drawable.bg_status_waiting);
+            h.badge.setPadding(dpToPx(h, 10), dpToPx(h, 4), dpToPx(h, 10), dpToPx(h, 4));
+
+            h.meta.setText(getTimeAgo(question.createdAt));
+            h.meta.setTextSize(12);
+
+            h.description.setVisibility(View.GONE);
+            h.btnLike.setVisibility(View.GONE);
+            h.btnLike.setOnClickListener(null);
+
+            h.replies.setText("💬 " + question.replies + " Replies");
+            h.btnView.setVisibility(View.VISIBLE);
+            h.btnView.setOnClickListener(v -> listener.onOpen(question));
+            h.itemView.setOnClickListener(null);
+            h.itemView.setClickable(false);
+        }
+        h.title.setText(question.title);
+    }
+
+    private static String getEducationLevelLabel(int levelId) {
+        switch (levelId) {
+            case 1:
+                return "AFTER 10TH";
+            case 2:
+                return "AFTER 12TH";
+            case 3:
+                return "DIPLOMA";
+            case 4:
+                return "UG";
+            case 5:
+                return "PG";
+            default:
+                return "GENERAL";
+        }
+    }
+
+    private static String getTimeAgo(String dateStr) {
+        // Simplified time ago - in production use proper date parsing
+        if (dateStr == null || dateStr.isEmpty())
+            return "";
+        return "recently";
+    }
+
+    private static int dpToPx(RecyclerView.ViewHolder holder, int dp) {
+        return (int) (dp * holder.itemView.getResources().getDisplayMetrics().density);
+    }
+
+    static class QuestionHolder extends RecyclerView.ViewHolder {
+        final TextView badge, meta, title, description, likes, replies, btnView;
+        final LinearLayout btnLike;
+        final ImageView heart;
+
+        QuestionHolder(@NonNull View itemView) {
+            super(itemView);
+            badge = itemView.findViewById(R.id.txtBadge);
+            meta = itemView.findViewById(R.id.txtMeta);
+            title = itemView.findViewById(R.id.txtTitle);
+            description = itemView.findViewById(R.id.txtDescription);
+            btnLike = itemView.findViewById(R.id.btnLike);
+            heart = itemView.findViewById(R.id.imgHeart);
+            likes = itemView.findViewById(R.id.txtLikes);
+            replies = itemView.findViewById(R.id.txtReplies);
+            btnView = itemView.findViewById(R.id.btnView);
+        }
+    }
+
+    /** Empty-list message */
+    static class MessageHolder extends RecyclerView.ViewHolder {
+        final TextView text;
+
+        MessageHolder(ViewGroup parent) {
+            super(new TextView(parent.getContext()));
+            text = (TextView) itemView;
+            int padH = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 16,
+                    parent.getResources().getDisplayMetrics());
+            int padV = padH * 3;
+            text.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            text.setTextSize(14);
+            text.setTextColor(COLOR_EMPTY);
+            text.setGravity(Gravity.CENTER);
+            text.setPadding(padH, padV, padH, padV);
+        }
+    }
+
+    /** Spinner while the next page loads */
+    static class LoadingHolder extends RecyclerView.ViewHolder {
+        LoadingHolder(ViewGroup parent) {
+            super(new FrameLayout(parent.getContext()));
+            int pad = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, 16,
+                    parent.getResources().getDisplayMetrics());
+            FrameLayout frame = (FrameLayout) itemView;
+            frame.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            frame.setPadding(pad, pad, pad, pad);
+            ProgressBar spinner = new ProgressBar(parent.getContext());
+            frame.addView(spinner, new FrameLayout.LayoutParams(
+                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.CENTER));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.SIMATS.PathGenie;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A reply to an answer, as listed by get_answers.php. Immutable.
+ */
+public final class ForumReply {
+
+    public final int replyId;
+    public final int answerId;
+    public final String authorName;
+    public final String text;
+
+    public ForumReply(int replyId, int answerId, String authorName, String text) {
+        this.replyId = replyId;
+        this.answerId = answerId;
+        this.authorName = authorName;
+        this.text = text;
+    }
+
+    public static ForumReply fromJson(int answerId, JSONObject reply) throws JSONException {
+        return new ForumReply(
+                reply.optInt("reply_id", 0),
+                answerId,
+                reply.optString("full_name", "User"),
+                reply.getString("reply_text"));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ForumReply)) {
+            return false;
+        }
+        ForumReply other = (ForumReply) o;
+        return replyId == other.replyId
+                && answerId == other.answerId
+                && authorName.equals(other.authorName)
+                && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return replyId;
+    }
+}
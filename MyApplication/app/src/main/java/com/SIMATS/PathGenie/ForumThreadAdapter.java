@@ -0,0 +1,506 @@
+package com.SIMATS.PathGenie;
+
+import android.graphics.Color;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ForumThreadAdapter - The question, its answers and their replies on
+ * ForumQuestionDetailsPage, one row each.
+ *
+ * Rows are only built for what is on screen, so a long thread opens as fast
+ * as a short one. The thread is diffed off the main thread (AsyncListDiffer);
+ * when only a like changes, the row gets PAYLOAD_LIKE and just its like
+ * button is rebound.
+ *
+ * Usage:
+ * adapter = new ForumThreadAdapter(listener);
+ * ForumThreadAdapter.attach(recyclerView, adapter);
+ * adapter.submit(header, answers, replyingTo, loadingMore, "No answers yet.", null);
+ */
+public class ForumThreadAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+    private static final int TYPE_HEADER = 0;
+    private static final int TYPE_ANSWER = 1;
+    private static final int TYPE_REPLY = 2;
+    private static final int TYPE_COMPOSER = 3;
+    private static final int TYPE_MESSAGE = 4;
+    private static final int TYPE_LOADING = 5;
+
+    private static final Object LOADING_ROW = new Object();
+
+    /** Change payload: only the like state of the row differs */
+    static final Object PAYLOAD_LIKE = new Object();
+
+    private static final int COLOR_MUTED = Color.parseColor("#64748B");
+    private static final int COLOR_LIKED = Color.parseColor("#EF4444");
+
+    /** The question at the top of the thread. Immutable, like ForumAnswer. */
+    public static final class Header {
+        public final String title;
+        public final String description;
+        public final String authorName;
+        public final String createdAt;
+        public final int likesCount;
+        public final boolean userLiked;
+        public final int answerCount;
+        /** False until get_question_detail.php has answered */
+        public final boolean loaded;
+
+        private Header(String title, String description, String authorName, String createdAt, int likesCount,
+                boolean userLiked, int answerCount, boolean loaded) {
+            this.title = title;
+            this.description = description;
+            this.authorName = authorName;
+            this.createdAt = createdAt;
+            this.likesCount = likesCount;
+            this.userLiked = userLiked;
+            this.answerCount = answerCount;
+            this.loaded = loaded;
+        }
+
+        /** Shown while the question loads, so the answers never appear above it */
+        public static Header placeholder() {
+            return new Header("", "", "", "", 0, false, 0, false);
+        }
+
+        public static Header fromJson(JSONObject question, int answerCount) throws JSONException {
+            return new Header(
+                    question.getString("title"),
+                    question.optString("description", ""),
+                    question.optString("full_name", "Anonymous"),
+                    question.optString("created_at", ""),
+                    question.optInt("likes_count", 0),
+                    question.optBoolean("user_liked", false),
+                    answerCount, true);
+        }
+
+        public Header withLike(boolean liked, int count) {
+            return new Header(title, description, authorName, createdAt, Math.max(0, count), liked,
+                    answerCount, loaded);
+        }
+
+        public Header withAnswerCount(int count) {
+            return new Header(title, description, authorName, createdAt, likesCount, userLiked,
+                    count, loaded);
+        }
+
+        boolean sameExceptLike(Header other) {
+            return loaded == other.loaded
+                    && answerCount == other.answerCount
+                    && title.equals(other.title)
+                    && description.equals(other.description)
+                    && authorName.equals(other.authorName)
+                    && createdAt.equals(other.createdAt);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Header)) {
+                return false;
+            }
+            Header other = (Header) o;
+            return sameExceptLike(other)
+                    && likesCount == other.likesCount
+                    && userLiked == other.userLiked;
+        }
+
+        @Override
+        public int hashCode() {
+            return title.hashCode();
+        }
+    }
+
+    /** The reply box, under the answer being replied to */
+    private static final class Composer {
+        final int answerId;
+
+        Composer(int answerId) {
+            this.answerId = answerId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Composer && ((Composer) o).answerId == answerId;
+        }
+
+        @Override
+        public int hashCode() {
+            return answerId;
+        }
+    }
+
+    public interface Listener {
+        void onLikeQuestion(Header header);
+
+        void onLikeAnswer(ForumAnswer answer);
+
+        /** Reply was tapped on an answer */
+        void onReply(ForumAnswer answer);
+
+        /** Send was tapped in the reply box */
+        void onSendReply(int answerId, String text);
+    }
+
+    private static final DiffUtil.ItemCallback<Object> DIFF = new DiffUtil.ItemCallback<Object>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            if (oldItem.getClass() != newItem.getClass()) {
+                return false;
+            }
+            if (oldItem instanceof ForumAnswer) {
+                return ((ForumAnswer) oldItem).answerId == ((ForumAnswer) newItem).answerId;
+            }
+            if (oldItem instanceof ForumReply) {
+                return ((ForumReply) oldItem).replyId == ((ForumReply) newItem).replyId;
+            }
+            if (oldItem instanceof Composer) {
+                return oldItem.equals(newItem);
+            }
+            // One header, message or spinner per thread
+            return true;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Object oldItem, @NonNull Object newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull Object oldItem, @NonNull Object newItem) {
+            if (oldItem instanceof ForumAnswer && ((ForumAnswer) oldItem).sameExceptLike((ForumAnswer) newItem)) {
+                return PAYLOAD_LIKE;
+            }
+            if (oldItem instanceof Header && ((Header) oldItem).sameExceptLike((Header) newItem)) {
+                return PAYLOAD_LIKE;
+            }
+            return null;
+        }
+    };
+
+    private final Listener listener;
+    // Rows: Header, ForumAnswer, ForumReply, Composer, a String message, or LOADING_ROW
+    private final AsyncListDiffer<Object> differ = new AsyncListDiffer<>(this, DIFF);
+    // Text in the reply box; kept here so it survives the box being recycled
+    private String replyDraft = "";
+    // Answer whose reply box already had focus, so scrolling back doesn't grab it again
+    private int focusedComposer;
+
+    public ForumThreadAdapter(Listener listener) {
+        this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    /** Set up a list for this adapter */
+    public static void attach(RecyclerView list, ForumThreadAdapter adapter) {
+        list.setLayoutManager(new LinearLayoutManager(list.getContext()));
+        // A screen of short replies needs more spares than the default 5
+        list.getRecycledViewPool().setMaxRecycledViews(TYPE_REPLY, 10);
+        list.setAdapter(adapter);
+    }
+
+    /**
+     * Show this thread. It is diffed against the one shown.
+     *
+     * @param replyingTo   Answer to show the reply box under, or 0
+     * @param loadingMore  Show a spinner after the answers
+     * @param emptyMessage Shown when there are no answers and nothing is
+     *                     loading; null for none
+     * @param onCommitted  Run once the new thread is on screen, or null
+     */
+    public void submit(Header header, List<ForumAnswer> answers, int replyingTo, boolean loadingMore,
+            String emptyMessage, Runnable onCommitted) {
+        List<Object> rows = new ArrayList<>(answers.size() * 2 + 2);
+        rows.add(header);
+        for (ForumAnswer answer : answers) {
+            rows.add(answer);
+            rows.addAll(answer.replies);
+            if (answer.answerId == replyingTo) {
+                rows.add(new Composer(replyingTo));
+            }
+        }
+        if (loadingMore) {
+            rows.add(LOADING_ROW);
+        } else if (answers.isEmpty() && emptyMessage != null) {
+            rows.add(emptyMessage);
+        }
+        differ.submitList(rows, onCommitted);
+    }
+
+    /** Empty the reply box, e.g. once its reply is posted */
+    public void clearReplyDraft() {
+        replyDraft = "";
+        focusedComposer = 0;
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        Object row = differ.getCurrentList().get(position);
+        if (row instanceof Header) {
+            return TYPE_HEADER;
+        }
+        if (row instanceof ForumAnswer) {
+            return TYPE_ANSWER;
+        }
+        if (row instanceof ForumReply) {
+            return TYPE_REPLY;
+        }
+        if (row instanceof Composer) {
+            return TYPE_COMPOSER;
+        }
+        return row == LOADING_ROW ? TYPE_LOADING : TYPE_MESSAGE;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        Object row = differ.getCurrentList().get(position);
+        long key = 0;
+        if (row instanceof ForumAnswer) {
+            key = ((ForumAnswer) row).answerId;
+        } else if (row instanceof ForumReply) {
+            key = ((ForumReply) row).replyId;
+        } else if (row instanceof Composer) {
+            key = ((Composer) row).answerId;
+        }
+        // Ids of different row types never collide
+        return ((long) getItemViewType(position) << 32) | (key & 0xFFFFFFFFL);
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        switch (viewType) {
+            case TYPE_HEADER:
+                return new HeaderHolder(inflater.inflate(R.layout.item_forum_thread_header, parent, false));
+            case TYPE_ANSWER:
+                return new AnswerHolder(inflater.inflate(R.layout.item_forum_answer, parent, false));
+            case TYPE_REPLY:
+                return new ReplyHolder(inflater.inflate(R.layout.item_forum_reply, parent, false));
+            case TYPE_COMPOSER:
+                ComposerHolder composer = new ComposerHolder(
+                        inflater.inflate(R.layout.item_forum_reply_composer, parent, false));
+                composer.input.addTextChangedListener(new TextWatcher() {
+                    @Override
+                    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                    }
+
+                    @Override
+                    public void onTextChanged(CharSequence s, int start, int before, int count) {
+                    }
+
+                    @Override
+                    public void afterTextChanged(Editable s) {
+                        replyDraft = s.toString();
+                    }
+                });
+                return composer;
+            case TYPE_LOADING:
+                return new ForumQuestionAdapter.LoadingHolder(parent);
+            default:
+                return new ForumQuestionAdapter.MessageHolder(parent);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        Object row = differ.getCurrentList().get(position);
+        if (holder instanceof HeaderHolder) {
+            bindHeader((HeaderHolder) holder, (Header) row);
+        } else if (holder instanceof AnswerHolder) {
+            bindAnswer((AnswerHolder) holder, (ForumAnswer) row);
+        } else if (holder instanceof ReplyHolder) {
+            ForumReply reply = (ForumReply) row;
+            ReplyHolder h = (ReplyHolder) holder;
+            h.author.setText(reply.authorName);
+            h.text.setText(reply.text);
+        } else if (holder instanceof ComposerHolder) {
+            bindComposer((ComposerHolder) holder, (Composer) row);
+        } else if (holder instanceof ForumQuestionAdapter.MessageHolder) {
+            ((ForumQuestionAdapter.MessageHolder) holder).text.setText((String) row);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position,
+            @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !allLike(payloads)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        Object row = differ.getCurrentList().get(position);
+        if (holder instanceof HeaderHolder) {
+            bindHeaderLike((HeaderHolder) holder, (Header) row);
+        } else if (holder instanceof AnswerHolder) {
+            bindAnswerLike((AnswerHolder) holder, (ForumAnswer) row);
+        }
+    }
+
+    private static boolean allLike(List<Object> payloads) {
+        for (Object payload : payloads) {
+            if (payload != PAYLOAD_LIKE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void bindHeader(HeaderHolder h, Header header) {
+        h.title.setText(header.title);
+        h.description.setText(header.description);
+        h.authorName.setText(header.authorName);
+        h.authorRole.setText(header.loaded ? "Student" : "");
+        h.initials.setText(header.loaded ? getInitials(header.authorName) : "");
+        h.initials.setVisibility(header.loaded ? View.VISIBLE : View.INVISIBLE);
+        h.timeAgo.setText(header.loaded ? getTimeAgo(header.createdAt) : "");
+        h.answersHeader.setText("Answers (" + header.answerCount + ")");
+        bindHeaderLike(h, header);
+    }
+
+    private void bindHeaderLike(HeaderHolder h, Header header) {
+        h.btnLike.setVisibility(header.loaded ? View.VISIBLE : View.GONE);
+        h.heart.setImageResource(header.userLiked ? R.drawable.ic_heart_filled : R.drawable.ic_heart_outline);
+        String label = header.userLiked ? " Liked!" : " Like this question";
+        h.like.setText(header.likesCount > 0 ? label + " · " + header.likesCount : label);
+        h.like.setTextColor(header.userLiked ? COLOR_LIKED : COLOR_MUTED);
+        h.btnLike.setOnClickListener(v -> listener.onLikeQuestion(header));
+    }
+
+    private void bindAnswer(AnswerHolder h, ForumAnswer answer) {
+        h.avatar.setText(getInitials(answer.authorName));
+        h.name.setText(answer.authorName);
+        h.time.setText(getTimeAgo(answer.createdAt));
+        h.text.setText(answer.text);
+        h.btnReply.setOnClickListener(v -> listener.onReply(answer));
+        bindAnswerLike(h, answer);
+    }
+
+    private void bindAnswerLike(AnswerHolder h, ForumAnswer answer) {
+        h.heart.setImageResource(answer.userLiked ? R.drawable.ic_heart_filled : R.drawable.ic_heart_outline);
+        h.likes.setText(" " + answer.likesCount);
+        h.likes.setTextColor(answer.userLiked ? COLOR_LIKED : COLOR_MUTED);
+        h.btnLike.setOnClickListener(v -> listener.onLikeAnswer(answer));
+    }
+
+    private void bindComposer(ComposerHolder h, Composer composer) {
+        if (!h.input.getText().toString().equals(replyDraft)) {
+            h.input.setText(replyDraft);
+            h.input.setSelection(replyDraft.length());
+        }
+        h.btnSend.setOnClickListener(v -> {
+            String text = replyDraft.trim();
+            if (text.isEmpty()) {
+                h.input.setError("Please enter a reply");
+                return;
+            }
+            listener.onSendReply(composer.answerId, text);
+        });
+        if (focusedComposer != composer.answerId) {
+            focusedComposer = composer.answerId;
+            h.input.requestFocus();
+        }
+    }
+
+    private static String getInitials(String name) {
+        if (name == null || name.isEmpty())
+            return "??";
+        String[] parts = name.split(" ");
+        if (parts.length >= 2) {
+            return "" + parts[0].charAt(0) + parts[1].charAt(0);
+        }
+        return name.length() >= 2 ? name.substring(0, 2).toUpperCase() : name.toUpperCase();
+    }
+
+    private static String getTimeAgo(String dateStr) {
+        return "recently";
+    }
+
+    static class HeaderHolder extends RecyclerView.ViewHolder {
+        final TextView initials, authorName, authorRole, timeAgo, title, description, like, answersHeader;
+        final LinearLayout btnLike;
+        final ImageView heart;
+
+        HeaderHolder(@NonNull View itemView) {
+            super(itemView);
+            initials = itemView.findViewById(R.id.txtAuthorInitials);
+            authorName = itemView.findViewById(R.id.txtAuthorName);
+            authorRole = itemView.findViewById(R.id.txtAuthorRole);
+            timeAgo = itemView.findViewById(R.id.txtTimeAgo);
+            title = itemView.findViewById(R.id.txtQuestionTitle);
+            description = itemView.findViewById(R.id.txtQuestionDescription);
+            btnLike = itemView.findViewById(R.id.btnLike);
+            heart = itemView.findViewById(R.id.imgHeart);
+            like = itemView.findViewById(R.id.txtLike);
+            answersHeader = itemView.findViewById(R.id.txtAnswersHeader);
+        }
+    }
+
+    static class AnswerHolder extends RecyclerView.ViewHolder {
+        final TextView avatar, name, time, text, likes, btnReply;
+        final LinearLayout btnLike;
+        final ImageView heart;
+
+        AnswerHolder(@NonNull View itemView) {
+            super(itemView);
+            avatar = itemView.findViewById(R.id.txtAvatar);
+            name = itemView.findViewById(R.id.txtName);
+            time = itemView.findViewById(R.id.txtTime);
+            text = itemView.findViewById(R.id.txtAnswer);
+            btnLike = itemView.findViewById(R.id.btnLike);
+            heart = itemView.findViewById(R.id.imgHeart);
+            likes = itemView.findViewById(R.id.txtLikes);
+            btnReply = itemView.findViewById(R.id.btnReply);
+        }
+    }
+
+    static class ReplyHolder extends RecyclerView.ViewHolder {
+        final TextView author, text;
+
+        ReplyHolder(@NonNull View itemView) {
+            super(itemView);
+            author = itemView.findViewById(R.id.txtReplyAuthor);
+            text = itemView.findViewById(R.id.txtReplyText);
+        }
+    }
+
+    static class ComposerHolder extends RecyclerView.ViewHolder {
+        final EditText input;
+        final ImageButton btnSend;
+
+        ComposerHolder(@NonNull View itemView) {
+            super(itemView);
+            input = itemView.findViewById(R.id.inputReply);
+            btnSend = itemView.findViewById(R.id.btnSendReply);
+        }
+    }
+}
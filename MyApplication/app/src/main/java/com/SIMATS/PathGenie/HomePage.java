@@ -1,7 +1,6 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -18,12 +17,11 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
+import com.SIMATS.PathGenie.utils.ImagePipeline;
 import com.SIMATS.PathGenie.utils.SessionManager;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.ImageRequest;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONObject;
 
@@ -63,7 +61,6 @@ public class HomePage extends AppCompatActivity {
 
     // Session & Network
     private SessionManager sessionManager;
-    private RequestQueue requestQueue;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -72,7 +69,6 @@ public class HomePage extends AppCompatActivity {
         setContentView(R.layout.activity_home_page);
 
         sessionManager = new SessionManager(this);
-        requestQueue = Volley.newRequestQueue(this);
 
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
             Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
@@ -208,7 +204,7 @@ public class HomePage extends AppCompatActivity {
                     }
                 },
                 error -> Log.e(TAG, "Error loading unread count", error));
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void loadProfileData(int userId) {
@@ -239,7 +235,7 @@ public class HomePage extends AppCompatActivity {
                     }
                 },
                 error -> Log.e(TAG, "Error refreshing profile data", error));
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void updateGreeting(String fullName) {
@@ -254,21 +250,9 @@ public class HomePage extends AppCompatActivity {
     }
 
     private void loadAvatar(String url) {
-        ImageRequest imageRequest = new ImageRequest(url,
-                bitmap -> {
-                    if (userAvatar != null)
-                        userAvatar.setImageBitmap(bitmap);
-                },
-                0, 0, ImageView.ScaleType.CENTER_CROP, Bitmap.Config.RGB_565,
-                error -> Log.e(TAG, "Error loading avatar: " + error.getMessage()));
-        requestQueue.add(imageRequest);
-    }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
+        if (userAvatar != null) {
+            ImagePipeline.loadAvatar(this, url, userAvatar);
         }
     }
+
 }
@@ -21,8 +21,8 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
 import com.android.volley.toolbox.StringRequest;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import com.SIMATS.PathGenie.network.VolleySingleton;
 
 import org.json.JSONObject;
@@ -38,7 +38,7 @@ import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
 public class JobDetailsPage extends AppCompatActivity {
 
     private static final String TAG = "JobDetailsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -154,12 +154,7 @@ public class JobDetailsPage extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         contentScroll.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "job_details.php?job_id=" + jobId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getJobDetails(jobId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     contentScroll.setVisibility(View.VISIBLE);
@@ -182,8 +177,6 @@ public class JobDetailsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching job details: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
@@ -475,7 +468,7 @@ public class JobDetailsPage extends AppCompatActivity {
             }
         };
 
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private int dpToPx(int dp) {
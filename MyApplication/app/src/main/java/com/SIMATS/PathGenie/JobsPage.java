@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -19,10 +19,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -36,7 +32,7 @@ import java.util.List;
 public class JobsPage extends AppCompatActivity {
 
     private static final String TAG = "JobsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -154,12 +150,7 @@ public class JobsPage extends AppCompatActivity {
         contentScroll.setVisibility(View.GONE);
         noJobsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "jobs.php?stream_id=" + streamId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getJobsByStream(streamId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -193,8 +184,6 @@ public class JobsPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                     noJobsText.setVisibility(View.VISIBLE);
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -19,10 +19,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -39,7 +35,7 @@ import org.json.JSONObject;
 public class LevelExamsPage extends AppCompatActivity {
 
     private static final String TAG = "LevelExamsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -125,12 +121,7 @@ public class LevelExamsPage extends AppCompatActivity {
         examsContainer.removeAllViews();
         noExamsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "exams_by_level.php?education_level_id=" + educationLevelId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getExamsByLevel(educationLevelId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -158,8 +149,6 @@ public class LevelExamsPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                     noExamsText.setVisibility(View.VISIBLE);
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
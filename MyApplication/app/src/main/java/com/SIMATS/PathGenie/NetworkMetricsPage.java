@@ -0,0 +1,73 @@
+package com.SIMATS.PathGenie;
+
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.activity.EdgeToEdge;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import com.SIMATS.PathGenie.data.CatalogRepository;
+import com.SIMATS.PathGenie.network.NetworkMetrics;
+import com.SIMATS.PathGenie.network.VolleySingleton;
+
+import java.util.Locale;
+
+/**
+ * NetworkMetricsPage - Debug screen showing per-endpoint latency percentiles,
+ * response sizes, cache outcomes and statuses recorded by NetworkMetrics.
+ * Opened by long-pressing the name on ProfilePage in debuggable builds.
+ */
+public class NetworkMetricsPage extends AppCompatActivity {
+
+    private TextView textMetrics;
+    private TextView textQueueSummary;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        EdgeToEdge.enable(this);
+        setContentView(R.layout.activity_network_metrics_page);
+
+        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
+            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
+            return insets;
+        });
+
+        textMetrics = findViewById(R.id.textMetrics);
+        textQueueSummary = findViewById(R.id.textQueueSummary);
+        Button btnRefresh = findViewById(R.id.btnRefresh);
+        Button btnReset = findViewById(R.id.btnReset);
+
+        btnRefresh.setOnClickListener(v -> showMetrics());
+        btnReset.setOnClickListener(v -> {
+            VolleySingleton.getInstance(this).getNetworkMetrics().reset();
+            showMetrics();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showMetrics();
+    }
+
+    private void showMetrics() {
+        VolleySingleton volley = VolleySingleton.getInstance(this);
+        NetworkMetrics metrics = volley.getNetworkMetrics();
+
+        textQueueSummary.setText(String.format(Locale.US,
+                "Queued %d  In flight %d  Pending %d  Coalesced %d",
+                volley.getQueuedCount(),
+                volley.getInFlightCount(),
+                volley.getPendingCount(),
+                volley.getDeduplicatedCount()));
+
+        textMetrics.setText(metrics.dump() + "\n"
+                + CatalogRepository.getInstance(this).getRecommendationCacheStats());
+    }
+}
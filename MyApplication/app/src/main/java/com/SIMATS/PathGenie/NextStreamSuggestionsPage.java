@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -19,14 +19,11 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
+import com.SIMATS.PathGenie.utils.StreamIconResolver;
 
 /**
  * NextStreamSuggestionsPage Activity - Displays next stream suggestions based
@@ -37,7 +34,7 @@ import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
 public class NextStreamSuggestionsPage extends AppCompatActivity {
 
     private static final String TAG = "NextStreamSuggestions";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -134,12 +131,7 @@ public class NextStreamSuggestionsPage extends AppCompatActivity {
         streamsContainer.removeAllViews();
         noStreamsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "next_streams.php?stream_id=" + streamId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getNextStreams(streamId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -167,14 +159,15 @@ public class NextStreamSuggestionsPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                     showNoStreamsState("Network error. Please try again.");
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
      * Display streams in the container.
      */
     private void displayStreams(JSONArray streams) {
+        // A cached copy may already be on screen before the revalidated one arrives
+        streamsContainer.removeAllViews();
+
         LayoutInflater inflater = LayoutInflater.from(this);
 
         for (int i = 0; i < streams.length(); i++) {
@@ -208,7 +201,7 @@ public class NextStreamSuggestionsPage extends AppCompatActivity {
                 descView.setText(truncateText(description, 30));
 
                 // Set icon based on stream name
-                iconView.setImageResource(getStreamIcon(streamName));
+                iconView.setImageResource(StreamIconResolver.getStreamIcon(streamName));
 
                 // Click listener - select this stream and navigate to details
                 final int clickedStreamId = nextStreamId;
@@ -239,141 +232,6 @@ public class NextStreamSuggestionsPage extends AppCompatActivity {
             }
         }
     }
-
-    /**
-     * Get appropriate icon for stream.
-     */
-    private int getStreamIcon(String name) {
-        if (name == null)
-            return R.drawable.ic_education;
-        String lower = name.toLowerCase();
-
-        // === SCIENCE STREAMS ===
-        if (lower.contains("pcm") || (lower.contains("science") && lower.contains("math"))) {
-            return R.drawable.ic_science;
-        } else if (lower.contains("pcb") || (lower.contains("science") && lower.contains("bio"))) {
-            return R.drawable.ic_microscope;
-        } else if (lower.contains("biology") || lower.contains("life science")) {
-            return R.drawable.ic_biology;
-        } else if (lower.contains("physics")) {
-            return R.drawable.ic_bulb;
-        } else if (lower.contains("chemistry")) {
-            return R.drawable.ic_science;
-        }
-
-        // === COMMERCE & BUSINESS ===
-        else if (lower.contains("commerce") && !lower.contains("e-commerce")) {
-            return R.drawable.ic_commerce;
-        } else if (lower.contains("accounting") || lower.contains("finance")) {
-            return R.drawable.ic_rupee;
-        } else if (lower.contains("business") || lower.contains("bba") || lower.contains("mba")) {
-            return R.drawable.ic_briefcase;
-        } else if (lower.contains("marketing") || lower.contains("sales")) {
-            return R.drawable.ic_trend_up;
-        } else if (lower.contains("economics")) {
-            return R.drawable.ic_balance;
-        }
-
-        // === ARTS & HUMANITIES ===
-        else if (lower.contains("arts") && !lower.contains("fine art")) {
-            return R.drawable.ic_arts;
-        } else if (lower.contains("literature") || lower.contains("english")) {
-            return R.drawable.ic_book;
-        } else if (lower.contains("history") || lower.contains("political")) {
-            return R.drawable.ic_history;
-        } else if (lower.contains("psychology") || lower.contains("sociology")) {
-            return R.drawable.ic_user;
-        } else if (lower.contains("humanities") || lower.contains("liberal")) {
-            return R.drawable.ic_school;
-        } else if (lower.contains("journalism") || lower.contains("media")) {
-            return R.drawable.ic_mic;
-        }
-
-        // === ENGINEERING & TECHNOLOGY ===
-        else if (lower.contains("computer") || lower.contains("cse") || lower.contains("software")) {
-            return R.drawable.ic_computer;
-        } else if (lower.contains("mechanical") || lower.contains("automobile")) {
-            return R.drawable.ic_engineering;
-        } else if (lower.contains("electrical") || lower.contains("electronics")) {
-            return R.drawable.ic_bulb;
-        } else if (lower.contains("civil") || lower.contains("construction")) {
-            return R.drawable.ic_building;
-        } else if (lower.contains("engineering") || lower.contains("b.tech") || lower.contains("btech")) {
-            return R.drawable.ic_engineering;
-        } else if (lower.contains("data science") || lower.contains("ai") || lower.contains("machine learning")) {
-            return R.drawable.ic_ai_brain;
-        }
-
-        // === MEDICAL & HEALTH ===
-        else if (lower.contains("mbbs") || lower.contains("medicine") || lower.contains("doctor")) {
-            return R.drawable.ic_medical;
-        } else if (lower.contains("nursing") || lower.contains("healthcare")) {
-            return R.drawable.ic_heart_filled;
-        } else if (lower.contains("pharmacy") || lower.contains("pharma")) {
-            return R.drawable.ic_science;
-        } else if (lower.contains("dental") || lower.contains("bds")) {
-            return R.drawable.ic_medical;
-        }
-
-        // === LAW & LEGAL ===
-        else if (lower.contains("law") || lower.contains("llb") || lower.contains("legal")) {
-            return R.drawable.ic_law;
-        }
-
-        // === DESIGN & CREATIVE ===
-        else if (lower.contains("design") || lower.contains("graphic")) {
-            return R.drawable.ic_design;
-        } else if (lower.contains("architecture") || lower.contains("interior")) {
-            return R.drawable.ic_architecture;
-        } else if (lower.contains("fashion")) {
-            return R.drawable.ic_star;
-        } else if (lower.contains("animation") || lower.contains("multimedia")) {
-            return R.drawable.ic_camera;
-        }
-
-        // === AVIATION & TRAVEL ===
-        else if (lower.contains("aviation") || lower.contains("pilot") || lower.contains("aerospace")) {
-            return R.drawable.ic_aviation;
-        } else if (lower.contains("hotel") || lower.contains("hospitality") || lower.contains("tourism")) {
-            return R.drawable.ic_building;
-        }
-
-        // === VOCATIONAL & DIPLOMA ===
-        else if (lower.contains("vocational") || lower.contains("skill") || lower.contains("iti")) {
-            return R.drawable.ic_vocational;
-        } else if (lower.contains("diploma") || lower.contains("polytechnic")) {
-            return R.drawable.ic_diploma;
-        }
-
-        // === GOVERNMENT & COMPETITIVE ===
-        else if (lower.contains("civil service") || lower.contains("upsc") || lower.contains("ias")) {
-            return R.drawable.ic_govt;
-        } else if (lower.contains("bank") || lower.contains("ssc")) {
-            return R.drawable.ic_rupee;
-        }
-
-        // === RESEARCH & ACADEMIA ===
-        else if (lower.contains("research") || lower.contains("phd") || lower.contains("doctorate")) {
-            return R.drawable.ic_research;
-        } else if (lower.contains("teaching") || lower.contains("education") || lower.contains("b.ed")) {
-            return R.drawable.ic_school;
-        }
-
-        // === DEGREE LEVELS ===
-        else if (lower.contains("undergraduate") || lower.contains("bachelor")) {
-            return R.drawable.ic_undergraduate;
-        } else if (lower.contains("postgraduate") || lower.contains("master")) {
-            return R.drawable.ic_postgraduate;
-        } else if (lower.contains("graduation") || lower.contains("graduate")) {
-            return R.drawable.ic_graduation;
-        }
-
-        // === DEFAULT ===
-        else {
-            return R.drawable.ic_education;
-        }
-    }
-
     /**
      * Truncate text to specified length.
      */
@@ -2,6 +2,7 @@ package com.SIMATS.PathGenie;
 
 import android.content.Intent;
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 import android.graphics.Color;
 import android.graphics.Typeface;
 import android.os.Bundle;
@@ -20,9 +21,7 @@ import androidx.core.view.WindowInsetsCompat;
 
 import com.SIMATS.PathGenie.utils.SessionManager;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -40,7 +39,6 @@ public class NotificationsPage extends AppCompatActivity {
     private TextView btnMarkAllRead, btnClearAll;
     private LinearLayout notificationsContainer;
 
-    private RequestQueue requestQueue;
     private SessionManager sessionManager;
 
     @Override
@@ -55,7 +53,6 @@ public class NotificationsPage extends AppCompatActivity {
             return insets;
         });
 
-        requestQueue = Volley.newRequestQueue(this);
         sessionManager = new SessionManager(this);
 
         initViews();
@@ -106,7 +103,7 @@ public class NotificationsPage extends AppCompatActivity {
                     Toast.makeText(this, "Failed to load notifications", Toast.LENGTH_SHORT).show();
                 });
 
-        requestQueue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void addNotificationCard(JSONObject notification) {
@@ -246,7 +243,7 @@ public class NotificationsPage extends AppCompatActivity {
                     },
                     error -> Log.e(TAG, "Error marking notification read", error));
 
-            requestQueue.add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
         } catch (Exception e) {
             Log.e(TAG, "Error creating request", e);
         }
@@ -268,7 +265,7 @@ public class NotificationsPage extends AppCompatActivity {
                     },
                     error -> Log.e(TAG, "Error marking all read", error));
 
-            requestQueue.add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
         } catch (Exception e) {
             Log.e(TAG, "Error creating request", e);
         }
@@ -291,7 +288,7 @@ public class NotificationsPage extends AppCompatActivity {
                     },
                     error -> Log.e(TAG, "Error clearing notifications", error));
 
-            requestQueue.add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
         } catch (Exception e) {
             Log.e(TAG, "Error creating request", e);
         }
@@ -313,11 +310,4 @@ public class NotificationsPage extends AppCompatActivity {
         return (int) (dp * getResources().getDisplayMetrics().density);
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
 }
@@ -1,6 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.util.Log;
@@ -21,12 +22,12 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
+import com.SIMATS.PathGenie.utils.ImagePipeline;
 import com.SIMATS.PathGenie.utils.SessionManager;
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.ImageRequest;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 import androidx.activity.result.ActivityResultLauncher;
 
 import org.json.JSONException;
@@ -92,14 +93,19 @@ public class ProfilePage extends AppCompatActivity {
                 new androidx.activity.result.contract.ActivityResultContracts.GetContent(),
                 uri -> {
                     if (uri != null) {
-                        try {
-                            Bitmap bitmap = android.provider.MediaStore.Images.Media.getBitmap(getContentResolver(),
-                                    uri);
-                            uploadProfileImage(bitmap);
-                        } catch (java.io.IOException e) {
-                            e.printStackTrace();
-                            Toast.makeText(this, "Failed to load image", Toast.LENGTH_SHORT).show();
-                        }
+                        ImagePipeline.decodeUri(this, uri, ImagePipeline.UPLOAD_MAX_SIZE,
+                                new ImagePipeline.Callback() {
+                                    @Override
+                                    public void onDecoded(Bitmap bitmap) {
+                                        uploadProfileImage(bitmap);
+                                    }
+
+                                    @Override
+                                    public void onError(Exception e) {
+                                        Toast.makeText(ProfilePage.this, "Failed to load image",
+                                                Toast.LENGTH_SHORT).show();
+                                    }
+                                });
                     }
                 });
     }
@@ -171,6 +177,14 @@ public class ProfilePage extends AppCompatActivity {
             finish();
         });
 
+        // Debug builds: long-press name -> network metrics
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            textName.setOnLongClickListener(v -> {
+                startActivity(new Intent(this, NetworkMetricsPage.class));
+                return true;
+            });
+        }
+
         btnLogout.setOnClickListener(v -> showLogoutConfirmation());
         btnDeleteAccount.setOnClickListener(v -> showDeleteAccountConfirmation());
     }
@@ -235,7 +249,7 @@ public class ProfilePage extends AppCompatActivity {
             }
         };
 
-        Volley.newRequestQueue(this).add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void checkCameraPermissionAndLaunch() {
@@ -262,6 +276,8 @@ public class ProfilePage extends AppCompatActivity {
     private void uploadProfileImage(Bitmap bitmap) {
         Toast.makeText(this, "Uploading profile picture...", Toast.LENGTH_SHORT).show();
         String url = ApiConfig.getBaseUrl() + "upload_profile_image.php";
+        java.io.File uploadFile = new java.io.File(getCacheDir(),
+                "profile_upload_" + System.currentTimeMillis() + ".jpg");
 
         com.SIMATS.PathGenie.network.VolleyMultipartRequest multipartRequest = new com.SIMATS.PathGenie.network.VolleyMultipartRequest(
                 Request.Method.POST, url,
@@ -273,6 +289,12 @@ public class ProfilePage extends AppCompatActivity {
                         boolean status = jsonObject.optBoolean("status", false);
                         if (status) {
                             Toast.makeText(this, "Profile picture updated", Toast.LENGTH_SHORT).show();
+                            String imageUrl = jsonObject.optString("image_url");
+                            if (!imageUrl.isEmpty()) {
+                                // Refresh below then finds the new image in the avatar cache
+                                ImagePipeline.cacheAvatar(this, imageUrl.startsWith("http") ? imageUrl
+                                        : ApiConfig.getBaseUrl() + imageUrl, bitmap);
+                            }
                             fetchProfileData(); // Refresh to show new image
                         } else {
                             String message = jsonObject.optString("message", "Upload failed");
@@ -295,22 +317,23 @@ public class ProfilePage extends AppCompatActivity {
             }
 
             @Override
-            protected java.util.Map<String, DataPart> getByteData() {
-                java.util.Map<String, DataPart> params = new java.util.HashMap<>();
-                byte[] imageData = getFileDataFromDrawable(bitmap);
-                params.put("image",
-                        new DataPart("profile_" + System.currentTimeMillis() + ".jpg", imageData, "image/jpeg"));
+            protected java.util.Map<String, FilePart> getFileData() throws java.io.IOException {
+                // Compressed once on the network thread, then streamed from the file
+                if (!uploadFile.exists()) {
+                    writeUploadFile(bitmap, uploadFile);
+                }
+                java.util.Map<String, FilePart> params = new java.util.HashMap<>();
+                params.put("image", new FilePart(uploadFile.getName(), uploadFile, "image/jpeg"));
                 return params;
             }
         };
+        // Deleted however the upload ends, including cancellation
+        multipartRequest.deleteOnFinish(uploadFile);
 
-        multipartRequest.setRetryPolicy(new com.android.volley.DefaultRetryPolicy(30000,
-                com.android.volley.DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
-                com.android.volley.DefaultRetryPolicy.DEFAULT_BACKOFF_MULT));
-        Volley.newRequestQueue(this).add(multipartRequest);
+        VolleySingleton.getInstance(this).addToRequestQueue(multipartRequest, this);
     }
 
-    private byte[] getFileDataFromDrawable(Bitmap bitmap) {
+    private void writeUploadFile(Bitmap bitmap, java.io.File file) throws java.io.IOException {
         int maxHeight = 1024;
         int maxWidth = 1024;
         float scale = Math.min(((float) maxHeight / bitmap.getWidth()), ((float) maxWidth / bitmap.getHeight()));
@@ -320,9 +343,23 @@ public class ProfilePage extends AppCompatActivity {
             int height = Math.round(bitmap.getHeight() * scale);
             finalBitmap = Bitmap.createScaledBitmap(bitmap, width, height, true);
         }
-        java.io.ByteArrayOutputStream byteArrayOutputStream = new java.io.ByteArrayOutputStream();
-        finalBitmap.compress(Bitmap.CompressFormat.JPEG, 80, byteArrayOutputStream);
-        return byteArrayOutputStream.toByteArray();
+        // Renamed once complete, so an interrupted write is never reused
+        java.io.File partial = new java.io.File(file.getPath() + ".part");
+        try {
+            java.io.FileOutputStream out = new java.io.FileOutputStream(partial);
+            try {
+                if (!finalBitmap.compress(Bitmap.CompressFormat.JPEG, 80, out)) {
+                    throw new java.io.IOException("Could not compress profile image");
+                }
+            } finally {
+                out.close();
+            }
+            if (!partial.renameTo(file)) {
+                throw new java.io.IOException("Could not write " + file);
+            }
+        } finally {
+            partial.delete();
+        }
     }
 
     private void showFullScreenImage() {
@@ -337,12 +374,14 @@ public class ProfilePage extends AppCompatActivity {
         fullScreenImageView.setBackgroundColor(android.graphics.Color.BLACK);
 
         // Load image
+        // Decode at screen size rather than full resolution
+        android.util.DisplayMetrics metrics = getResources().getDisplayMetrics();
         ImageRequest imageRequest = new ImageRequest(currentImageUrl,
                 bitmap -> fullScreenImageView.setImageBitmap(bitmap),
-                0, 0, ImageView.ScaleType.FIT_CENTER, Bitmap.Config.RGB_565,
+                metrics.widthPixels, metrics.heightPixels, ImageView.ScaleType.FIT_CENTER, Bitmap.Config.RGB_565,
                 error -> {
                 });
-        Volley.newRequestQueue(this).add(imageRequest);
+        VolleySingleton.getInstance(this).addToRequestQueue(imageRequest, this);
 
         dialog.setContentView(fullScreenImageView);
         fullScreenImageView.setOnClickListener(v -> dialog.dismiss());
@@ -362,7 +401,6 @@ public class ProfilePage extends AppCompatActivity {
 
         String url = ApiConfig.getBaseUrl() + "get_profile.php?user_id=" + userId;
 
-        RequestQueue queue = Volley.newRequestQueue(this);
         JsonObjectRequest request = new JsonObjectRequest(Request.Method.GET, url, null,
                 response -> {
                     loadingProgress.setVisibility(View.GONE);
@@ -388,7 +426,7 @@ public class ProfilePage extends AppCompatActivity {
                     Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                 });
 
-        queue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void populateProfile(JSONObject data) {
@@ -450,13 +488,7 @@ public class ProfilePage extends AppCompatActivity {
     }
 
     private void loadProfileImage(String url) {
-        ImageRequest imageRequest = new ImageRequest(url,
-                bitmap -> profileImage.setImageBitmap(bitmap),
-                0, 0, ImageView.ScaleType.CENTER_CROP, Bitmap.Config.RGB_565,
-                error -> {
-                    Log.e(TAG, "Error loading image: " + error.getMessage());
-                });
-        Volley.newRequestQueue(this).add(imageRequest);
+        ImagePipeline.loadAvatar(this, url, profileImage);
     }
 
     private void showLogoutConfirmation() {
@@ -585,7 +617,7 @@ public class ProfilePage extends AppCompatActivity {
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_LONG).show();
                 });
 
-        Volley.newRequestQueue(this).add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void deleteFirebaseAccount(AlertDialog dialog) {
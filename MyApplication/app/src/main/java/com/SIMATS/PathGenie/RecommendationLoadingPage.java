@@ -1,5 +1,6 @@
 package com.SIMATS.PathGenie;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
@@ -11,26 +12,18 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.DefaultRetryPolicy;
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
-import com.SIMATS.PathGenie.network.ApiConfig;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 
 /**
  * RecommendationLoadingPage - Loading screen while AI processes
  * recommendations.
- * Makes API call to ai_recommendations.php and navigates to results page.
+ * Gets recommendations from CatalogRepository (scored on the device, or by
+ * ai_recommendations.php) and navigates to results page.
  */
 public class RecommendationLoadingPage extends AppCompatActivity {
 
     private static final String TAG = "RecommendationLoading";
 
-    private RequestQueue requestQueue;
 
     // Data from previous pages
     private int educationLevel;
@@ -52,7 +45,6 @@ public class RecommendationLoadingPage extends AppCompatActivity {
         });
 
         // Initialize Volley
-        requestQueue = Volley.newRequestQueue(this);
 
         // Get data from previous pages
         educationLevel = getIntent().getIntExtra("education_level", 1);
@@ -66,74 +58,52 @@ public class RecommendationLoadingPage extends AppCompatActivity {
     }
 
     private void fetchRecommendations() {
-        try {
-            // Build JSON payload
-            JSONObject payload = new JSONObject();
-            payload.put("education_level", educationLevel);
-            payload.put("interest_area", interestArea != null ? interestArea : "Technology");
-            payload.put("career_preference_private", careerPreferencePrivate);
-            payload.put("difficulty_tolerance", difficultyTolerance);
-            payload.put("risk_tolerance", riskTolerance);
-
-            Log.d(TAG, "Request payload: " + payload.toString());
-
-            JsonObjectRequest request = new JsonObjectRequest(
-                    Request.Method.POST,
-                    ApiConfig.AI_RECOMMENDATIONS,
-                    payload,
-                    response -> {
-                        Log.d(TAG, "Response: " + response.toString());
-                        try {
-                            if (response.optBoolean("status", false)) {
-                                // Parse recommendations
-                                JSONArray streams = response.optJSONArray("recommended_streams");
-                                JSONArray exams = response.optJSONArray("recommended_exams");
-                                JSONArray jobs = response.optJSONArray("recommended_jobs");
-
-                                navigateToResults(
-                                        streams != null ? streams.toString() : "[]",
-                                        exams != null ? exams.toString() : "[]",
-                                        jobs != null ? jobs.toString() : "[]");
-                            } else {
-                                String error = response.optString("error", "Unknown error");
-                                Toast.makeText(this, "Error: " + error, Toast.LENGTH_LONG).show();
-                                finish();
-                            }
-                        } catch (Exception e) {
-                            Log.e(TAG, "Error parsing response", e);
-                            Toast.makeText(this, "Error processing recommendations.", Toast.LENGTH_LONG).show();
+        // Scored on the device from the offline catalog; ai_recommendations.php if it is not there yet
+        CatalogRepository.getInstance(this).getRecommendations(educationLevel,
+                interestArea != null ? interestArea : "Technology", careerPreferencePrivate,
+                difficultyTolerance, riskTolerance, this,
+                response -> {
+                    Log.d(TAG, "Response: " + response.toString());
+                    try {
+                        if (response.optBoolean("status", false)) {
+                            // Stored by CatalogRepository; the results page reads it from there
+                            startActivity(resultsIntent(this, educationLevel, interestArea,
+                                    careerPreferencePrivate, difficultyTolerance, riskTolerance));
+                            finish(); // Don't allow back to loading page
+                        } else {
+                            String error = response.optString("error", "Unknown error");
+                            Toast.makeText(this, "Error: " + error, Toast.LENGTH_LONG).show();
                             finish();
                         }
-                    },
-                    error -> {
-                        Log.e(TAG, "API call failed", error);
-                        Toast.makeText(this, "Failed to get recommendations. Please try again.", Toast.LENGTH_LONG)
-                                .show();
+                    } catch (Exception e) {
+                        Log.e(TAG, "Error parsing response", e);
+                        Toast.makeText(this, "Error processing recommendations.", Toast.LENGTH_LONG).show();
                         finish();
-                    });
-
-            // Set retry policy with longer timeout
-            request.setRetryPolicy(new DefaultRetryPolicy(
-                    60000, // 60 seconds timeout
-                    DefaultRetryPolicy.DEFAULT_MAX_RETRIES,
-                    DefaultRetryPolicy.DEFAULT_BACKOFF_MULT));
-
-            requestQueue.add(request);
-        } catch (Exception e) {
-            Log.e(TAG, "Error creating request", e);
-            Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
-            finish();
-        }
+                    }
+                },
+                error -> {
+                    Log.e(TAG, "API call failed", error);
+                    Toast.makeText(this, "Failed to get recommendations. Please try again.", Toast.LENGTH_LONG)
+                            .show();
+                    finish();
+                });
     }
 
-    private void navigateToResults(String streams, String exams, String jobs) {
-        Intent intent = new Intent(this, CareerRecommendationPage.class);
-        intent.putExtra("recommended_streams", streams);
-        intent.putExtra("recommended_exams", exams);
-        intent.putExtra("recommended_jobs", jobs);
+    /**
+     * Intent for the results page. It carries the answers, not the results:
+     * CareerRecommendationPage gets them from CatalogRepository, which already
+     * has them. Also used by RecommendationP3Page when the results were
+     * precomputed.
+     */
+    static Intent resultsIntent(Context context, int educationLevel, String interestArea,
+            int careerPreferencePrivate, int difficultyTolerance, int riskTolerance) {
+        Intent intent = new Intent(context, CareerRecommendationPage.class);
         intent.putExtra("education_level", educationLevel);
-        startActivity(intent);
-        finish(); // Don't allow back to loading page
+        intent.putExtra("interest_area", interestArea);
+        intent.putExtra("career_preference_private", careerPreferencePrivate);
+        intent.putExtra("difficulty_tolerance", difficultyTolerance);
+        intent.putExtra("risk_tolerance", riskTolerance);
+        return intent;
     }
 
     @Override
@@ -141,11 +111,4 @@ public class RecommendationLoadingPage extends AppCompatActivity {
         super.onBackPressed();
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
 }
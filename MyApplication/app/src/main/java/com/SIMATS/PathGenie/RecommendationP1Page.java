@@ -12,6 +12,8 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.SIMATS.PathGenie.data.CatalogRepository;
+
 /**
  * RecommendationP1Page - Education Level Selection
  * Allows user to select their current education level for AI recommendations.
@@ -108,6 +110,9 @@ public class RecommendationP1Page extends AppCompatActivity {
         selectedEducationLevel = educationLevel;
         card.setBackgroundResource(R.drawable.bg_card_selected);
 
+        // Start scoring the answers still to come
+        CatalogRepository.getInstance(this).precomputeRecommendations(educationLevel, null);
+
         // Enable continue button
         btnContinue.setEnabled(true);
         btnContinue.setBackgroundResource(R.drawable.bg_primary_button);
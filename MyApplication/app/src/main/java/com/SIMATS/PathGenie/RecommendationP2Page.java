@@ -12,6 +12,8 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.SIMATS.PathGenie.data.CatalogRepository;
+
 /**
  * RecommendationP2Page - Interest Area Selection
  * Allows user to select their primary interest area for AI recommendations.
@@ -100,6 +102,9 @@ public class RecommendationP2Page extends AppCompatActivity {
         selectedInterest = interest;
         card.setBackgroundResource(R.drawable.bg_card_selected);
 
+        // Start scoring the answers still to come
+        CatalogRepository.getInstance(this).precomputeRecommendations(educationLevel, interest);
+
         // Enable continue button
         btnContinue.setEnabled(true);
         btnContinue.setBackgroundResource(R.drawable.bg_primary_button);
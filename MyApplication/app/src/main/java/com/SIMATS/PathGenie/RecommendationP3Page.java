@@ -12,6 +12,10 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
+import com.SIMATS.PathGenie.data.CatalogRepository;
+
+import org.json.JSONObject;
+
 /**
  * RecommendationP3Page - Career Preferences Selection
  * Allows user to select career preferences, difficulty tolerance, and risk
@@ -113,6 +117,15 @@ public class RecommendationP3Page extends AppCompatActivity {
         // Continue button
         btnContinue.setOnClickListener(v -> {
             if (isAllSelected()) {
+                // Usually scored while the previous answers were being given
+                JSONObject precomputed = CatalogRepository.getInstance(this).getCachedRecommendations(
+                        educationLevel, interestArea != null ? interestArea : "Technology",
+                        careerPreference, difficultyTolerance);
+                if (precomputed != null) {
+                    startActivity(RecommendationLoadingPage.resultsIntent(this, educationLevel,
+                            interestArea, careerPreference, difficultyTolerance, riskTolerance));
+                    return;
+                }
                 Intent intent = new Intent(RecommendationP3Page.this, RecommendationLoadingPage.class);
                 intent.putExtra("education_level", educationLevel);
                 intent.putExtra("interest_area", interestArea);
@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.DetailBatcher;
 import android.graphics.Typeface;
 import android.os.Bundle;
 import android.util.Log;
@@ -17,14 +17,14 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * RecommendationP4Page - AI Recommendation Results
  * Displays recommended streams, exams, and jobs based on user preferences.
@@ -32,7 +32,6 @@ import org.json.JSONObject;
 public class RecommendationP4Page extends AppCompatActivity {
 
     private static final String TAG = "RecommendationResults";
-    // Using centralized ApiConfig.getBaseUrl()
 
     private ImageView btnBack;
     private Button btnHome;
@@ -41,7 +40,6 @@ public class RecommendationP4Page extends AppCompatActivity {
     private LinearLayout examsContainer;
     private LinearLayout jobsContainer;
 
-    private RequestQueue requestQueue;
     private int educationLevel;
 
     @Override
@@ -56,8 +54,6 @@ public class RecommendationP4Page extends AppCompatActivity {
             return insets;
         });
 
-        requestQueue = Volley.newRequestQueue(this);
-
         initViews();
         setupClickListeners();
 
@@ -100,12 +96,28 @@ public class RecommendationP4Page extends AppCompatActivity {
                 addNoDataCard(streamsContainer, "No streams available");
                 return;
             }
+            List<Integer> ids = new ArrayList<>();
+            Map<Integer, Integer> scores = new HashMap<>();
             for (int i = 0; i < array.length(); i++) {
                 JSONObject obj = array.getJSONObject(i);
                 int streamId = obj.getInt("stream_id");
-                int score = obj.getInt("score");
-                fetchStreamDetails(streamId, score);
+                ids.add(streamId);
+                scores.put(streamId, obj.getInt("score"));
             }
+
+            // One batched request; cards are added in recommendation order
+            DetailBatcher.getInstance(this).fetch(this, DetailBatcher.TYPE_STREAM, ids, details -> {
+                for (Map.Entry<Integer, JSONObject> entry : details.entrySet()) {
+                    JSONObject data = entry.getValue();
+                    String name = data.optString("stream_name", "Unknown");
+                    String subjects = data.optString("subjects", "");
+                    String description = data.optString("description", "");
+                    addStreamCard(name, subjects, scores.get(entry.getKey()), description);
+                }
+                if (details.isEmpty()) {
+                    addNoDataCard(streamsContainer, "No streams available");
+                }
+            });
         } catch (Exception e) {
             Log.e(TAG, "Error parsing streams", e);
             addNoDataCard(streamsContainer, "No streams available");
@@ -119,12 +131,26 @@ public class RecommendationP4Page extends AppCompatActivity {
                 addNoDataCard(examsContainer, "No exams available");
                 return;
             }
+            List<Integer> ids = new ArrayList<>();
+            Map<Integer, Integer> scores = new HashMap<>();
             for (int i = 0; i < array.length(); i++) {
                 JSONObject obj = array.getJSONObject(i);
                 int examId = obj.getInt("exam_id");
-                int score = obj.getInt("score");
-                fetchExamDetails(examId, score);
+                ids.add(examId);
+                scores.put(examId, obj.getInt("score"));
             }
+
+            DetailBatcher.getInstance(this).fetch(this, DetailBatcher.TYPE_EXAM, ids, details -> {
+                for (Map.Entry<Integer, JSONObject> entry : details.entrySet()) {
+                    JSONObject data = entry.getValue();
+                    String name = data.optString("exam_name", "Unknown");
+                    String description = data.optString("description", "");
+                    addExamCard(name, scores.get(entry.getKey()), description);
+                }
+                if (details.isEmpty()) {
+                    addNoDataCard(examsContainer, "No exams available");
+                }
+            });
         } catch (Exception e) {
             Log.e(TAG, "Error parsing exams", e);
             addNoDataCard(examsContainer, "No exams available");
@@ -138,92 +164,34 @@ public class RecommendationP4Page extends AppCompatActivity {
                 addNoDataCard(jobsContainer, "No jobs available");
                 return;
             }
+            List<Integer> ids = new ArrayList<>();
+            Map<Integer, Integer> scores = new HashMap<>();
             for (int i = 0; i < array.length(); i++) {
                 JSONObject obj = array.getJSONObject(i);
                 int jobId = obj.getInt("job_id");
-                int score = obj.getInt("score");
-                fetchJobDetails(jobId, score);
+                ids.add(jobId);
+                scores.put(jobId, obj.getInt("score"));
             }
+
+            DetailBatcher.getInstance(this).fetch(this, DetailBatcher.TYPE_JOB, ids, details -> {
+                for (Map.Entry<Integer, JSONObject> entry : details.entrySet()) {
+                    JSONObject data = entry.getValue();
+                    // job_details.php returns job_name; job_title kept for older responses
+                    String name = data.optString("job_name", data.optString("job_title", "Unknown"));
+                    String type = data.optString("job_type", "Private");
+                    String description = data.optString("description", "");
+                    addJobCard(name, type, scores.get(entry.getKey()), description);
+                }
+                if (details.isEmpty()) {
+                    addNoDataCard(jobsContainer, "No jobs available");
+                }
+            });
         } catch (Exception e) {
             Log.e(TAG, "Error parsing jobs", e);
             addNoDataCard(jobsContainer, "No jobs available");
         }
     }
 
-    private void fetchStreamDetails(int streamId, int score) {
-        String url = ApiConfig.getBaseUrl() + "stream_details.php?stream_id=" + streamId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONObject data = response.getJSONObject("data");
-                            String name = data.getString("stream_name");
-                            String subjects = data.optString("subjects", "");
-                            String description = data.optString("description", "");
-                            addStreamCard(name, subjects, score, description);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing stream details", e);
-                    }
-                },
-                error -> Log.e(TAG, "Failed to fetch stream " + streamId, error));
-
-        requestQueue.add(request);
-    }
-
-    private void fetchExamDetails(int examId, int score) {
-        String url = ApiConfig.getBaseUrl() + "exam_details.php?exam_id=" + examId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONObject data = response.getJSONObject("data");
-                            String name = data.getString("exam_name");
-                            String description = data.optString("description", "");
-                            addExamCard(name, score, description);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing exam details", e);
-                    }
-                },
-                error -> Log.e(TAG, "Failed to fetch exam " + examId, error));
-
-        requestQueue.add(request);
-    }
-
-    private void fetchJobDetails(int jobId, int score) {
-        String url = ApiConfig.getBaseUrl() + "job_details.php?job_id=" + jobId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
-                response -> {
-                    try {
-                        if (response.optBoolean("status", false)) {
-                            JSONObject data = response.getJSONObject("data");
-                            String name = data.getString("job_title");
-                            String type = data.optString("job_type", "Private");
-                            String description = data.optString("description", "");
-                            addJobCard(name, type, score, description);
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error parsing job details", e);
-                    }
-                },
-                error -> Log.e(TAG, "Failed to fetch job " + jobId, error));
-
-        requestQueue.add(request);
-    }
-
     private void addStreamCard(String name, String subjects, int score, String description) {
         LinearLayout card = createRecommendationCard();
 
@@ -381,13 +349,5 @@ public class RecommendationP4Page extends AppCompatActivity {
         txt.setPadding(32, 32, 32, 32);
         container.addView(txt);
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (requestQueue != null) {
-            requestQueue.cancelAll(TAG);
-        }
-    }
 }
 
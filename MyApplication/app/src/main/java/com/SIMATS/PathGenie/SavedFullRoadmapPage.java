@@ -4,6 +4,7 @@ import android.app.AlertDialog;
 import android.content.Intent;
 
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -21,9 +22,7 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -176,7 +175,7 @@ public class SavedFullRoadmapPage extends AppCompatActivity {
                         Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                     });
 
-            Volley.newRequestQueue(this).add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
 
         } catch (Exception e) {
             loadingProgress.setVisibility(View.GONE);
@@ -197,7 +196,6 @@ public class SavedFullRoadmapPage extends AppCompatActivity {
         }
         Log.d(TAG, "Fetching from: " + url);
 
-        RequestQueue queue = Volley.newRequestQueue(this);
         JsonObjectRequest request = new JsonObjectRequest(Request.Method.GET, url, null,
                 response -> {
                     loadingProgress.setVisibility(View.GONE);
@@ -228,7 +226,7 @@ public class SavedFullRoadmapPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                 });
 
-        queue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void buildTimeline(JSONArray steps) {
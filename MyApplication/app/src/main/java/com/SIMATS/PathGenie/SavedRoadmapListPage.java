@@ -2,6 +2,7 @@ package com.SIMATS.PathGenie;
 
 import android.content.Intent;
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -19,9 +20,7 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 import com.SIMATS.PathGenie.utils.SessionManager;
 
 import org.json.JSONArray;
@@ -114,7 +113,6 @@ public class SavedRoadmapListPage extends AppCompatActivity {
         String url = ApiConfig.getBaseUrl() + "get_saved_roadmaps.php?user_id=" + userId;
         Log.d(TAG, "Fetching from: " + url);
 
-        RequestQueue queue = Volley.newRequestQueue(this);
         JsonObjectRequest request = new JsonObjectRequest(Request.Method.GET, url, null,
                 response -> {
                     loadingProgress.setVisibility(View.GONE);
@@ -144,7 +142,7 @@ public class SavedRoadmapListPage extends AppCompatActivity {
                     Log.e(TAG, "Network error", error);
                 });
 
-        queue.add(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void populateRoadmaps(JSONArray roadmaps) {
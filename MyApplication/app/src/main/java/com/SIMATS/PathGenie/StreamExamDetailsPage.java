@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.Gravity;
@@ -20,10 +20,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONObject;
 
 import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
@@ -38,7 +34,7 @@ import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
 public class StreamExamDetailsPage extends AppCompatActivity {
 
     private static final String TAG = "StreamExamDetailsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -158,12 +154,7 @@ public class StreamExamDetailsPage extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         contentScroll.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "exam_details.php?exam_id=" + examId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getExamDetails(examId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     contentScroll.setVisibility(View.VISIBLE);
@@ -186,8 +177,6 @@ public class StreamExamDetailsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching exam details: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -19,10 +19,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -33,7 +29,7 @@ import org.json.JSONObject;
 public class StreamExamsPage extends AppCompatActivity {
 
     private static final String TAG = "StreamExamsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -136,12 +132,7 @@ public class StreamExamsPage extends AppCompatActivity {
         examsContainer.removeAllViews();
         noExamsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "exams.php?stream_id=" + streamId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getExamsByStream(streamId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -169,8 +160,6 @@ public class StreamExamsPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                     noExamsText.setVisibility(View.VISIBLE);
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
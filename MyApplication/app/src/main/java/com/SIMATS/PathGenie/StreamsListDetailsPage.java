@@ -1,7 +1,8 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
+import com.SIMATS.PathGenie.utils.StreamIconResolver;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -18,10 +19,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONObject;
 
 /**
@@ -34,7 +31,7 @@ import org.json.JSONObject;
 public class StreamsListDetailsPage extends AppCompatActivity {
 
     private static final String TAG = "StreamsListDetailsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -110,12 +107,7 @@ public class StreamsListDetailsPage extends AppCompatActivity {
 
         progressBar.setVisibility(View.VISIBLE);
 
-        String url = ApiConfig.getBaseUrl() + "stream_details.php?stream_id=" + streamId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getStreamDetails(streamId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -140,8 +132,6 @@ public class StreamsListDetailsPage extends AppCompatActivity {
                     // Fall back to basic info from intent
                     updateBasicUI();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     private void updateUI(JSONObject data) {
@@ -184,7 +174,7 @@ public class StreamsListDetailsPage extends AppCompatActivity {
             }
 
             // Set icon based on stream name
-            streamIcon.setImageResource(getStreamIcon(name));
+            streamIcon.setImageResource(StreamIconResolver.getStreamIcon(name));
             streamIcon.setColorFilter(android.graphics.Color.parseColor("#2563EB"),
                     android.graphics.PorterDuff.Mode.SRC_IN);
 
@@ -197,7 +187,7 @@ public class StreamsListDetailsPage extends AppCompatActivity {
         if (streamNameStr != null && !streamNameStr.isEmpty()) {
             streamName.setText(streamNameStr);
         }
-        streamIcon.setImageResource(getStreamIcon(streamNameStr));
+        streamIcon.setImageResource(StreamIconResolver.getStreamIcon(streamNameStr));
         streamIcon.setColorFilter(android.graphics.Color.parseColor("#2563EB"),
                 android.graphics.PorterDuff.Mode.SRC_IN);
     }
@@ -231,138 +221,6 @@ public class StreamsListDetailsPage extends AppCompatActivity {
         Log.d(TAG, "Career scope: " + careerScope);
     }
 
-    private int getStreamIcon(String name) {
-        if (name == null)
-            return R.drawable.ic_education;
-        String lowerName = name.toLowerCase();
-
-        // === SCIENCE STREAMS ===
-        if (lowerName.contains("pcm") || (lowerName.contains("science") && lowerName.contains("math"))) {
-            return R.drawable.ic_science;
-        } else if (lowerName.contains("pcb") || (lowerName.contains("science") && lowerName.contains("bio"))) {
-            return R.drawable.ic_microscope;
-        } else if (lowerName.contains("biology") || lowerName.contains("life science")) {
-            return R.drawable.ic_biology;
-        } else if (lowerName.contains("physics")) {
-            return R.drawable.ic_bulb;
-        } else if (lowerName.contains("chemistry")) {
-            return R.drawable.ic_science;
-        }
-
-        // === COMMERCE & BUSINESS ===
-        else if (lowerName.contains("commerce") && !lowerName.contains("e-commerce")) {
-            return R.drawable.ic_commerce;
-        } else if (lowerName.contains("accounting") || lowerName.contains("finance")) {
-            return R.drawable.ic_rupee;
-        } else if (lowerName.contains("business") || lowerName.contains("bba") || lowerName.contains("mba")) {
-            return R.drawable.ic_briefcase;
-        } else if (lowerName.contains("marketing") || lowerName.contains("sales")) {
-            return R.drawable.ic_trend_up;
-        } else if (lowerName.contains("economics")) {
-            return R.drawable.ic_balance;
-        }
-
-        // === ARTS & HUMANITIES ===
-        else if (lowerName.contains("arts") && !lowerName.contains("fine art")) {
-            return R.drawable.ic_arts;
-        } else if (lowerName.contains("literature") || lowerName.contains("english")) {
-            return R.drawable.ic_book;
-        } else if (lowerName.contains("history") || lowerName.contains("political")) {
-            return R.drawable.ic_history;
-        } else if (lowerName.contains("psychology") || lowerName.contains("sociology")) {
-            return R.drawable.ic_user;
-        } else if (lowerName.contains("humanities") || lowerName.contains("liberal")) {
-            return R.drawable.ic_school;
-        } else if (lowerName.contains("journalism") || lowerName.contains("media")) {
-            return R.drawable.ic_mic;
-        }
-
-        // === ENGINEERING & TECHNOLOGY ===
-        else if (lowerName.contains("computer") || lowerName.contains("cse") || lowerName.contains("software")) {
-            return R.drawable.ic_computer;
-        } else if (lowerName.contains("mechanical") || lowerName.contains("automobile")) {
-            return R.drawable.ic_engineering;
-        } else if (lowerName.contains("electrical") || lowerName.contains("electronics")) {
-            return R.drawable.ic_bulb;
-        } else if (lowerName.contains("civil") || lowerName.contains("construction")) {
-            return R.drawable.ic_building;
-        } else if (lowerName.contains("engineering") || lowerName.contains("b.tech") || lowerName.contains("btech")) {
-            return R.drawable.ic_engineering;
-        } else if (lowerName.contains("data science") || lowerName.contains("ai")
-                || lowerName.contains("machine learning")) {
-            return R.drawable.ic_ai_brain;
-        }
-
-        // === MEDICAL & HEALTH ===
-        else if (lowerName.contains("mbbs") || lowerName.contains("medicine") || lowerName.contains("doctor")) {
-            return R.drawable.ic_medical;
-        } else if (lowerName.contains("nursing") || lowerName.contains("healthcare")) {
-            return R.drawable.ic_heart_filled;
-        } else if (lowerName.contains("pharmacy") || lowerName.contains("pharma")) {
-            return R.drawable.ic_science;
-        } else if (lowerName.contains("dental") || lowerName.contains("bds")) {
-            return R.drawable.ic_medical;
-        }
-
-        // === LAW & LEGAL ===
-        else if (lowerName.contains("law") || lowerName.contains("llb") || lowerName.contains("legal")) {
-            return R.drawable.ic_law;
-        }
-
-        // === DESIGN & CREATIVE ===
-        else if (lowerName.contains("design") || lowerName.contains("graphic")) {
-            return R.drawable.ic_design;
-        } else if (lowerName.contains("architecture") || lowerName.contains("interior")) {
-            return R.drawable.ic_architecture;
-        } else if (lowerName.contains("fashion")) {
-            return R.drawable.ic_star;
-        } else if (lowerName.contains("animation") || lowerName.contains("multimedia")) {
-            return R.drawable.ic_camera;
-        }
-
-        // === AVIATION & TRAVEL ===
-        else if (lowerName.contains("aviation") || lowerName.contains("pilot") || lowerName.contains("aerospace")) {
-            return R.drawable.ic_aviation;
-        } else if (lowerName.contains("hotel") || lowerName.contains("hospitality") || lowerName.contains("tourism")) {
-            return R.drawable.ic_building;
-        }
-
-        // === VOCATIONAL & DIPLOMA ===
-        else if (lowerName.contains("vocational") || lowerName.contains("skill") || lowerName.contains("iti")) {
-            return R.drawable.ic_vocational;
-        } else if (lowerName.contains("diploma") || lowerName.contains("polytechnic")) {
-            return R.drawable.ic_diploma;
-        }
-
-        // === GOVERNMENT & COMPETITIVE ===
-        else if (lowerName.contains("civil service") || lowerName.contains("upsc") || lowerName.contains("ias")) {
-            return R.drawable.ic_govt;
-        } else if (lowerName.contains("bank") || lowerName.contains("ssc")) {
-            return R.drawable.ic_rupee;
-        }
-
-        // === RESEARCH & ACADEMIA ===
-        else if (lowerName.contains("research") || lowerName.contains("phd") || lowerName.contains("doctorate")) {
-            return R.drawable.ic_research;
-        } else if (lowerName.contains("teaching") || lowerName.contains("education") || lowerName.contains("b.ed")) {
-            return R.drawable.ic_school;
-        }
-
-        // === DEGREE LEVELS ===
-        else if (lowerName.contains("undergraduate") || lowerName.contains("bachelor")) {
-            return R.drawable.ic_undergraduate;
-        } else if (lowerName.contains("postgraduate") || lowerName.contains("master")) {
-            return R.drawable.ic_postgraduate;
-        } else if (lowerName.contains("graduation") || lowerName.contains("graduate")) {
-            return R.drawable.ic_graduation;
-        }
-
-        // === DEFAULT ===
-        else {
-            return R.drawable.ic_education;
-        }
-    }
-
     private int dpToPx(int dp) {
         return (int) (dp * getResources().getDisplayMetrics().density);
     }
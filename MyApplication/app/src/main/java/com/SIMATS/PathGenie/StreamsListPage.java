@@ -1,7 +1,8 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
+import com.SIMATS.PathGenie.utils.StreamIconResolver;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -19,10 +20,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -39,7 +36,7 @@ import java.util.List;
 public class StreamsListPage extends AppCompatActivity {
 
     private static final String TAG = "StreamsListPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -125,12 +122,7 @@ public class StreamsListPage extends AppCompatActivity {
         streamsContainer.removeAllViews();
         noStreamsText.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "streams.php?education_level_id=" + educationLevelId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getStreamsByLevel(educationLevelId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -161,8 +153,6 @@ public class StreamsListPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching streams: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     private void showNoStreamsState() {
@@ -175,6 +165,9 @@ public class StreamsListPage extends AppCompatActivity {
     }
 
     private void displayStreams() {
+        // A cached copy may already be on screen before the revalidated one arrives
+        streamsContainer.removeAllViews();
+
         LayoutInflater inflater = LayoutInflater.from(this);
 
         // Create rows of 2 cards each
@@ -249,7 +242,7 @@ public class StreamsListPage extends AppCompatActivity {
         icon.setLayoutParams(new LinearLayout.LayoutParams(dpToPx(44), dpToPx(44)));
         icon.setBackgroundResource(R.drawable.bg_icon_circle_light);
         icon.setPadding(dpToPx(10), dpToPx(10), dpToPx(10), dpToPx(10));
-        icon.setImageResource(getStreamIcon(streamName));
+        icon.setImageResource(StreamIconResolver.getStreamIcon(streamName));
         icon.setColorFilter(android.graphics.Color.parseColor("#2563EB"), android.graphics.PorterDuff.Mode.SRC_IN);
         card.addView(icon);
 
@@ -283,143 +276,6 @@ public class StreamsListPage extends AppCompatActivity {
         return card;
     }
 
-    private int getStreamIcon(String streamName) {
-        if (streamName == null)
-            return R.drawable.ic_education;
-        String name = streamName.toLowerCase();
-
-        // === SCIENCE STREAMS ===
-        if (name.contains("pcm") || (name.contains("science") && name.contains("math"))) {
-            return R.drawable.ic_science; // Flask for PCM
-        } else if (name.contains("pcb") || (name.contains("science") && name.contains("bio"))) {
-            return R.drawable.ic_microscope; // Microscope for PCB/Biology
-        } else if (name.contains("biology") || name.contains("life science")) {
-            return R.drawable.ic_biology;
-        } else if (name.contains("physics")) {
-            return R.drawable.ic_bulb; // Lightbulb for Physics
-        } else if (name.contains("chemistry")) {
-            return R.drawable.ic_science;
-        }
-
-        // === COMMERCE & BUSINESS ===
-        else if (name.contains("commerce") && !name.contains("e-commerce")) {
-            return R.drawable.ic_commerce; // Commerce specific
-        } else if (name.contains("accounting") || name.contains("finance")) {
-            return R.drawable.ic_rupee; // Rupee for finance
-        } else if (name.contains("business") || name.contains("bba") || name.contains("mba")) {
-            return R.drawable.ic_briefcase; // Briefcase for business
-        } else if (name.contains("marketing") || name.contains("sales")) {
-            return R.drawable.ic_trend_up; // Trend for marketing
-        } else if (name.contains("economics")) {
-            return R.drawable.ic_balance; // Balance for economics
-        }
-
-        // === ARTS & HUMANITIES ===
-        else if (name.contains("arts") && !name.contains("fine art")) {
-            return R.drawable.ic_arts; // Arts generic
-        } else if (name.contains("literature") || name.contains("english")) {
-            return R.drawable.ic_book; // Book for literature
-        } else if (name.contains("history") || name.contains("political")) {
-            return R.drawable.ic_history; // Clock for history
-        } else if (name.contains("psychology") || name.contains("sociology")) {
-            return R.drawable.ic_user; // Person for social sciences
-        } else if (name.contains("humanities") || name.contains("liberal")) {
-            return R.drawable.ic_school; // School for humanities
-        } else if (name.contains("journalism") || name.contains("media")) {
-            return R.drawable.ic_mic; // Mic for journalism
-        } else if (name.contains("fine art") || name.contains("visual art")) {
-            return R.drawable.ic_design; // Design for visual arts
-        }
-
-        // === ENGINEERING & TECHNOLOGY ===
-        else if (name.contains("computer") || name.contains("cse") || name.contains("software")) {
-            return R.drawable.ic_computer; // Computer for CS
-        } else if (name.contains("mechanical") || name.contains("automobile")) {
-            return R.drawable.ic_engineering; // Gear for mechanical
-        } else if (name.contains("electrical") || name.contains("electronics")) {
-            return R.drawable.ic_bulb; // Bulb for electrical
-        } else if (name.contains("civil") || name.contains("construction")) {
-            return R.drawable.ic_building; // Building for civil
-        } else if (name.contains("information tech") || name.contains("it ")) {
-            return R.drawable.ic_code; // Code for IT
-        } else if (name.contains("engineering") || name.contains("b.tech") || name.contains("btech")) {
-            return R.drawable.ic_engineering;
-        } else if (name.contains("data science") || name.contains("ai") || name.contains("machine learning")) {
-            return R.drawable.ic_ai_brain; // AI brain for data science
-        }
-
-        // === MEDICAL & HEALTH ===
-        else if (name.contains("mbbs") || name.contains("medicine") || name.contains("doctor")) {
-            return R.drawable.ic_medical; // Medical cross
-        } else if (name.contains("nursing") || name.contains("healthcare")) {
-            return R.drawable.ic_heart_filled; // Heart for nursing
-        } else if (name.contains("pharmacy") || name.contains("pharma")) {
-            return R.drawable.ic_science; // Flask for pharmacy
-        } else if (name.contains("dental") || name.contains("bds")) {
-            return R.drawable.ic_medical;
-        } else if (name.contains("veterinary") || name.contains("animal")) {
-            return R.drawable.ic_heart_outline;
-        }
-
-        // === LAW & LEGAL ===
-        else if (name.contains("law") || name.contains("llb") || name.contains("legal")) {
-            return R.drawable.ic_law; // Balance scale for law
-        }
-
-        // === DESIGN & CREATIVE ===
-        else if (name.contains("design") || name.contains("graphic")) {
-            return R.drawable.ic_design; // Design layers
-        } else if (name.contains("architecture") || name.contains("interior")) {
-            return R.drawable.ic_architecture; // Building design
-        } else if (name.contains("fashion")) {
-            return R.drawable.ic_star; // Star for fashion
-        } else if (name.contains("animation") || name.contains("multimedia")) {
-            return R.drawable.ic_camera; // Camera for multimedia
-        }
-
-        // === AVIATION & TRAVEL ===
-        else if (name.contains("aviation") || name.contains("pilot") || name.contains("aerospace")) {
-            return R.drawable.ic_aviation; // Plane for aviation
-        } else if (name.contains("hotel") || name.contains("hospitality") || name.contains("tourism")) {
-            return R.drawable.ic_building; // Building for hospitality
-        }
-
-        // === VOCATIONAL & DIPLOMA ===
-        else if (name.contains("vocational") || name.contains("skill") || name.contains("iti")) {
-            return R.drawable.ic_vocational; // Tools for vocational
-        } else if (name.contains("diploma") || name.contains("polytechnic")) {
-            return R.drawable.ic_diploma; // Certificate for diploma
-        }
-
-        // === GOVERNMENT & COMPETITIVE ===
-        else if (name.contains("civil service") || name.contains("upsc") || name.contains("ias")) {
-            return R.drawable.ic_govt; // Government building
-        } else if (name.contains("bank") || name.contains("ssc")) {
-            return R.drawable.ic_rupee; // Rupee for banking
-        }
-
-        // === RESEARCH & ACADEMIA ===
-        else if (name.contains("research") || name.contains("phd") || name.contains("doctorate")) {
-            return R.drawable.ic_research; // Research icon
-        } else if (name.contains("teaching") || name.contains("education") || name.contains("b.ed")) {
-            return R.drawable.ic_school; // School for education
-        }
-
-        // === DEGREE LEVELS ===
-        else if (name.contains("undergraduate") || name.contains("bachelor")) {
-            return R.drawable.ic_undergraduate;
-        } else if (name.contains("postgraduate") || name.contains("master")) {
-            return R.drawable.ic_postgraduate;
-        } else if (name.contains("graduation") || name.contains("graduate")) {
-            return R.drawable.ic_graduation;
-        }
-
-        // === DEFAULT ===
-        else {
-            return R.drawable.ic_education;
-        }
-    }
-
     private int dpToPx(int dp) {
         return (int) (dp * getResources().getDisplayMetrics().density);
     }
@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -18,14 +18,11 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.SIMATS.PathGenie.network.VolleySingleton;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
+import com.SIMATS.PathGenie.utils.StreamIconResolver;
 
 /**
  * StreamsPage Activity - Displays streams available for the selected education
@@ -35,7 +32,7 @@ import com.SIMATS.PathGenie.utils.RoadmapSessionManager;
 public class StreamsPage extends AppCompatActivity {
 
     private static final String TAG = "StreamsPage";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     // UI Components
     private ImageView backButton;
@@ -102,12 +99,7 @@ public class StreamsPage extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         streamsContainer.removeAllViews();
 
-        String url = ApiConfig.getBaseUrl() + "streams.php?education_level_id=" + educationLevelId;
-
-        JsonObjectRequest request = new JsonObjectRequest(
-                Request.Method.GET,
-                url,
-                null,
+        CatalogRepository.getInstance(this).getStreamsByLevel(educationLevelId, this,
                 response -> {
                     progressBar.setVisibility(View.GONE);
                     try {
@@ -129,14 +121,15 @@ public class StreamsPage extends AppCompatActivity {
                     Log.e(TAG, "Error fetching streams: " + error.toString());
                     Toast.makeText(this, "Network error. Please try again.", Toast.LENGTH_SHORT).show();
                 });
-
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
     }
 
     /**
      * Display streams dynamically in the container.
      */
     private void displayStreams(JSONArray streams) {
+        // A cached copy may already be on screen before the revalidated one arrives
+        streamsContainer.removeAllViews();
+
         LayoutInflater inflater = LayoutInflater.from(this);
 
         for (int i = 0; i < streams.length(); i++) {
@@ -159,7 +152,7 @@ public class StreamsPage extends AppCompatActivity {
                 descView.setText(truncateText(description, 30));
 
                 // Set icon based on stream name
-                iconView.setImageResource(getStreamIcon(streamName));
+                iconView.setImageResource(StreamIconResolver.getStreamIcon(streamName));
 
                 // Click listener - navigate to stream details
                 final int clickedStreamId = streamId;
@@ -183,141 +176,6 @@ public class StreamsPage extends AppCompatActivity {
             }
         }
     }
-
-    /**
-     * Get appropriate icon for stream based on name.
-     */
-    private int getStreamIcon(String streamName) {
-        if (streamName == null)
-            return R.drawable.ic_education;
-        String name = streamName.toLowerCase();
-
-        // === SCIENCE STREAMS ===
-        if (name.contains("pcm") || (name.contains("science") && name.contains("math"))) {
-            return R.drawable.ic_science;
-        } else if (name.contains("pcb") || (name.contains("science") && name.contains("bio"))) {
-            return R.drawable.ic_microscope;
-        } else if (name.contains("biology") || name.contains("life science")) {
-            return R.drawable.ic_biology;
-        } else if (name.contains("physics")) {
-            return R.drawable.ic_bulb;
-        } else if (name.contains("chemistry")) {
-            return R.drawable.ic_science;
-        }
-
-        // === COMMERCE & BUSINESS ===
-        else if (name.contains("commerce") && !name.contains("e-commerce")) {
-            return R.drawable.ic_commerce;
-        } else if (name.contains("accounting") || name.contains("finance")) {
-            return R.drawable.ic_rupee;
-        } else if (name.contains("business") || name.contains("bba") || name.contains("mba")) {
-            return R.drawable.ic_briefcase;
-        } else if (name.contains("marketing") || name.contains("sales")) {
-            return R.drawable.ic_trend_up;
-        } else if (name.contains("economics")) {
-            return R.drawable.ic_balance;
-        }
-
-        // === ARTS & HUMANITIES ===
-        else if (name.contains("arts") && !name.contains("fine art")) {
-            return R.drawable.ic_arts;
-        } else if (name.contains("literature") || name.contains("english")) {
-            return R.drawable.ic_book;
-        } else if (name.contains("history") || name.contains("political")) {
-            return R.drawable.ic_history;
-        } else if (name.contains("psychology") || name.contains("sociology")) {
-            return R.drawable.ic_user;
-        } else if (name.contains("humanities") || name.contains("liberal")) {
-            return R.drawable.ic_school;
-        } else if (name.contains("journalism") || name.contains("media")) {
-            return R.drawable.ic_mic;
-        }
-
-        // === ENGINEERING & TECHNOLOGY ===
-        else if (name.contains("computer") || name.contains("cse") || name.contains("software")) {
-            return R.drawable.ic_computer;
-        } else if (name.contains("mechanical") || name.contains("automobile")) {
-            return R.drawable.ic_engineering;
-        } else if (name.contains("electrical") || name.contains("electronics")) {
-            return R.drawable.ic_bulb;
-        } else if (name.contains("civil") || name.contains("construction")) {
-            return R.drawable.ic_building;
-        } else if (name.contains("engineering") || name.contains("b.tech") || name.contains("btech")) {
-            return R.drawable.ic_engineering;
-        } else if (name.contains("data science") || name.contains("ai") || name.contains("machine learning")) {
-            return R.drawable.ic_ai_brain;
-        }
-
-        // === MEDICAL & HEALTH ===
-        else if (name.contains("mbbs") || name.contains("medicine") || name.contains("doctor")) {
-            return R.drawable.ic_medical;
-        } else if (name.contains("nursing") || name.contains("healthcare")) {
-            return R.drawable.ic_heart_filled;
-        } else if (name.contains("pharmacy") || name.contains("pharma")) {
-            return R.drawable.ic_science;
-        } else if (name.contains("dental") || name.contains("bds")) {
-            return R.drawable.ic_medical;
-        }
-
-        // === LAW & LEGAL ===
-        else if (name.contains("law") || name.contains("llb") || name.contains("legal")) {
-            return R.drawable.ic_law;
-        }
-
-        // === DESIGN & CREATIVE ===
-        else if (name.contains("design") || name.contains("graphic")) {
-            return R.drawable.ic_design;
-        } else if (name.contains("architecture") || name.contains("interior")) {
-            return R.drawable.ic_architecture;
-        } else if (name.contains("fashion")) {
-            return R.drawable.ic_star;
-        } else if (name.contains("animation") || name.contains("multimedia")) {
-            return R.drawable.ic_camera;
-        }
-
-        // === AVIATION & TRAVEL ===
-        else if (name.contains("aviation") || name.contains("pilot") || name.contains("aerospace")) {
-            return R.drawable.ic_aviation;
-        } else if (name.contains("hotel") || name.contains("hospitality") || name.contains("tourism")) {
-            return R.drawable.ic_building;
-        }
-
-        // === VOCATIONAL & DIPLOMA ===
-        else if (name.contains("vocational") || name.contains("skill") || name.contains("iti")) {
-            return R.drawable.ic_vocational;
-        } else if (name.contains("diploma") || name.contains("polytechnic")) {
-            return R.drawable.ic_diploma;
-        }
-
-        // === GOVERNMENT & COMPETITIVE ===
-        else if (name.contains("civil service") || name.contains("upsc") || name.contains("ias")) {
-            return R.drawable.ic_govt;
-        } else if (name.contains("bank") || name.contains("ssc")) {
-            return R.drawable.ic_rupee;
-        }
-
-        // === RESEARCH & ACADEMIA ===
-        else if (name.contains("research") || name.contains("phd") || name.contains("doctorate")) {
-            return R.drawable.ic_research;
-        } else if (name.contains("teaching") || name.contains("education") || name.contains("b.ed")) {
-            return R.drawable.ic_school;
-        }
-
-        // === DEGREE LEVELS ===
-        else if (name.contains("undergraduate") || name.contains("bachelor")) {
-            return R.drawable.ic_undergraduate;
-        } else if (name.contains("postgraduate") || name.contains("master")) {
-            return R.drawable.ic_postgraduate;
-        } else if (name.contains("graduation") || name.contains("graduate")) {
-            return R.drawable.ic_graduation;
-        }
-
-        // === DEFAULT ===
-        else {
-            return R.drawable.ic_education;
-        }
-    }
-
     /**
      * Truncate text with ellipsis.
      */
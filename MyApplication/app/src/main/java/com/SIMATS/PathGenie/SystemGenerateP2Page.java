@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -19,11 +19,6 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -33,7 +28,7 @@ import org.json.JSONObject;
 public class SystemGenerateP2Page extends AppCompatActivity {
 
     private static final String TAG = "SystemGenerateP2";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     private ImageView backButton;
     private Button nextButton;
@@ -108,11 +103,8 @@ public class SystemGenerateP2Page extends AppCompatActivity {
         loadingProgress.setVisibility(View.VISIBLE);
         contentScroll.setVisibility(View.GONE);
 
-        String url = ApiConfig.getBaseUrl() + "system_streams.php?education_level_id=" + educationLevelId;
-        Log.d(TAG, "Fetching streams from: " + url);
-
-        RequestQueue queue = Volley.newRequestQueue(this);
-        JsonObjectRequest request = new JsonObjectRequest(Request.Method.GET, url, null,
+        Log.d(TAG, "Fetching streams for level: " + educationLevelId);
+        CatalogRepository.getInstance(this).getSystemStreams(educationLevelId, this,
                 response -> {
                     loadingProgress.setVisibility(View.GONE);
                     contentScroll.setVisibility(View.VISIBLE);
@@ -144,8 +136,6 @@ public class SystemGenerateP2Page extends AppCompatActivity {
                     Log.e(TAG, "Network error: " + errorMsg, error);
                     Toast.makeText(this, "Network error: " + errorMsg, Toast.LENGTH_LONG).show();
                 });
-
-        queue.add(request);
     }
 
     private void populateStreams(JSONArray streams) {
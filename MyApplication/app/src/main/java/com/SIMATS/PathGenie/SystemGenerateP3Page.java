@@ -1,7 +1,7 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
-import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import android.os.Bundle;
 import android.util.Log;
 import android.view.View;
@@ -19,21 +19,18 @@ import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
-import com.android.volley.Request;
-import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
-
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.BitSet;
+
 /**
  * SystemGenerateP3Page - Step 3: Select Target Job
  */
 public class SystemGenerateP3Page extends AppCompatActivity {
 
     private static final String TAG = "SystemGenerateP3";
-    // Using centralized ApiConfig.getBaseUrl()
+    // Catalog data comes from CatalogRepository (local mirror, server fallback)
 
     private ImageView backButton;
     private Button nextButton;
@@ -142,8 +139,9 @@ public class SystemGenerateP3Page extends AppCompatActivity {
             setSelected(filterPrivate);
         }
 
-        // Data Update
-        populateJobs(allJobs);
+        // Data Update: ids of this type from the catalog's reachability index
+        CatalogRepository.getInstance(this).getReachableJobIds(streamId, filter, this,
+                jobIds -> populateJobs(allJobs, jobIds));
     }
 
     private void resetFilters() {
@@ -166,12 +164,10 @@ public class SystemGenerateP3Page extends AppCompatActivity {
         loadingProgress.setVisibility(View.VISIBLE);
         contentScroll.setVisibility(View.GONE);
 
-        // Use get_all_reachable_jobs.php to show ALL possible jobs from this stream
-        String url = ApiConfig.getBaseUrl() + "get_all_reachable_jobs.php?stream_id=" + streamId;
-        Log.d(TAG, "Fetching all reachable jobs from: " + url);
+        // All jobs reachable from this stream, searched on the device when the catalog is mirrored
+        Log.d(TAG, "Fetching all reachable jobs for stream_id=" + streamId);
 
-        RequestQueue queue = Volley.newRequestQueue(this);
-        JsonObjectRequest request = new JsonObjectRequest(Request.Method.GET, url, null,
+        CatalogRepository.getInstance(this).getReachableJobs(streamId, this,
                 response -> {
                     loadingProgress.setVisibility(View.GONE);
                     contentScroll.setVisibility(View.VISIBLE);
@@ -182,7 +178,7 @@ public class SystemGenerateP3Page extends AppCompatActivity {
                         if (success) {
                             allJobs = response.optJSONArray("data"); // Store globally
                             if (allJobs != null && allJobs.length() > 0) {
-                                populateJobs(allJobs);
+                                populateJobs(allJobs, null);
                             } else {
                                 Toast.makeText(this, "No jobs found for this stream", Toast.LENGTH_SHORT).show();
                             }
@@ -203,13 +199,23 @@ public class SystemGenerateP3Page extends AppCompatActivity {
                     Log.e(TAG, "Network error: " + errorMsg, error);
                     Toast.makeText(this, "Network error: " + errorMsg, Toast.LENGTH_LONG).show();
                 });
-
-        queue.add(request);
     }
 
-    private void populateJobs(JSONArray jobs) {
+    /**
+     * @param visibleJobIds Jobs that pass the current filter, or null to
+     *                      filter on each job's job_type instead
+     */
+    private void populateJobs(JSONArray jobs, int[] visibleJobIds) {
         jobsContainer.removeAllViews();
 
+        BitSet visible = null;
+        if (visibleJobIds != null) {
+            visible = new BitSet();
+            for (int id : visibleJobIds) {
+                visible.set(id);
+            }
+        }
+
         int[] icons = { R.drawable.ic_code, R.drawable.ic_building, R.drawable.ic_smart,
                 R.drawable.ic_rocket, R.drawable.ic_microscope };
 
@@ -224,7 +230,11 @@ public class SystemGenerateP3Page extends AppCompatActivity {
                 String jobType = job.optString("job_type", "PRIVATE").toUpperCase(); // Default to PRIVATE if missing
 
                 // Filter Logic
-                if (!currentFilter.equals("ALL")) {
+                if (visible != null) {
+                    if (!visible.get(jobId)) {
+                        continue;
+                    }
+                } else if (!currentFilter.equals("ALL")) {
                     if (!jobType.equals(currentFilter)) {
                         continue; // Skip if types don't match
                     }
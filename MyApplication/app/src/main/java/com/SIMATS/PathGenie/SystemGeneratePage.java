@@ -2,7 +2,9 @@ package com.SIMATS.PathGenie;
 
 import android.animation.ObjectAnimator;
 import android.content.Intent;
+import com.SIMATS.PathGenie.data.CatalogRepository;
 import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -18,11 +20,10 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.android.volley.Request;
-import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 import com.SIMATS.PathGenie.utils.SessionManager;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 
 /**
@@ -120,18 +121,31 @@ public class SystemGeneratePage extends AppCompatActivity {
             return;
         }
 
+        // Search the path on the device so the server only has to check it
+        CatalogRepository.getInstance(this).findStreamPath(streamId, jobId, this,
+                streamPath -> sendRoadmapRequest(userId, streamPath));
+    }
+
+    private void sendRoadmapRequest(int userId, int[] streamPath) {
         try {
             // Use generate_system_roadmap.php with the correct parameters
             JSONObject requestBody = new JSONObject();
             requestBody.put("user_id", userId);
             requestBody.put("start_stream_id", streamId); // From P2
             requestBody.put("target_job_id", jobId); // From P3
+            if (streamPath != null) {
+                // Checked by the server; it searches itself if the hint is stale
+                JSONArray pathIds = new JSONArray();
+                for (int id : streamPath) {
+                    pathIds.put(id);
+                }
+                requestBody.put("stream_path", pathIds);
+            }
 
             Log.d(TAG, "Request to generate_system_roadmap.php: " + requestBody.toString());
 
             String url = ApiConfig.getBaseUrl() + "generate_system_roadmap.php";
 
-            RequestQueue queue = Volley.newRequestQueue(this);
             JsonObjectRequest request = new JsonObjectRequest(Request.Method.POST, url, requestBody,
                     response -> {
                         Log.d(TAG, "Response: " + response.toString());
@@ -142,14 +156,23 @@ public class SystemGeneratePage extends AppCompatActivity {
                                 // Get roadmap_id from data object
                                 JSONObject data = response.optJSONObject("data");
                                 int roadmapId = 0;
+                                int[] pathIds = new int[0];
                                 if (data != null) {
                                     roadmapId = data.optInt("roadmap_id", 0);
+                                    JSONArray path = data.optJSONArray("path_ids");
+                                    if (path != null) {
+                                        pathIds = new int[path.length()];
+                                        for (int i = 0; i < path.length(); i++) {
+                                            pathIds[i] = path.optInt(i);
+                                        }
+                                    }
                                 }
                                 Log.d(TAG, "Roadmap created with ID: " + roadmapId);
 
                                 // Navigate to SystemRoadmapPage after delay
                                 final int finalRoadmapId = roadmapId;
-                                handler.postDelayed(() -> navigateToRoadmap(finalRoadmapId), 1500);
+                                final int[] finalPathIds = pathIds;
+                                handler.postDelayed(() -> navigateToRoadmap(finalRoadmapId, finalPathIds), 1500);
                             } else {
                                 String message = response.optString("message", "Failed to generate roadmap");
                                 Log.e(TAG, "API Error: " + message);
@@ -178,7 +201,7 @@ public class SystemGeneratePage extends AppCompatActivity {
                         finish();
                     });
 
-            queue.add(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
 
         } catch (Exception e) {
             Log.e(TAG, "Error creating request: " + e.getMessage(), e);
@@ -187,10 +210,14 @@ public class SystemGeneratePage extends AppCompatActivity {
         }
     }
 
-    private void navigateToRoadmap(int roadmapId) {
+    private void navigateToRoadmap(int roadmapId, int[] pathIds) {
         Intent intent = new Intent(this, SystemRoadmapPage.class);
         intent.putExtra("roadmap_id", roadmapId);
         intent.putExtra("job_name", jobName);
+        // For the alternative routes section
+        intent.putExtra("stream_id", streamId);
+        intent.putExtra("job_id", jobId);
+        intent.putExtra("path_ids", pathIds);
         startActivity(intent);
         finish();
     }
@@ -1,8 +1,11 @@
 package com.SIMATS.PathGenie;
 
 import android.content.Intent;
+import com.SIMATS.PathGenie.data.CatalogRepository;
+import com.SIMATS.PathGenie.data.RoutePlanner;
 import com.SIMATS.PathGenie.network.ApiConfig;
 import android.os.Bundle;
+import android.text.TextUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -26,6 +29,8 @@ import com.SIMATS.PathGenie.network.VolleySingleton;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.Arrays;
+
 /**
  * SystemRoadmapPage - Displays the generated roadmap layout matching
  * UserRoadmapPage.
@@ -33,6 +38,7 @@ import org.json.JSONObject;
 public class SystemRoadmapPage extends AppCompatActivity {
 
     private static final String TAG = "SystemRoadmapPage";
+    private static final int MAX_ALTERNATIVE_ROUTES = 3;
 
     // UI Components
     private ImageView backButton;
@@ -43,10 +49,15 @@ public class SystemRoadmapPage extends AppCompatActivity {
     private TextView salaryText;
     private Button saveButton;
     private ProgressBar progressBar;
+    private LinearLayout alternativeRoutesSection;
+    private LinearLayout alternativeRoutesContainer;
 
     // Data
     private int roadmapId;
     private String jobName;
+    private int startStreamId;
+    private int targetJobId;
+    private int[] pathIds;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -59,6 +70,9 @@ public class SystemRoadmapPage extends AppCompatActivity {
         jobName = getIntent().getStringExtra("job_name");
         if (jobName == null)
             jobName = "your dream role";
+        startStreamId = getIntent().getIntExtra("stream_id", -1);
+        targetJobId = getIntent().getIntExtra("job_id", -1);
+        pathIds = getIntent().getIntArrayExtra("path_ids");
 
         // Setup edge-to-edge
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
@@ -81,6 +95,8 @@ public class SystemRoadmapPage extends AppCompatActivity {
         salaryText = findViewById(R.id.salaryText);
         saveButton = findViewById(R.id.saveButton);
         progressBar = findViewById(R.id.progressBar);
+        alternativeRoutesSection = findViewById(R.id.alternativeRoutesSection);
+        alternativeRoutesContainer = findViewById(R.id.alternativeRoutesContainer);
 
         // Hide save button initially
         saveButton.setVisibility(View.GONE);
@@ -120,6 +136,7 @@ public class SystemRoadmapPage extends AppCompatActivity {
                             JSONArray steps = response.optJSONArray("data");
                             if (steps != null && steps.length() > 0) {
                                 displayTimeline(steps);
+                                loadAlternativeRoutes();
                             } else {
                                 Toast.makeText(this, "No steps found", Toast.LENGTH_SHORT).show();
                             }
@@ -139,7 +156,7 @@ public class SystemRoadmapPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                 });
 
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void displayTimeline(JSONArray steps) {
@@ -290,6 +307,85 @@ public class SystemRoadmapPage extends AppCompatActivity {
         }
     }
 
+    /**
+     * Other ways to the same job, ranked on the device by RoutePlanner.
+     * Stays hidden when the catalog is not mirrored or there are none.
+     */
+    private void loadAlternativeRoutes() {
+        if (startStreamId == -1 || targetJobId == -1) {
+            return;
+        }
+        // One extra in case the roadmap shown is among them
+        CatalogRepository.getInstance(this).getAlternativeRoutes(startStreamId, targetJobId,
+                MAX_ALTERNATIVE_ROUTES + 1, this, routes -> {
+                    if (routes == null) {
+                        return;
+                    }
+                    alternativeRoutesContainer.removeAllViews();
+                    int shown = 0;
+                    for (RoutePlanner.Route route : routes) {
+                        if (shown == MAX_ALTERNATIVE_ROUTES) {
+                            break;
+                        }
+                        if (pathIds != null && Arrays.equals(route.streamIds, pathIds)) {
+                            continue;
+                        }
+                        alternativeRoutesContainer.addView(createRouteCard(route));
+                        shown++;
+                    }
+                    alternativeRoutesSection.setVisibility(shown > 0 ? View.VISIBLE : View.GONE);
+                });
+    }
+
+    private View createRouteCard(RoutePlanner.Route route) {
+        float density = getResources().getDisplayMetrics().density;
+
+        LinearLayout card = new LinearLayout(this);
+        card.setOrientation(LinearLayout.VERTICAL);
+        card.setBackgroundResource(R.drawable.bg_card_white);
+        int padding = (int) (16 * density);
+        card.setPadding(padding, padding, padding, padding);
+
+        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+        params.bottomMargin = (int) (12 * density);
+        card.setLayoutParams(params);
+
+        TextView pathText = new TextView(this);
+        pathText.setText(TextUtils.join(" → ", route.streamNames));
+        pathText.setTextSize(15);
+        pathText.setTextColor(0xFF111827);
+        pathText.setTypeface(null, android.graphics.Typeface.BOLD);
+        card.addView(pathText);
+
+        int steps = route.streamIds.length - 1;
+        String details = steps + (steps == 1 ? " step" : " steps")
+                + " · " + route.mandatoryExams + (route.mandatoryExams == 1 ? " entrance exam" : " entrance exams")
+                + " · " + formatDuration(route.durationMonths);
+        if (!route.primary) {
+            details += " · partial eligibility";
+        }
+        TextView detailsText = new TextView(this);
+        detailsText.setText(details);
+        detailsText.setTextSize(13);
+        detailsText.setTextColor(0xFF6B7280);
+        LinearLayout.LayoutParams detailsParams = new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.WRAP_CONTENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+        detailsParams.topMargin = (int) (4 * density);
+        detailsText.setLayoutParams(detailsParams);
+        card.addView(detailsText);
+
+        return card;
+    }
+
+    private String formatDuration(int months) {
+        if (months < 12) {
+            return "~" + months + " months";
+        }
+        int years = Math.round(months / 12f);
+        return "~" + years + (years == 1 ? " year" : " years");
+    }
+
     private String getStepTypeLabel(String stepType) {
         switch (stepType) {
             case "EDUCATION_LEVEL":
@@ -123,7 +123,7 @@ public class UserGeneratePage extends AppCompatActivity {
                         finish();
                     });
 
-            VolleySingleton.getInstance(this).addToRequestQueue(request);
+            VolleySingleton.getInstance(this).addToRequestQueue(request, this);
 
         } catch (Exception e) {
             Log.e(TAG, "Error building request: " + e.getMessage());
@@ -151,7 +151,7 @@ public class UserRoadmapPage extends AppCompatActivity {
                     Toast.makeText(this, "Network error", Toast.LENGTH_SHORT).show();
                 });
 
-        VolleySingleton.getInstance(this).addToRequestQueue(request);
+        VolleySingleton.getInstance(this).addToRequestQueue(request, this);
     }
 
     private void displayFromSession() {
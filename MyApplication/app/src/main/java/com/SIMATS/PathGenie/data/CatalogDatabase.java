@@ -0,0 +1,293 @@
+package com.SIMATS.PathGenie.data;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CatalogDatabase - On-device SQLite mirror of the server's catalog tables
+ * (education levels, streams, exams, jobs and the links between them).
+ *
+ * Tables and columns match path_genie/sql/education_stream_advisor_app.sql.
+ * Each foreign key used for browsing is indexed. The version and revision of
+ * the mirrored catalog are stored in catalog_meta, in the same transaction
+ * as the rows they describe.
+ *
+ * recommendation_results holds results derived from the catalog (see
+ * RecommendationResultCache); it is emptied in the same transaction as any
+ * change to the catalog rows.
+ *
+ * Access it through CatalogRepository, which runs all queries off the main
+ * thread.
+ */
+public class CatalogDatabase extends SQLiteOpenHelper {
+
+    private static final String DB_NAME = "catalog.db";
+    private static final int DB_VERSION = 3;
+
+    public static final String META_VERSION = "version";
+    public static final String META_SYNCED_AT = "synced_at";
+    public static final String META_REVISION = "revision";
+    /** Response size of the last full download, to compare delta syncs against */
+    public static final String META_FULL_BYTES = "full_bytes";
+    /** Total bytes delta syncs have saved over full downloads */
+    public static final String META_BYTES_SAVED = "bytes_saved";
+
+    /** Catalog tables and their columns, in server order */
+    static final Map<String, String[]> TABLES = new LinkedHashMap<>();
+
+    static {
+        TABLES.put("education_levels", new String[] {
+                "education_level_id", "level_name", "description" });
+        TABLES.put("streams", new String[] {
+                "stream_id", "education_level_id", "stream_name", "description", "subjects",
+                "who_should_choose", "career_scope", "duration", "difficulty_level" });
+        TABLES.put("stream_progression", new String[] {
+                "id", "current_stream_id", "next_stream_id", "progression_type" });
+        TABLES.put("stream_exams", new String[] {
+                "id", "stream_id", "exam_id", "exam_role" });
+        TABLES.put("stream_jobs", new String[] {
+                "id", "stream_id", "job_id", "eligibility_strength" });
+        TABLES.put("jobs", new String[] {
+                "job_id", "job_name", "job_type", "description", "required_education",
+                "required_exams", "career_growth", "average_salary" });
+        TABLES.put("entrance_exams", new String[] {
+                "exam_id", "exam_name", "conducting_body", "exam_stage", "overview",
+                "eligibility", "exam_pattern", "application_period", "outcome" });
+        TABLES.put("education_level_exams", new String[] {
+                "id", "education_level_id", "exam_id" });
+        TABLES.put("education_level_jobs", new String[] {
+                "id", "education_level_id", "job_id" });
+    }
+
+    private static CatalogDatabase instance;
+
+    // Bumped whenever catalog rows change, so derived data can be rebuilt
+    private volatile int generation;
+
+    public static synchronized CatalogDatabase getInstance(Context context) {
+        if (instance == null) {
+            instance = new CatalogDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private CatalogDatabase(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE education_levels ("
+                + "education_level_id INTEGER PRIMARY KEY, level_name TEXT, description TEXT)");
+        db.execSQL("CREATE TABLE streams ("
+                + "stream_id INTEGER PRIMARY KEY, education_level_id INTEGER NOT NULL, "
+                + "stream_name TEXT NOT NULL, description TEXT, subjects TEXT, who_should_choose TEXT, "
+                + "career_scope TEXT, duration TEXT, difficulty_level TEXT)");
+        db.execSQL("CREATE TABLE stream_progression ("
+                + "id INTEGER PRIMARY KEY, current_stream_id INTEGER, next_stream_id INTEGER, "
+                + "progression_type TEXT)");
+        db.execSQL("CREATE TABLE stream_exams ("
+                + "id INTEGER PRIMARY KEY, stream_id INTEGER, exam_id INTEGER, exam_role TEXT)");
+        db.execSQL("CREATE TABLE stream_jobs ("
+                + "id INTEGER PRIMARY KEY, stream_id INTEGER, job_id INTEGER, eligibility_strength TEXT)");
+        db.execSQL("CREATE TABLE jobs ("
+                + "job_id INTEGER PRIMARY KEY, job_name TEXT, job_type TEXT, description TEXT, "
+                + "required_education TEXT, required_exams TEXT, career_growth TEXT, average_salary TEXT)");
+        db.execSQL("CREATE TABLE entrance_exams ("
+                + "exam_id INTEGER PRIMARY KEY, exam_name TEXT, conducting_body TEXT, exam_stage TEXT, "
+                + "overview TEXT, eligibility TEXT, exam_pattern TEXT, application_period TEXT, outcome TEXT)");
+        db.execSQL("CREATE TABLE education_level_exams ("
+                + "id INTEGER PRIMARY KEY, education_level_id INTEGER NOT NULL, exam_id INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE education_level_jobs ("
+                + "id INTEGER PRIMARY KEY, education_level_id INTEGER NOT NULL, job_id INTEGER NOT NULL)");
+
+        // Lookups the explore screens make
+        db.execSQL("CREATE INDEX idx_streams_level ON streams(education_level_id)");
+        db.execSQL("CREATE INDEX idx_progression_current ON stream_progression(current_stream_id)");
+        db.execSQL("CREATE INDEX idx_stream_exams_stream ON stream_exams(stream_id)");
+        db.execSQL("CREATE INDEX idx_stream_jobs_stream ON stream_jobs(stream_id)");
+        db.execSQL("CREATE INDEX idx_level_exams_level ON education_level_exams(education_level_id)");
+        db.execSQL("CREATE INDEX idx_level_jobs_level ON education_level_jobs(education_level_id)");
+
+        db.execSQL("CREATE TABLE catalog_meta (key TEXT PRIMARY KEY, value TEXT)");
+        db.execSQL("CREATE TABLE recommendation_results ("
+                + "answers TEXT PRIMARY KEY, catalog TEXT NOT NULL, response TEXT NOT NULL, "
+                + "used_at INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The mirror can always be downloaded again (or reinstalled from the snapshot)
+        for (String table : TABLES.keySet()) {
+            db.execSQL("DROP TABLE IF EXISTS " + table);
+        }
+        db.execSQL("DROP TABLE IF EXISTS catalog_meta");
+        db.execSQL("DROP TABLE IF EXISTS recommendation_results");
+        onCreate(db);
+    }
+
+    /**
+     * Changes each time replaceAll() or applyChanges() commits.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Read a catalog_meta value, or null if not set.
+     */
+    public String getMeta(String key) {
+        Cursor cursor = getReadableDatabase().query("catalog_meta", new String[] { "value" },
+                "key = ?", new String[] { key }, null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Read a numeric catalog_meta value, or defaultValue if not set.
+     */
+    public long getMetaLong(String key, long defaultValue) {
+        String value = getMeta(key);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+
+    static void putMeta(SQLiteDatabase db, String key, String value) {
+        ContentValues values = new ContentValues();
+        values.put("key", key);
+        values.put("value", value);
+        db.insertWithOnConflict("catalog_meta", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Replace every catalog table with the given rows and record the
+     * version, revision and download size, in one transaction.
+     *
+     * @param tables    Table name -> array of row objects, as sent by catalog.php
+     * @param version   Catalog version of these rows
+     * @param revision  Change log revision of these rows, or -1 if the server
+     *                  has no change log
+     * @param syncedAt  Time the rows were checked against the server, 0 if never
+     * @param fullBytes Size of the full catalog download, see META_FULL_BYTES
+     */
+    public void replaceAll(JSONObject tables, String version, long revision, long syncedAt,
+            long fullBytes) throws JSONException {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            Iterator<String> names = tables.keys();
+            while (names.hasNext()) {
+                String table = names.next();
+                String[] columns = TABLES.get(table);
+                if (columns == null) {
+                    continue;
+                }
+                db.delete(table, null, null);
+                JSONArray rows = tables.getJSONArray(table);
+                for (int i = 0; i < rows.length(); i++) {
+                    db.insertWithOnConflict(table, null, toValues(rows.getJSONObject(i), columns),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            db.delete("recommendation_results", null, null);
+            putMeta(db, META_VERSION, version);
+            putRevision(db, revision);
+            putMeta(db, META_SYNCED_AT, String.valueOf(syncedAt));
+            putMeta(db, META_FULL_BYTES, String.valueOf(fullBytes));
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        generation++;
+    }
+
+    /**
+     * Apply one page of catalog_changes.php and record its revision, in one
+     * transaction. Either the whole page is applied or none of it, so a sync
+     * interrupted between pages resumes from the last revision stored.
+     *
+     * @param changes  {table, id, op: "upsert" | "delete", row} objects
+     * @param revision Revision the catalog is at after these changes
+     */
+    public void applyChanges(JSONArray changes, long revision) throws JSONException {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < changes.length(); i++) {
+                JSONObject change = changes.getJSONObject(i);
+                String table = change.getString("table");
+                String[] columns = TABLES.get(table);
+                if (columns == null) {
+                    continue;
+                }
+                if ("delete".equals(change.getString("op"))) {
+                    // The first column is the primary key
+                    db.delete(table, columns[0] + " = ?",
+                            new String[] { String.valueOf(change.getLong("id")) });
+                } else {
+                    db.insertWithOnConflict(table, null, toValues(change.getJSONObject("row"), columns),
+                            SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            if (changes.length() > 0) {
+                db.delete("recommendation_results", null, null);
+            }
+            putRevision(db, revision);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        generation++;
+    }
+
+    /**
+     * Record that the catalog was checked and is current.
+     *
+     * @param revision Revision the server reported, or -1 if unknown
+     */
+    public void markSynced(long revision) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            putRevision(db, revision);
+            putMeta(db, META_SYNCED_AT, String.valueOf(System.currentTimeMillis()));
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static void putRevision(SQLiteDatabase db, long revision) {
+        if (revision >= 0) {
+            putMeta(db, META_REVISION, String.valueOf(revision));
+        } else {
+            db.delete("catalog_meta", "key = ?", new String[] { META_REVISION });
+        }
+    }
+
+    static ContentValues toValues(JSONObject row, String[] columns) {
+        ContentValues values = new ContentValues();
+        for (String column : columns) {
+            if (row.isNull(column)) {
+                values.putNull(column);
+            } else {
+                // INTEGER column affinity converts numeric strings from PHP
+                values.put(column, row.optString(column));
+            }
+        }
+        return values;
+    }
+}
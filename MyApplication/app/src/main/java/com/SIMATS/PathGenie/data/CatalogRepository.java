@@ -0,0 +1,606 @@
+package com.SIMATS.PathGenie.data;
+
+import android.app.Activity;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * CatalogRepository - Single entry point for catalog data (streams, exams,
+ * jobs) used by the explore screens.
+ *
+ * Lookups are answered from CatalogDatabase, which a fresh install fills
+ * from the snapshot bundled in the APK. A lookup the database can't answer
+ * (a row it doesn't have yet) goes to the server instead. Either way the
+ * listener receives the same JSON the PHP endpoint returns ({"status": true,
+ * "data": ...}), on the main thread, and is not called if the owning
+ * activity has been destroyed.
+ *
+ * The mirror is refreshed in the background by CatalogSyncEngine when it is
+ * older than ApiConfig.CATALOG_SYNC_INTERVAL_MS, downloading only the rows
+ * changed since the revision it holds.
+ *
+ * Usage:
+ * CatalogRepository.getInstance(this).getStreamsByLevel(levelId, this,
+ * response -> { ... }, error -> { ... });
+ */
+public class CatalogRepository {
+
+    private static final String TAG = "CatalogRepository";
+
+    private static CatalogRepository instance;
+
+    private final Context ctx;
+    private final CatalogDatabase database;
+    // Single thread: queries never see a half-applied sync
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final CatalogSyncEngine syncEngine;
+    // Executor only; rebuilt when the catalog generation changes
+    private StreamGraph streamGraph;
+    private int streamGraphGeneration;
+    private final RecommendationEngine recommendationEngine = new RecommendationEngine();
+    private final RecommendationResultCache recommendationResults;
+    // Written on the main thread; a precompute that is no longer the latest is skipped
+    private volatile int precomputeRequest;
+
+    /**
+     * Builds a response from the local database, or returns null when the
+     * answer is not available locally.
+     */
+    private interface LocalQuery {
+        JSONObject run(SQLiteDatabase db) throws Exception;
+    }
+
+    /** A lookup against the stream graph */
+    private interface GraphQuery<T> {
+        T run(StreamGraph graph);
+    }
+
+    private CatalogRepository(Context context) {
+        ctx = context.getApplicationContext();
+        database = CatalogDatabase.getInstance(ctx);
+        recommendationResults = new RecommendationResultCache(database);
+        syncEngine = new CatalogSyncEngine(ctx, database, executor, mainHandler);
+    }
+
+    public static synchronized CatalogRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new CatalogRepository(context);
+            instance.syncEngine.installSnapshotIfEmpty();
+            instance.syncIfStale();
+        }
+        return instance;
+    }
+
+    // ========================================
+    // 🎓 STREAMS
+    // ========================================
+
+    /** Same as streams.php?education_level_id= */
+    public void getStreamsByLevel(int educationLevelId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "streams.php?education_level_id=" + educationLevelId,
+                db -> success(db.rawQuery(
+                        "SELECT stream_id, stream_name, description, difficulty_level, duration "
+                                + "FROM streams WHERE education_level_id = ? ORDER BY stream_id",
+                        args(educationLevelId))),
+                listener, errorListener);
+    }
+
+    /** Same as next_streams.php?stream_id= */
+    public void getNextStreams(int streamId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "next_streams.php?stream_id=" + streamId,
+                db -> success(db.rawQuery(
+                        "SELECT s.stream_id, s.stream_name, s.description, s.duration, "
+                                + "s.difficulty_level, s.education_level_id "
+                                + "FROM stream_progression sp "
+                                + "INNER JOIN streams s ON sp.next_stream_id = s.stream_id "
+                                + "WHERE sp.current_stream_id = ? ORDER BY sp.id",
+                        args(streamId))),
+                listener, errorListener);
+    }
+
+    /** Same as stream_details.php?stream_id= */
+    public void getStreamDetails(int streamId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "stream_details.php?stream_id=" + streamId,
+                db -> successSingle(db.rawQuery(
+                        "SELECT stream_id, stream_name, description, subjects, who_should_choose, "
+                                + "career_scope, duration, difficulty_level "
+                                + "FROM streams WHERE stream_id = ?",
+                        args(streamId))),
+                listener, errorListener);
+    }
+
+    /**
+     * Same as system_streams.php?education_level_id= (note its different
+     * envelope: {"success": true, "count": n, "data": [...]}, empty strings
+     * instead of nulls).
+     */
+    public void getSystemStreams(int educationLevelId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "system_streams.php?education_level_id=" + educationLevelId,
+                db -> {
+                    String sql = "SELECT stream_id, stream_name, IFNULL(description, '') AS description, "
+                            + "IFNULL(difficulty_level, '') AS difficulty_level, "
+                            + "IFNULL(duration, '') AS duration FROM streams";
+                    Cursor cursor = educationLevelId > 0
+                            ? db.rawQuery(sql + " WHERE education_level_id = ? ORDER BY stream_name COLLATE NOCASE",
+                                    args(educationLevelId))
+                            : db.rawQuery(sql + " ORDER BY stream_name COLLATE NOCASE", null);
+                    JSONArray rows = toJsonArray(cursor);
+                    JSONObject response = new JSONObject();
+                    response.put("success", true);
+                    response.put("count", rows.length());
+                    response.put("data", rows);
+                    return response;
+                },
+                listener, errorListener);
+    }
+
+    // ========================================
+    // 📝 ENTRANCE EXAMS
+    // ========================================
+
+    /** Same as exams.php?stream_id= */
+    public void getExamsByStream(int streamId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "exams.php?stream_id=" + streamId,
+                db -> success(db.rawQuery(
+                        "SELECT e.exam_id, e.exam_name, e.conducting_body, e.exam_stage, "
+                                + "e.overview, e.eligibility "
+                                + "FROM stream_exams se "
+                                + "INNER JOIN entrance_exams e ON se.exam_id = e.exam_id "
+                                + "WHERE se.stream_id = ? ORDER BY se.id",
+                        args(streamId))),
+                listener, errorListener);
+    }
+
+    /** Same as exams_by_level.php?education_level_id= */
+    public void getExamsByLevel(int educationLevelId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "exams_by_level.php?education_level_id=" + educationLevelId,
+                db -> success(db.rawQuery(
+                        "SELECT e.exam_id, e.exam_name, e.conducting_body, e.exam_stage, "
+                                + "e.overview, e.eligibility "
+                                + "FROM education_level_exams ele "
+                                + "INNER JOIN entrance_exams e ON ele.exam_id = e.exam_id "
+                                + "WHERE ele.education_level_id = ? "
+                                + "ORDER BY e.exam_name COLLATE NOCASE",
+                        args(educationLevelId))),
+                listener, errorListener);
+    }
+
+    /** Same as exam_details.php?exam_id= */
+    public void getExamDetails(int examId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "exam_details.php?exam_id=" + examId,
+                db -> successSingle(db.rawQuery(
+                        "SELECT exam_id, exam_name, conducting_body, exam_stage, overview, "
+                                + "eligibility, exam_pattern, application_period, outcome "
+                                + "FROM entrance_exams WHERE exam_id = ?",
+                        args(examId))),
+                listener, errorListener);
+    }
+
+    // ========================================
+    // 💼 JOBS
+    // ========================================
+
+    /** Same as jobs.php?stream_id= */
+    public void getJobsByStream(int streamId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "jobs.php?stream_id=" + streamId,
+                db -> success(db.rawQuery(
+                        "SELECT j.job_id, j.job_name, j.job_type, j.description, j.average_salary "
+                                + "FROM stream_jobs sj "
+                                + "INNER JOIN jobs j ON sj.job_id = j.job_id "
+                                + "WHERE sj.stream_id = ? ORDER BY j.job_name COLLATE NOCASE",
+                        args(streamId))),
+                listener, errorListener);
+    }
+
+    /** Same as jobs_by_level.php?education_level_id= */
+    public void getJobsByLevel(int educationLevelId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "jobs_by_level.php?education_level_id=" + educationLevelId,
+                db -> success(db.rawQuery(
+                        "SELECT DISTINCT j.job_id, j.job_name, j.job_type, j.description, "
+                                + "j.required_education, j.average_salary "
+                                + "FROM streams s "
+                                + "INNER JOIN stream_jobs sj ON s.stream_id = sj.stream_id "
+                                + "INNER JOIN jobs j ON sj.job_id = j.job_id "
+                                + "WHERE s.education_level_id = ? "
+                                + "ORDER BY j.job_type COLLATE NOCASE, j.job_name COLLATE NOCASE",
+                        args(educationLevelId))),
+                listener, errorListener);
+    }
+
+    /** Same as job_details.php?job_id= */
+    public void getJobDetails(int jobId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "job_details.php?job_id=" + jobId,
+                db -> successSingle(db.rawQuery(
+                        "SELECT job_id, job_name, job_type, description, required_education, "
+                                + "required_exams, career_growth, average_salary "
+                                + "FROM jobs WHERE job_id = ?",
+                        args(jobId))),
+                listener, errorListener);
+    }
+
+    // ========================================
+    // 🗺️ ROADMAP GRAPH
+    // ========================================
+
+    /**
+     * Same as get_all_reachable_jobs.php?stream_id= (envelope:
+     * {"success": true, "count": n, "reachable_streams_count": n, "data": [...]}),
+     * answered from StreamGraph.
+     */
+    public void getReachableJobs(int streamId, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, ApiConfig.getBaseUrl() + "get_all_reachable_jobs.php?stream_id=" + streamId,
+                db -> {
+                    StreamGraph graph = streamGraph(db);
+                    int[] streams = graph.getReachableStreams(streamId);
+                    if (streams.length == 0) {
+                        return null;
+                    }
+
+                    // Each job once, credited to the nearest stream offering it
+                    Map<Integer, Integer> fromStream = new LinkedHashMap<>();
+                    for (int stream : streams) {
+                        for (int job : graph.getPrimaryJobs(stream)) {
+                            if (!fromStream.containsKey(job)) {
+                                fromStream.put(job, stream);
+                            }
+                        }
+                    }
+                    List<Integer> jobs = new ArrayList<>(fromStream.keySet());
+                    Collections.sort(jobs, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(
+                            nonNull(graph.getJobName(a)), nonNull(graph.getJobName(b))));
+
+                    JSONArray rows = new JSONArray();
+                    for (int job : jobs) {
+                        JSONObject row = new JSONObject();
+                        row.put("job_id", job);
+                        row.put("job_name", graph.getJobName(job));
+                        row.put("job_type", nonNull(graph.getJobType(job)));
+                        row.put("description", nonNull(graph.getJobDescription(job)));
+                        row.put("average_salary", nonNull(graph.getJobSalary(job)));
+                        row.put("from_stream", nonNull(graph.getStreamName(fromStream.get(job))));
+                        rows.put(row);
+                    }
+                    JSONObject response = new JSONObject();
+                    response.put("success", true);
+                    response.put("count", rows.length());
+                    response.put("reachable_streams_count", streams.length);
+                    response.put("data", rows);
+                    return response;
+                },
+                listener, errorListener);
+    }
+
+    /**
+     * Ids of the jobs reachable from a stream, filtered by job_type ("ALL",
+     * "GOVERNMENT", "PRIVATE"), from StreamGraph's reachability bitsets.
+     * Delivers null when the catalog is not mirrored or the stream is not in it.
+     */
+    public void getReachableJobIds(int streamId, String jobType, Activity owner,
+            Response.Listener<int[]> listener) {
+        onGraph(owner, graph -> graph.hasStream(streamId)
+                ? graph.getReachableJobs(streamId, jobType) : null, listener);
+    }
+
+    /**
+     * Shortest chain of stream ids from startStreamId to a stream that
+     * qualifies for targetJobId, as generate_system_roadmap.php would pick.
+     * Delivers null when there is no such path or the catalog is not mirrored.
+     */
+    public void findStreamPath(int startStreamId, int targetJobId, Activity owner,
+            Response.Listener<int[]> listener) {
+        onGraph(owner, graph -> graph.findShortestPath(startStreamId, targetJobId), listener);
+    }
+
+    /**
+     * Up to maxRoutes ranked routes from startStreamId to targetJobId,
+     * cheapest first (see RoutePlanner). Delivers null when the catalog is not
+     * mirrored, an empty list when the job cannot be reached.
+     */
+    public void getAlternativeRoutes(int startStreamId, int targetJobId, int maxRoutes, Activity owner,
+            Response.Listener<List<RoutePlanner.Route>> listener) {
+        onGraph(owner, graph -> RoutePlanner.findRoutes(graph, startStreamId, targetJobId, maxRoutes),
+                listener);
+    }
+
+    /**
+     * Run a StreamGraph lookup on the executor and deliver it to the main
+     * thread, unless the owner is gone. Delivers null if the catalog is not
+     * mirrored.
+     */
+    private <T> void onGraph(Activity owner, GraphQuery<T> graphQuery, Response.Listener<T> listener) {
+        executor.execute(() -> {
+            T value = null;
+            try {
+                if (database.getMeta(CatalogDatabase.META_VERSION) != null) {
+                    value = graphQuery.run(streamGraph(database.getReadableDatabase()));
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Stream graph query failed: " + e.getMessage());
+            }
+            final T result = value;
+            mainHandler.post(() -> {
+                if (!owner.isDestroyed()) {
+                    listener.onResponse(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * The graph for the current catalog. Runs on the executor.
+     */
+    private StreamGraph streamGraph(SQLiteDatabase db) {
+        int generation = database.getGeneration();
+        if (streamGraph == null || streamGraphGeneration != generation) {
+            long start = System.nanoTime();
+            streamGraph = StreamGraph.build(db);
+            streamGraphGeneration = generation;
+            Log.d(TAG, "Stream graph built in " + (System.nanoTime() - start) / 1000 + " us");
+        }
+        return streamGraph;
+    }
+
+    // ========================================
+    // 🎯 RECOMMENDATIONS
+    // ========================================
+
+    /**
+     * Same as POSTing the answers to ai_recommendations.php, scored on the
+     * device by RecommendationEngine once the catalog is mirrored. Results
+     * are kept by RecommendationResultCache whether scored here or by the
+     * server, so the same answers against the same catalog are only scored
+     * once, across app restarts too.
+     */
+    public void getRecommendations(int educationLevel, String interestArea, int careerPreferencePrivate,
+            int difficultyTolerance, int riskTolerance, Activity owner,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        JSONObject payload = new JSONObject();
+        try {
+            payload.put("education_level", educationLevel);
+            payload.put("interest_area", interestArea);
+            payload.put("career_preference_private", careerPreferencePrivate);
+            payload.put("difficulty_tolerance", difficultyTolerance);
+            payload.put("risk_tolerance", riskTolerance);
+        } catch (JSONException e) {
+            Log.e(TAG, "Error building recommendations payload: " + e.getMessage());
+        }
+        RecommendationEngine.Answers answers = new RecommendationEngine.Answers(educationLevel,
+                interestArea, careerPreferencePrivate, difficultyTolerance);
+        String key = RecommendationResultCache.key(educationLevel, interestArea,
+                careerPreferencePrivate, difficultyTolerance, riskTolerance);
+        executor.execute(() -> {
+            // Before the mirror check: a result the server scored before the
+            // catalog was mirrored is stored too, and must not be fetched again
+            JSONObject stored = null;
+            try {
+                stored = recommendationResults.get(key);
+            } catch (Exception e) {
+                Log.e(TAG, "Recommendation cache lookup failed: " + e.getMessage());
+            }
+            if (stored != null) {
+                deliver(owner, stored, listener);
+                return;
+            }
+            query(owner, Request.Method.POST, ApiConfig.AI_RECOMMENDATIONS, payload,
+                    db -> {
+                        long start = System.nanoTime();
+                        JSONObject response = recommendationEngine.recommend(db, answers,
+                                database.getGeneration());
+                        Log.d(TAG, "Recommendations scored in " + (System.nanoTime() - start) / 1000 + " us");
+                        if (response != null) {
+                            recommendationResults.put(key, response);
+                        }
+                        return response;
+                    },
+                    listener,
+                    response -> {
+                        if (response.optBoolean("status")) {
+                            executor.execute(() -> recommendationResults.put(key, response));
+                        }
+                        listener.onResponse(response);
+                    },
+                    errorListener);
+        });
+    }
+
+    /**
+     * Start scoring, in the background, every answer combination still
+     * possible once these answers are known, so getCachedRecommendations()
+     * can answer the last wizard screen. Replaces any precompute not started yet.
+     *
+     * @param interestArea The chosen interest area, or null if not asked yet
+     */
+    public void precomputeRecommendations(int educationLevel, String interestArea) {
+        int request = ++precomputeRequest;
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                if (request != precomputeRequest
+                        || database.getMeta(CatalogDatabase.META_VERSION) == null) {
+                    return;
+                }
+                recommendationEngine.precompute(database.getReadableDatabase(), educationLevel,
+                        interestArea, database.getGeneration());
+                Log.d(TAG, "Recommendations precomputed for level " + educationLevel + " / "
+                        + interestArea + " in " + (System.nanoTime() - start) / 1000 + " us");
+            } catch (Exception e) {
+                Log.e(TAG, "Recommendation precompute failed: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Recommendations already scored for these answers, or null. Does no
+     * work, so it can be called on the main thread.
+     */
+    public JSONObject getCachedRecommendations(int educationLevel, String interestArea,
+            int careerPreferencePrivate, int difficultyTolerance) {
+        return recommendationEngine.getCached(new RecommendationEngine.Answers(educationLevel,
+                interestArea, careerPreferencePrivate, difficultyTolerance), database.getGeneration());
+    }
+
+    /**
+     * Hit / miss counts of the stored recommendation results, for NetworkMetricsPage.
+     */
+    public String getRecommendationCacheStats() {
+        return recommendationResults.getStats();
+    }
+
+    // ========================================
+    // 🔄 SYNC
+    // ========================================
+
+    /**
+     * Refresh the local catalog from the server if it was last checked more
+     * than ApiConfig.CATALOG_SYNC_INTERVAL_MS ago (or never).
+     */
+    public void syncIfStale() {
+        syncEngine.syncIfStale();
+    }
+
+    // ========================================
+    // 🔧 HELPERS
+    // ========================================
+
+    private void query(Activity owner, String url, LocalQuery localQuery,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, Request.Method.GET, url, null, localQuery, listener, errorListener);
+    }
+
+    private void query(Activity owner, int method, String url, JSONObject body, LocalQuery localQuery,
+            Response.Listener<JSONObject> listener, Response.ErrorListener errorListener) {
+        query(owner, method, url, body, localQuery, listener, listener, errorListener);
+    }
+
+    /**
+     * @param networkListener Receives the response when it came from the server
+     *                        rather than the local database
+     */
+    private void query(Activity owner, int method, String url, JSONObject body, LocalQuery localQuery,
+            Response.Listener<JSONObject> listener, Response.Listener<JSONObject> networkListener,
+            Response.ErrorListener errorListener) {
+        executor.execute(() -> {
+            JSONObject local = null;
+            try {
+                if (database.getMeta(CatalogDatabase.META_VERSION) != null) {
+                    local = localQuery.run(database.getReadableDatabase());
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Local catalog query failed: " + e.getMessage());
+            }
+            final JSONObject result = local;
+            mainHandler.post(() -> {
+                if (owner.isDestroyed()) {
+                    return;
+                }
+                if (result != null) {
+                    listener.onResponse(result);
+                } else {
+                    // Not mirrored yet (first launch) or not found locally
+                    JsonObjectRequest request = new JsonObjectRequest(method, url, body,
+                            networkListener, errorListener);
+                    VolleySingleton.getInstance(ctx).addToRequestQueue(request, owner);
+                }
+            });
+        });
+    }
+
+    /** Hand a response to the main thread, unless the owner is gone */
+    private void deliver(Activity owner, JSONObject response, Response.Listener<JSONObject> listener) {
+        mainHandler.post(() -> {
+            if (!owner.isDestroyed()) {
+                listener.onResponse(response);
+            }
+        });
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String[] args(int value) {
+        return new String[] { String.valueOf(value) };
+    }
+
+    private static JSONObject success(Cursor cursor) throws JSONException {
+        JSONObject response = new JSONObject();
+        response.put("status", true);
+        response.put("data", toJsonArray(cursor));
+        return response;
+    }
+
+    /**
+     * Single-row response, or null (ask the server) if the row is not local.
+     */
+    private static JSONObject successSingle(Cursor cursor) throws JSONException {
+        JSONArray rows = toJsonArray(cursor);
+        if (rows.length() == 0) {
+            return null;
+        }
+        JSONObject response = new JSONObject();
+        response.put("status", true);
+        response.put("data", rows.getJSONObject(0));
+        return response;
+    }
+
+    private static JSONArray toJsonArray(Cursor cursor) throws JSONException {
+        JSONArray rows = new JSONArray();
+        try {
+            String[] columns = cursor.getColumnNames();
+            while (cursor.moveToNext()) {
+                JSONObject row = new JSONObject();
+                for (int i = 0; i < columns.length; i++) {
+                    switch (cursor.getType(i)) {
+                        case Cursor.FIELD_TYPE_NULL:
+                            row.put(columns[i], JSONObject.NULL);
+                            break;
+                        case Cursor.FIELD_TYPE_INTEGER:
+                            row.put(columns[i], cursor.getLong(i));
+                            break;
+                        default:
+                            row.put(columns[i], cursor.getString(i));
+                            break;
+                    }
+                }
+                rows.put(row);
+            }
+        } finally {
+            cursor.close();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,288 @@
+package com.SIMATS.PathGenie.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.util.Log;
+
+import com.SIMATS.PathGenie.network.ApiConfig;
+import com.SIMATS.PathGenie.network.VolleySingleton;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * CatalogSyncEngine - Keeps CatalogDatabase up to date with the server.
+ *
+ * The server logs every catalog row change under a monotonically increasing
+ * revision. A mirror that knows its revision downloads only the rows changed
+ * since then (catalog_changes.php), a page at a time; each page is applied
+ * together with its revision in one transaction, so an interrupted sync
+ * resumes from the last page stored. A mirror with no revision, or one the
+ * change log no longer reaches back to, downloads the whole catalog
+ * (catalog.php).
+ *
+ * Each delta sync logs its response size against the last full download, and
+ * adds the difference to CatalogDatabase.META_BYTES_SAVED.
+ *
+ * A fresh install starts from the snapshot bundled in the APK
+ * (assets/catalog_snapshot.json, built from the SQL dump by the
+ * generateCatalogSnapshot Gradle task) and syncs from there.
+ *
+ * Database work runs on CatalogRepository's executor; requests are started
+ * on the main thread.
+ */
+class CatalogSyncEngine {
+
+    private static final String TAG = "CatalogSyncEngine";
+    private static final String SNAPSHOT_ASSET = "catalog_snapshot.json";
+
+    private final Context ctx;
+    private final CatalogDatabase database;
+    private final ExecutorService executor;
+    private final Handler mainHandler;
+    // Main thread only
+    private boolean syncing;
+
+    /** Progress of one delta sync, across pages */
+    private static class DeltaRun {
+        final String version;
+        final long fromRevision;
+        long bytes;
+        int changes;
+
+        DeltaRun(String version, long fromRevision) {
+            this.version = version;
+            this.fromRevision = fromRevision;
+        }
+    }
+
+    /** Receives a sync response together with its body size */
+    private interface PageListener {
+        void onPage(JSONObject response, long bytes);
+    }
+
+    CatalogSyncEngine(Context ctx, CatalogDatabase database, ExecutorService executor,
+            Handler mainHandler) {
+        this.ctx = ctx;
+        this.database = database;
+        this.executor = executor;
+        this.mainHandler = mainHandler;
+    }
+
+    /**
+     * On first launch, fill the mirror from the bundled snapshot so the
+     * explore screens work before anything is downloaded. Queued on the
+     * executor ahead of any query. The snapshot is marked never checked, so
+     * the next syncIfStale() brings it up to date with a delta from the
+     * revision the snapshot was built at.
+     */
+    void installSnapshotIfEmpty() {
+        executor.execute(() -> {
+            if (database.getMeta(CatalogDatabase.META_VERSION) != null) {
+                return;
+            }
+            try {
+                long start = System.currentTimeMillis();
+                byte[] snapshot = readAsset(SNAPSHOT_ASSET);
+                JSONObject data = new JSONObject(new String(snapshot, StandardCharsets.UTF_8));
+                long revision = data.optLong("revision", -1);
+                // Same format as catalog.php, so about what a full download costs
+                database.replaceAll(data.getJSONObject("tables"), data.getString("version"), revision,
+                        0, snapshot.length);
+                Log.d(TAG, "Catalog snapshot (r" + revision + ") installed in "
+                        + (System.currentTimeMillis() - start) + " ms");
+            } catch (IOException | JSONException e) {
+                Log.e(TAG, "Error installing catalog snapshot: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Sync if the catalog was last checked more than
+     * ApiConfig.CATALOG_SYNC_INTERVAL_MS ago (or never). A sync interrupted
+     * part way never marks the catalog checked, so it is picked up again.
+     */
+    void syncIfStale() {
+        executor.execute(() -> {
+            long syncedAt = database.getMetaLong(CatalogDatabase.META_SYNCED_AT, 0);
+            if (System.currentTimeMillis() - syncedAt < ApiConfig.CATALOG_SYNC_INTERVAL_MS) {
+                return;
+            }
+            String version = database.getMeta(CatalogDatabase.META_VERSION);
+            long revision = database.getMetaLong(CatalogDatabase.META_REVISION, -1);
+            mainHandler.post(() -> {
+                if (syncing) {
+                    return;
+                }
+                syncing = true;
+                if (version != null && revision >= 0) {
+                    requestChanges(new DeltaRun(version, revision), revision);
+                } else {
+                    requestFull(version);
+                }
+            });
+        });
+    }
+
+    // ========================================
+    // 🔺 DELTA SYNC
+    // ========================================
+
+    private void requestChanges(DeltaRun run, long since) {
+        String url = ApiConfig.CATALOG_CHANGES + "?since=" + since
+                + "&limit=" + ApiConfig.CATALOG_CHANGES_PAGE_SIZE;
+        send(url, (response, bytes) -> executor.execute(() -> {
+            try {
+                if (!response.getBoolean("status")) {
+                    Log.w(TAG, "Catalog changes failed: " + response.optString("message"));
+                    finish();
+                    return;
+                }
+                JSONObject data = response.getJSONObject("data");
+                if (data.optBoolean("reset")) {
+                    Log.d(TAG, "Change log does not reach r" + since + ", downloading full catalog");
+                    mainHandler.post(() -> requestFull(run.version));
+                    return;
+                }
+
+                long revision = data.getLong("revision");
+                JSONArray changes = data.getJSONArray("changes");
+                database.applyChanges(changes, revision);
+                run.bytes += bytes;
+                run.changes += changes.length();
+
+                if (data.optBoolean("has_more")) {
+                    mainHandler.post(() -> requestChanges(run, revision));
+                } else {
+                    database.markSynced(revision);
+                    report(run, revision);
+                    finish();
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error applying catalog changes: " + e.getMessage());
+                finish();
+            }
+        }));
+    }
+
+    /**
+     * Log a finished delta sync and add its saving to the running total.
+     * Runs on the executor.
+     */
+    private void report(DeltaRun run, long revision) {
+        long fullBytes = database.getMetaLong(CatalogDatabase.META_FULL_BYTES, 0);
+        long saved = Math.max(0, fullBytes - run.bytes);
+        long totalSaved = database.getMetaLong(CatalogDatabase.META_BYTES_SAVED, 0) + saved;
+        CatalogDatabase.putMeta(database.getWritableDatabase(),
+                CatalogDatabase.META_BYTES_SAVED, String.valueOf(totalSaved));
+
+        Log.d(TAG, "Catalog r" + run.fromRevision + " -> r" + revision + ": "
+                + run.changes + " changes in " + run.bytes + " bytes, full refresh "
+                + fullBytes + " bytes, saved " + saved + " (" + totalSaved + " total)");
+    }
+
+    // ========================================
+    // 📦 FULL DOWNLOAD
+    // ========================================
+
+    private void requestFull(String localVersion) {
+        String url = ApiConfig.CATALOG + "?version=" + (localVersion == null ? "" : localVersion);
+        send(url, (response, bytes) -> executor.execute(() -> {
+            try {
+                if (response.getBoolean("status")) {
+                    applyFull(response.getJSONObject("data"), bytes);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error applying catalog: " + e.getMessage());
+            } finally {
+                finish();
+            }
+        }));
+    }
+
+    /**
+     * Apply a catalog.php payload. Runs on the executor.
+     */
+    private void applyFull(JSONObject data, long bytes) throws JSONException {
+        long revision = data.optLong("revision", -1);
+        if (data.optBoolean("up_to_date")) {
+            database.markSynced(revision);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        database.replaceAll(data.getJSONObject("tables"), data.getString("version"), revision,
+                System.currentTimeMillis(), bytes);
+        Log.d(TAG, "Catalog " + data.getString("version") + " (r" + revision + ", "
+                + bytes + " bytes) stored in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // ========================================
+    // 🔧 HELPERS
+    // ========================================
+
+    private void send(String url, PageListener listener) {
+        SyncRequest request = new SyncRequest(url, listener, error -> {
+            Log.w(TAG, "Catalog sync failed: " + error.toString());
+            syncing = false;
+        });
+        // The version / revision in the URL already tells the server what we have
+        request.setShouldCache(false);
+        VolleySingleton.getInstance(ctx).addToRequestQueue(request,
+                ApiConfig.CATALOG_SYNC_TIMEOUT_MS, ApiConfig.CATALOG_SYNC_MAX_RETRIES);
+    }
+
+    private void finish() {
+        mainHandler.post(() -> syncing = false);
+    }
+
+    private byte[] readAsset(String name) throws IOException {
+        InputStream in = ctx.getAssets().open(name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * GET request that also reports the size of the response body.
+     */
+    private static class SyncRequest extends JsonObjectRequest {
+
+        private final PageListener pageListener;
+        private volatile long responseBytes;
+
+        SyncRequest(String url, PageListener pageListener, Response.ErrorListener errorListener) {
+            super(Request.Method.GET, url, null, null, errorListener);
+            this.pageListener = pageListener;
+        }
+
+        @Override
+        protected Response<JSONObject> parseNetworkResponse(NetworkResponse response) {
+            responseBytes = response.data == null ? 0 : response.data.length;
+            return super.parseNetworkResponse(response);
+        }
+
+        @Override
+        protected void deliverResponse(JSONObject response) {
+            pageListener.onPage(response, responseBytes);
+        }
+    }
+}
@@ -0,0 +1,622 @@
+package com.SIMATS.PathGenie.data;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import com.SIMATS.PathGenie.utils.KeywordMatcher;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * RecommendationEngine - The ai_recommendations.php scoring model, run over
+ * CatalogDatabase.
+ *
+ * Streams, exams and jobs of the student's education level are scored the
+ * same way as on the server: interest keywords, difficulty match and
+ * govt/private preference, then diversified by position, calibrated, scaled,
+ * soft-floored and filtered by the level's thresholds. The result has the
+ * server's shape ({"status": true, "recommended_streams": [{stream_id, score}],
+ * ...}), so CareerRecommendationPage cannot tell the two apart.
+ *
+ * Candidates are read from the database in a few queries (instead of one per
+ * row) and the three kinds are scored in parallel on a small fixed pool. The
+ * server adds a little randomness to scores for variety; here it is seeded
+ * from the answers, so the same answers always give the same results.
+ *
+ * Interest keywords are found with one KeywordMatcher over the keywords of
+ * every interest area. Each stream's text is scanned once per catalog
+ * generation and the keywords found are kept, so later requests, whatever
+ * the answers, do no text matching.
+ *
+ * Results are kept for the last RESULT_CACHE_SIZE answer combinations.
+ * precompute() fills them while the student is still answering: once the
+ * education level (and then the interest area) is known, every combination
+ * of the answers still to come is scored ahead, so the last screen is
+ * usually a cache hit.
+ */
+final class RecommendationEngine {
+
+    private static final int JOB_PRIVATE = 1;
+
+    /** Related streams looked at per exam / job, as the server's LIMIT 5 */
+    private static final int RELATED_STREAMS = 5;
+    private static final int MAX_RESULTS = 3;
+
+    private static final int SCORING_THREADS = Math.max(1,
+            Math.min(3, Runtime.getRuntime().availableProcessors()));
+
+    /** Every level's 30 combinations (5 interests x 2 preferences x 3 difficulties), twice */
+    private static final int RESULT_CACHE_SIZE = 64;
+    private static final int[] CAREER_PREFERENCES = { 0, 1 };
+    private static final int[] DIFFICULTY_TOLERANCES = { 1, 2, 3 };
+
+    private static final Map<String, String[]> INTEREST_KEYWORDS = new HashMap<>();
+    private static final KeywordMatcher INTEREST_MATCHER;
+    // Interest area -> numbers of its keywords in INTEREST_MATCHER
+    private static final Map<String, int[]> INTEREST_KEYWORD_IDS = new HashMap<>();
+
+    static {
+        INTEREST_KEYWORDS.put("Technology", new String[] {
+                "engineering", "software", "technology", "computer", "bca", "b.tech", "it", "data",
+                "science (pcm)" });
+        INTEREST_KEYWORDS.put("Science", new String[] {
+                "science", "research", "medical", "mbbs", "pharmacy", "b.sc", "biology", "chemistry",
+                "physics", "pcm", "pcb" });
+        INTEREST_KEYWORDS.put("Commerce", new String[] {
+                "commerce", "business", "finance", "accounting", "b.com", "bba", "ca", "cma", "mba",
+                "banking" });
+        INTEREST_KEYWORDS.put("Law", new String[] {
+                "law", "legal", "llb", "judiciary", "advocate" });
+        INTEREST_KEYWORDS.put("Arts", new String[] {
+                "arts", "humanities", "literature", "history", "sociology", "communication", "media",
+                "bfa", "design" });
+
+        List<String> all = new ArrayList<>();
+        for (String[] keywords : INTEREST_KEYWORDS.values()) {
+            all.addAll(Arrays.asList(keywords));
+        }
+        INTEREST_MATCHER = new KeywordMatcher(all.toArray(new String[0]));
+        for (Map.Entry<String, String[]> area : INTEREST_KEYWORDS.entrySet()) {
+            int[] ids = new int[area.getValue().length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = INTEREST_MATCHER.indexOf(area.getValue()[i]);
+            }
+            INTEREST_KEYWORD_IDS.put(area.getKey(), ids);
+        }
+    }
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(SCORING_THREADS);
+
+    // Interest keywords found per stream id, for the catalog generation below.
+    // Executor only. Streams are matched on name, who_should_choose,
+    // career_scope and description; as exam / job context, without description.
+    private final Map<Integer, BitSet> streamKeywords = new HashMap<>();
+    private final Map<Integer, BitSet> relatedKeywords = new HashMap<>();
+    // Candidates per education level. Executor only.
+    private final Map<Integer, LevelCandidates> levels = new HashMap<>();
+    private int candidatesGeneration = -1;
+
+    // Scored results, also read from the main thread by getCached()
+    private final Map<Answers, JSONObject> results = Collections.synchronizedMap(
+            new LinkedHashMap<Answers, JSONObject>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Answers, JSONObject> eldest) {
+                    return size() > RESULT_CACHE_SIZE;
+                }
+            });
+    private volatile int resultsGeneration = -1;
+
+    /** What the student answered on Recommendation P1-P4 */
+    static final class Answers {
+        final int educationLevel;
+        final String interestArea;
+        final int careerPreferencePrivate;
+        final int difficultyTolerance;
+
+        Answers(int educationLevel, String interestArea, int careerPreferencePrivate,
+                int difficultyTolerance) {
+            this.educationLevel = educationLevel;
+            this.interestArea = interestArea == null ? "" : interestArea;
+            this.careerPreferencePrivate = careerPreferencePrivate;
+            this.difficultyTolerance = difficultyTolerance;
+        }
+
+        long seed(int kind) {
+            return Arrays.hashCode(new Object[] { educationLevel, interestArea,
+                    careerPreferencePrivate, difficultyTolerance, kind });
+        }
+
+        // Risk tolerance is asked but does not change the scores, so it is not part of the key
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Answers)) {
+                return false;
+            }
+            Answers other = (Answers) o;
+            return educationLevel == other.educationLevel
+                    && interestArea.equals(other.interestArea)
+                    && careerPreferencePrivate == other.careerPreferencePrivate
+                    && difficultyTolerance == other.difficultyTolerance;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) seed(0);
+        }
+    }
+
+    /** A stream linked to an exam or job, with the link's role or eligibility strength */
+    private static final class Related {
+        final String role;
+        final BitSet keywords;
+
+        Related(String role, BitSet keywords) {
+            this.role = role;
+            this.keywords = keywords;
+        }
+    }
+
+    /** A stream, exam or job with what it is scored on */
+    private static final class Candidate {
+        final int id;
+        BitSet keywords;
+        String difficulty;
+        String jobType;
+        int govt;
+        int privateCount;
+        final List<Related> related = new ArrayList<>();
+
+        Candidate(int id) {
+            this.id = id;
+        }
+    }
+
+    /** Everything one education level is scored on; read-only once loaded */
+    private static final class LevelCandidates {
+        final List<Candidate> streams;
+        final List<Candidate> exams;
+        final List<Candidate> jobs;
+
+        LevelCandidates(List<Candidate> streams, List<Candidate> exams, List<Candidate> jobs) {
+            this.streams = streams;
+            this.exams = exams;
+            this.jobs = jobs;
+        }
+
+        boolean isEmpty() {
+            return streams.isEmpty() && exams.isEmpty() && jobs.isEmpty();
+        }
+    }
+
+    /**
+     * Recommendations for the answers, or null if the mirror has nothing for
+     * the education level. Runs on CatalogRepository's executor.
+     *
+     * @param generation CatalogDatabase.getGeneration(), to know when cached
+     *                   candidates and results are out of date
+     */
+    JSONObject recommend(SQLiteDatabase db, Answers answers, int generation) throws Exception {
+        JSONObject cached = getCached(answers, generation);
+        if (cached != null) {
+            return cached;
+        }
+        LevelCandidates candidates = candidates(db, answers.educationLevel, generation);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return score(candidates, Collections.singletonList(answers)).get(0);
+    }
+
+    /**
+     * Score ahead every combination of the answers not given yet, skipping
+     * those already cached. Runs on CatalogRepository's executor.
+     *
+     * @param interestArea The chosen interest area, or null to try them all
+     */
+    void precompute(SQLiteDatabase db, int educationLevel, String interestArea, int generation)
+            throws Exception {
+        LevelCandidates candidates = candidates(db, educationLevel, generation);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<Answers> pending = new ArrayList<>();
+        for (String area : interestArea != null
+                ? Collections.singleton(interestArea) : INTEREST_KEYWORDS.keySet()) {
+            for (int careerPreference : CAREER_PREFERENCES) {
+                for (int difficulty : DIFFICULTY_TOLERANCES) {
+                    Answers answers = new Answers(educationLevel, area, careerPreference, difficulty);
+                    if (!results.containsKey(answers)) {
+                        pending.add(answers);
+                    }
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            score(candidates, pending);
+        }
+    }
+
+    /**
+     * The cached result for the answers, or null. Safe on any thread, so the
+     * wizard can skip the loading screen on a hit.
+     */
+    JSONObject getCached(Answers answers, int generation) {
+        return generation == resultsGeneration ? results.get(answers) : null;
+    }
+
+    /**
+     * Score the candidates for each of the answers and cache the results. All
+     * three kinds of every combination go to the pool at once.
+     */
+    private List<JSONObject> score(LevelCandidates candidates, List<Answers> combinations)
+            throws Exception {
+        List<Callable<JSONArray>> tasks = new ArrayList<>();
+        for (Answers answers : combinations) {
+            tasks.add(() -> rank(candidates.streams, "stream_id", answers, 1,
+                    (stream, random) -> scoreStream(stream, answers, random)));
+            tasks.add(() -> rank(candidates.exams, "exam_id", answers, 2,
+                    (exam, random) -> scoreExam(exam, answers, random)));
+            tasks.add(() -> rank(candidates.jobs, "job_id", answers, 3,
+                    (job, random) -> scoreJob(job, answers, random)));
+        }
+        List<Future<JSONArray>> ranked = pool.invokeAll(tasks);
+
+        List<JSONObject> responses = new ArrayList<>();
+        for (int i = 0; i < combinations.size(); i++) {
+            JSONObject response = new JSONObject();
+            response.put("status", true);
+            response.put("recommended_streams", ranked.get(3 * i).get());
+            response.put("recommended_exams", ranked.get(3 * i + 1).get());
+            response.put("recommended_jobs", ranked.get(3 * i + 2).get());
+            results.put(combinations.get(i), response);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    /**
+     * The candidates of an education level, loaded once per catalog
+     * generation. Runs on the executor.
+     */
+    private LevelCandidates candidates(SQLiteDatabase db, int educationLevel, int generation) {
+        if (generation != candidatesGeneration) {
+            streamKeywords.clear();
+            relatedKeywords.clear();
+            levels.clear();
+            results.clear();
+            candidatesGeneration = generation;
+            resultsGeneration = generation;
+        }
+        LevelCandidates candidates = levels.get(educationLevel);
+        if (candidates == null) {
+            candidates = new LevelCandidates(loadStreams(db, educationLevel),
+                    loadExams(db, educationLevel), loadJobs(db, educationLevel));
+            levels.put(educationLevel, candidates);
+        }
+        return candidates;
+    }
+
+    // ========================================
+    // 📥 CANDIDATES
+    // ========================================
+
+    private List<Candidate> loadStreams(SQLiteDatabase db, int level) {
+        Map<Integer, Candidate> byId = new HashMap<>();
+        List<Candidate> streams = new ArrayList<>();
+        Cursor cursor = db.rawQuery(
+                "SELECT stream_id, stream_name, who_should_choose, career_scope, description, "
+                        + "difficulty_level FROM streams WHERE education_level_id = ? ORDER BY stream_id",
+                args(level));
+        try {
+            while (cursor.moveToNext()) {
+                Candidate stream = new Candidate(cursor.getInt(0));
+                stream.keywords = streamKeywords.get(stream.id);
+                if (stream.keywords == null) {
+                    stream.keywords = INTEREST_MATCHER.find(cursor.getString(1), cursor.getString(2),
+                            cursor.getString(3), cursor.getString(4));
+                    streamKeywords.put(stream.id, stream.keywords);
+                }
+                stream.difficulty = cursor.getString(5);
+                streams.add(stream);
+                byId.put(stream.id, stream);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        // Weighted govt / private job counts, PRIMARY eligibility counting double
+        cursor = db.rawQuery(
+                "SELECT sj.stream_id, j.job_type, sj.eligibility_strength "
+                        + "FROM stream_jobs sj "
+                        + "INNER JOIN jobs j ON j.job_id = sj.job_id "
+                        + "INNER JOIN streams s ON s.stream_id = sj.stream_id "
+                        + "WHERE s.education_level_id = ?",
+                args(level));
+        try {
+            while (cursor.moveToNext()) {
+                Candidate stream = byId.get(cursor.getInt(0));
+                int weight = "PRIMARY".equals(cursor.getString(2)) ? 2 : 1;
+                if ("government".equalsIgnoreCase(cursor.getString(1))) {
+                    stream.govt += weight;
+                } else {
+                    stream.privateCount += weight;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return streams;
+    }
+
+    private List<Candidate> loadExams(SQLiteDatabase db, int level) {
+        List<Candidate> exams = new ArrayList<>();
+        Map<Integer, Candidate> byId = new HashMap<>();
+        Cursor cursor = db.rawQuery(
+                "SELECT ele.exam_id FROM education_level_exams ele "
+                        + "INNER JOIN entrance_exams e ON e.exam_id = ele.exam_id "
+                        + "WHERE ele.education_level_id = ? ORDER BY ele.id",
+                args(level));
+        try {
+            while (cursor.moveToNext()) {
+                Candidate exam = new Candidate(cursor.getInt(0));
+                exams.add(exam);
+                byId.put(exam.id, exam);
+            }
+        } finally {
+            cursor.close();
+        }
+        loadRelated(db, byId,
+                "SELECT se.exam_id, se.exam_role, s.stream_id, s.stream_name, s.who_should_choose, "
+                        + "s.career_scope "
+                        + "FROM stream_exams se "
+                        + "INNER JOIN streams s ON s.stream_id = se.stream_id "
+                        + "WHERE se.exam_id IN (SELECT exam_id FROM education_level_exams "
+                        + "WHERE education_level_id = ?) ORDER BY se.id",
+                level);
+        return exams;
+    }
+
+    private List<Candidate> loadJobs(SQLiteDatabase db, int level) {
+        List<Candidate> jobs = new ArrayList<>();
+        Map<Integer, Candidate> byId = new HashMap<>();
+        Cursor cursor = db.rawQuery(
+                "SELECT j.job_id, j.job_type FROM education_level_jobs elj "
+                        + "INNER JOIN jobs j ON j.job_id = elj.job_id "
+                        + "WHERE elj.education_level_id = ? ORDER BY elj.id",
+                args(level));
+        try {
+            while (cursor.moveToNext()) {
+                Candidate job = new Candidate(cursor.getInt(0));
+                job.jobType = cursor.getString(1);
+                jobs.add(job);
+                byId.put(job.id, job);
+            }
+        } finally {
+            cursor.close();
+        }
+        loadRelated(db, byId,
+                "SELECT sj.job_id, sj.eligibility_strength, s.stream_id, s.stream_name, "
+                        + "s.who_should_choose, s.career_scope "
+                        + "FROM stream_jobs sj "
+                        + "INNER JOIN streams s ON s.stream_id = sj.stream_id "
+                        + "WHERE sj.job_id IN (SELECT job_id FROM education_level_jobs "
+                        + "WHERE education_level_id = ?) ORDER BY sj.id",
+                level);
+        return jobs;
+    }
+
+    /**
+     * Attach up to RELATED_STREAMS rows of (candidate id, role, stream id,
+     * stream name, who_should_choose, career_scope) to each candidate.
+     */
+    private void loadRelated(SQLiteDatabase db, Map<Integer, Candidate> byId, String sql, int level) {
+        Cursor cursor = db.rawQuery(sql, args(level));
+        try {
+            while (cursor.moveToNext()) {
+                Candidate candidate = byId.get(cursor.getInt(0));
+                if (candidate == null || candidate.related.size() == RELATED_STREAMS) {
+                    continue;
+                }
+                int streamId = cursor.getInt(2);
+                BitSet keywords = relatedKeywords.get(streamId);
+                if (keywords == null) {
+                    keywords = INTEREST_MATCHER.find(cursor.getString(3), cursor.getString(4),
+                            cursor.getString(5));
+                    relatedKeywords.put(streamId, keywords);
+                }
+                candidate.related.add(new Related(cursor.getString(1), keywords));
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // ========================================
+    // 🧮 SCORING
+    // ========================================
+
+    /** Raw score of one candidate */
+    private interface Scorer {
+        int score(Candidate candidate, Random random);
+    }
+
+    private static int scoreStream(Candidate stream, Answers answers, Random random) {
+        int score = 50;
+        score += matchesInterest(stream.keywords, answers.interestArea);
+        score += scoreDifficultyMatch(stream.difficulty, answers.difficultyTolerance);
+        score += scoreCareerPreference(stream.govt, stream.privateCount, answers.careerPreferencePrivate);
+        return score + rand(random, -3, 3);
+    }
+
+    private static int scoreExam(Candidate exam, Answers answers, Random random) {
+        int roleBonus = 0;
+        int interestBonus = 0;
+        for (Related stream : exam.related) {
+            if ("MANDATORY".equals(stream.role)) {
+                roleBonus = Math.max(roleBonus, 20);
+            } else if ("OPTIONAL".equals(stream.role)) {
+                roleBonus = Math.max(roleBonus, 12);
+            } else if ("SCHOLARSHIP".equals(stream.role)) {
+                roleBonus = Math.max(roleBonus, 8);
+            }
+            interestBonus = Math.max(interestBonus, matchesInterest(stream.keywords, answers.interestArea));
+        }
+        return 55 + roleBonus + Math.min(interestBonus, 20) + rand(random, -2, 2);
+    }
+
+    private static int scoreJob(Candidate job, Answers answers, Random random) {
+        boolean govt = "government".equalsIgnoreCase(job.jobType);
+        boolean preferred = answers.careerPreferencePrivate == JOB_PRIVATE ? !govt : govt;
+        int score = 50 + (preferred ? 25 : 10);
+
+        int strengthBonus = 0;
+        int interestBonus = 0;
+        for (Related stream : job.related) {
+            if ("PRIMARY".equals(stream.role)) {
+                strengthBonus = Math.max(strengthBonus, 15);
+            } else if ("SECONDARY".equals(stream.role)) {
+                strengthBonus = Math.max(strengthBonus, 8);
+            }
+            interestBonus = Math.max(interestBonus, matchesInterest(stream.keywords, answers.interestArea));
+        }
+        return score + strengthBonus + Math.min(interestBonus, 15) + rand(random, -2, 3);
+    }
+
+    /** 15 per interest keyword found, up to 35; 50 with no interest area */
+    private static int matchesInterest(BitSet keywords, String interestArea) {
+        int[] ids = INTEREST_KEYWORD_IDS.get(interestArea);
+        if (ids == null) {
+            return 50;
+        }
+        int score = 0;
+        for (int id : ids) {
+            if (keywords.get(id)) {
+                score += 15;
+            }
+        }
+        return Math.min(score, 35);
+    }
+
+    private static int scoreDifficultyMatch(String difficulty, int tolerance) {
+        int gap = Math.abs(difficultyLevel(difficulty) - tolerance);
+        return gap == 0 ? 15 : gap == 1 ? 8 : 0;
+    }
+
+    private static int difficultyLevel(String difficulty) {
+        String level = difficulty == null ? "medium" : difficulty.trim().toLowerCase(Locale.ROOT);
+        switch (level) {
+            case "easy":
+                return 1;
+            case "hard":
+                return 3;
+            default:
+                return 2;
+        }
+    }
+
+    private static int scoreCareerPreference(int govt, int privateCount, int careerPreferencePrivate) {
+        int total = govt + privateCount;
+        if (total == 0) {
+            return 10;
+        }
+        int preferred = careerPreferencePrivate == JOB_PRIVATE ? privateCount : govt;
+        return (int) Math.round(preferred * 20.0 / total);
+    }
+
+    // ========================================
+    // 📊 RANKING
+    // ========================================
+
+    /**
+     * Score, adjust and filter one kind of candidate, in the server's order.
+     * Runs on the scoring pool.
+     */
+    private static JSONArray rank(List<Candidate> candidates, String idKey, Answers answers, int kind,
+            Scorer scorer) throws JSONException {
+        Random random = new Random(answers.seed(kind));
+        int level = answers.educationLevel;
+        // Candidates are shared between answer combinations, so scores stay local
+        int[] scores = new int[candidates.size()];
+        List<Integer> order = new ArrayList<>();
+        for (int index = 0; index < candidates.size(); index++) {
+            int raw = scorer.score(candidates.get(index), random);
+            int diversified = raw - index * (level <= 1 ? 3 : 2) + rand(random, -1, 1);
+            int calibrated = diversified + (level <= 1 ? 10 : level == 2 ? 8 : 6) - index * 3;
+            int scaled = Math.max(55, Math.min(95, (int) Math.round((calibrated - 40) * 1.25)));
+            scores[index] = applySoftFloor(scaled, index, random);
+            order.add(index);
+        }
+        Collections.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+
+        int threshold = threshold(level, kind);
+        List<Integer> chosen = new ArrayList<>();
+        for (int index : order) {
+            if (scores[index] >= threshold) {
+                chosen.add(index);
+            }
+        }
+        // Never recommend nothing
+        if (chosen.isEmpty()) {
+            chosen = order;
+        }
+
+        JSONArray results = new JSONArray();
+        for (int i = 0; i < Math.min(MAX_RESULTS, chosen.size()); i++) {
+            int index = chosen.get(i);
+            JSONObject row = new JSONObject();
+            row.put(idKey, candidates.get(index).id);
+            row.put("score", scores[index]);
+            results.put(row);
+        }
+        return results;
+    }
+
+    private static int applySoftFloor(int score, int rank, Random random) {
+        int min = rank == 0 ? 82 : rank == 1 ? 74 : rank == 2 ? 66 : 60;
+        if (score < min) {
+            score = min + rand(random, 0, 4);
+        }
+        return Math.min(95, score);
+    }
+
+    /** Minimum score to be recommended, by kind (1 stream, 2 exam, 3 job) */
+    private static int threshold(int level, int kind) {
+        if (level <= 1) {
+            return 50;
+        }
+        if (level == 2) {
+            return kind == 1 ? 65 : 60;
+        }
+        return kind == 1 ? 70 : 65;
+    }
+
+    // ========================================
+    // 🔧 HELPERS
+    // ========================================
+
+    /** Inclusive, like PHP's rand(min, max) */
+    private static int rand(Random random, int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static String[] args(int value) {
+        return new String[] { String.valueOf(value) };
+    }
+}
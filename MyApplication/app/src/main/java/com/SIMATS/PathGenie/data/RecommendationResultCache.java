@@ -0,0 +1,121 @@
+package com.SIMATS.PathGenie.data;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.SIMATS.PathGenie.network.ApiConfig;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RecommendationResultCache - Recommendation results kept across runs of the
+ * wizard and app restarts, in CatalogDatabase's recommendation_results table.
+ *
+ * An entry is keyed by the full set of answers (education level, interest
+ * area, career preference, difficulty and risk tolerance) and the catalog it
+ * was scored against (revision, or version when the server has no change
+ * log). CatalogDatabase empties the table whenever catalog rows change, and
+ * an entry for another catalog never matches, so a stale result is never
+ * served. At most ApiConfig.RECOMMENDATION_CACHE_SIZE entries are kept; the
+ * least recently used go first.
+ *
+ * Runs on CatalogRepository's executor, except getStats().
+ */
+class RecommendationResultCache {
+
+    private static final String TAG = "RecommendationCache";
+
+    private final CatalogDatabase database;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    RecommendationResultCache(CatalogDatabase database) {
+        this.database = database;
+    }
+
+    /** Cache key for a set of answers */
+    static String key(int educationLevel, String interestArea, int careerPreferencePrivate,
+            int difficultyTolerance, int riskTolerance) {
+        return educationLevel + "|" + interestArea + "|" + careerPreferencePrivate + "|"
+                + difficultyTolerance + "|" + riskTolerance;
+    }
+
+    /**
+     * The result stored for these answers and the current catalog, or null.
+     * A hit becomes the most recently used entry.
+     */
+    JSONObject get(String key) {
+        String catalog = catalogKey();
+        SQLiteDatabase db = database.getWritableDatabase();
+        Cursor cursor = db.rawQuery("SELECT response FROM recommendation_results "
+                + "WHERE answers = ? AND catalog = ?", new String[] { key, catalog });
+        String response;
+        try {
+            response = cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+
+        if (response != null) {
+            try {
+                JSONObject result = new JSONObject(response);
+                ContentValues values = new ContentValues();
+                values.put("used_at", System.currentTimeMillis());
+                db.update("recommendation_results", values, "answers = ?", new String[] { key });
+                hits.incrementAndGet();
+                return result;
+            } catch (JSONException e) {
+                Log.w(TAG, "Dropping unreadable entry " + key);
+                db.delete("recommendation_results", "answers = ?", new String[] { key });
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store a successful result for these answers and the current catalog,
+     * evicting the least recently used entries over the limit.
+     */
+    void put(String key, JSONObject result) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        ContentValues values = new ContentValues();
+        values.put("answers", key);
+        values.put("catalog", catalogKey());
+        values.put("response", result.toString());
+        values.put("used_at", System.currentTimeMillis());
+        db.insertWithOnConflict("recommendation_results", null, values, SQLiteDatabase.CONFLICT_REPLACE);
+
+        int evicted = db.delete("recommendation_results",
+                "answers NOT IN (SELECT answers FROM recommendation_results "
+                        + "ORDER BY used_at DESC LIMIT " + ApiConfig.RECOMMENDATION_CACHE_SIZE + ")",
+                null);
+        evictions.addAndGet(evicted);
+    }
+
+    /**
+     * Hit / miss counts since the app started, for NetworkMetricsPage.
+     */
+    String getStats() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return String.format(Locale.US, "Recommendation cache: %d hits, %d misses (%.0f%% hit), %d evicted",
+                hitCount, total - hitCount, total == 0 ? 0.0 : 100.0 * hitCount / total, evictions.get());
+    }
+
+    private String catalogKey() {
+        long revision = database.getMetaLong(CatalogDatabase.META_REVISION, -1);
+        if (revision >= 0) {
+            return "r" + revision;
+        }
+        String version = database.getMeta(CatalogDatabase.META_VERSION);
+        return version != null ? "v" + version : "none";
+    }
+}
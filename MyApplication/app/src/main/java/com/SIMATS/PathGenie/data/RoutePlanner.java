@@ -0,0 +1,263 @@
+package com.SIMATS.PathGenie.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * RoutePlanner - Ranks alternative roadmaps from a stream to a job over a
+ * StreamGraph.
+ *
+ * A route is a loopless chain of ACADEMIC progressions ending at a stream
+ * that qualifies for the job. Entering a stream costs a step plus its
+ * mandatory entrance exams and its duration; ending where eligibility is only
+ * SECONDARY costs extra. Lower is better. Weights match
+ * api/generate_roadmap.php.
+ *
+ * The cheapest routes are found with Yen's algorithm: each new route branches
+ * off an accepted one at some stream and avoids the edges accepted routes
+ * already take from there. Every stream that qualifies links to one virtual
+ * end node, so "reach the job" is a single target. Work is bounded by
+ * SEARCH_BUDGET shortest-path searches, however large the graph grows.
+ */
+public final class RoutePlanner {
+
+    static final int STEP_COST = 10;
+    static final int EXAM_COST = 4;
+    static final int YEAR_COST = 3;
+    static final int SECONDARY_COST = 15;
+
+    /** Shortest-path searches allowed per query */
+    static final int SEARCH_BUDGET = 200;
+
+    /**
+     * One ranked route.
+     */
+    public static final class Route {
+        public final int[] streamIds;
+        public final String[] streamNames;
+        public final int cost;
+        /** Mandatory exams of the streams after the first */
+        public final int mandatoryExams;
+        /** Time to complete the streams after the first */
+        public final int durationMonths;
+        /** False if the last stream only has SECONDARY eligibility for the job */
+        public final boolean primary;
+
+        Route(int[] streamIds, String[] streamNames, int cost, int mandatoryExams,
+                int durationMonths, boolean primary) {
+            this.streamIds = streamIds;
+            this.streamNames = streamNames;
+            this.cost = cost;
+            this.mandatoryExams = mandatoryExams;
+            this.durationMonths = durationMonths;
+            this.primary = primary;
+        }
+    }
+
+    /** Path of stream indices ending in the end node, with its cost */
+    private static final class Candidate {
+        final int[] path;
+        final int cost;
+
+        Candidate(int[] path, int cost) {
+            this.path = path;
+            this.cost = cost;
+        }
+    }
+
+    private final StreamGraph graph;
+    private final int end;
+    private final int[] nodeCost;
+    private final int[] endCost; // per stream, -1 if it does not qualify
+    private int budget = SEARCH_BUDGET;
+
+    private RoutePlanner(StreamGraph graph, int job) {
+        this.graph = graph;
+        int n = graph.streamIds.length;
+        end = n;
+        nodeCost = new int[n];
+        endCost = new int[n];
+        for (int s = 0; s < n; s++) {
+            nodeCost[s] = STEP_COST + EXAM_COST * graph.mandatoryExams[s]
+                    + YEAR_COST * graph.durationMonths[s] / 12;
+            endCost[s] = graph.offersJob(s, job) ? 0
+                    : graph.offersSecondaryJob(s, job) ? SECONDARY_COST : -1;
+        }
+    }
+
+    /**
+     * Up to maxRoutes routes from startStreamId to targetJobId, cheapest
+     * first. Empty if the job cannot be reached.
+     */
+    static List<Route> findRoutes(StreamGraph graph, int startStreamId, int targetJobId, int maxRoutes) {
+        int start = graph.streamIndexOf(startStreamId);
+        int job = graph.jobIndexOf(targetJobId);
+        List<Route> routes = new ArrayList<>();
+        if (start < 0 || job < 0 || maxRoutes <= 0) {
+            return routes;
+        }
+        RoutePlanner planner = new RoutePlanner(graph, job);
+        for (Candidate candidate : planner.yen(start, maxRoutes)) {
+            routes.add(planner.toRoute(candidate));
+        }
+        return routes;
+    }
+
+    private List<Candidate> yen(int start, int k) {
+        int n = end + 1;
+        List<Candidate> accepted = new ArrayList<>();
+        Candidate first = shortest(start, new boolean[n], new boolean[n]);
+        if (first == null) {
+            return accepted;
+        }
+        accepted.add(first);
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(11, (a, b) -> a.cost != b.cost
+                ? Integer.compare(a.cost, b.cost) : Integer.compare(a.path.length, b.path.length));
+        Set<String> seen = new HashSet<>();
+        seen.add(Arrays.toString(first.path));
+
+        while (accepted.size() < k && budget > 0) {
+            int[] last = accepted.get(accepted.size() - 1).path;
+
+            for (int i = 0; i < last.length - 1 && budget > 0; i++) {
+                int spur = last[i];
+
+                // Leave the spur by an edge no accepted route with this prefix uses
+                boolean[] blockedNext = new boolean[n];
+                for (Candidate route : accepted) {
+                    if (route.path.length > i + 1 && samePrefix(route.path, last, i + 1)) {
+                        blockedNext[route.path[i + 1]] = true;
+                    }
+                }
+                // ... and without revisiting the prefix
+                boolean[] blockedNodes = new boolean[n];
+                for (int j = 0; j < i; j++) {
+                    blockedNodes[last[j]] = true;
+                }
+
+                Candidate spurRoute = shortest(spur, blockedNodes, blockedNext);
+                if (spurRoute == null) {
+                    continue;
+                }
+                int[] path = new int[i + spurRoute.path.length];
+                System.arraycopy(last, 0, path, 0, i);
+                System.arraycopy(spurRoute.path, 0, path, i, spurRoute.path.length);
+                if (seen.add(Arrays.toString(path))) {
+                    candidates.add(new Candidate(path, cost(path)));
+                }
+            }
+
+            Candidate next = candidates.poll();
+            if (next == null) {
+                break;
+            }
+            accepted.add(next);
+        }
+        return accepted;
+    }
+
+    /**
+     * Dijkstra from source to the end node. The graph is small, so the next
+     * node is picked by a linear scan.
+     *
+     * @param blockedNodes Nodes that may not be entered
+     * @param blockedNext  Nodes that may not be entered directly from source
+     */
+    private Candidate shortest(int source, boolean[] blockedNodes, boolean[] blockedNext) {
+        budget--;
+        int n = end + 1;
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        boolean[] done = new boolean[n];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+
+        while (true) {
+            int u = -1;
+            for (int v = 0; v < n; v++) {
+                if (!done[v] && dist[v] != Integer.MAX_VALUE && (u < 0 || dist[v] < dist[u])) {
+                    u = v;
+                }
+            }
+            if (u < 0) {
+                return null;
+            }
+            if (u == end) {
+                break;
+            }
+            done[u] = true;
+
+            for (int e = graph.nextStart[u]; e < graph.nextStart[u + 1]; e++) {
+                relax(u, graph.nextStreams[e], nodeCost[graph.nextStreams[e]],
+                        source, blockedNodes, blockedNext, dist, prev, done);
+            }
+            if (endCost[u] >= 0) {
+                relax(u, end, endCost[u], source, blockedNodes, blockedNext, dist, prev, done);
+            }
+        }
+
+        int length = 1;
+        for (int v = end; v != source; v = prev[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = end, i = length - 1; i >= 0; v = prev[v], i--) {
+            path[i] = v;
+        }
+        return new Candidate(path, dist[end]);
+    }
+
+    private static void relax(int u, int v, int weight, int source, boolean[] blockedNodes,
+            boolean[] blockedNext, int[] dist, int[] prev, boolean[] done) {
+        if (done[v] || blockedNodes[v] || (u == source && blockedNext[v])) {
+            return;
+        }
+        if (dist[u] + weight < dist[v]) {
+            dist[v] = dist[u] + weight;
+            prev[v] = u;
+        }
+    }
+
+    private int cost(int[] path) {
+        int cost = 0;
+        for (int i = 1; i < path.length; i++) {
+            cost += path[i] == end ? endCost[path[i - 1]] : nodeCost[path[i]];
+        }
+        return cost;
+    }
+
+    private static boolean samePrefix(int[] a, int[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Route toRoute(Candidate candidate) {
+        int streams = candidate.path.length - 1; // drop the end node
+        int[] ids = new int[streams];
+        String[] names = new String[streams];
+        int exams = 0;
+        int months = 0;
+        for (int i = 0; i < streams; i++) {
+            int s = candidate.path[i];
+            ids[i] = graph.streamIds[s];
+            names[i] = graph.streamNames[s];
+            if (i > 0) {
+                // The first stream is where the student already is, and
+                // like cost() its exams and years are not counted
+                exams += graph.mandatoryExams[s];
+                months += graph.durationMonths[s];
+            }
+        }
+        return new Route(ids, names, candidate.cost, exams, months,
+                endCost[candidate.path[streams - 1]] == 0);
+    }
+}
@@ -0,0 +1,477 @@
+package com.SIMATS.PathGenie.data;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * StreamGraph - In-memory stream progression graph, so roadmap questions are
+ * answered on the device: which jobs can a stream lead to, and what is the
+ * shortest chain of streams from a stream to a job.
+ *
+ * Follows the server's search (get_all_reachable_jobs.php,
+ * generate_system_roadmap.php): edges are ACADEMIC stream_progression rows,
+ * and a stream leads to a job when stream_jobs marks it PRIMARY.
+ *
+ * Streams and jobs are numbered 0..n-1 and edges are stored as offset/target
+ * int arrays (the edges of stream i are targets[start[i] .. start[i + 1]]),
+ * so a search touches only primitive arrays.
+ *
+ * The transitive closure is kept as bitsets: for each stream, one row of bits
+ * for the streams it can reach and one for the jobs those streams offer. That
+ * makes "can I still become X from here?" a single bit test, and filtering
+ * reachable jobs by type an AND with a per-type mask.
+ *
+ * Built from CatalogDatabase by CatalogRepository once per catalog change;
+ * immutable and safe to share between threads.
+ */
+public final class StreamGraph {
+
+    final int[] streamIds;
+    final String[] streamNames;
+    private final int[] streamIndex; // stream_id -> index, -1 if absent
+    // Route weights (see RoutePlanner)
+    final int[] mandatoryExams;
+    final int[] durationMonths;
+
+    private final int[] jobIds;
+    private final String[] jobNames;
+    private final String[] jobTypes;
+    private final String[] jobDescriptions;
+    private final String[] jobSalaries;
+    private final int[] jobIndex; // job_id -> index, -1 if absent
+
+    // ACADEMIC progression, stream index -> stream indices
+    final int[] nextStart;
+    final int[] nextStreams;
+
+    // PRIMARY eligibility, stream index -> job indices
+    private final int[] jobStart;
+    private final int[] streamJobs;
+
+    // SECONDARY eligibility, stream index -> job indices
+    private final int[] secondaryStart;
+    private final int[] secondaryJobs;
+
+    // Closure rows: stream s owns words [s * words, (s + 1) * words)
+    private final int streamWords;
+    private final int jobWords;
+    private final long[] streamClosure;
+    private final long[] jobClosure;
+    // Upper-cased job_type -> job bits
+    private final Map<String, long[]> jobTypeMasks = new HashMap<>();
+
+    /** Runs the catalog queries the graph is read from */
+    interface Catalog {
+        Cursor query(String sql);
+    }
+
+    private StreamGraph(Catalog db) {
+        Cursor cursor = db.query("SELECT stream_id, stream_name, duration FROM streams ORDER BY stream_id");
+        try {
+            streamIds = new int[cursor.getCount()];
+            streamNames = new String[streamIds.length];
+            durationMonths = new int[streamIds.length];
+            for (int i = 0; cursor.moveToNext(); i++) {
+                streamIds[i] = cursor.getInt(0);
+                streamNames[i] = cursor.getString(1);
+                durationMonths[i] = parseMonths(cursor.getString(2));
+            }
+        } finally {
+            cursor.close();
+        }
+        streamIndex = indexOf(streamIds);
+
+        mandatoryExams = new int[streamIds.length];
+        cursor = db.query("SELECT stream_id, COUNT(*) FROM stream_exams "
+                + "WHERE exam_role = 'MANDATORY' GROUP BY stream_id");
+        try {
+            while (cursor.moveToNext()) {
+                int s = index(streamIndex, cursor.getInt(0));
+                if (s >= 0) {
+                    mandatoryExams[s] = cursor.getInt(1);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        cursor = db.query("SELECT job_id, job_name, job_type, description, average_salary "
+                + "FROM jobs ORDER BY job_id");
+        try {
+            jobIds = new int[cursor.getCount()];
+            jobNames = new String[jobIds.length];
+            jobTypes = new String[jobIds.length];
+            jobDescriptions = new String[jobIds.length];
+            jobSalaries = new String[jobIds.length];
+            for (int i = 0; cursor.moveToNext(); i++) {
+                jobIds[i] = cursor.getInt(0);
+                jobNames[i] = cursor.getString(1);
+                jobTypes[i] = cursor.getString(2);
+                jobDescriptions[i] = cursor.getString(3);
+                jobSalaries[i] = cursor.getString(4);
+            }
+        } finally {
+            cursor.close();
+        }
+        jobIndex = indexOf(jobIds);
+
+        nextStart = new int[streamIds.length + 1];
+        nextStreams = edges(db.query("SELECT current_stream_id, next_stream_id "
+                + "FROM stream_progression WHERE progression_type = 'ACADEMIC' ORDER BY id"),
+                streamIndex, nextStart);
+
+        jobStart = new int[streamIds.length + 1];
+        streamJobs = edges(db.query("SELECT stream_id, job_id "
+                + "FROM stream_jobs WHERE eligibility_strength = 'PRIMARY' ORDER BY id"),
+                jobIndex, jobStart);
+
+        secondaryStart = new int[streamIds.length + 1];
+        secondaryJobs = edges(db.query("SELECT stream_id, job_id "
+                + "FROM stream_jobs WHERE eligibility_strength = 'SECONDARY' ORDER BY id"),
+                jobIndex, secondaryStart);
+
+        streamWords = words(streamIds.length);
+        jobWords = words(jobIds.length);
+        streamClosure = new long[streamIds.length * streamWords];
+        jobClosure = new long[streamIds.length * jobWords];
+        for (int s = 0; s < streamIds.length; s++) {
+            for (int reached : bfs(s, -1, null)) {
+                setBit(streamClosure, s * streamWords, reached);
+                for (int e = jobStart[reached]; e < jobStart[reached + 1]; e++) {
+                    setBit(jobClosure, s * jobWords, streamJobs[e]);
+                }
+            }
+        }
+
+        for (int j = 0; j < jobIds.length; j++) {
+            if (jobTypes[j] == null) {
+                continue;
+            }
+            String type = jobTypes[j].toUpperCase(Locale.ROOT);
+            long[] mask = jobTypeMasks.get(type);
+            if (mask == null) {
+                mask = new long[jobWords];
+                jobTypeMasks.put(type, mask);
+            }
+            setBit(mask, 0, j);
+        }
+    }
+
+    /**
+     * Build the graph from the catalog tables. Call off the main thread.
+     */
+    static StreamGraph build(SQLiteDatabase db) {
+        return new StreamGraph(sql -> db.rawQuery(sql, null));
+    }
+
+    /**
+     * Build the graph from any source of the catalog queries' rows; lets
+     * tests build one without a database.
+     */
+    static StreamGraph build(Catalog catalog) {
+        return new StreamGraph(catalog);
+    }
+
+    // ========================================
+    // 🔍 QUERIES
+    // ========================================
+
+    public boolean hasStream(int streamId) {
+        return index(streamIndex, streamId) >= 0;
+    }
+
+    /**
+     * Streams reachable from a stream, itself first, in breadth-first order.
+     * Empty if the stream is unknown.
+     */
+    public int[] getReachableStreams(int streamId) {
+        int start = index(streamIndex, streamId);
+        if (start < 0) {
+            return new int[0];
+        }
+        int[] order = bfs(start, -1, null);
+        int[] ids = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ids[i] = streamIds[order[i]];
+        }
+        return ids;
+    }
+
+    /**
+     * Whether toStreamId can be reached from fromStreamId (a stream reaches
+     * itself).
+     */
+    public boolean canReach(int fromStreamId, int toStreamId) {
+        int from = index(streamIndex, fromStreamId);
+        int to = index(streamIndex, toStreamId);
+        return from >= 0 && to >= 0 && getBit(streamClosure, from * streamWords, to);
+    }
+
+    /**
+     * Whether any stream reachable from streamId qualifies for jobId.
+     */
+    public boolean canReachJob(int streamId, int jobId) {
+        int s = index(streamIndex, streamId);
+        int j = index(jobIndex, jobId);
+        return s >= 0 && j >= 0 && getBit(jobClosure, s * jobWords, j);
+    }
+
+    /**
+     * Jobs reachable from a stream, by job_id.
+     *
+     * @param jobType A job_type such as "GOVERNMENT" or "PRIVATE" (any case),
+     *                or null / "ALL" for every type
+     */
+    public int[] getReachableJobs(int streamId, String jobType) {
+        int s = index(streamIndex, streamId);
+        if (s < 0) {
+            return new int[0];
+        }
+        long[] mask = null;
+        if (jobType != null && !"ALL".equalsIgnoreCase(jobType)) {
+            mask = jobTypeMasks.get(jobType.toUpperCase(Locale.ROOT));
+            if (mask == null) {
+                return new int[0];
+            }
+        }
+
+        int[] ids = new int[jobIds.length];
+        int count = 0;
+        int row = s * jobWords;
+        for (int w = 0; w < jobWords; w++) {
+            long word = mask == null ? jobClosure[row + w] : jobClosure[row + w] & mask[w];
+            while (word != 0) {
+                ids[count++] = jobIds[(w << 6) + Long.numberOfTrailingZeros(word)];
+                word &= word - 1;
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Jobs a stream qualifies for directly (PRIMARY eligibility).
+     */
+    public int[] getPrimaryJobs(int streamId) {
+        int s = index(streamIndex, streamId);
+        if (s < 0) {
+            return new int[0];
+        }
+        int[] ids = new int[jobStart[s + 1] - jobStart[s]];
+        for (int e = jobStart[s]; e < jobStart[s + 1]; e++) {
+            ids[e - jobStart[s]] = jobIds[streamJobs[e]];
+        }
+        return ids;
+    }
+
+    /**
+     * Shortest chain of streams from startStreamId to one that qualifies for
+     * targetJobId, both ends included, or null if there is none.
+     */
+    public int[] findShortestPath(int startStreamId, int targetJobId) {
+        int start = index(streamIndex, startStreamId);
+        int job = index(jobIndex, targetJobId);
+        if (start < 0 || job < 0 || !getBit(jobClosure, start * jobWords, job)) {
+            return null;
+        }
+        int[] parent = new int[streamIds.length];
+        int[] order = bfs(start, job, parent);
+        int end = order[order.length - 1];
+        if (!offersJob(end, job)) {
+            return null;
+        }
+
+        int length = 1;
+        for (int s = end; s != start; s = parent[s]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int s = end, i = length - 1; i >= 0; s = parent[s], i--) {
+            path[i] = streamIds[s];
+        }
+        return path;
+    }
+
+    public String getStreamName(int streamId) {
+        int s = index(streamIndex, streamId);
+        return s < 0 ? null : streamNames[s];
+    }
+
+    public String getJobName(int jobId) {
+        int j = index(jobIndex, jobId);
+        return j < 0 ? null : jobNames[j];
+    }
+
+    public String getJobType(int jobId) {
+        int j = index(jobIndex, jobId);
+        return j < 0 ? null : jobTypes[j];
+    }
+
+    public String getJobDescription(int jobId) {
+        int j = index(jobIndex, jobId);
+        return j < 0 ? null : jobDescriptions[j];
+    }
+
+    public String getJobSalary(int jobId) {
+        int j = index(jobIndex, jobId);
+        return j < 0 ? null : jobSalaries[j];
+    }
+
+    // ========================================
+    // 🔧 HELPERS
+    // ========================================
+
+    /**
+     * Breadth-first search from a stream index.
+     *
+     * @param targetJob Stop at the first stream offering this job index, or -1
+     *                  to visit everything reachable
+     * @param parent    Filled with each visited stream's predecessor, if not null
+     * @return Visited stream indices in visiting order; the last one is the
+     *         stream offering targetJob when it was found
+     */
+    private int[] bfs(int start, int targetJob, int[] parent) {
+        int[] queue = new int[streamIds.length];
+        boolean[] seen = new boolean[streamIds.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        seen[start] = true;
+
+        while (head < tail) {
+            int s = queue[head++];
+            if (targetJob >= 0 && offersJob(s, targetJob)) {
+                return Arrays.copyOf(queue, head);
+            }
+            for (int e = nextStart[s]; e < nextStart[s + 1]; e++) {
+                int next = nextStreams[e];
+                if (!seen[next]) {
+                    seen[next] = true;
+                    if (parent != null) {
+                        parent[next] = s;
+                    }
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    boolean offersJob(int stream, int job) {
+        for (int e = jobStart[stream]; e < jobStart[stream + 1]; e++) {
+            if (streamJobs[e] == job) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean offersSecondaryJob(int stream, int job) {
+        for (int e = secondaryStart[stream]; e < secondaryStart[stream + 1]; e++) {
+            if (secondaryJobs[e] == job) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int streamIndexOf(int streamId) {
+        return index(streamIndex, streamId);
+    }
+
+    int jobIndexOf(int jobId) {
+        return index(jobIndex, jobId);
+    }
+
+    /** "3–4 Years" -> 36, "6–12 Months" -> 6; the lower bound, 0 if unknown */
+    private static int parseMonths(String duration) {
+        if (duration == null) {
+            return 0;
+        }
+        int value = 0;
+        int i = 0;
+        while (i < duration.length() && !Character.isDigit(duration.charAt(i))) {
+            i++;
+        }
+        while (i < duration.length() && Character.isDigit(duration.charAt(i))) {
+            value = value * 10 + (duration.charAt(i) - '0');
+            i++;
+        }
+        return duration.toLowerCase(Locale.ROOT).contains("month") ? value : value * 12;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void setBit(long[] bits, int offset, int i) {
+        bits[offset + (i >>> 6)] |= 1L << i;
+    }
+
+    private static boolean getBit(long[] bits, int offset, int i) {
+        return (bits[offset + (i >>> 6)] & (1L << i)) != 0;
+    }
+
+    private static int index(int[] indexById, int id) {
+        return id >= 0 && id < indexById.length ? indexById[id] : -1;
+    }
+
+    /** Dense id -> index table; catalog ids are small AUTO_INCREMENT values */
+    private static int[] indexOf(int[] ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        int[] indexById = new int[max + 1];
+        Arrays.fill(indexById, -1);
+        for (int i = 0; i < ids.length; i++) {
+            indexById[ids[i]] = i;
+        }
+        return indexById;
+    }
+
+    /**
+     * Read (stream_id, target_id) rows into offset/target arrays. Rows whose
+     * ends are not in the catalog are skipped; each stream keeps its rows in
+     * query order.
+     *
+     * @param start Filled with offsets, length streams + 1
+     */
+    private int[] edges(Cursor cursor, int[] targetIndex, int[] start) {
+        int[] from;
+        int[] to;
+        int count = 0;
+        try {
+            from = new int[cursor.getCount()];
+            to = new int[from.length];
+            while (cursor.moveToNext()) {
+                int s = index(streamIndex, cursor.getInt(0));
+                int t = index(targetIndex, cursor.getInt(1));
+                if (s >= 0 && t >= 0) {
+                    from[count] = s;
+                    to[count] = t;
+                    count++;
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        for (int i = 0; i < count; i++) {
+            start[from[i] + 1]++;
+        }
+        for (int s = 0; s < streamIds.length; s++) {
+            start[s + 1] += start[s];
+        }
+        int[] targets = new int[count];
+        int[] fill = Arrays.copyOf(start, streamIds.length);
+        for (int i = 0; i < count; i++) {
+            targets[fill[from[i]]++] = to[i];
+        }
+        return targets;
+    }
+}
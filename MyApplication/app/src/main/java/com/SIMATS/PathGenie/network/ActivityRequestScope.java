@@ -0,0 +1,168 @@
+package com.SIMATS.PathGenie.network;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+
+import com.android.volley.Network;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.ImageLoader;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Binds requests to the Activity that made them.
+ *
+ * Requests added with VolleySingleton.addToRequestQueue(request, activity) are
+ * tagged with a token for that activity. When the activity is destroyed, its
+ * reads (GET, and ApiConfig.READ_ONLY_POST_ENDPOINTS) are cancelled, so their
+ * listeners never run against dead views and the activity can be collected.
+ * Writes are left to complete so a user action is never silently dropped;
+ * they are short-lived (see RetryPolicyRegistry).
+ *
+ * The token is a plain Object, so a queued request does not keep the activity
+ * alive through its tag.
+ *
+ * ImageLoader loads are bound the same way with bind(container, activity):
+ * the container is cancelled with the activity, and ImageLoader drops the
+ * request once no other container waits for the same image.
+ */
+public class ActivityRequestScope implements Application.ActivityLifecycleCallbacks {
+
+    private final RequestQueue queue;
+    private final Map<Activity, Object> tags = new WeakHashMap<>();
+    // Main thread only, like ImageLoader
+    private final Map<Activity, Set<ImageLoader.ImageContainer>> images = new WeakHashMap<>();
+
+    public ActivityRequestScope(RequestQueue queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Tag a request with its owning activity.
+     *
+     * @return false if the activity is already finishing or destroyed and
+     *         a read should not be sent at all
+     */
+    public boolean bind(Request<?> request, Activity owner) {
+        if ((owner.isFinishing() || owner.isDestroyed()) && isCancellable(request)) {
+            return false;
+        }
+        request.setTag(tagFor(owner));
+        return true;
+    }
+
+    /**
+     * Cancel an ImageLoader load when its activity is destroyed. Call
+     * unbind() once the load has finished. Main thread only.
+     */
+    public void bind(ImageLoader.ImageContainer container, Activity owner) {
+        Set<ImageLoader.ImageContainer> pending = images.get(owner);
+        if (pending == null) {
+            pending = new HashSet<>();
+            images.put(owner, pending);
+        }
+        pending.add(container);
+    }
+
+    public void unbind(ImageLoader.ImageContainer container, Activity owner) {
+        Set<ImageLoader.ImageContainer> pending = images.get(owner);
+        if (pending != null) {
+            pending.remove(container);
+        }
+    }
+
+    private synchronized Object tagFor(Activity activity) {
+        Object tag = tags.get(activity);
+        if (tag == null) {
+            tag = new Object();
+            tags.put(activity, tag);
+        }
+        return tag;
+    }
+
+    /**
+     * Whether a request only reads and can be dropped when its page closes.
+     */
+    public static boolean isCancellable(Request<?> request) {
+        return request.getMethod() == Request.Method.GET
+                || ApiConfig.isInGroup(ApiConfig.getEndpointKey(request.getUrl()),
+                        ApiConfig.READ_ONLY_POST_ENDPOINTS);
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+        final Object tag;
+        synchronized (this) {
+            tag = tags.remove(activity);
+        }
+        if (tag != null) {
+            queue.cancelAll(request -> request.getTag() == tag && isCancellable(request));
+        }
+        Set<ImageLoader.ImageContainer> pending = images.remove(activity);
+        if (pending != null) {
+            for (ImageLoader.ImageContainer container : pending) {
+                container.cancelRequest();
+            }
+        }
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    /**
+     * Wrap the queue's Network so a response whose request was cancelled
+     * while it was downloading is dropped before it is parsed.
+     *
+     * @param stillWanted Matches a cancelled request whose response is still
+     *                    needed by others (live coalesced followers); it is
+     *                    parsed and delivered as usual
+     */
+    public static Network abandonCancelled(final Network network, final RequestQueue.RequestFilter stillWanted) {
+        return request -> {
+            NetworkResponse response = network.performRequest(request);
+            if (request.isCanceled() && !stillWanted.apply(request)) {
+                // Delivery skips the cancelled request and nobody else waits on it
+                throw new AbandonedError(response);
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Response of a cancelled request, dropped unparsed. Recorded as
+     * cancelled in NetworkMetrics, not as a failure.
+     */
+    public static class AbandonedError extends VolleyError {
+        public AbandonedError(NetworkResponse response) {
+            super(response);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.SIMATS.PathGenie.network;
+
+import com.android.volley.NetworkError;
+import com.android.volley.RetryPolicy;
+import com.android.volley.ServerError;
+import com.android.volley.TimeoutError;
+import com.android.volley.VolleyError;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy with jittered exponential backoff.
+ *
+ * Only timeouts, connection failures and 5xx responses are retried; auth
+ * failures are not. After a timeout the next attempt gets twice the time, up
+ * to maxTimeoutMs. The backoff sleep runs on the network dispatcher thread
+ * that is executing the request.
+ *
+ * Policies are normally created by RetryPolicyRegistry; use fixed() for an
+ * explicit timeout.
+ */
+public class AdaptiveRetryPolicy implements RetryPolicy {
+
+    private final int maxTimeoutMs;
+    private final int maxRetries;
+    private int currentTimeoutMs;
+    private int currentRetryCount;
+    private boolean failed;
+
+    /**
+     * @param timeoutMs    Timeout of the first attempt
+     * @param maxTimeoutMs Upper bound for the timeout of later attempts
+     * @param maxRetries   Maximum number of retries (0 = never retry)
+     */
+    public AdaptiveRetryPolicy(int timeoutMs, int maxTimeoutMs, int maxRetries) {
+        this.currentTimeoutMs = timeoutMs;
+        this.maxTimeoutMs = Math.max(timeoutMs, maxTimeoutMs);
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Policy with a timeout that does not grow between attempts.
+     */
+    public static AdaptiveRetryPolicy fixed(int timeoutMs, int maxRetries) {
+        return new AdaptiveRetryPolicy(timeoutMs, timeoutMs, maxRetries);
+    }
+
+    @Override
+    public int getCurrentTimeout() {
+        return currentTimeoutMs;
+    }
+
+    @Override
+    public int getCurrentRetryCount() {
+        return currentRetryCount;
+    }
+
+    /**
+     * Whether any attempt has failed. Latency of such requests is not used
+     * for adaptive timeouts.
+     */
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    @Override
+    public void retry(VolleyError error) throws VolleyError {
+        failed = true;
+        if (currentRetryCount >= maxRetries || !isRetryable(error)) {
+            throw error;
+        }
+        currentRetryCount++;
+        if (error instanceof TimeoutError) {
+            currentTimeoutMs = Math.min(currentTimeoutMs * 2, maxTimeoutMs);
+        }
+        try {
+            Thread.sleep(backoffMs(currentRetryCount));
+        } catch (InterruptedException e) {
+            // Queue is stopping
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+
+    private static boolean isRetryable(VolleyError error) {
+        // NetworkError includes NoConnectionError
+        return error instanceof TimeoutError
+                || error instanceof NetworkError
+                || error instanceof ServerError;
+    }
+
+    /**
+     * Delay before the given retry: base * 2^(retry-1), jittered to 50-150%
+     * so clients that failed together don't retry together.
+     */
+    static long backoffMs(int retry) {
+        long delay = (long) ApiConfig.RETRY_BACKOFF_BASE_MS << Math.min(retry - 1, 16);
+        delay = (long) (delay * ThreadLocalRandom.current().nextDouble(0.5, 1.5));
+        return Math.min(delay, ApiConfig.RETRY_BACKOFF_MAX_MS);
+    }
+}
@@ -18,12 +18,19 @@ public class ApiConfig {
     // Use "http://YOUR_IP_ADDRESS/" for physical device testing
     // Use "https://yourdomain.com/" for production
 
-    // Request timeout in milliseconds
-    public static final int REQUEST_TIMEOUT_MS = 30000;
+    // Shared request pipeline (see VolleySingleton)
+    public static final int NETWORK_THREAD_POOL_SIZE = 4;
+    public static final int DISK_CACHE_SIZE_BYTES = 5 * 1024 * 1024;
+    public static final String DISK_CACHE_DIR = "volley";
 
-    // Retry policy
-    public static final int MAX_RETRIES = 2;
-    public static final float BACKOFF_MULTIPLIER = 1.0f;
+    // Image cache: memory tier is 1/8 of the memory class, disk tier has its own budget
+    public static final int IMAGE_MEMORY_CACHE_DIVISOR = 8;
+    public static final String IMAGE_DISK_CACHE_DIR = "volley_images";
+    public static final int IMAGE_DISK_CACHE_SIZE_BYTES = 20 * 1024 * 1024;
+    public static final long IMAGE_DISK_CACHE_TTL_MS = 30L * 24 * 60 * 60 * 1000;
+
+    /** Server directory for uploaded profile images (file names are unique per upload) */
+    public static final String UPLOADS_DIR = "uploads/";
 
     // ========================================
     // 🔐 AUTHENTICATION APIs
@@ -168,6 +175,149 @@ public class ApiConfig {
     /** Get AI explanations for recommendations */
     public static final String AI_RECOMMENDATIONS_EXPLANATIONS = BASE_URL + "ai_recommendations_explanations.php";
 
+    /** Recommendation results kept on the device (see RecommendationResultCache) */
+    public static final int RECOMMENDATION_CACHE_SIZE = 50;
+
+    /** Get stream/exam/job details for many ids at once - see DetailBatcher */
+    public static final String BATCH_DETAILS = BASE_URL + "batch_details.php";
+
+    /** How long DetailBatcher collects ids before sending one request */
+    public static final int DETAIL_BATCH_WINDOW_MS = 20;
+
+    /** Maximum ids per batch_details.php request (enforced by the server) */
+    public static final int DETAIL_BATCH_MAX_IDS = 50;
+
+    // ========================================
+    // 💾 CATALOG CACHE (see CatalogCache)
+    // ========================================
+
+    /** Catalog list endpoints - lists of streams/jobs for a level or stream */
+    public static final String[] CATALOG_LIST_ENDPOINTS = {
+            "streams.php", "next_streams.php", "jobs.php" };
+
+    /** Catalog list responses are fresh for 10 minutes, usable stale for 1 day */
+    public static final long CATALOG_LIST_FRESH_MS = 10 * 60 * 1000L;
+    public static final long CATALOG_LIST_STALE_MS = 24 * 60 * 60 * 1000L;
+
+    /** Catalog detail endpoints - a single stream, job or exam */
+    public static final String[] CATALOG_DETAIL_ENDPOINTS = {
+            "stream_details.php", "job_details.php", "exam_details.php", "batch_details.php" };
+
+    /** Catalog detail responses are fresh for 1 hour, usable stale for 7 days */
+    public static final long CATALOG_DETAIL_FRESH_MS = 60 * 60 * 1000L;
+    public static final long CATALOG_DETAIL_STALE_MS = 7 * 24 * 60 * 60 * 1000L;
+
+    // ========================================
+    // 📦 OFFLINE CATALOG (see CatalogRepository, CatalogSyncEngine)
+    // ========================================
+
+    /** Full catalog mirror, sent only when the client's catalog version is outdated */
+    public static final String CATALOG = BASE_URL + "catalog.php";
+
+    /** Rows changed since a catalog revision, for incremental sync */
+    public static final String CATALOG_CHANGES = BASE_URL + "catalog_changes.php";
+
+    /** Changes per catalog_changes.php page; each page is applied in one transaction */
+    public static final int CATALOG_CHANGES_PAGE_SIZE = 500;
+
+    /** How often the local catalog is checked against the server */
+    public static final long CATALOG_SYNC_INTERVAL_MS = 6 * 60 * 60 * 1000L;
+
+    /** The full catalog can be slow to download on 2G */
+    public static final int CATALOG_SYNC_TIMEOUT_MS = 60000;
+    public static final int CATALOG_SYNC_MAX_RETRIES = 1;
+
+    // ========================================
+    // 💬 FORUM FEED (see ForumFeedPager, ForumFeedCache)
+    // ========================================
+
+    /** Forum feed, newest first; paginated with limit + cursor */
+    public static final String GET_QUESTIONS = BASE_URL + "get_questions.php";
+
+    /** Questions per feed page */
+    public static final int FORUM_PAGE_SIZE = 20;
+
+    /** The next page is requested once the user is this many screens from the end */
+    public static final int FORUM_PREFETCH_SCREENS = 1;
+
+    /** Cached first pages (see ForumFeedCache) are shown without a refresh this long */
+    public static final long FORUM_FEED_FRESH_MS = 60 * 1000L;
+
+    /** Cached first pages older than this are not shown at all */
+    public static final long FORUM_FEED_MAX_AGE_MS = 7 * 24 * 60 * 60 * 1000L;
+    public static final String FORUM_FEED_DIR = "forum_feed";
+
+    // ========================================
+    // 🧵 FORUM THREAD (see ForumThreadPager, ForumThreadAdapter)
+    // ========================================
+
+    /** Answers to a question, oldest first; paginated with limit + cursor */
+    public static final String GET_ANSWERS = BASE_URL + "get_answers.php";
+
+    /** Answers per thread page */
+    public static final int FORUM_THREAD_PAGE_SIZE = 15;
+
+    // ========================================
+    // ❤️ FORUM LIKES (see ForumLikeSync)
+    // ========================================
+
+    /** Sets the like state of several questions / answers in one request */
+    public static final String SET_LIKES = BASE_URL + "set_likes.php";
+
+    /** Likes are sent once no like has been tapped for this long */
+    public static final int FORUM_LIKE_DEBOUNCE_MS = 800;
+
+    /** Maximum likes per set_likes.php request (enforced by the server) */
+    public static final int FORUM_LIKE_BATCH_MAX = 50;
+
+    // ========================================
+    // 🔁 RETRY POLICY (see RetryPolicyRegistry)
+    // ========================================
+
+    /** Long-running server work (AI, roadmap generation) */
+    public static final String[] SLOW_ENDPOINTS = {
+            "chatbot_local.php", "ai_send_message.php", "ai_recommendations.php",
+            "ai_recommendations_explanations.php", "generate_roadmap.php", "api/generate_roadmap.php",
+            "generate_system_roadmap.php", "generate_ml_roadmap.php" };
+
+    /** POST endpoints that only read - cancelled with their page like GETs (see ActivityRequestScope) */
+    public static final String[] READ_ONLY_POST_ENDPOINTS = {
+            "chatbot_local.php", "ai_recommendations.php", "ai_recommendations_explanations.php" };
+
+    /** File uploads */
+    public static final String[] UPLOAD_ENDPOINTS = { "upload_profile_image.php" };
+
+    /** Reads (GET): short timeout, retried */
+    public static final int READ_TIMEOUT_MS = 10000;
+    public static final int READ_MIN_TIMEOUT_MS = 3000;
+    public static final int READ_MAX_TIMEOUT_MS = 15000;
+    public static final int READ_MAX_RETRIES = 2;
+
+    /** Writes (POST etc.): never retried, a retry could apply the write twice */
+    public static final int WRITE_TIMEOUT_MS = 15000;
+    public static final int WRITE_MIN_TIMEOUT_MS = 5000;
+    public static final int WRITE_MAX_TIMEOUT_MS = 20000;
+
+    /** Slow endpoints: long timeout, retried once only if the call is a GET */
+    public static final int SLOW_TIMEOUT_MS = 60000;
+    public static final int SLOW_MIN_TIMEOUT_MS = 20000;
+    public static final int SLOW_MAX_TIMEOUT_MS = 90000;
+    public static final int SLOW_MAX_RETRIES = 1;
+
+    /** Uploads: long timeout, never retried (the whole file would be sent again) */
+    public static final int UPLOAD_TIMEOUT_MS = 30000;
+    public static final int UPLOAD_MIN_TIMEOUT_MS = 15000;
+    public static final int UPLOAD_MAX_TIMEOUT_MS = 60000;
+
+    /** Backoff before retry n is BASE * 2^(n-1), jittered by +/-50%, capped at MAX */
+    public static final int RETRY_BACKOFF_BASE_MS = 500;
+    public static final int RETRY_BACKOFF_MAX_MS = 4000;
+
+    /** Adaptive timeout = p95 of the last LATENCY_WINDOW_SIZE successful calls * multiplier */
+    public static final int LATENCY_WINDOW_SIZE = 32;
+    public static final int LATENCY_MIN_SAMPLES = 5;
+    public static final int LATENCY_TIMEOUT_MULTIPLIER = 3;
+
     // ========================================
     // 🔧 HELPER METHODS
     // ========================================
@@ -217,4 +367,42 @@ public class ApiConfig {
 
         return url.toString();
     }
+
+    /**
+     * Get the endpoint key of a URL: its path relative to the base URL,
+     * without the query string (e.g. "streams.php", "api/generate_roadmap.php").
+     * 
+     * @param url Full request URL
+     * @return Endpoint key, or the URL path if it is not on our server
+     */
+    public static String getEndpointKey(String url) {
+        if (url == null) {
+            return "";
+        }
+        String path = url;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (path.startsWith(BASE_URL)) {
+            return path.substring(BASE_URL.length());
+        }
+        return path;
+    }
+
+    /**
+     * Check whether an endpoint key is in a group of endpoints.
+     * 
+     * @param endpointKey Key from getEndpointKey()
+     * @param group       Endpoint group, e.g. CATALOG_LIST_ENDPOINTS
+     * @return true if the endpoint belongs to the group
+     */
+    public static boolean isInGroup(String endpointKey, String[] group) {
+        for (String endpoint : group) {
+            if (endpoint.equals(endpointKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
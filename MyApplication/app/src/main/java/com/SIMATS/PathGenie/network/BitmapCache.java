@@ -0,0 +1,74 @@
+package com.SIMATS.PathGenie.network;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import com.android.volley.toolbox.ImageLoader;
+
+/**
+ * Memory tier of the image cache used by VolleySingleton's ImageLoader.
+ * 
+ * Sized in bytes (Bitmap.getByteCount()) as a fraction of the app's memory
+ * class rather than by entry count, and trimmed on onTrimMemory. Encoded
+ * images are kept on disk by SplitDiskCache, so an evicted bitmap is
+ * re-decoded from disk instead of downloaded again.
+ */
+public class BitmapCache implements ImageLoader.ImageCache {
+
+    private final LruCache<String, Bitmap> cache;
+
+    public BitmapCache(Context context) {
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryClassBytes = am.getMemoryClass() * 1024 * 1024;
+        int maxBytes = memoryClassBytes / ApiConfig.IMAGE_MEMORY_CACHE_DIVISOR;
+
+        cache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    @Override
+    public Bitmap getBitmap(String url) {
+        return cache.get(url);
+    }
+
+    @Override
+    public void putBitmap(String url, Bitmap bitmap) {
+        cache.put(url, bitmap);
+    }
+
+    /**
+     * Drop all bitmaps.
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * Shrink the cache in response to ComponentCallbacks2.onTrimMemory().
+     * 
+     * @param level Trim level from the system
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    /**
+     * Bytes currently held.
+     */
+    public int size() {
+        return cache.size();
+    }
+}
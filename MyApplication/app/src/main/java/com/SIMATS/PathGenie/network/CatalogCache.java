@@ -0,0 +1,93 @@
+package com.SIMATS.PathGenie.network;
+
+import com.android.volley.Cache;
+import com.android.volley.Network;
+import com.android.volley.NetworkResponse;
+import com.android.volley.toolbox.DiskBasedCache;
+import com.android.volley.toolbox.HttpHeaderParser;
+
+import java.io.File;
+
+/**
+ * Disk cache for the shared request queue with per-endpoint TTLs for the
+ * read-only catalog endpoints (streams, next streams, jobs and details).
+ * 
+ * The PHP catalog endpoints send an ETag but no useful max-age, so this cache
+ * stamps their entries with the fresh/stale windows from ApiConfig:
+ * - within the fresh window, the cached response is served with no request;
+ * - within the stale window, the cached response is delivered immediately and
+ * Volley revalidates it with If-None-Match (a 304 costs no body);
+ * - after the stale window, a normal conditional request is made.
+ * A 304 renews both windows, see renewOnNotModified().
+ * 
+ * All other responses are stored exactly as Volley parsed them.
+ */
+public class CatalogCache extends DiskBasedCache {
+
+    private static final String ERROR_BODY_PREFIX = "{\"status\":false";
+
+    public CatalogCache(File rootDirectory, int maxCacheSizeInBytes) {
+        super(rootDirectory, maxCacheSizeInBytes);
+    }
+
+    @Override
+    public synchronized void put(String key, Entry entry) {
+        String endpoint = ApiConfig.getEndpointKey(key);
+
+        long freshMs;
+        long staleMs;
+        if (ApiConfig.isInGroup(endpoint, ApiConfig.CATALOG_LIST_ENDPOINTS)) {
+            freshMs = ApiConfig.CATALOG_LIST_FRESH_MS;
+            staleMs = ApiConfig.CATALOG_LIST_STALE_MS;
+        } else if (ApiConfig.isInGroup(endpoint, ApiConfig.CATALOG_DETAIL_ENDPOINTS)) {
+            freshMs = ApiConfig.CATALOG_DETAIL_FRESH_MS;
+            staleMs = ApiConfig.CATALOG_DETAIL_STALE_MS;
+        } else {
+            super.put(key, entry);
+            return;
+        }
+
+        // Errors like "Stream not found" come back as HTTP 200 - don't pin them
+        if (isErrorBody(entry.data)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        entry.softTtl = Math.max(entry.softTtl, now + freshMs);
+        entry.ttl = Math.max(entry.ttl, now + staleMs);
+        super.put(key, entry);
+    }
+
+    /**
+     * Wrap the queue's Network so a 304 for a response already delivered
+     * from cache rewrites its cache entry. Volley only stores a 304 when
+     * nothing was delivered yet, so without this a revalidated catalog entry
+     * keeps its old fresh window and is revalidated on every visit until its
+     * stale window ends.
+     */
+    public static Network renewOnNotModified(final Network network, final Cache cache) {
+        return request -> {
+            NetworkResponse response = network.performRequest(request);
+            if (response.notModified && request.shouldCache() && request.hasHadResponseDelivered()) {
+                // Cached body with the merged headers, as Volley stores a 304 itself
+                Cache.Entry entry = HttpHeaderParser.parseCacheHeaders(response);
+                if (entry != null) {
+                    cache.put(request.getCacheKey(), entry);
+                }
+            }
+            return response;
+        };
+    }
+
+    private static boolean isErrorBody(byte[] data) {
+        if (data == null || data.length < ERROR_BODY_PREFIX.length()) {
+            return false;
+        }
+        for (int i = 0; i < ERROR_BODY_PREFIX.length(); i++) {
+            if (data[i] != ERROR_BODY_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,257 @@
+package com.SIMATS.PathGenie.network;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.Cache;
+import com.android.volley.ExecutorDelivery;
+import com.android.volley.Network;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.Response;
+import com.android.volley.ResponseDelivery;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.ImageRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RequestQueue that coalesces identical GET requests while one is in flight.
+ *
+ * The first GET for a URL is sent as usual (the "leader"). Any identical GET
+ * added before the leader's response is delivered is not sent; it becomes a
+ * follower and receives the leader's response or error. If the leader is
+ * cancelled mid-download, its response is still delivered to its live
+ * followers; if it is cancelled before that or fails after being cancelled,
+ * the first live follower is sent in its place.
+ *
+ * Identical means same request class, same cache key (URL for GET) and same
+ * headers. ImageRequests are never coalesced here.
+ */
+public class CoalescingRequestQueue extends RequestQueue {
+
+    private final InFlight inFlight;
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+
+    public CoalescingRequestQueue(Cache cache, Network network, int threadPoolSize) {
+        this(cache, network, threadPoolSize, new InFlight());
+    }
+
+    private CoalescingRequestQueue(Cache cache, Network network, int threadPoolSize, InFlight inFlight) {
+        super(cache, network, threadPoolSize, new FollowerDelivery(
+                new ExecutorDelivery(new Handler(Looper.getMainLooper())), inFlight));
+        this.inFlight = inFlight;
+        addRequestEventListener(this::onRequestEvent);
+    }
+
+    @Override
+    public <T> Request<T> add(Request<T> request) {
+        String key = coalescingKey(request);
+        if (key != null && inFlight.joinOrLead(key, request)) {
+            deduplicatedCount.incrementAndGet();
+            request.addMarker("coalesced");
+            return request;
+        }
+        return super.add(request);
+    }
+
+    @Override
+    public void cancelAll(RequestFilter filter) {
+        super.cancelAll(filter);
+        inFlight.cancelFollowers(filter);
+    }
+
+    /**
+     * Number of requests that were served by an identical in-flight request
+     * instead of being sent.
+     */
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.get();
+    }
+
+    /**
+     * Whether a leader still has followers that are not cancelled, so its
+     * response is needed even if the leader itself was cancelled.
+     */
+    public boolean hasLiveFollowers(Request<?> leader) {
+        return inFlight.hasLiveFollowers(leader);
+    }
+
+    /**
+     * Release followers the leader finished without answering (leader was
+     * cancelled, or it was a 304 after an intermediate response).
+     */
+    private void onRequestEvent(Request<?> request, int event) {
+        if (event != RequestEvent.REQUEST_FINISHED) {
+            return;
+        }
+        List<Request<?>> orphans = new ArrayList<>();
+        for (Request<?> follower : inFlight.release(request)) {
+            if (!follower.isCanceled() && !follower.hasHadResponseDelivered()) {
+                orphans.add(follower);
+            }
+        }
+        if (!orphans.isEmpty()) {
+            // The first orphan leads again; the rest re-join it
+            for (Request<?> orphan : orphans) {
+                String key = coalescingKey(orphan);
+                if (key == null || !inFlight.joinOrLead(key, orphan)) {
+                    super.add(orphan);
+                }
+            }
+        }
+    }
+
+    private static String coalescingKey(Request<?> request) {
+        // ImageRequests differ by decode size and scale type, which are not in
+        // the cache key; ImageLoader already merges identical image loads
+        if (request.getMethod() != Request.Method.GET || request instanceof ImageRequest) {
+            return null;
+        }
+        // Anonymous subclasses (e.g. overriding getHeaders) parse like their
+        // parent, so the headers they send are part of the key
+        Map<String, String> headers = new TreeMap<>();
+        try {
+            Map<String, String> sent = request.getHeaders();
+            if (sent != null) {
+                headers.putAll(sent);
+            }
+        } catch (AuthFailureError e) {
+            return null;
+        }
+        Class<?> type = request.getClass();
+        while (type.isAnonymousClass()) {
+            type = type.getSuperclass();
+        }
+        return type.getName() + " " + request.getCacheKey() + " " + headers;
+    }
+
+    /**
+     * Leaders currently in flight and the followers waiting on each.
+     */
+    private static class InFlight {
+        private final Map<String, Request<?>> leaders = new HashMap<>();
+        private final Map<Request<?>, String> keys = new HashMap<>();
+        private final Map<Request<?>, List<Request<?>>> followers = new HashMap<>();
+
+        /**
+         * Attach the request to a live leader with the same key, or register
+         * it as the leader.
+         *
+         * @return true if the request joined a leader and must not be sent
+         */
+        synchronized boolean joinOrLead(String key, Request<?> request) {
+            Request<?> leader = leaders.get(key);
+            if (leader != null && !leader.isCanceled() && !leader.hasHadResponseDelivered()) {
+                followers.get(leader).add(request);
+                return true;
+            }
+            if (leader != null) {
+                keys.remove(leader);
+            }
+            leaders.put(key, request);
+            keys.put(request, key);
+            followers.put(request, new ArrayList<>());
+            return false;
+        }
+
+        /**
+         * Followers of a leader, leaving it registered (intermediate responses).
+         */
+        synchronized List<Request<?>> followersOf(Request<?> leader) {
+            List<Request<?>> list = followers.get(leader);
+            return list == null ? Collections.emptyList() : new ArrayList<>(list);
+        }
+
+        synchronized boolean hasLiveFollowers(Request<?> leader) {
+            List<Request<?>> list = followers.get(leader);
+            if (list != null) {
+                for (Request<?> follower : list) {
+                    if (!follower.isCanceled()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Unregister a leader and return its followers.
+         */
+        synchronized List<Request<?>> release(Request<?> leader) {
+            String key = keys.remove(leader);
+            if (key != null && leaders.get(key) == leader) {
+                leaders.remove(key);
+            }
+            List<Request<?>> list = followers.remove(leader);
+            return list == null ? Collections.emptyList() : list;
+        }
+
+        synchronized void cancelFollowers(RequestFilter filter) {
+            for (List<Request<?>> list : followers.values()) {
+                Iterator<Request<?>> it = list.iterator();
+                while (it.hasNext()) {
+                    Request<?> follower = it.next();
+                    if (filter.apply(follower)) {
+                        follower.cancel();
+                        // Never queued, so nothing else would drop it
+                        it.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers each leader response or error to its followers as well. The
+     * error of a cancelled leader is its own and is not passed on.
+     */
+    private static class FollowerDelivery implements ResponseDelivery {
+        private final ResponseDelivery delegate;
+        private final InFlight inFlight;
+
+        FollowerDelivery(ResponseDelivery delegate, InFlight inFlight) {
+            this.delegate = delegate;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void postResponse(Request<?> request, Response<?> response) {
+            postResponse(request, response, null);
+        }
+
+        @Override
+        public void postResponse(Request<?> request, Response<?> response, Runnable runnable) {
+            List<Request<?>> waiting = response.intermediate
+                    ? inFlight.followersOf(request)
+                    : inFlight.release(request);
+            delegate.postResponse(request, response, runnable);
+            for (Request<?> follower : waiting) {
+                delegate.postResponse(follower, response);
+            }
+        }
+
+        @Override
+        public void postError(Request<?> request, VolleyError error) {
+            if (request.isCanceled()) {
+                // Not the followers' error: they stay registered and are
+                // re-sent when the leader finishes (onRequestEvent)
+                delegate.postError(request, error);
+                return;
+            }
+            List<Request<?>> waiting = inFlight.release(request);
+            delegate.postError(request, error);
+            for (Request<?> follower : waiting) {
+                delegate.postError(follower, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.SIMATS.PathGenie.network;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.android.volley.Request;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+/**
+ * Collects stream/exam/job detail lookups made within a short window and
+ * sends them as one batch_details.php request per type, then hands each
+ * caller the details for the ids it asked for, in the order it asked.
+ *
+ * Lookups are batched per owning Activity and each batch is queued with its
+ * owner (see ActivityRequestScope), so when the page is destroyed its batch
+ * is dropped and no listener runs against it.
+ *
+ * Must be used from the main thread.
+ *
+ * Usage:
+ * DetailBatcher.getInstance(context).fetch(this, DetailBatcher.TYPE_STREAM, ids,
+ * details -> { ... });
+ */
+public class DetailBatcher {
+
+    private static final String TAG = "DetailBatcher";
+
+    public static final String TYPE_STREAM = "stream";
+    public static final String TYPE_EXAM = "exam";
+    public static final String TYPE_JOB = "job";
+
+    /**
+     * Receives the details that were found, keyed by id in request order.
+     * Ids that failed or don't exist are missing from the map.
+     */
+    public interface Listener {
+        void onDetails(Map<Integer, JSONObject> details);
+    }
+
+    private static DetailBatcher instance;
+
+    private final Context ctx;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    // Owner -> type -> batch being collected
+    private final Map<Activity, Map<String, Batch>> pending = new WeakHashMap<>();
+
+    private DetailBatcher(Context context) {
+        ctx = context.getApplicationContext();
+    }
+
+    public static synchronized DetailBatcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new DetailBatcher(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a details lookup. The listener is called once, on the main thread,
+     * unless the owner is destroyed first.
+     *
+     * @param owner    Activity whose views the details are shown in
+     * @param type     TYPE_STREAM, TYPE_EXAM or TYPE_JOB
+     * @param ids      Ids to look up, in the order results should be returned
+     * @param listener Receives the found details
+     */
+    public void fetch(Activity owner, String type, List<Integer> ids, Listener listener) {
+        if (ids.isEmpty()) {
+            listener.onDetails(new LinkedHashMap<>());
+            return;
+        }
+        if (ids.size() > ApiConfig.DETAIL_BATCH_MAX_IDS) {
+            fetchInChunks(owner, type, ids, listener);
+            return;
+        }
+
+        Batch batch = pendingBatch(owner, type);
+        if (batch != null && batch.ids.size() + ids.size() > ApiConfig.DETAIL_BATCH_MAX_IDS) {
+            flush(owner, type);
+            batch = null;
+        }
+        if (batch == null) {
+            batch = new Batch();
+            Map<String, Batch> byType = pending.get(owner);
+            if (byType == null) {
+                byType = new HashMap<>();
+                pending.put(owner, byType);
+            }
+            byType.put(type, batch);
+            final Batch scheduled = batch;
+            handler.postDelayed(() -> {
+                if (pendingBatch(owner, type) == scheduled) {
+                    flush(owner, type);
+                }
+            }, ApiConfig.DETAIL_BATCH_WINDOW_MS);
+        }
+
+        batch.ids.addAll(ids);
+        batch.waiters.add(new Waiter(new ArrayList<>(ids), listener));
+    }
+
+    /**
+     * Split a lookup that is larger than one batch and merge the results.
+     */
+    private void fetchInChunks(Activity owner, String type, List<Integer> ids, Listener listener) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += ApiConfig.DETAIL_BATCH_MAX_IDS) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + ApiConfig.DETAIL_BATCH_MAX_IDS)));
+        }
+
+        List<Map<Integer, JSONObject>> results = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            results.add(null);
+        }
+        int[] remaining = { chunks.size() };
+
+        for (int i = 0; i < chunks.size(); i++) {
+            final int index = i;
+            fetch(owner, type, chunks.get(i), details -> {
+                results.set(index, details);
+                if (--remaining[0] == 0) {
+                    Map<Integer, JSONObject> merged = new LinkedHashMap<>();
+                    for (Map<Integer, JSONObject> part : results) {
+                        merged.putAll(part);
+                    }
+                    listener.onDetails(merged);
+                }
+            });
+        }
+    }
+
+    private Batch pendingBatch(Activity owner, String type) {
+        Map<String, Batch> byType = pending.get(owner);
+        return byType != null ? byType.get(type) : null;
+    }
+
+    /**
+     * Send an owner's pending batch for a type.
+     */
+    private void flush(Activity owner, String type) {
+        Map<String, Batch> byType = pending.get(owner);
+        Batch batch = byType != null ? byType.remove(type) : null;
+        if (batch == null) {
+            return;
+        }
+        if (byType.isEmpty()) {
+            pending.remove(owner);
+        }
+
+        // Sorted ids keep the URL (and its cache entry) stable across calls
+        String url = ApiConfig.buildUrl(ApiConfig.BATCH_DETAILS,
+                "type", type,
+                "ids", TextUtils.join(",", batch.ids));
+
+        JsonObjectRequest request = new JsonObjectRequest(
+                Request.Method.GET, url, null,
+                response -> {
+                    Map<Integer, JSONObject> found = new HashMap<>();
+                    if (response.optBoolean("status", false)) {
+                        JSONObject data = response.optJSONObject("data");
+                        if (data != null) {
+                            for (Integer id : batch.ids) {
+                                JSONObject details = data.optJSONObject(String.valueOf(id));
+                                if (details != null) {
+                                    found.put(id, details);
+                                }
+                            }
+                        }
+                    } else {
+                        Log.e(TAG, "Batch " + type + " failed: " + response.optString("message"));
+                    }
+                    deliver(batch, found);
+                },
+                error -> {
+                    Log.e(TAG, "Error fetching " + type + " batch", error);
+                    deliver(batch, new HashMap<>());
+                });
+
+        // Not sent at all if the owner is already gone, and cancelled with it
+        VolleySingleton.getInstance(ctx).addToRequestQueue(request, owner);
+    }
+
+    /**
+     * Fan the batch results out to each waiter in its own id order.
+     * A cached copy followed by a revalidated one is only delivered once.
+     */
+    private void deliver(Batch batch, Map<Integer, JSONObject> found) {
+        if (batch.delivered) {
+            return;
+        }
+        batch.delivered = true;
+
+        for (Waiter waiter : batch.waiters) {
+            Map<Integer, JSONObject> result = new LinkedHashMap<>();
+            for (Integer id : waiter.ids) {
+                JSONObject details = found.get(id);
+                if (details != null) {
+                    result.put(id, details);
+                }
+            }
+            waiter.listener.onDetails(result);
+        }
+    }
+
+    private static class Batch {
+        final TreeSet<Integer> ids = new TreeSet<>();
+        final List<Waiter> waiters = new ArrayList<>();
+        boolean delivered;
+    }
+
+    private static class Waiter {
+        final List<Integer> ids;
+        final Listener listener;
+
+        Waiter(List<Integer> ids, Listener listener) {
+            this.ids = ids;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.SIMATS.PathGenie.network;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The first page of each forum feed tab, per user and education level, in
+ * memory and on disk (ApiConfig.FORUM_FEED_DIR under the cache directory).
+ *
+ * get() only reads memory, so a tab can be drawn from it in the same frame
+ * as the tap. warm() loads the disk copies into memory in the background
+ * after a cold start. ForumFeedPager writes every first page it receives.
+ *
+ * Must be used from the main thread; disk I/O runs on its own thread.
+ *
+ * Usage:
+ * ForumFeedCache.Entry cached = ForumFeedCache.getInstance(this).get(userId, levelId);
+ */
+public class ForumFeedCache {
+
+    private static final String TAG = "ForumFeedCache";
+
+    /** A cached first page */
+    public static class Entry {
+        public final JSONArray questions;
+        /** Cursor of the page after this one, or null */
+        public final String nextCursor;
+        public final boolean hasMore;
+        public final long savedAt;
+
+        Entry(JSONArray questions, String nextCursor, boolean hasMore, long savedAt) {
+            this.questions = questions;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+            this.savedAt = savedAt;
+        }
+
+        /** Recent enough to show without asking the server again */
+        public boolean isFresh() {
+            return System.currentTimeMillis() - savedAt < ApiConfig.FORUM_FEED_FRESH_MS;
+        }
+    }
+
+    private static ForumFeedCache instance;
+
+    private final File dir;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    // "userId:levelId" -> entry
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private ForumFeedCache(Context context) {
+        dir = new File(context.getApplicationContext().getCacheDir(), ApiConfig.FORUM_FEED_DIR);
+    }
+
+    public static synchronized ForumFeedCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new ForumFeedCache(context);
+        }
+        return instance;
+    }
+
+    /** The cached first page of a tab, or null. Memory only. */
+    public Entry get(int userId, int educationLevelId) {
+        return entries.get(key(userId, educationLevelId));
+    }
+
+    /**
+     * Store a get_questions.php first page, replacing the tab's entry in
+     * memory now and on disk in the background.
+     */
+    public void put(int userId, int educationLevelId, JSONArray questions, String nextCursor, boolean hasMore) {
+        String key = key(userId, educationLevelId);
+        Entry entry = new Entry(questions, nextCursor, hasMore, System.currentTimeMillis());
+        entries.put(key, entry);
+
+        String json;
+        try {
+            JSONObject file = new JSONObject();
+            file.put("questions", questions);
+            file.put("next_cursor", nextCursor != null ? nextCursor : JSONObject.NULL);
+            file.put("has_more", hasMore);
+            file.put("saved_at", entry.savedAt);
+            json = file.toString();
+        } catch (Exception e) {
+            Log.e(TAG, "Error encoding feed " + key, e);
+            return;
+        }
+        diskExecutor.execute(() -> write(fileFor(key), json));
+    }
+
+    /**
+     * Set the like state of a question in every cached tab that shows it,
+     * so switching tabs doesn't bring back the old state. Memory only; the
+     * next refresh rewrites the disk copy.
+     */
+    public void updateLike(int userId, int questionId, boolean liked, int likesCount) {
+        String prefix = userId + ":";
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (!e.getKey().startsWith(prefix)) {
+                continue;
+            }
+            JSONArray questions = e.getValue().questions;
+            for (int i = 0; i < questions.length(); i++) {
+                JSONObject question = questions.optJSONObject(i);
+                if (question != null && question.optInt("question_id") == questionId) {
+                    try {
+                        question.put("user_liked", liked);
+                        question.put("likes_count", likesCount);
+                    } catch (Exception ex) {
+                        Log.e(TAG, "Error updating question " + questionId, ex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Load this user's tabs from disk into memory, unless already there, and
+     * run onLoaded on the main thread. Entries older than
+     * ApiConfig.FORUM_FEED_MAX_AGE_MS are deleted instead.
+     */
+    public void warm(int userId, int[] educationLevelIds, Runnable onLoaded) {
+        diskExecutor.execute(() -> {
+            Map<String, Entry> loaded = new HashMap<>();
+            for (int levelId : educationLevelIds) {
+                String key = key(userId, levelId);
+                Entry entry = read(fileFor(key));
+                if (entry != null) {
+                    loaded.put(key, entry);
+                }
+            }
+            mainHandler.post(() -> {
+                for (Map.Entry<String, Entry> e : loaded.entrySet()) {
+                    // A page fetched meanwhile is newer than the disk copy
+                    if (!entries.containsKey(e.getKey())) {
+                        entries.put(e.getKey(), e.getValue());
+                    }
+                }
+                onLoaded.run();
+            });
+        });
+    }
+
+    private File fileFor(String key) {
+        return new File(dir, "feed_" + key.replace(':', '_') + ".json");
+    }
+
+    private static String key(int userId, int educationLevelId) {
+        return userId + ":" + educationLevelId;
+    }
+
+    // ========================================
+    // 💾 DISK (diskExecutor only)
+    // ========================================
+
+    private Entry read(File file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] data = new byte[(int) file.length()];
+            int read = 0;
+            while (read < data.length) {
+                int n = in.read(data, read, data.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            JSONObject json = new JSONObject(new String(data, 0, read, StandardCharsets.UTF_8));
+            long savedAt = json.getLong("saved_at");
+            if (System.currentTimeMillis() - savedAt > ApiConfig.FORUM_FEED_MAX_AGE_MS) {
+                file.delete();
+                return null;
+            }
+            return new Entry(json.getJSONArray("questions"),
+                    json.isNull("next_cursor") ? null : json.getString("next_cursor"),
+                    json.optBoolean("has_more", false), savedAt);
+        } catch (Exception e) {
+            Log.w(TAG, "Dropping unreadable feed cache " + file.getName());
+            file.delete();
+            return null;
+        }
+    }
+
+    private void write(File file, String json) {
+        if (!dir.exists() && !dir.mkdirs()) {
+            Log.e(TAG, "Cannot create " + dir);
+            return;
+        }
+        // Write then rename, so a crash never leaves half a file
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing " + file.getName(), e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.SIMATS.PathGenie.network;
+
+import android.app.Activity;
+import android.net.Uri;
+import android.util.Log;
+
+import com.android.volley.Request;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Loads the forum feed (get_questions.php) one page at a time, newest first.
+ *
+ * Pages are cut by the server on (created_at, question_id), so a question
+ * posted while the user scrolls never shifts later pages. At most one page
+ * is in flight; loadMore() while one is loading, or after the last page,
+ * does nothing, so it can be called on every scroll event.
+ *
+ * Every first page received is stored in ForumFeedCache. restore() picks
+ * up from a cached first page without a request, and prefetch() fills the
+ * cache for a tab at low priority. refresh() fetches the first page again
+ * for the caller to merge, keeping the pages already loaded after it.
+ *
+ * Must be used from the main thread.
+ *
+ * Usage:
+ * pager = new ForumFeedPager(this, userId, listener);
+ * pager.reset(educationLevelId); // first page
+ * pager.loadMore(); // when the user nears the end
+ */
+public class ForumFeedPager {
+
+    private static final String TAG = "ForumFeedPager";
+
+    public interface Listener {
+        /**
+         * A page arrived.
+         *
+         * @param questions The page's questions, in feed order
+         * @param first     True for the first page after reset()
+         * @param hasMore   False once the end of the feed is reached
+         */
+        void onPage(JSONArray questions, boolean first, boolean hasMore);
+
+        /**
+         * The first page, fetched again by refresh(). Merge it into the
+         * list on screen; the next loadMore() still continues after the
+         * last page loaded, unless the caller restarts the pager.
+         */
+        void onRefresh(JSONArray questions);
+
+        void onError(VolleyError error, boolean first);
+    }
+
+    private final Activity owner;
+    private final int userId;
+    private final Listener listener;
+    private final ForumFeedCache cache;
+    // Levels with a prefetch in flight
+    private final Set<Integer> prefetching = new HashSet<>();
+
+    private int educationLevelId;
+    private String cursor;
+    private boolean hasMore;
+    private boolean loading;
+    // Responses for an earlier reset() are dropped
+    private int generation;
+    // Generation of the refresh() in flight, or -1
+    private int refreshing = -1;
+
+    public ForumFeedPager(Activity owner, int userId, Listener listener) {
+        this.owner = owner;
+        this.userId = userId;
+        this.listener = listener;
+        this.cache = ForumFeedCache.getInstance(owner);
+    }
+
+    /**
+     * Start the feed again from the newest question.
+     *
+     * @param educationLevelId Level to show, or 0 for all levels
+     */
+    public void reset(int educationLevelId) {
+        this.educationLevelId = educationLevelId;
+        generation++;
+        cursor = null;
+        hasMore = true;
+        loading = false;
+        load();
+    }
+
+    /**
+     * Continue after a cached first page: the next loadMore() asks for the
+     * page after it. Nothing is requested now.
+     */
+    public void restore(int educationLevelId, ForumFeedCache.Entry cached) {
+        this.educationLevelId = educationLevelId;
+        generation++;
+        cursor = cached.nextCursor;
+        hasMore = cached.hasMore && cached.nextCursor != null;
+        loading = false;
+    }
+
+    /**
+     * Fetch a tab's first page into ForumFeedCache at low priority, so the
+     * requests of the tab on screen go first. Skipped if the tab is cached
+     * and fresh, or already being fetched.
+     */
+    public void prefetch(int educationLevelId) {
+        ForumFeedCache.Entry cached = cache.get(userId, educationLevelId);
+        if ((cached != null && cached.isFresh()) || !prefetching.add(educationLevelId)) {
+            return;
+        }
+        JsonObjectRequest req = new JsonObjectRequest(Request.Method.GET,
+                pageUrl(educationLevelId, null), null,
+                response -> {
+                    prefetching.remove(educationLevelId);
+                    JSONArray questions = response.optJSONArray("questions");
+                    if (response.optBoolean("status", false) && questions != null) {
+                        String next = nextCursor(response);
+                        cache.put(userId, educationLevelId, questions, next,
+                                response.optBoolean("has_more", false) && next != null);
+                    }
+                },
+                error -> prefetching.remove(educationLevelId)) {
+            @Override
+            public Priority getPriority() {
+                return Priority.LOW;
+            }
+        };
+        VolleySingleton.getInstance(owner).addToRequestQueue(req, owner);
+    }
+
+    /**
+     * Fetch the current level's first page again and store it in
+     * ForumFeedCache, without touching the pages loaded after it. Does
+     * nothing while the first page is still loading or being refreshed.
+     */
+    public void refresh() {
+        int request = generation;
+        int levelId = educationLevelId;
+        if ((loading && cursor == null) || refreshing == request) {
+            return;
+        }
+        refreshing = request;
+        JsonObjectRequest req = new JsonObjectRequest(Request.Method.GET, pageUrl(levelId, null), null,
+                response -> {
+                    if (request != generation) {
+                        return;
+                    }
+                    refreshing = -1;
+                    JSONArray questions = response.optJSONArray("questions");
+                    if (!response.optBoolean("status", false) || questions == null) {
+                        Log.e(TAG, "Unexpected feed response: " + response);
+                        return;
+                    }
+                    String next = nextCursor(response);
+                    cache.put(userId, levelId, questions, next,
+                            response.optBoolean("has_more", false) && next != null);
+                    listener.onRefresh(questions);
+                },
+                error -> {
+                    if (request == generation) {
+                        refreshing = -1;
+                        // The list on screen is still good; just not refreshed
+                        Log.e(TAG, "Error refreshing feed", error);
+                    }
+                });
+
+        VolleySingleton.getInstance(owner).addToRequestQueue(req, owner);
+    }
+
+    /** Request the next page, unless one is loading or the feed has ended */
+    public void loadMore() {
+        if (!loading && hasMore) {
+            load();
+        }
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /** Loading a page after the first */
+    public boolean isLoadingMore() {
+        return loading && cursor != null;
+    }
+
+    private void load() {
+        int request = generation;
+        int levelId = educationLevelId;
+        boolean first = cursor == null;
+
+        loading = true;
+        JsonObjectRequest req = new JsonObjectRequest(Request.Method.GET, pageUrl(levelId, cursor), null,
+                response -> {
+                    if (request != generation) {
+                        return;
+                    }
+                    loading = false;
+                    JSONArray questions = response.optJSONArray("questions");
+                    if (!response.optBoolean("status", false) || questions == null) {
+                        Log.e(TAG, "Unexpected feed response: " + response);
+                        listener.onError(new VolleyError("Unexpected feed response"), first);
+                        return;
+                    }
+                    // An older server ignores limit and sends everything at once
+                    String next = nextCursor(response);
+                    hasMore = response.optBoolean("has_more", false) && next != null;
+                    cursor = next;
+                    if (first) {
+                        cache.put(userId, levelId, questions, next, hasMore);
+                    }
+                    listener.onPage(questions, first, hasMore);
+                },
+                error -> {
+                    if (request != generation) {
+                        return;
+                    }
+                    loading = false;
+                    listener.onError(error, first);
+                });
+
+        VolleySingleton.getInstance(owner).addToRequestQueue(req, owner);
+    }
+
+    private String pageUrl(int levelId, String pageCursor) {
+        StringBuilder url = new StringBuilder(ApiConfig.GET_QUESTIONS)
+                .append("?user_id=").append(userId)
+                .append("&limit=").append(ApiConfig.FORUM_PAGE_SIZE);
+        if (levelId > 0) {
+            url.append("&education_level_id=").append(levelId);
+        }
+        if (pageCursor != null) {
+            url.append("&cursor=").append(Uri.encode(pageCursor));
+        }
+        return url.toString();
+    }
+
+    private static String nextCursor(JSONObject response) {
+        return response.isNull("next_cursor") ? null : response.optString("next_cursor");
+    }
+}
@@ -0,0 +1,286 @@
+package com.SIMATS.PathGenie.network;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.android.volley.Request;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Likes on forum questions and answers, shown at once and sent later.
+ *
+ * toggle() returns the new state for the caller to draw straight away.
+ * Taps are collected until none has come for ApiConfig.FORUM_LIKE_DEBOUNCE_MS,
+ * then every item whose state differs from the server's is sent in one
+ * set_likes.php request. An item tapped an even number of times is never
+ * sent. If the server rejects an item, or the request fails, the item goes
+ * back to its last confirmed state and listeners are told.
+ *
+ * Question likes are also written to ForumFeedCache, so the feed shows them
+ * whichever page they were tapped on.
+ *
+ * Must be used from the main thread.
+ *
+ * Usage:
+ * ForumLikeSync.State state = ForumLikeSync.getInstance(this).toggle(userId,
+ * ForumLikeSync.TYPE_ANSWER, answer.answerId, answer.userLiked, answer.likesCount);
+ */
+public class ForumLikeSync {
+
+    private static final String TAG = "ForumLikeSync";
+
+    public static final int TYPE_QUESTION = 0;
+    public static final int TYPE_ANSWER = 1;
+
+    /** Like state of an item */
+    public static final class State {
+        public final boolean liked;
+        public final int count;
+
+        State(boolean liked, int count) {
+            this.liked = liked;
+            this.count = count;
+        }
+    }
+
+    public interface Listener {
+        /**
+         * An item's like state changed after the tap: the server's count
+         * arrived, or the like could not be saved.
+         *
+         * @param rolledBack True if the tap was undone because it failed
+         */
+        void onLikeChanged(int type, int id, boolean liked, int count, boolean rolledBack);
+    }
+
+    private static ForumLikeSync instance;
+
+    private final Context ctx;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushTask = this::flush;
+    // "userId:type:id" -> item not yet settled with the server, in tap order
+    private final Map<String, Like> likes = new LinkedHashMap<>();
+    private final List<Listener> listeners = new ArrayList<>();
+    private int userId;
+
+    private ForumLikeSync(Context context) {
+        ctx = context.getApplicationContext();
+    }
+
+    public static synchronized ForumLikeSync getInstance(Context context) {
+        if (instance == null) {
+            instance = new ForumLikeSync(context);
+        }
+        return instance;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Like or unlike an item.
+     *
+     * @param liked Whether the item is shown as liked now; ignored if the
+     *              item has unsent taps, whose state wins
+     * @param count Like count shown now; ignored likewise
+     * @return The state to show
+     */
+    public State toggle(int userId, int type, int id, boolean liked, int count) {
+        if (userId != this.userId) {
+            // Never send one user's taps as another's
+            flush();
+            this.userId = userId;
+        }
+        String key = key(userId, type, id);
+        Like like = likes.get(key);
+        if (like == null) {
+            like = new Like(userId, type, id, liked, count);
+            likes.put(key, like);
+        }
+        like.liked = !like.liked;
+        like.count = Math.max(0, like.count + (like.liked ? 1 : -1));
+        updateFeedCache(like);
+
+        handler.removeCallbacks(flushTask);
+        handler.postDelayed(flushTask, ApiConfig.FORUM_LIKE_DEBOUNCE_MS);
+        return new State(like.liked, like.count);
+    }
+
+    /**
+     * State to show for an item that has taps not yet confirmed by the
+     * server, or null. Apply it over freshly loaded data, which doesn't
+     * know about those taps yet.
+     */
+    public State pending(int userId, int type, int id) {
+        Like like = likes.get(key(userId, type, id));
+        return like != null ? new State(like.liked, like.count) : null;
+    }
+
+    /**
+     * Send every changed item of one user that isn't already on its way.
+     * Items whose taps cancelled out are dropped without a request. Another
+     * user's items, or more than fit in one request, go in the next flush.
+     */
+    private void flush() {
+        handler.removeCallbacks(flushTask);
+
+        List<Like> batch = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        boolean otherUser = false;
+        for (Map.Entry<String, Like> e : likes.entrySet()) {
+            Like like = e.getValue();
+            if (like.sending != null) {
+                continue;
+            }
+            if (!batch.isEmpty() && like.userId != batch.get(0).userId) {
+                otherUser = true;
+                continue;
+            }
+            if (like.liked == like.confirmedLiked) {
+                unchanged.add(e.getKey());
+            } else if (batch.size() < ApiConfig.FORUM_LIKE_BATCH_MAX) {
+                batch.add(like);
+            }
+        }
+        for (String key : unchanged) {
+            likes.remove(key);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        for (Like like : batch) {
+            like.sending = like.liked;
+        }
+
+        JSONObject payload = new JSONObject();
+        JSONArray items = new JSONArray();
+        try {
+            payload.put("user_id", batch.get(0).userId);
+            for (Like like : batch) {
+                JSONObject item = new JSONObject();
+                item.put(like.type == TYPE_QUESTION ? "question_id" : "answer_id", like.id);
+                item.put("liked", like.liked);
+                items.put(item);
+            }
+            payload.put("likes", items);
+        } catch (Exception e) {
+            Log.e(TAG, "Error encoding likes", e);
+            for (Like like : batch) {
+                settle(like, false, false, 0);
+            }
+            return;
+        }
+
+        JsonObjectRequest request = new JsonObjectRequest(
+                Request.Method.POST, ApiConfig.SET_LIKES, payload,
+                response -> {
+                    JSONArray results = response.optJSONArray("results");
+                    if (!response.optBoolean("status", false) || results == null) {
+                        Log.e(TAG, "Likes rejected: " + response.optString("message"));
+                    }
+                    for (int i = 0; i < batch.size(); i++) {
+                        JSONObject result = results != null ? results.optJSONObject(i) : null;
+                        boolean ok = result != null && result.optBoolean("status", false);
+                        settle(batch.get(i), ok, ok && result.optBoolean("liked"),
+                                ok ? result.optInt("likes_count") : 0);
+                    }
+                },
+                error -> {
+                    Log.e(TAG, "Error sending likes", error);
+                    for (Like like : batch) {
+                        settle(like, false, false, 0);
+                    }
+                });
+
+        VolleySingleton.getInstance(ctx).addToRequestQueue(request);
+
+        // More changed items than fit in one request, or another user's
+        if (otherUser || batch.size() == ApiConfig.FORUM_LIKE_BATCH_MAX) {
+            handler.post(flushTask);
+        }
+    }
+
+    /**
+     * Record the server's answer for a sent item and tell listeners the
+     * state to show. Taps made while it was on its way are kept and sent
+     * next.
+     */
+    private void settle(Like like, boolean ok, boolean serverLiked, int serverCount) {
+        boolean sent = like.sending;
+        like.sending = null;
+        boolean rolledBack = false;
+        if (ok) {
+            like.confirmedLiked = serverLiked;
+            like.confirmedCount = serverCount;
+        } else if (like.liked == sent) {
+            // Not tapped since: undo the tap
+            like.liked = like.confirmedLiked;
+            rolledBack = true;
+        }
+
+        if (like.liked == like.confirmedLiked) {
+            like.count = like.confirmedCount;
+            likes.remove(key(like.userId, like.type, like.id));
+        } else {
+            like.count = Math.max(0, like.confirmedCount + (like.liked ? 1 : -1));
+            handler.removeCallbacks(flushTask);
+            handler.postDelayed(flushTask, ApiConfig.FORUM_LIKE_DEBOUNCE_MS);
+        }
+
+        updateFeedCache(like);
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onLikeChanged(like.type, like.id, like.liked, like.count, rolledBack);
+        }
+    }
+
+    private void updateFeedCache(Like like) {
+        if (like.type == TYPE_QUESTION) {
+            ForumFeedCache.getInstance(ctx).updateLike(like.userId, like.id, like.liked, like.count);
+        }
+    }
+
+    private static String key(int userId, int type, int id) {
+        return userId + ":" + type + ":" + id;
+    }
+
+    /** An item with taps the server hasn't confirmed yet */
+    private static class Like {
+        final int userId;
+        final int type;
+        final int id;
+        // Last state the server confirmed; a failed tap goes back to it
+        boolean confirmedLiked;
+        int confirmedCount;
+        // State shown now
+        boolean liked;
+        int count;
+        // State in the request on its way, or null
+        Boolean sending;
+
+        Like(int userId, int type, int id, boolean liked, int count) {
+            this.userId = userId;
+            this.type = type;
+            this.id = id;
+            this.confirmedLiked = liked;
+            this.confirmedCount = count;
+            this.liked = liked;
+            this.count = count;
+        }
+    }
+}
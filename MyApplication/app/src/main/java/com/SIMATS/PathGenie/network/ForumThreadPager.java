@@ -0,0 +1,136 @@
+package com.SIMATS.PathGenie.network;
+
+import android.app.Activity;
+import android.net.Uri;
+import android.util.Log;
+
+import com.android.volley.Request;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Loads the answers to a question (get_answers.php) one page at a time,
+ * oldest first, so a long thread is drawn as the user reads it instead of
+ * all at once.
+ *
+ * Works like ForumFeedPager: pages are cut by the server on
+ * (created_at, answer_id), at most one page is in flight, and loadMore()
+ * can be called on every scroll event.
+ *
+ * Must be used from the main thread.
+ *
+ * Usage:
+ * pager = new ForumThreadPager(this, questionId, userId, listener);
+ * pager.reset(); // first page
+ * pager.loadMore(); // when the user nears the end
+ */
+public class ForumThreadPager {
+
+    private static final String TAG = "ForumThreadPager";
+
+    public interface Listener {
+        /**
+         * A page arrived.
+         *
+         * @param answers The page's answers, each with its replies
+         * @param first   True for the first page after reset()
+         * @param hasMore False once the last answer is reached
+         * @param total   Answers in the whole thread
+         */
+        void onPage(JSONArray answers, boolean first, boolean hasMore, int total);
+
+        void onError(VolleyError error, boolean first);
+    }
+
+    private final Activity owner;
+    private final int questionId;
+    private final int userId;
+    private final Listener listener;
+
+    private String cursor;
+    private boolean hasMore;
+    private boolean loading;
+    // Responses for an earlier reset() are dropped
+    private int generation;
+
+    public ForumThreadPager(Activity owner, int questionId, int userId, Listener listener) {
+        this.owner = owner;
+        this.questionId = questionId;
+        this.userId = userId;
+        this.listener = listener;
+    }
+
+    /** Start the thread again from the first answer */
+    public void reset() {
+        generation++;
+        cursor = null;
+        hasMore = true;
+        loading = false;
+        load();
+    }
+
+    /** Request the next page, unless one is loading or the thread has ended */
+    public void loadMore() {
+        if (!loading && hasMore) {
+            load();
+        }
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    /** Loading a page after the first */
+    public boolean isLoadingMore() {
+        return loading && cursor != null;
+    }
+
+    private void load() {
+        int request = generation;
+        boolean first = cursor == null;
+
+        StringBuilder url = new StringBuilder(ApiConfig.GET_ANSWERS)
+                .append("?question_id=").append(questionId)
+                .append("&user_id=").append(userId)
+                .append("&limit=").append(ApiConfig.FORUM_THREAD_PAGE_SIZE);
+        if (cursor != null) {
+            url.append("&cursor=").append(Uri.encode(cursor));
+        }
+
+        loading = true;
+        JsonObjectRequest req = new JsonObjectRequest(Request.Method.GET, url.toString(), null,
+                response -> {
+                    if (request != generation) {
+                        return;
+                    }
+                    loading = false;
+                    JSONArray answers = response.optJSONArray("answers");
+                    if (!response.optBoolean("status", false) || answers == null) {
+                        Log.e(TAG, "Unexpected answers response: " + response);
+                        listener.onError(new VolleyError("Unexpected answers response"), first);
+                        return;
+                    }
+                    // An older server ignores limit and sends the whole thread at once
+                    String next = response.isNull("next_cursor") ? null : response.optString("next_cursor");
+                    hasMore = response.optBoolean("has_more", false) && next != null;
+                    cursor = next;
+                    listener.onPage(answers, first, hasMore, response.optInt("total", answers.length()));
+                },
+                error -> {
+                    if (request != generation) {
+                        return;
+                    }
+                    loading = false;
+                    listener.onError(error, first);
+                });
+
+        VolleySingleton.getInstance(owner).addToRequestQueue(req, owner);
+    }
+}
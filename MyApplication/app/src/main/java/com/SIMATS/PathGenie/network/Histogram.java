@@ -0,0 +1,99 @@
+package com.SIMATS.PathGenie.network;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of non-negative values (milliseconds, bytes).
+ *
+ * Buckets are log-linear like HdrHistogram: values below 32 are counted
+ * exactly, larger values in 16 buckets per power of two, so any percentile
+ * is within about 6% of the true value. Values above highestValue are
+ * counted as highestValue.
+ *
+ * Not thread-safe - callers synchronize.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long highestValue;
+    private final long[] counts;
+    private long totalCount;
+    private long maxValue;
+    private long sum;
+
+    /**
+     * @param highestValue Largest value tracked with full precision
+     */
+    public Histogram(long highestValue) {
+        this.highestValue = Math.max(highestValue, 2 * SUB_BUCKETS);
+        this.counts = new long[bucketIndex(this.highestValue) + 1];
+    }
+
+    public void record(long value) {
+        long v = Math.max(0, Math.min(value, highestValue));
+        counts[bucketIndex(v)]++;
+        totalCount++;
+        sum += v;
+        if (v > maxValue) {
+            maxValue = v;
+        }
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMax() {
+        return maxValue;
+    }
+
+    public long getMean() {
+        return totalCount == 0 ? 0 : sum / totalCount;
+    }
+
+    /**
+     * Value at the given percentile (0-100), reported as the upper end of
+     * its bucket. 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(bucketHighestValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxValue = 0;
+        sum = 0;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    private static long bucketHighestValue(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,344 @@
+package com.SIMATS.PathGenie.network;
+
+import android.os.SystemClock;
+
+import com.android.volley.Network;
+import com.android.volley.NetworkResponse;
+import com.android.volley.NoConnectionError;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.TimeoutError;
+import com.android.volley.VolleyError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint latency and payload metrics for the shared request queue.
+ *
+ * For every request it records, under its endpoint key (path without query):
+ * - queue wait: time waiting for a cache or network dispatcher
+ * - network: time in the HTTP stack, including retries
+ * - parse: time from the network response to the end of dispatch (parsing
+ *   and cache write)
+ * - total: time from add() to finish
+ * - response bytes received from the network
+ * - cache outcome: hit, stale (served from cache, then revalidated), miss
+ * - status: HTTP code, or timeout / no_connection / error / cancelled
+ *
+ * Data is kept in memory only. Use dump() or NetworkMetricsPage to read it.
+ *
+ * Usage:
+ * VolleySingleton.getInstance(context).getNetworkMetrics().dump();
+ */
+public class NetworkMetrics {
+
+    /** Latencies are tracked up to 10 minutes, sizes up to 64 MB */
+    private static final long MAX_LATENCY_MS = 10 * 60 * 1000L;
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    private final Map<Request<?>, Trace> traces = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpoints = new HashMap<>();
+
+    /**
+     * Wrap the queue's Network so network time, status and size are measured.
+     */
+    public Network wrap(final Network network) {
+        return request -> {
+            long start = SystemClock.elapsedRealtime();
+            try {
+                NetworkResponse response = network.performRequest(request);
+                onNetworkDone(request, start, String.valueOf(response.statusCode),
+                        response.data == null ? 0 : response.data.length);
+                return response;
+            } catch (VolleyError error) {
+                NetworkResponse response = error.networkResponse;
+                onNetworkDone(request, start, errorStatus(error),
+                        response != null && response.data != null ? response.data.length : 0);
+                throw error;
+            }
+        };
+    }
+
+    /**
+     * Request event listener - register on the queue before requests are added.
+     */
+    public void onRequestEvent(Request<?> request, int event) {
+        long now = SystemClock.elapsedRealtime();
+        if (event == RequestQueue.RequestEvent.REQUEST_QUEUED) {
+            traces.put(request, new Trace(ApiConfig.getEndpointKey(request.getUrl()), now));
+            return;
+        }
+        Trace trace = traces.get(request);
+        if (trace == null) {
+            return;
+        }
+        boolean complete = false;
+        synchronized (trace) {
+            switch (event) {
+                case RequestQueue.RequestEvent.REQUEST_CACHE_LOOKUP_STARTED:
+                    trace.cacheStartMs = now;
+                    break;
+                case RequestQueue.RequestEvent.REQUEST_CACHE_LOOKUP_FINISHED:
+                    trace.cacheEndMs = now;
+                    break;
+                case RequestQueue.RequestEvent.REQUEST_NETWORK_DISPATCH_STARTED:
+                    trace.dispatchStartMs = now;
+                    // Delivered already means the cache served a stale copy first
+                    trace.staleHit = request.hasHadResponseDelivered();
+                    break;
+                case RequestQueue.RequestEvent.REQUEST_NETWORK_DISPATCH_FINISHED:
+                    trace.dispatchEndMs = now;
+                    complete = trace.finishedMs > 0;
+                    break;
+                case RequestQueue.RequestEvent.REQUEST_FINISHED:
+                    trace.finishedMs = now;
+                    trace.cancelled = request.isCanceled();
+                    // Finish can come before the dispatcher's last event
+                    complete = trace.dispatchStartMs == 0 || trace.dispatchEndMs > 0;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (complete && traces.remove(request) != null) {
+            aggregate(trace, request.shouldCache());
+        }
+    }
+
+    private void onNetworkDone(Request<?> request, long startMs, String status, int bytes) {
+        Trace trace = traces.get(request);
+        if (trace == null) {
+            return;
+        }
+        synchronized (trace) {
+            trace.networkStartMs = startMs;
+            trace.networkEndMs = SystemClock.elapsedRealtime();
+            trace.status = status;
+            trace.bytes = bytes;
+        }
+    }
+
+    private void aggregate(Trace trace, boolean cacheable) {
+        EndpointStats stats;
+        synchronized (endpoints) {
+            stats = endpoints.get(trace.endpoint);
+            if (stats == null) {
+                stats = new EndpointStats(trace.endpoint);
+                endpoints.put(trace.endpoint, stats);
+            }
+        }
+        synchronized (trace) {
+            stats.add(trace, cacheable);
+        }
+    }
+
+    /**
+     * Forget all recorded metrics.
+     */
+    public void reset() {
+        synchronized (endpoints) {
+            endpoints.clear();
+        }
+    }
+
+    /**
+     * Endpoint keys with recorded requests.
+     */
+    public List<String> getEndpoints() {
+        synchronized (endpoints) {
+            List<String> keys = new ArrayList<>(endpoints.keySet());
+            Collections.sort(keys);
+            return keys;
+        }
+    }
+
+    /**
+     * Network time percentile of an endpoint in milliseconds, 0 if unknown.
+     */
+    public long getNetworkPercentile(String endpoint, double percentile) {
+        EndpointStats stats;
+        synchronized (endpoints) {
+            stats = endpoints.get(endpoint);
+        }
+        if (stats == null) {
+            return 0;
+        }
+        synchronized (stats) {
+            return stats.network.getPercentile(percentile);
+        }
+    }
+
+    /**
+     * Human-readable report of every endpoint, slowest network p95 first.
+     */
+    public String dump() {
+        List<EndpointStats> list;
+        synchronized (endpoints) {
+            list = new ArrayList<>(endpoints.values());
+        }
+        if (list.isEmpty()) {
+            return "No requests recorded yet.";
+        }
+        final Map<EndpointStats, Long> order = new HashMap<>();
+        for (EndpointStats stats : list) {
+            synchronized (stats) {
+                order.put(stats, stats.network.getPercentile(95));
+            }
+        }
+        Collections.sort(list, (a, b) -> Long.compare(order.get(b), order.get(a)));
+
+        StringBuilder out = new StringBuilder();
+        for (EndpointStats stats : list) {
+            synchronized (stats) {
+                stats.appendTo(out);
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String errorStatus(VolleyError error) {
+        if (error instanceof ActivityRequestScope.AbandonedError) {
+            return "cancelled";
+        }
+        if (error.networkResponse != null) {
+            return String.valueOf(error.networkResponse.statusCode);
+        }
+        if (error instanceof TimeoutError) {
+            return "timeout";
+        }
+        if (error instanceof NoConnectionError) {
+            return "no_connection";
+        }
+        return "error";
+    }
+
+    /**
+     * Timestamps of one request, filled in from events on several threads.
+     */
+    private static class Trace {
+        final String endpoint;
+        final long queuedMs;
+        long cacheStartMs;
+        long cacheEndMs;
+        long dispatchStartMs;
+        long dispatchEndMs;
+        long networkStartMs;
+        long networkEndMs;
+        long finishedMs;
+        boolean staleHit;
+        boolean cancelled;
+        String status;
+        int bytes;
+
+        Trace(String endpoint, long queuedMs) {
+            this.endpoint = endpoint;
+            this.queuedMs = queuedMs;
+        }
+
+        long queueWaitMs() {
+            long wait = 0;
+            long readyMs = queuedMs;
+            if (cacheStartMs > 0) {
+                wait += cacheStartMs - queuedMs;
+                readyMs = cacheEndMs > 0 ? cacheEndMs : cacheStartMs;
+            }
+            if (dispatchStartMs > 0) {
+                // Cache dispatcher may report lookup finished after handing off
+                wait += Math.max(0, dispatchStartMs - readyMs);
+            }
+            return wait;
+        }
+    }
+
+    /**
+     * Aggregated metrics of one endpoint. Guarded by its own monitor.
+     */
+    private static class EndpointStats {
+        final String endpoint;
+        final Histogram queueWait = new Histogram(MAX_LATENCY_MS);
+        final Histogram network = new Histogram(MAX_LATENCY_MS);
+        final Histogram parse = new Histogram(MAX_LATENCY_MS);
+        final Histogram total = new Histogram(MAX_LATENCY_MS);
+        final Histogram bytes = new Histogram(MAX_BYTES);
+        final Map<String, Long> statuses = new TreeMap<>();
+        long cacheHits;
+        long cacheStale;
+        long cacheMisses;
+        long requests;
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        synchronized void add(Trace trace, boolean cacheable) {
+            requests++;
+            boolean usedNetwork = trace.networkEndMs > 0;
+            String status = trace.status;
+            if (status == null) {
+                status = trace.cancelled ? "cancelled" : "cached";
+            }
+            Long count = statuses.get(status);
+            statuses.put(status, count == null ? 1 : count + 1);
+            if (trace.cancelled && !usedNetwork) {
+                return;
+            }
+
+            if (cacheable) {
+                if (!usedNetwork) {
+                    cacheHits++;
+                } else if (trace.staleHit) {
+                    cacheStale++;
+                } else {
+                    cacheMisses++;
+                }
+            }
+
+            queueWait.record(trace.queueWaitMs());
+            total.record(trace.finishedMs - trace.queuedMs);
+            if (usedNetwork) {
+                network.record(trace.networkEndMs - trace.networkStartMs);
+                bytes.record(trace.bytes);
+                if (trace.dispatchEndMs > 0) {
+                    parse.record(Math.max(0, trace.dispatchEndMs - trace.networkEndMs));
+                }
+            }
+        }
+
+        void appendTo(StringBuilder out) {
+            out.append(endpoint).append("  n=").append(requests);
+            out.append("  cache hit/stale/miss ")
+                    .append(cacheHits).append('/').append(cacheStale).append('/').append(cacheMisses)
+                    .append('\n');
+            appendHistogram(out, "network ms", network);
+            appendHistogram(out, "queue ms", queueWait);
+            appendHistogram(out, "parse ms", parse);
+            appendHistogram(out, "total ms", total);
+            appendHistogram(out, "bytes", bytes);
+            out.append("  status    ");
+            for (Map.Entry<String, Long> entry : statuses.entrySet()) {
+                out.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+            }
+            out.append('\n');
+        }
+
+        private static void appendHistogram(StringBuilder out, String label, Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            out.append(String.format(Locale.US, "  %-10s p50 %d  p95 %d  p99 %d  max %d\n",
+                    label,
+                    histogram.getPercentile(50),
+                    histogram.getPercentile(95),
+                    histogram.getPercentile(99),
+                    histogram.getMax()));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.SIMATS.PathGenie.network;
+
+import android.os.SystemClock;
+
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.RetryPolicy;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the retry policy of every request added to the shared queue, by
+ * endpoint class:
+ *
+ * - CLASS_READ: GET requests - short timeout, retried with backoff
+ * - CLASS_WRITE: other methods - never retried, so a slow post_answer.php
+ *   can't be sent twice
+ * - CLASS_SLOW: ApiConfig.SLOW_ENDPOINTS - long timeout
+ * - CLASS_UPLOAD: ApiConfig.UPLOAD_ENDPOINTS - long timeout, never retried
+ *
+ * The first-attempt timeout adapts to each endpoint: it is the p95 of recent
+ * successful calls times ApiConfig.LATENCY_TIMEOUT_MULTIPLIER, kept within the
+ * class bounds. Until enough samples exist the class default is used.
+ *
+ * Requests that already have an AdaptiveRetryPolicy keep it.
+ */
+public class RetryPolicyRegistry {
+
+    public static final String CLASS_READ = "read";
+    public static final String CLASS_WRITE = "write";
+    public static final String CLASS_SLOW = "slow";
+    public static final String CLASS_UPLOAD = "upload";
+
+    private final Map<String, LatencyWindow> latencies = new HashMap<>();
+    private final Map<Request<?>, Long> dispatchStartMs = new ConcurrentHashMap<>();
+
+    /**
+     * Request event listener - register on the queue before requests are added.
+     */
+    public void onRequestEvent(Request<?> request, int event) {
+        switch (event) {
+            case RequestQueue.RequestEvent.REQUEST_QUEUED:
+                // Sent synchronously from add(), before the request is dispatched
+                if (!(request.getRetryPolicy() instanceof AdaptiveRetryPolicy)) {
+                    apply(request);
+                }
+                break;
+            case RequestQueue.RequestEvent.REQUEST_NETWORK_DISPATCH_STARTED:
+                dispatchStartMs.put(request, SystemClock.elapsedRealtime());
+                break;
+            case RequestQueue.RequestEvent.REQUEST_NETWORK_DISPATCH_FINISHED:
+                Long start = dispatchStartMs.remove(request);
+                RetryPolicy policy = request.getRetryPolicy();
+                // Only clean first attempts: failures would just measure the timeout
+                if (start != null && policy instanceof AdaptiveRetryPolicy
+                        && !((AdaptiveRetryPolicy) policy).hasFailed()) {
+                    record(latencyKey(request.getUrl()), SystemClock.elapsedRealtime() - start);
+                }
+                break;
+            case RequestQueue.RequestEvent.REQUEST_FINISHED:
+                dispatchStartMs.remove(request);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Endpoint class of a request: CLASS_READ, CLASS_WRITE, CLASS_SLOW or
+     * CLASS_UPLOAD.
+     */
+    public static String classify(Request<?> request) {
+        String key = ApiConfig.getEndpointKey(request.getUrl());
+        if (ApiConfig.isInGroup(key, ApiConfig.UPLOAD_ENDPOINTS)) {
+            return CLASS_UPLOAD;
+        }
+        if (ApiConfig.isInGroup(key, ApiConfig.SLOW_ENDPOINTS)) {
+            return CLASS_SLOW;
+        }
+        return request.getMethod() == Request.Method.GET ? CLASS_READ : CLASS_WRITE;
+    }
+
+    /**
+     * Set the policy for the request's endpoint class and observed latency.
+     */
+    public void apply(Request<?> request) {
+        String endpointClass = classify(request);
+        boolean idempotent = request.getMethod() == Request.Method.GET;
+
+        int defaultTimeout;
+        int minTimeout;
+        int maxTimeout;
+        int maxRetries;
+        switch (endpointClass) {
+            case CLASS_SLOW:
+                defaultTimeout = ApiConfig.SLOW_TIMEOUT_MS;
+                minTimeout = ApiConfig.SLOW_MIN_TIMEOUT_MS;
+                maxTimeout = ApiConfig.SLOW_MAX_TIMEOUT_MS;
+                maxRetries = idempotent ? ApiConfig.SLOW_MAX_RETRIES : 0;
+                break;
+            case CLASS_UPLOAD:
+                defaultTimeout = ApiConfig.UPLOAD_TIMEOUT_MS;
+                minTimeout = ApiConfig.UPLOAD_MIN_TIMEOUT_MS;
+                maxTimeout = ApiConfig.UPLOAD_MAX_TIMEOUT_MS;
+                maxRetries = 0;
+                break;
+            case CLASS_READ:
+                defaultTimeout = ApiConfig.READ_TIMEOUT_MS;
+                minTimeout = ApiConfig.READ_MIN_TIMEOUT_MS;
+                maxTimeout = ApiConfig.READ_MAX_TIMEOUT_MS;
+                maxRetries = ApiConfig.READ_MAX_RETRIES;
+                break;
+            default:
+                defaultTimeout = ApiConfig.WRITE_TIMEOUT_MS;
+                minTimeout = ApiConfig.WRITE_MIN_TIMEOUT_MS;
+                maxTimeout = ApiConfig.WRITE_MAX_TIMEOUT_MS;
+                maxRetries = 0;
+                break;
+        }
+
+        int timeout = adaptiveTimeout(latencyKey(request.getUrl()), defaultTimeout, minTimeout, maxTimeout);
+        request.setRetryPolicy(new AdaptiveRetryPolicy(timeout, maxTimeout, maxRetries));
+        // Volley only consults the policy for these when asked to
+        request.setShouldRetryServerErrors(maxRetries > 0);
+        request.setShouldRetryConnectionErrors(maxRetries > 0);
+    }
+
+    /**
+     * p95 latency of recent successful calls to an endpoint, or -1 if there
+     * are not enough samples yet.
+     */
+    public long getLatencyP95(String endpointKey) {
+        LatencyWindow window;
+        synchronized (latencies) {
+            window = latencies.get(endpointKey);
+        }
+        return window == null ? -1 : window.percentile(95);
+    }
+
+    private int adaptiveTimeout(String key, int defaultTimeout, int minTimeout, int maxTimeout) {
+        long p95 = getLatencyP95(key);
+        if (p95 < 0) {
+            return defaultTimeout;
+        }
+        long timeout = p95 * ApiConfig.LATENCY_TIMEOUT_MULTIPLIER;
+        return (int) Math.max(minTimeout, Math.min(maxTimeout, timeout));
+    }
+
+    private void record(String key, long latencyMs) {
+        LatencyWindow window;
+        synchronized (latencies) {
+            window = latencies.get(key);
+            if (window == null) {
+                window = new LatencyWindow(ApiConfig.LATENCY_WINDOW_SIZE);
+                latencies.put(key, window);
+            }
+        }
+        window.add(latencyMs);
+    }
+
+    /**
+     * Latency key of a URL: its endpoint key, with all uploaded images sharing
+     * one key.
+     */
+    private static String latencyKey(String url) {
+        String key = ApiConfig.getEndpointKey(url);
+        return key.startsWith(ApiConfig.UPLOADS_DIR) ? ApiConfig.UPLOADS_DIR : key;
+    }
+
+    /**
+     * Ring buffer of the most recent latency samples of one endpoint.
+     */
+    private static class LatencyWindow {
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            samples = new long[size];
+        }
+
+        synchronized void add(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        synchronized long percentile(int percent) {
+            if (count < ApiConfig.LATENCY_MIN_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percent / 100.0 * count) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.SIMATS.PathGenie.network;
+
+import com.android.volley.Cache;
+import com.android.volley.toolbox.DiskBasedCache;
+
+import java.io.File;
+
+/**
+ * Disk cache for the shared request queue, split in two directories with
+ * their own size budgets and LRU eviction:
+ * - images (uploaded profile photos), so large images never evict API data;
+ * - everything else, via CatalogCache.
+ * 
+ * Uploaded images get a new file name on every upload, so their entries are
+ * treated as fresh for ApiConfig.IMAGE_DISK_CACHE_TTL_MS and served from disk
+ * without a network round trip.
+ */
+public class SplitDiskCache implements Cache {
+
+    private final CatalogCache dataCache;
+    private final DiskBasedCache imageCache;
+
+    public SplitDiskCache(File rootDirectory) {
+        dataCache = new CatalogCache(new File(rootDirectory, ApiConfig.DISK_CACHE_DIR),
+                ApiConfig.DISK_CACHE_SIZE_BYTES);
+        imageCache = new DiskBasedCache(new File(rootDirectory, ApiConfig.IMAGE_DISK_CACHE_DIR),
+                ApiConfig.IMAGE_DISK_CACHE_SIZE_BYTES);
+    }
+
+    private Cache cacheFor(String key) {
+        return isImageKey(key) ? imageCache : dataCache;
+    }
+
+    /**
+     * Whether a cache key (request URL) is an uploaded image.
+     */
+    static boolean isImageKey(String key) {
+        return ApiConfig.getEndpointKey(key).startsWith(ApiConfig.UPLOADS_DIR);
+    }
+
+    @Override
+    public Entry get(String key) {
+        return cacheFor(key).get(key);
+    }
+
+    @Override
+    public void put(String key, Entry entry) {
+        if (isImageKey(key)) {
+            long expires = System.currentTimeMillis() + ApiConfig.IMAGE_DISK_CACHE_TTL_MS;
+            entry.softTtl = Math.max(entry.softTtl, expires);
+            entry.ttl = Math.max(entry.ttl, expires);
+        }
+        cacheFor(key).put(key, entry);
+    }
+
+    @Override
+    public void initialize() {
+        dataCache.initialize();
+        imageCache.initialize();
+    }
+
+    @Override
+    public void invalidate(String key, boolean fullExpire) {
+        cacheFor(key).invalidate(key, fullExpire);
+    }
+
+    @Override
+    public void remove(String key) {
+        cacheFor(key).remove(key);
+    }
+
+    @Override
+    public void clear() {
+        dataCache.clear();
+        imageCache.clear();
+    }
+
+    /**
+     * Delete all cached images. Does disk I/O - call off the main thread.
+     */
+    public void clearImages() {
+        imageCache.clear();
+    }
+}
@@ -0,0 +1,112 @@
+package com.SIMATS.PathGenie.network;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.Header;
+import com.android.volley.Request;
+import com.android.volley.toolbox.HttpResponse;
+import com.android.volley.toolbox.HurlStack;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HurlStack that streams multipart uploads with file parts directly to the
+ * connection instead of asking the request for its body as one byte array.
+ * All other requests are handled by HurlStack as usual.
+ */
+public class StreamingHurlStack extends HurlStack {
+
+    @Override
+    public HttpResponse executeRequest(Request<?> request, Map<String, String> additionalHeaders)
+            throws IOException, AuthFailureError {
+        if (request instanceof VolleyMultipartRequest
+                && ((VolleyMultipartRequest) request).hasFileParts()) {
+            return executeStreaming((VolleyMultipartRequest) request, additionalHeaders);
+        }
+        return super.executeRequest(request, additionalHeaders);
+    }
+
+    private HttpResponse executeStreaming(VolleyMultipartRequest request, Map<String, String> additionalHeaders)
+            throws IOException, AuthFailureError {
+        Map<String, String> headers = new HashMap<>(additionalHeaders);
+        headers.putAll(request.getHeaders());
+
+        final HttpURLConnection connection = createConnection(new URL(request.getUrl()));
+        boolean keepConnectionOpen = false;
+        try {
+            int timeoutMs = request.getTimeoutMs();
+            connection.setConnectTimeout(timeoutMs);
+            connection.setReadTimeout(timeoutMs);
+            connection.setUseCaches(false);
+            connection.setDoInput(true);
+            connection.setDoOutput(true);
+            connection.setRequestMethod(request.getMethod() == Request.Method.PUT ? "PUT" : "POST");
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                connection.setRequestProperty(header.getKey(), header.getValue());
+            }
+            connection.setRequestProperty("Content-Type", request.getBodyContentType());
+
+            // Fixed length lets HttpURLConnection stream without buffering the body
+            long length = request.getBodyContentLength();
+            if (length >= 0) {
+                connection.setFixedLengthStreamingMode(length);
+            } else {
+                connection.setChunkedStreamingMode(0);
+            }
+
+            OutputStream out = new BufferedOutputStream(connection.getOutputStream());
+            try {
+                request.writeBody(out);
+            } finally {
+                out.close();
+            }
+
+            int responseCode = connection.getResponseCode();
+            if (responseCode == -1) {
+                throw new IOException("Could not retrieve response code from HttpUrlConnection.");
+            }
+
+            List<Header> responseHeaders = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : connection.getHeaderFields().entrySet()) {
+                if (entry.getKey() != null) {
+                    for (String value : entry.getValue()) {
+                        responseHeaders.add(new Header(entry.getKey(), value));
+                    }
+                }
+            }
+
+            InputStream content;
+            try {
+                content = connection.getInputStream();
+            } catch (IOException e) {
+                content = connection.getErrorStream();
+            }
+            if (content == null) {
+                return new HttpResponse(responseCode, responseHeaders);
+            }
+
+            keepConnectionOpen = true;
+            return new HttpResponse(responseCode, responseHeaders, connection.getContentLength(),
+                    new FilterInputStream(content) {
+                        @Override
+                        public void close() throws IOException {
+                            super.close();
+                            connection.disconnect();
+                        }
+                    });
+        } finally {
+            if (!keepConnectionOpen) {
+                connection.disconnect();
+            }
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.SIMATS.PathGenie.network;
 
+import android.content.ContentResolver;
+import android.content.res.AssetFileDescriptor;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
 import com.android.volley.AuthFailureError;
 import com.android.volley.NetworkResponse;
 import com.android.volley.ParseError;
@@ -7,15 +13,33 @@ import com.android.volley.Request;
 import com.android.volley.Response;
 import com.android.volley.toolbox.HttpHeaderParser;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+/**
+ * Multipart/form-data request.
+ *
+ * Text params come from getParams(), in-memory parts from getByteData() and
+ * file parts from getFileData(). Requests with file parts are streamed by
+ * StreamingHurlStack straight from the file or Uri to the connection, so the
+ * file is never held in memory; use setProgressListener() to follow the upload.
+ * Files written just for the upload can be passed to deleteOnFinish().
+ */
 public class VolleyMultipartRequest extends Request<NetworkResponse> {
 
+    private static final int BUFFER_SIZE = 8 * 1024;
+
     private final String twoHyphens = "--";
     private final String lineEnd = "\r\n";
     private final String boundary = "apiclient-" + System.currentTimeMillis();
@@ -23,6 +47,19 @@ public class VolleyMultipartRequest extends Request<NetworkResponse> {
     private Response.Listener<NetworkResponse> mListener;
     private Response.ErrorListener mErrorListener;
     private Map<String, String> mHeaders;
+    private ProgressListener mProgressListener;
+    private final List<File> mTempFiles = new ArrayList<>();
+
+    /**
+     * Receives upload progress on the main thread.
+     */
+    public interface ProgressListener {
+        /**
+         * @param bytesWritten Body bytes written so far
+         * @param totalBytes   Total body bytes, or -1 if unknown
+         */
+        void onProgress(long bytesWritten, long totalBytes);
+    }
 
     public VolleyMultipartRequest(int method, String url,
             Response.Listener<NetworkResponse> listener,
@@ -42,10 +79,128 @@ public class VolleyMultipartRequest extends Request<NetworkResponse> {
         return "multipart/form-data;boundary=" + boundary;
     }
 
+    /**
+     * Build the whole body in memory. Only used for requests without file
+     * parts; file parts are streamed by StreamingHurlStack via writeBody().
+     */
     @Override
     public byte[] getBody() throws AuthFailureError {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(bos);
+        try {
+            writeBody(bos);
+            return bos.toByteArray();
+        } catch (IOException e) {
+            // Never send an empty body; the dispatcher reports this as a VolleyError
+            throw new IllegalStateException("Could not build multipart body", e);
+        }
+    }
+
+    /**
+     * Custom method to get data parts.
+     */
+    protected Map<String, DataPart> getByteData() throws AuthFailureError {
+        return null;
+    }
+
+    /**
+     * Custom method to get file parts, streamed from disk or a content Uri.
+     * Called on a network thread.
+     */
+    protected Map<String, FilePart> getFileData() throws IOException {
+        return null;
+    }
+
+    /**
+     * Set a listener for upload progress of streamed bodies.
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.mProgressListener = listener;
+    }
+
+    /**
+     * Delete a file once the request has finished, whether it succeeded,
+     * failed or was cancelled. Meant for temp files written by getFileData().
+     */
+    public void deleteOnFinish(File file) {
+        synchronized (mTempFiles) {
+            mTempFiles.add(file);
+        }
+    }
+
+    /**
+     * Called by VolleySingleton when the queue has finished this request.
+     */
+    void onFinished() {
+        synchronized (mTempFiles) {
+            for (File file : mTempFiles) {
+                file.delete();
+            }
+            mTempFiles.clear();
+        }
+    }
+
+    /**
+     * Whether this request has file parts and should be streamed.
+     *
+     * @throws IOException If the file parts can't be prepared; the request
+     *                     then fails instead of going out without them
+     */
+    public boolean hasFileParts() throws IOException {
+        Map<String, FilePart> files = getFileData();
+        return files != null && !files.isEmpty();
+    }
+
+    /**
+     * Exact body length in bytes, or -1 if a file part's size is unknown.
+     */
+    public long getBodyContentLength() throws IOException, AuthFailureError {
+        long length = 0;
+
+        Map<String, String> params = getParams();
+        if (params != null) {
+            for (Map.Entry<String, String> entry : params.entrySet()) {
+                length += textPartHeader(entry.getKey()).length() + entry.getValue().length() + lineEnd.length();
+            }
+        }
+
+        Map<String, DataPart> data = getByteData();
+        if (data != null) {
+            for (Map.Entry<String, DataPart> entry : data.entrySet()) {
+                DataPart part = entry.getValue();
+                length += filePartHeader(entry.getKey(), part.getFileName(), part.getType()).length()
+                        + part.getContent().length + lineEnd.length();
+            }
+        }
+
+        Map<String, FilePart> files = getFileData();
+        if (files != null) {
+            for (Map.Entry<String, FilePart> entry : files.entrySet()) {
+                FilePart part = entry.getValue();
+                long partLength = part.length();
+                if (partLength < 0) {
+                    return -1;
+                }
+                length += filePartHeader(entry.getKey(), part.getFileName(), part.getType()).length()
+                        + partLength + lineEnd.length();
+            }
+        }
+
+        return length + (twoHyphens + boundary + twoHyphens + lineEnd).length();
+    }
+
+    /**
+     * Write the multipart body to a stream, reporting progress as file parts
+     * are copied.
+     */
+    public void writeBody(OutputStream out) throws IOException {
+        long total;
+        try {
+            total = mProgressListener != null ? getBodyContentLength() : -1;
+        } catch (AuthFailureError e) {
+            total = -1;
+        }
+        ProgressOutputStream progressStream = new ProgressOutputStream(out, total);
+        DataOutputStream dos = new DataOutputStream(progressStream);
 
         try {
             // Populate text parameters
@@ -59,21 +214,21 @@ public class VolleyMultipartRequest extends Request<NetworkResponse> {
             if (data != null && data.size() > 0) {
                 dataParse(dos, data);
             }
+        } catch (AuthFailureError e) {
+            throw new IOException(e);
+        }
 
-            dos.writeBytes(twoHyphens + boundary + twoHyphens + lineEnd);
-
-            return bos.toByteArray();
-        } catch (IOException e) {
-            e.printStackTrace();
+        // Populate streamed file parameters
+        Map<String, FilePart> files = getFileData();
+        if (files != null && files.size() > 0) {
+            for (Map.Entry<String, FilePart> entry : files.entrySet()) {
+                buildFilePart(dos, entry.getKey(), entry.getValue());
+            }
         }
-        return null;
-    }
 
-    /**
-     * Custom method to get data parts.
-     */
-    protected Map<String, DataPart> getByteData() throws AuthFailureError {
-        return null;
+        dos.writeBytes(twoHyphens + boundary + twoHyphens + lineEnd);
+        dos.flush();
+        progressStream.reportProgress();
     }
 
     @Override
@@ -120,14 +275,28 @@ public class VolleyMultipartRequest extends Request<NetworkResponse> {
         }
     }
 
+    private String textPartHeader(String parameterName) {
+        return twoHyphens + boundary + lineEnd
+                + "Content-Disposition: form-data; name=\"" + parameterName + "\"" + lineEnd
+                + lineEnd;
+    }
+
+    private String filePartHeader(String parameterName, String fileName, String type) {
+        String header = twoHyphens + boundary + lineEnd
+                + "Content-Disposition: form-data; name=\"" + parameterName + "\"; filename=\""
+                + fileName + "\"" + lineEnd;
+        if (type != null && !type.trim().isEmpty()) {
+            header += "Content-Type: " + type + lineEnd;
+        }
+        return header + lineEnd;
+    }
+
     /**
      * Write text parameter to the stream.
      */
     private void buildTextPart(DataOutputStream dataOutputStream, String parameterName, String parameterValue)
             throws IOException {
-        dataOutputStream.writeBytes(twoHyphens + boundary + lineEnd);
-        dataOutputStream.writeBytes("Content-Disposition: form-data; name=\"" + parameterName + "\"" + lineEnd);
-        dataOutputStream.writeBytes(lineEnd);
+        dataOutputStream.writeBytes(textPartHeader(parameterName));
         dataOutputStream.writeBytes(parameterValue + lineEnd);
     }
 
@@ -136,31 +305,83 @@ public class VolleyMultipartRequest extends Request<NetworkResponse> {
      */
     private void buildDataPart(DataOutputStream dataOutputStream, String parameterName, DataPart dataFile)
             throws IOException {
-        dataOutputStream.writeBytes(twoHyphens + boundary + lineEnd);
-        dataOutputStream.writeBytes("Content-Disposition: form-data; name=\"" + parameterName + "\"; filename=\""
-                + dataFile.getFileName() + "\"" + lineEnd);
-        if (dataFile.getType() != null && !dataFile.getType().trim().isEmpty()) {
-            dataOutputStream.writeBytes("Content-Type: " + dataFile.getType() + lineEnd);
+        dataOutputStream.writeBytes(filePartHeader(parameterName, dataFile.getFileName(), dataFile.getType()));
+        dataOutputStream.write(dataFile.getContent());
+        dataOutputStream.writeBytes(lineEnd);
+    }
+
+    /**
+     * Copy a file parameter to the stream in small chunks.
+     */
+    private void buildFilePart(DataOutputStream dataOutputStream, String parameterName, FilePart filePart)
+            throws IOException {
+        dataOutputStream.writeBytes(filePartHeader(parameterName, filePart.getFileName(), filePart.getType()));
+
+        InputStream in = filePart.open();
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                if (isCanceled()) {
+                    throw new IOException("Upload cancelled");
+                }
+                dataOutputStream.write(buffer, 0, bytesRead);
+            }
+        } finally {
+            in.close();
         }
+
         dataOutputStream.writeBytes(lineEnd);
+    }
 
-        ByteArrayInputStream fileInputStream = new ByteArrayInputStream(dataFile.getContent());
-        int bytesAvailable = fileInputStream.available();
+    /**
+     * Counts written bytes and posts progress to the main thread whenever the
+     * whole percentage changes.
+     */
+    private class ProgressOutputStream extends FilterOutputStream {
+        private final long total;
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+        private long written;
+        private long lastReported = -1;
+
+        ProgressOutputStream(OutputStream out, long total) {
+            super(out);
+            this.total = total;
+        }
 
-        int maxBufferSize = 1024 * 1024;
-        int bufferSize = Math.min(bytesAvailable, maxBufferSize);
-        byte[] buffer = new byte[bufferSize];
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written++;
+            maybeReport();
+        }
 
-        int bytesRead = fileInputStream.read(buffer, 0, bufferSize);
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written += len;
+            maybeReport();
+        }
 
-        while (bytesRead > 0) {
-            dataOutputStream.write(buffer, 0, bufferSize);
-            bytesAvailable = fileInputStream.available();
-            bufferSize = Math.min(bytesAvailable, maxBufferSize);
-            bytesRead = fileInputStream.read(buffer, 0, bufferSize);
+        private void maybeReport() {
+            if (mProgressListener == null) {
+                return;
+            }
+            long step = total > 0 ? written * 100 / total : written / BUFFER_SIZE;
+            if (step != lastReported) {
+                lastReported = step;
+                reportProgress();
+            }
         }
 
-        dataOutputStream.writeBytes(lineEnd);
+        void reportProgress() {
+            final ProgressListener listener = mProgressListener;
+            if (listener == null) {
+                return;
+            }
+            final long bytes = written;
+            mainHandler.post(() -> listener.onProgress(bytes, total));
+        }
     }
 
     /**
@@ -209,4 +430,73 @@ public class VolleyMultipartRequest extends Request<NetworkResponse> {
             this.type = type;
         }
     }
+
+    /**
+     * FilePart class for a file streamed from disk or a content Uri.
+     */
+    public static class FilePart {
+        private final String fileName;
+        private final String type;
+        private final File file;
+        private final Uri uri;
+        private final ContentResolver resolver;
+
+        public FilePart(String name, File file, String mimeType) {
+            this.fileName = name;
+            this.type = mimeType;
+            this.file = file;
+            this.uri = null;
+            this.resolver = null;
+        }
+
+        public FilePart(String name, Uri uri, ContentResolver resolver, String mimeType) {
+            this.fileName = name;
+            this.type = mimeType;
+            this.file = null;
+            this.uri = uri;
+            this.resolver = resolver;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Open the source for reading. Called again on each retry.
+         */
+        public InputStream open() throws IOException {
+            if (file != null) {
+                return new FileInputStream(file);
+            }
+            InputStream in = resolver.openInputStream(uri);
+            if (in == null) {
+                throw new FileNotFoundException("Cannot open " + uri);
+            }
+            return in;
+        }
+
+        /**
+         * Size in bytes, or -1 if the content provider doesn't report it.
+         */
+        public long length() {
+            if (file != null) {
+                return file.length();
+            }
+            try {
+                AssetFileDescriptor afd = resolver.openAssetFileDescriptor(uri, "r");
+                if (afd == null) {
+                    return -1;
+                }
+                long length = afd.getLength();
+                afd.close();
+                return length;
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+    }
 }
@@ -1,30 +1,56 @@
 package com.SIMATS.PathGenie.network;
 
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.graphics.Bitmap;
-import android.util.LruCache;
+import android.widget.ImageView;
 
-import com.android.volley.DefaultRetryPolicy;
 import com.android.volley.Request;
 import com.android.volley.RequestQueue;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.BasicNetwork;
 import com.android.volley.toolbox.ImageLoader;
-import com.android.volley.toolbox.Volley;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Singleton class for Volley RequestQueue management.
  * Provides centralized network request handling for the Education Stream
  * Advisor App.
  * 
+ * All activities share this one queue (one set of dispatcher threads and
+ * one disk cache) instead of creating their own with Volley.newRequestQueue().
+ * Catalog responses are cached with per-endpoint TTLs, see CatalogCache.
+ * Identical GETs already in flight are coalesced, see CoalescingRequestQueue.
+ * Timeouts and retries are chosen per endpoint, see RetryPolicyRegistry.
+ * Latency and payload of every request are recorded, see NetworkMetrics.
+ * Requests added with an owning Activity are cancelled with it, see
+ * ActivityRequestScope.
+ * 
  * Usage:
  * VolleySingleton.getInstance(context).addToRequestQueue(request);
  */
 public class VolleySingleton {
 
     private static VolleySingleton instance;
-    private RequestQueue requestQueue;
+    private CoalescingRequestQueue requestQueue;
     private ImageLoader imageLoader;
+    private BitmapCache imageCache;
+    private SplitDiskCache diskCache;
+    private final RetryPolicyRegistry retryPolicies = new RetryPolicyRegistry();
+    private final NetworkMetrics networkMetrics = new NetworkMetrics();
+    private ActivityRequestScope activityScope;
     private static Context ctx;
 
+    // Queue counters, updated from Volley request events
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+    private final AtomicLong completedCount = new AtomicLong();
+
     /**
      * Private constructor - use getInstance() instead.
      * 
@@ -34,18 +60,24 @@ public class VolleySingleton {
         ctx = context.getApplicationContext();
         requestQueue = getRequestQueue();
 
-        // Initialize ImageLoader with LruCache for image caching
-        imageLoader = new ImageLoader(requestQueue, new ImageLoader.ImageCache() {
-            private final LruCache<String, Bitmap> cache = new LruCache<>(20);
+        // Initialize ImageLoader with a byte-sized memory cache; encoded images
+        // are also kept on disk by SplitDiskCache
+        imageCache = new BitmapCache(ctx);
+        imageLoader = new ImageLoader(requestQueue, imageCache);
 
+        ctx.registerComponentCallbacks(new ComponentCallbacks2() {
             @Override
-            public Bitmap getBitmap(String url) {
-                return cache.get(url);
+            public void onTrimMemory(int level) {
+                imageCache.trimMemory(level);
             }
 
             @Override
-            public void putBitmap(String url, Bitmap bitmap) {
-                cache.put(url, bitmap);
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                imageCache.clear();
             }
         });
     }
@@ -71,23 +103,116 @@ public class VolleySingleton {
     public RequestQueue getRequestQueue() {
         if (requestQueue == null) {
             // Use application context to prevent memory leaks
-            requestQueue = Volley.newRequestQueue(ctx);
+            diskCache = new SplitDiskCache(ctx.getCacheDir());
+            requestQueue = new CoalescingRequestQueue(
+                    diskCache,
+                    networkMetrics.wrap(ActivityRequestScope.abandonCancelled(
+                            CatalogCache.renewOnNotModified(
+                                    new BasicNetwork(new StreamingHurlStack()), diskCache),
+                            request -> requestQueue.hasLiveFollowers(request))),
+                    ApiConfig.NETWORK_THREAD_POOL_SIZE);
+            requestQueue.addRequestEventListener(retryPolicies::onRequestEvent);
+            requestQueue.addRequestEventListener(networkMetrics::onRequestEvent);
+            requestQueue.addRequestEventListener(this::onRequestEvent);
+            requestQueue.start();
+
+            activityScope = new ActivityRequestScope(requestQueue);
+            if (ctx instanceof Application) {
+                ((Application) ctx).registerActivityLifecycleCallbacks(activityScope);
+            }
         }
         return requestQueue;
     }
 
     /**
-     * Add a request to the RequestQueue with default retry policy.
+     * Track queue counters from Volley request lifecycle events, and clean
+     * up after finished uploads.
+     */
+    private void onRequestEvent(Request<?> request, int event) {
+        switch (event) {
+            case RequestQueue.RequestEvent.REQUEST_QUEUED:
+                queuedCount.incrementAndGet();
+                break;
+            case RequestQueue.RequestEvent.REQUEST_NETWORK_DISPATCH_STARTED:
+                inFlightCount.incrementAndGet();
+                break;
+            case RequestQueue.RequestEvent.REQUEST_NETWORK_DISPATCH_FINISHED:
+                inFlightCount.decrementAndGet();
+                break;
+            case RequestQueue.RequestEvent.REQUEST_FINISHED:
+                completedCount.incrementAndGet();
+                if (request instanceof VolleyMultipartRequest) {
+                    ((VolleyMultipartRequest) request).onFinished();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Total number of requests added to the queue since startup.
+     */
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * Number of requests currently executing on a network dispatcher.
+     */
+    public int getInFlightCount() {
+        return inFlightCount.get();
+    }
+
+    /**
+     * Total number of requests finished (delivered, failed or cancelled).
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Number of requests added but not yet finished.
+     */
+    public long getPendingCount() {
+        return queuedCount.get() - completedCount.get();
+    }
+
+    /**
+     * Number of GET requests that were not sent because an identical one
+     * was already in flight.
+     */
+    public long getDeduplicatedCount() {
+        getRequestQueue();
+        return requestQueue.getDeduplicatedCount();
+    }
+
+    /**
+     * Get the registry that picks timeouts and retries per endpoint.
+     * 
+     * @return RetryPolicyRegistry of the shared queue
+     */
+    public RetryPolicyRegistry getRetryPolicyRegistry() {
+        return retryPolicies;
+    }
+
+    /**
+     * Get per-endpoint latency and payload metrics of the shared queue.
+     * 
+     * @return NetworkMetrics of the shared queue
+     */
+    public NetworkMetrics getNetworkMetrics() {
+        return networkMetrics;
+    }
+
+    /**
+     * Add a request to the RequestQueue. Its retry policy is chosen by
+     * RetryPolicyRegistry from the endpoint and method.
      * 
      * @param req The request to add
      * @param <T> Type of the request response
      */
     public <T> void addToRequestQueue(Request<T> req) {
-        // Apply default retry policy from ApiConfig
-        req.setRetryPolicy(new DefaultRetryPolicy(
-                ApiConfig.REQUEST_TIMEOUT_MS,
-                ApiConfig.MAX_RETRIES,
-                ApiConfig.BACKOFF_MULTIPLIER));
         getRequestQueue().add(req);
     }
 
@@ -100,15 +225,29 @@ public class VolleySingleton {
      */
     public <T> void addToRequestQueue(Request<T> req, String tag) {
         req.setTag(tag);
-        req.setRetryPolicy(new DefaultRetryPolicy(
-                ApiConfig.REQUEST_TIMEOUT_MS,
-                ApiConfig.MAX_RETRIES,
-                ApiConfig.BACKOFF_MULTIPLIER));
         getRequestQueue().add(req);
     }
 
     /**
-     * Add a request with custom timeout settings.
+     * Add a request owned by an Activity. Reads are cancelled when the
+     * activity is destroyed; writes still complete. Use this from activities
+     * so late responses never touch dead views.
+     * 
+     * @param req   The request to add
+     * @param owner Activity whose views the response updates
+     * @param <T>   Type of the request response
+     */
+    public <T> void addToRequestQueue(Request<T> req, Activity owner) {
+        getRequestQueue();
+        if (!activityScope.bind(req, owner)) {
+            return;
+        }
+        requestQueue.add(req);
+    }
+
+    /**
+     * Add a request with custom timeout settings, bypassing the per-endpoint
+     * policy. Only set maxRetries above 0 for requests that are safe to repeat.
      * 
      * @param req        The request to add
      * @param timeoutMs  Custom timeout in milliseconds
@@ -116,10 +255,7 @@ public class VolleySingleton {
      * @param <T>        Type of the request response
      */
     public <T> void addToRequestQueue(Request<T> req, int timeoutMs, int maxRetries) {
-        req.setRetryPolicy(new DefaultRetryPolicy(
-                timeoutMs,
-                maxRetries,
-                ApiConfig.BACKOFF_MULTIPLIER));
+        req.setRetryPolicy(AdaptiveRetryPolicy.fixed(timeoutMs, maxRetries));
         getRequestQueue().add(req);
     }
 
@@ -154,13 +290,87 @@ public class VolleySingleton {
         return imageLoader;
     }
 
+    /**
+     * Load an image through the ImageLoader on behalf of an Activity. The
+     * load is cancelled when the activity is destroyed, unless another page
+     * still waits for the same image. Main thread only.
+     * 
+     * @param url       Image URL
+     * @param listener  Receives the image, as with ImageLoader.get()
+     * @param maxWidth  Max width to decode to, 0 for none
+     * @param maxHeight Max height to decode to, 0 for none
+     * @param scaleType Scale type the image is shown with
+     * @param owner     Activity whose views the image is shown in
+     */
+    public void loadImage(String url, final ImageLoader.ImageListener listener, int maxWidth, int maxHeight,
+            ImageView.ScaleType scaleType, final Activity owner) {
+        getRequestQueue();
+        if (owner.isFinishing() || owner.isDestroyed()) {
+            return;
+        }
+        Bitmap seeded = imageCache.getBitmap(seededImageKey(url, maxWidth, maxHeight, scaleType));
+        if (seeded != null) {
+            listener.onResponse(imageLoader.new ImageContainer(seeded, url, null, null), true);
+            return;
+        }
+        // The listener can run before get() returns the container
+        final ImageLoader.ImageContainer[] bound = new ImageLoader.ImageContainer[1];
+        ImageLoader.ImageContainer container = imageLoader.get(url, new ImageLoader.ImageListener() {
+            @Override
+            public void onResponse(ImageLoader.ImageContainer response, boolean isImmediate) {
+                if (response.getBitmap() != null && bound[0] != null) {
+                    activityScope.unbind(bound[0], owner);
+                }
+                listener.onResponse(response, isImmediate);
+            }
+
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                if (bound[0] != null) {
+                    activityScope.unbind(bound[0], owner);
+                }
+                listener.onErrorResponse(error);
+            }
+        }, maxWidth, maxHeight, scaleType);
+        if (container.getBitmap() == null) {
+            bound[0] = container;
+            activityScope.bind(container, owner);
+        }
+    }
+
+    /**
+     * Put an already decoded bitmap into the image memory cache, so a later
+     * loadImage() with the same URL and size is served from memory. Kept
+     * under a key of our own, checked by loadImage() before the ImageLoader,
+     * so it does not depend on the ImageLoader's private key format.
+     * 
+     * @param url       Image URL
+     * @param maxWidth  Max width the image will be requested with
+     * @param maxHeight Max height the image will be requested with
+     * @param scaleType Scale type the image will be requested with
+     * @param bitmap    Decoded bitmap
+     */
+    public void putImage(String url, int maxWidth, int maxHeight, ImageView.ScaleType scaleType, Bitmap bitmap) {
+        imageCache.putBitmap(seededImageKey(url, maxWidth, maxHeight, scaleType), bitmap);
+    }
+
+    private static String seededImageKey(String url, int maxWidth, int maxHeight, ImageView.ScaleType scaleType) {
+        return "seeded:" + maxWidth + "x" + maxHeight + ":" + scaleType.name() + ":" + url;
+    }
+
     /**
      * Clear the image cache.
      * Useful when memory is low or images need to be refreshed.
+     * Bitmaps are dropped immediately; cached image files are deleted in the
+     * background.
      */
     public void clearImageCache() {
-        if (imageLoader != null) {
-            imageLoader.setBatchedResponseDelay(0);
+        if (imageCache != null) {
+            imageCache.clear();
+        }
+        if (diskCache != null) {
+            final SplitDiskCache cache = diskCache;
+            new Thread(cache::clearImages, "image-cache-clear").start();
         }
     }
 }
@@ -0,0 +1,279 @@
+package com.SIMATS.PathGenie.utils;
+
+import android.app.Activity;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.ImageView;
+
+import com.SIMATS.PathGenie.network.VolleySingleton;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.ImageLoader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ImagePipeline - Decodes profile photos without blocking the main thread.
+ *
+ * Picked images are decoded on a background executor: bounds are read first,
+ * the image is decoded with inSampleSize close to the target size, then
+ * rotated according to its EXIF orientation. Remote avatars are loaded through
+ * VolleySingleton's ImageLoader at avatar size instead of full resolution.
+ */
+public class ImagePipeline {
+
+    private static final String TAG = "ImagePipeline";
+
+    /** Longest side of uploaded profile photos, in pixels */
+    public static final int UPLOAD_MAX_SIZE = 1024;
+
+    /** Largest picked JPEG uploaded as it is, without re-encoding */
+    public static final long UPLOAD_MAX_BYTES = 1024 * 1024;
+
+    /** Size avatars are decoded at for display, in pixels */
+    public static final int AVATAR_SIZE = 512;
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Receives the decoded bitmap or the failure, on the main thread.
+     */
+    public interface Callback {
+        void onDecoded(Bitmap bitmap);
+
+        void onError(Exception e);
+    }
+
+    private ImagePipeline() {
+    }
+
+    /**
+     * Decode an image Uri in the background, scaled so its longest side is
+     * at most maxSize and rotated upright.
+     *
+     * @param owner    Activity the result is for; the callback is skipped if
+     *                 it has been destroyed by the time the decode finishes
+     * @param uri      Content or file Uri of the image
+     * @param maxSize  Maximum width/height of the result
+     * @param callback Receives the result on the main thread
+     */
+    public static void decodeUri(Activity owner, Uri uri, int maxSize, Callback callback) {
+        ContentResolver resolver = owner.getApplicationContext().getContentResolver();
+        executor.execute(() -> {
+            try {
+                Bitmap bitmap = decodeUriSync(resolver, uri, maxSize);
+                mainHandler.post(() -> {
+                    if (!owner.isDestroyed()) {
+                        callback.onDecoded(bitmap);
+                    }
+                });
+            } catch (Exception | OutOfMemoryError e) {
+                Log.e(TAG, "Error decoding " + uri, e);
+                Exception error = e instanceof Exception ? (Exception) e : new IOException(e);
+                mainHandler.post(() -> {
+                    if (!owner.isDestroyed()) {
+                        callback.onError(error);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Decode an image Uri on the calling thread. Do not call on the main thread.
+     */
+    public static Bitmap decodeUriSync(ContentResolver resolver, Uri uri, int maxSize) throws IOException {
+        // 1. Bounds only - no pixels allocated
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        InputStream in = open(resolver, uri);
+        try {
+            BitmapFactory.decodeStream(in, null, options);
+        } finally {
+            in.close();
+        }
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("Not an image: " + uri);
+        }
+
+        // 2. Subsampled decode
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, maxSize);
+        Bitmap bitmap;
+        in = open(resolver, uri);
+        try {
+            bitmap = BitmapFactory.decodeStream(in, null, options);
+        } finally {
+            in.close();
+        }
+        if (bitmap == null) {
+            throw new IOException("Failed to decode " + uri);
+        }
+
+        // 3. Exact size and EXIF orientation in one transform
+        int orientation = ExifInterface.ORIENTATION_NORMAL;
+        in = open(resolver, uri);
+        try {
+            orientation = new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            Log.w(TAG, "No EXIF data for " + uri);
+        } finally {
+            in.close();
+        }
+        return transform(bitmap, orientation, maxSize);
+    }
+
+    /**
+     * Whether a picked image can be uploaded byte for byte: a JPEG of at
+     * most maxBytes, no side longer than maxSize, stored upright. Reads only
+     * the header. Do not call on the main thread.
+     */
+    public static boolean isUploadReady(ContentResolver resolver, Uri uri, int maxSize, long maxBytes) {
+        try {
+            AssetFileDescriptor afd = resolver.openAssetFileDescriptor(uri, "r");
+            if (afd == null) {
+                return false;
+            }
+            long length = afd.getLength();
+            afd.close();
+            if (length < 0 || length > maxBytes) {
+                return false;
+            }
+
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            InputStream in = open(resolver, uri);
+            try {
+                BitmapFactory.decodeStream(in, null, options);
+            } finally {
+                in.close();
+            }
+            if (!"image/jpeg".equals(options.outMimeType) || options.outWidth <= 0
+                    || Math.max(options.outWidth, options.outHeight) > maxSize) {
+                return false;
+            }
+
+            // The server and BitmapFactory ignore EXIF, so a rotated photo must be re-encoded
+            in = open(resolver, uri);
+            try {
+                int orientation = new ExifInterface(in).getAttributeInt(
+                        ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+                return orientation == ExifInterface.ORIENTATION_NORMAL
+                        || orientation == ExifInterface.ORIENTATION_UNDEFINED;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Largest power of two that keeps both sides at or above maxSize.
+     */
+    static int calculateInSampleSize(int width, int height, int maxSize) {
+        int inSampleSize = 1;
+        while (Math.max(width, height) / (inSampleSize * 2) >= maxSize) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    private static Bitmap transform(Bitmap bitmap, int orientation, int maxSize) {
+        Matrix matrix = new Matrix();
+
+        float scale = Math.min(1f, (float) maxSize / Math.max(bitmap.getWidth(), bitmap.getHeight()));
+        if (scale < 1f) {
+            matrix.postScale(scale, scale);
+        }
+
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.postScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.postRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.postRotate(270);
+                matrix.postScale(-1, 1);
+                break;
+            default:
+                break;
+        }
+
+        if (matrix.isIdentity()) {
+            return bitmap;
+        }
+        Bitmap result = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+        if (result != bitmap) {
+            bitmap.recycle();
+        }
+        return result;
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new FileNotFoundException("Cannot open " + uri);
+        }
+        return in;
+    }
+
+    /**
+     * Load a remote avatar into an ImageView at avatar size via the shared
+     * ImageLoader (cached and decoded off the main thread). The load is
+     * cancelled if the owner is destroyed first.
+     */
+    public static void loadAvatar(Activity owner, String url, ImageView imageView) {
+        VolleySingleton.getInstance(owner).loadImage(url, new ImageLoader.ImageListener() {
+            @Override
+            public void onResponse(ImageLoader.ImageContainer response, boolean isImmediate) {
+                if (response.getBitmap() != null) {
+                    imageView.setImageBitmap(response.getBitmap());
+                }
+            }
+
+            @Override
+            public void onErrorResponse(VolleyError error) {
+                Log.e(TAG, "Error loading avatar: " + error.getMessage());
+            }
+        }, AVATAR_SIZE, AVATAR_SIZE, ImageView.ScaleType.CENTER_CROP, owner);
+    }
+
+    /**
+     * Put a locally decoded photo into the ImageLoader cache under its
+     * uploaded URL, so the next loadAvatar() for it needs no download.
+     */
+    public static void cacheAvatar(Context context, String url, Bitmap bitmap) {
+        VolleySingleton.getInstance(context).putImage(url, AVATAR_SIZE, AVATAR_SIZE,
+                ImageView.ScaleType.CENTER_CROP, bitmap);
+    }
+}
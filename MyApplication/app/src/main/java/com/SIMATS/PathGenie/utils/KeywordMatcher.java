@@ -0,0 +1,179 @@
+package com.SIMATS.PathGenie.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * KeywordMatcher - Finds which of a fixed set of keywords occur in a text,
+ * in one pass over the text (Aho-Corasick).
+ *
+ * Matching is case-insensitive and equivalent to calling
+ * text.toLowerCase().contains(keyword) for every keyword, without building
+ * the lowercase string. Keywords are numbered in the order given (duplicates
+ * share the first number); find() returns the numbers of those found.
+ *
+ * The automaton is built once, so keep matchers in static fields. A built
+ * matcher is immutable and can be used from any thread.
+ *
+ * Usage:
+ * KeywordMatcher matcher = new KeywordMatcher("law", "legal", "llb");
+ * BitSet found = matcher.find(streamName, careerScope);
+ */
+public final class KeywordMatcher {
+
+    private final String[] keywords;
+    // Lowercase char -> column in the transition table, -1 if in no keyword
+    private final int[] alphabet;
+    private final int columns;
+    // Full transition table: state * columns + column -> next state
+    private final int[] next;
+    // Keywords ending at each state, including through failure links
+    private final int[][] output;
+
+    public KeywordMatcher(String... keywords) {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            String lower = lower(keyword);
+            if (!lower.isEmpty() && !ids.containsKey(lower)) {
+                ids.put(lower, ids.size());
+            }
+        }
+        this.keywords = ids.keySet().toArray(new String[0]);
+
+        // Alphabet: only the characters keywords use
+        char maxChar = 0;
+        for (String keyword : this.keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                maxChar = (char) Math.max(maxChar, keyword.charAt(i));
+            }
+        }
+        alphabet = new int[maxChar + 1];
+        Arrays.fill(alphabet, -1);
+        int columnCount = 0;
+        for (String keyword : this.keywords) {
+            for (int i = 0; i < keyword.length(); i++) {
+                if (alphabet[keyword.charAt(i)] < 0) {
+                    alphabet[keyword.charAt(i)] = columnCount++;
+                }
+            }
+        }
+        columns = Math.max(1, columnCount);
+
+        // Trie
+        List<Map<Integer, Integer>> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+        for (int id = 0; id < this.keywords.length; id++) {
+            int state = 0;
+            for (int i = 0; i < this.keywords[id].length(); i++) {
+                int column = alphabet[this.keywords[id].charAt(i)];
+                Integer child = children.get(state).get(column);
+                if (child == null) {
+                    child = children.size();
+                    children.get(state).put(column, child);
+                    children.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = child;
+            }
+            ends.get(state).add(id);
+        }
+
+        // Breadth-first: failure links, then the full transition table
+        int states = children.size();
+        next = new int[states * columns];
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Integer, Integer> edge : children.get(0).entrySet()) {
+            next[edge.getKey()] = edge.getValue();
+            queue.add(edge.getValue());
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            ends.get(state).addAll(ends.get(fail[state]));
+            for (int column = 0; column < columns; column++) {
+                Integer child = children.get(state).get(column);
+                if (child == null) {
+                    next[state * columns + column] = next[fail[state] * columns + column];
+                } else {
+                    fail[child] = next[fail[state] * columns + column];
+                    next[state * columns + column] = child;
+                    queue.add(child);
+                }
+            }
+        }
+
+        output = new int[states][];
+        for (int state = 0; state < states; state++) {
+            List<Integer> list = ends.get(state);
+            output[state] = new int[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                output[state][i] = list.get(i);
+            }
+        }
+    }
+
+    /** Number of distinct keywords */
+    public int size() {
+        return keywords.length;
+    }
+
+    /** The number of a keyword, or -1 if it is not one of them */
+    public int indexOf(String keyword) {
+        String lower = lower(keyword);
+        for (int id = 0; id < keywords.length; id++) {
+            if (keywords[id].equals(lower)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Numbers of the keywords found in the texts, read as if joined with
+     * single spaces. Null texts read as empty.
+     */
+    public BitSet find(CharSequence... texts) {
+        BitSet found = new BitSet(keywords.length);
+        int state = 0;
+        for (int t = 0; t < texts.length; t++) {
+            if (t > 0) {
+                state = step(state, ' ', found);
+            }
+            CharSequence text = texts[t];
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                state = step(state, text.charAt(i), found);
+            }
+        }
+        return found;
+    }
+
+    private int step(int state, char c, BitSet found) {
+        char lower = Character.toLowerCase(c);
+        int column = lower < alphabet.length ? alphabet[lower] : -1;
+        // A character no keyword uses ends every partial match
+        state = column < 0 ? 0 : next[state * columns + column];
+        for (int id : output[state]) {
+            found.set(id);
+        }
+        return state;
+    }
+
+    private static String lower(String keyword) {
+        StringBuilder lower = new StringBuilder(keyword.length());
+        for (int i = 0; i < keyword.length(); i++) {
+            lower.append(Character.toLowerCase(keyword.charAt(i)));
+        }
+        return lower.toString();
+    }
+}
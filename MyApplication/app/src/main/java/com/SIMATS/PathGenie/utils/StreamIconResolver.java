@@ -0,0 +1,177 @@
+package com.SIMATS.PathGenie.utils;
+
+import com.SIMATS.PathGenie.R;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * StreamIconResolver - Picks the icon for a stream from keywords in its name.
+ *
+ * Rules are tried in order and the first that matches wins. All rule keywords
+ * share one KeywordMatcher, so a name is scanned once whatever the number of
+ * rules.
+ *
+ * Usage:
+ * iconView.setImageResource(StreamIconResolver.getStreamIcon(streamName));
+ */
+public final class StreamIconResolver {
+
+    /**
+     * Rules in priority order. Each rule is an icon and the keywords that
+     * select it: "a" matches names containing a, "a+b" names containing both,
+     * "-a" rules the icon out when the name contains a.
+     */
+    private static final Object[][] RULES = {
+            // === SCIENCE STREAMS ===
+            { R.drawable.ic_science, "pcm", "science+math" },
+            { R.drawable.ic_microscope, "pcb", "science+bio" },
+            { R.drawable.ic_biology, "biology", "life science" },
+            { R.drawable.ic_bulb, "physics" },
+            { R.drawable.ic_science, "chemistry" },
+
+            // === COMMERCE & BUSINESS ===
+            { R.drawable.ic_commerce, "commerce", "-e-commerce" },
+            { R.drawable.ic_rupee, "accounting", "finance" },
+            { R.drawable.ic_briefcase, "business", "bba", "mba" },
+            { R.drawable.ic_trend_up, "marketing", "sales" },
+            { R.drawable.ic_balance, "economics" },
+
+            // === ARTS & HUMANITIES ===
+            { R.drawable.ic_arts, "arts", "-fine art" },
+            { R.drawable.ic_book, "literature", "english" },
+            { R.drawable.ic_history, "history", "political" },
+            { R.drawable.ic_user, "psychology", "sociology" },
+            { R.drawable.ic_school, "humanities", "liberal" },
+            { R.drawable.ic_mic, "journalism", "media" },
+            { R.drawable.ic_design, "fine art", "visual art" },
+
+            // === ENGINEERING & TECHNOLOGY ===
+            { R.drawable.ic_computer, "computer", "cse", "software" },
+            { R.drawable.ic_engineering, "mechanical", "automobile" },
+            { R.drawable.ic_bulb, "electrical", "electronics" },
+            { R.drawable.ic_building, "civil", "construction" },
+            { R.drawable.ic_code, "information tech", "it " },
+            { R.drawable.ic_engineering, "engineering", "b.tech", "btech" },
+            { R.drawable.ic_ai_brain, "data science", "ai", "machine learning" },
+
+            // === MEDICAL & HEALTH ===
+            { R.drawable.ic_medical, "mbbs", "medicine", "doctor" },
+            { R.drawable.ic_heart_filled, "nursing", "healthcare" },
+            { R.drawable.ic_science, "pharmacy", "pharma" },
+            { R.drawable.ic_medical, "dental", "bds" },
+            { R.drawable.ic_heart_outline, "veterinary", "animal" },
+
+            // === LAW & LEGAL ===
+            { R.drawable.ic_law, "law", "llb", "legal" },
+
+            // === DESIGN & CREATIVE ===
+            { R.drawable.ic_design, "design", "graphic" },
+            { R.drawable.ic_architecture, "architecture", "interior" },
+            { R.drawable.ic_star, "fashion" },
+            { R.drawable.ic_camera, "animation", "multimedia" },
+
+            // === AVIATION & TRAVEL ===
+            { R.drawable.ic_aviation, "aviation", "pilot", "aerospace" },
+            { R.drawable.ic_building, "hotel", "hospitality", "tourism" },
+
+            // === VOCATIONAL & DIPLOMA ===
+            { R.drawable.ic_vocational, "vocational", "skill", "iti" },
+            { R.drawable.ic_diploma, "diploma", "polytechnic" },
+
+            // === GOVERNMENT & COMPETITIVE ===
+            { R.drawable.ic_govt, "civil service", "upsc", "ias" },
+            { R.drawable.ic_rupee, "bank", "ssc" },
+
+            // === RESEARCH & ACADEMIA ===
+            { R.drawable.ic_research, "research", "phd", "doctorate" },
+            { R.drawable.ic_school, "teaching", "education", "b.ed" },
+
+            // === DEGREE LEVELS ===
+            { R.drawable.ic_undergraduate, "undergraduate", "bachelor" },
+            { R.drawable.ic_postgraduate, "postgraduate", "master" },
+            { R.drawable.ic_graduation, "graduation", "graduate" },
+    };
+
+    private static final KeywordMatcher MATCHER;
+    private static final int[] ICONS = new int[RULES.length];
+    // Per rule: alternatives, each a list of keyword numbers that must all match
+    private static final int[][][] ANY_OF = new int[RULES.length][][];
+    // Per rule: keyword numbers that rule it out
+    private static final int[][] NONE_OF = new int[RULES.length][];
+
+    static {
+        List<String> keywords = new ArrayList<>();
+        for (Object[] rule : RULES) {
+            for (int i = 1; i < rule.length; i++) {
+                String term = (String) rule[i];
+                for (String keyword : (term.startsWith("-") ? term.substring(1) : term).split("\\+")) {
+                    keywords.add(keyword);
+                }
+            }
+        }
+        MATCHER = new KeywordMatcher(keywords.toArray(new String[0]));
+
+        for (int r = 0; r < RULES.length; r++) {
+            ICONS[r] = (Integer) RULES[r][0];
+            List<int[]> anyOf = new ArrayList<>();
+            List<Integer> noneOf = new ArrayList<>();
+            for (int i = 1; i < RULES[r].length; i++) {
+                String term = (String) RULES[r][i];
+                if (term.startsWith("-")) {
+                    noneOf.add(MATCHER.indexOf(term.substring(1)));
+                } else {
+                    String[] parts = term.split("\\+");
+                    int[] all = new int[parts.length];
+                    for (int p = 0; p < parts.length; p++) {
+                        all[p] = MATCHER.indexOf(parts[p]);
+                    }
+                    anyOf.add(all);
+                }
+            }
+            ANY_OF[r] = anyOf.toArray(new int[0][]);
+            NONE_OF[r] = new int[noneOf.size()];
+            for (int i = 0; i < noneOf.size(); i++) {
+                NONE_OF[r][i] = noneOf.get(i);
+            }
+        }
+    }
+
+    private StreamIconResolver() {
+    }
+
+    /**
+     * Get appropriate icon for stream based on name.
+     */
+    public static int getStreamIcon(String streamName) {
+        if (streamName == null) {
+            return R.drawable.ic_education;
+        }
+        BitSet found = MATCHER.find(streamName);
+        for (int r = 0; r < RULES.length; r++) {
+            if (matches(found, ANY_OF[r], NONE_OF[r])) {
+                return ICONS[r];
+            }
+        }
+        return R.drawable.ic_education;
+    }
+
+    private static boolean matches(BitSet found, int[][] anyOf, int[] noneOf) {
+        for (int keyword : noneOf) {
+            if (found.get(keyword)) {
+                return false;
+            }
+        }
+        for (int[] all : anyOf) {
+            boolean allFound = true;
+            for (int keyword : all) {
+                allFound &= found.get(keyword);
+            }
+            if (allFound) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package com.SIMATS.PathGenie.data;
+
+import android.database.Cursor;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog rows for StreamGraph.build(Catalog) without a database.
+ *
+ * Each query gets the rows of the first table whose marker its SQL
+ * contains; tables nobody filled answer with no rows. Cursors support what
+ * StreamGraph reads: getCount, moveToNext, getInt, getString and close.
+ */
+class FakeCatalog implements StreamGraph.Catalog {
+
+    static final String STREAMS = "FROM streams";
+    static final String EXAMS = "FROM stream_exams";
+    static final String JOBS = "FROM jobs";
+    static final String PROGRESSION = "FROM stream_progression";
+    static final String PRIMARY = "'PRIMARY'";
+    static final String SECONDARY = "'SECONDARY'";
+
+    private final Map<String, List<Object[]>> tables = new LinkedHashMap<>();
+
+    FakeCatalog() {
+        for (String table : new String[] { STREAMS, EXAMS, JOBS, PROGRESSION, PRIMARY, SECONDARY }) {
+            tables.put(table, new ArrayList<>());
+        }
+    }
+
+    FakeCatalog stream(int id, String name, String duration) {
+        tables.get(STREAMS).add(new Object[] { id, name, duration });
+        return this;
+    }
+
+    /** Mandatory exam count of a stream, as the GROUP BY query returns it */
+    FakeCatalog exams(int streamId, int count) {
+        tables.get(EXAMS).add(new Object[] { streamId, count });
+        return this;
+    }
+
+    FakeCatalog job(int id, String name, String type) {
+        tables.get(JOBS).add(new Object[] { id, name, type, name + " work", "1 LPA" });
+        return this;
+    }
+
+    /** An ACADEMIC progression */
+    FakeCatalog next(int fromStreamId, int toStreamId) {
+        tables.get(PROGRESSION).add(new Object[] { fromStreamId, toStreamId });
+        return this;
+    }
+
+    FakeCatalog primary(int streamId, int jobId) {
+        tables.get(PRIMARY).add(new Object[] { streamId, jobId });
+        return this;
+    }
+
+    FakeCatalog secondary(int streamId, int jobId) {
+        tables.get(SECONDARY).add(new Object[] { streamId, jobId });
+        return this;
+    }
+
+    StreamGraph build() {
+        return StreamGraph.build(this);
+    }
+
+    @Override
+    public Cursor query(String sql) {
+        for (Map.Entry<String, List<Object[]>> table : tables.entrySet()) {
+            if (sql.contains(table.getKey())) {
+                return cursor(new ArrayList<>(table.getValue()));
+            }
+        }
+        throw new AssertionError("Unexpected query: " + sql);
+    }
+
+    private static Cursor cursor(List<Object[]> rows) {
+        int[] position = { -1 };
+        return (Cursor) Proxy.newProxyInstance(Cursor.class.getClassLoader(), new Class<?>[] { Cursor.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getCount":
+                            return rows.size();
+                        case "moveToNext":
+                            return ++position[0] < rows.size();
+                        case "getInt":
+                            return ((Number) rows.get(position[0])[(Integer) args[0]]).intValue();
+                        case "getString":
+                            Object value = rows.get(position[0])[(Integer) args[0]];
+                            return value == null ? null : value.toString();
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,164 @@
+package com.SIMATS.PathGenie.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * RoutePlanner rankings on StreamGraphTest's catalog, and against every
+ * loopless route of small random graphs.
+ */
+public class RoutePlannerTest {
+
+    /** Cost of entering a stream, as api/generate_roadmap.php weighs it */
+    private static int enterCost(int exams, int months) {
+        return RoutePlanner.STEP_COST + RoutePlanner.EXAM_COST * exams + RoutePlanner.YEAR_COST * months / 12;
+    }
+
+    @Test
+    public void findRoutes_cheapestFirst() {
+        List<RoutePlanner.Route> routes = RoutePlanner.findRoutes(StreamGraphTest.catalog().build(), 1, 12, 3);
+        assertEquals(3, routes.size());
+
+        // Commerce is only SECONDARY for Manager, but still the cheapest
+        RoutePlanner.Route route = routes.get(0);
+        assertArrayEquals(new int[] { 1, 3 }, route.streamIds);
+        assertArrayEquals(new Object[] { "10th Pass", "Commerce" }, route.streamNames);
+        assertEquals(enterCost(0, 24) + RoutePlanner.SECONDARY_COST, route.cost);
+        assertEquals(31, route.cost);
+        assertFalse(route.primary);
+        assertEquals(0, route.mandatoryExams);
+        assertEquals(24, route.durationMonths);
+
+        route = routes.get(1);
+        assertArrayEquals(new int[] { 1, 3, 5, 6 }, route.streamIds);
+        assertEquals(enterCost(0, 24) + enterCost(0, 36) + enterCost(1, 24), route.cost);
+        assertEquals(55, route.cost);
+        assertTrue(route.primary);
+        assertEquals(1, route.mandatoryExams);
+        assertEquals(84, route.durationMonths);
+
+        route = routes.get(2);
+        assertArrayEquals(new int[] { 1, 2, 4, 6 }, route.streamIds);
+        assertEquals(66, route.cost);
+        assertTrue(route.primary);
+        assertEquals(3, route.mandatoryExams);
+        assertEquals(96, route.durationMonths);
+    }
+
+    @Test
+    public void findRoutes_neverRevisitsAStream() {
+        // 6 -> 3 closes a cycle; the only other routes would go round it
+        List<RoutePlanner.Route> routes = RoutePlanner.findRoutes(StreamGraphTest.catalog().build(), 1, 12, 10);
+        assertEquals(4, routes.size());
+        assertArrayEquals(new int[] { 1, 2, 4, 6, 3 }, routes.get(3).streamIds);
+        assertFalse(routes.get(3).primary);
+        for (RoutePlanner.Route route : routes) {
+            for (int i = 0; i < route.streamIds.length; i++) {
+                for (int j = i + 1; j < route.streamIds.length; j++) {
+                    assertNotEquals(route.streamIds[i], route.streamIds[j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void findRoutes_startOffersTheJob() {
+        List<RoutePlanner.Route> routes = RoutePlanner.findRoutes(StreamGraphTest.catalog().build(), 4, 10, 3);
+        assertEquals(1, routes.size());
+        RoutePlanner.Route route = routes.get(0);
+        assertArrayEquals(new int[] { 4 }, route.streamIds);
+        assertEquals(0, route.cost);
+        // Where the student already is costs nothing
+        assertEquals(0, route.mandatoryExams);
+        assertEquals(0, route.durationMonths);
+        assertTrue(route.primary);
+    }
+
+    @Test
+    public void findRoutes_emptyWhenNothingToRank() {
+        StreamGraph graph = StreamGraphTest.catalog().build();
+        assertTrue(RoutePlanner.findRoutes(graph, 1, 14, 3).isEmpty());
+        assertTrue(RoutePlanner.findRoutes(graph, 99, 10, 3).isEmpty());
+        assertTrue(RoutePlanner.findRoutes(graph, 1, 99, 3).isEmpty());
+        assertTrue(RoutePlanner.findRoutes(graph, 1, 10, 0).isEmpty());
+    }
+
+    @Test
+    public void findRoutes_matchesEveryLooplessRoute() {
+        Random random = new Random(11);
+        for (int round = 0; round < 300; round++) {
+            int n = 2 + random.nextInt(7);
+            int[] exams = new int[n + 1];
+            int[] years = new int[n + 1];
+            int[] endCost = new int[n + 1];
+            boolean[][] next = new boolean[n + 1][n + 1];
+
+            FakeCatalog catalog = new FakeCatalog().job(50, "Target", "PRIVATE");
+            for (int s = 1; s <= n; s++) {
+                exams[s] = random.nextInt(3);
+                years[s] = 1 + random.nextInt(4);
+                catalog.stream(s, "S" + s, years[s] + " Years").exams(s, exams[s]);
+                int eligibility = random.nextInt(4);
+                endCost[s] = eligibility == 0 ? 0 : eligibility == 1 ? RoutePlanner.SECONDARY_COST : -1;
+                if (eligibility == 0) {
+                    catalog.primary(s, 50);
+                } else if (eligibility == 1) {
+                    catalog.secondary(s, 50);
+                }
+            }
+            for (int a = 1; a <= n; a++) {
+                for (int b = 1; b <= n; b++) {
+                    if (a != b && random.nextInt(3) == 0) {
+                        next[a][b] = true;
+                        catalog.next(a, b);
+                    }
+                }
+            }
+
+            List<Integer> all = new ArrayList<>();
+            boolean[] onPath = new boolean[n + 1];
+            onPath[1] = true;
+            collectCosts(1, 0, n, exams, years, endCost, next, onPath, all);
+            Collections.sort(all);
+
+            int k = 1 + random.nextInt(5);
+            List<RoutePlanner.Route> routes = RoutePlanner.findRoutes(catalog.build(), 1, 50, k);
+            assertEquals("round " + round, Math.min(k, all.size()), routes.size());
+            for (int i = 0; i < routes.size(); i++) {
+                RoutePlanner.Route route = routes.get(i);
+                assertEquals("round " + round + " route " + i, (int) all.get(i), route.cost);
+                assertEquals(route.cost, costOf(route.streamIds, exams, years, endCost));
+            }
+        }
+    }
+
+    /** Cost of every loopless route from stream s onward, added to cost */
+    private static void collectCosts(int s, int cost, int n, int[] exams, int[] years, int[] endCost,
+            boolean[][] next, boolean[] onPath, List<Integer> costs) {
+        if (endCost[s] >= 0) {
+            costs.add(cost + endCost[s]);
+        }
+        for (int t = 1; t <= n; t++) {
+            if (next[s][t] && !onPath[t]) {
+                onPath[t] = true;
+                collectCosts(t, cost + enterCost(exams[t], years[t] * 12), n, exams, years, endCost,
+                        next, onPath, costs);
+                onPath[t] = false;
+            }
+        }
+    }
+
+    private static int costOf(int[] streamIds, int[] exams, int[] years, int[] endCost) {
+        int cost = endCost[streamIds[streamIds.length - 1]];
+        for (int i = 1; i < streamIds.length; i++) {
+            cost += enterCost(exams[streamIds[i]], years[streamIds[i]] * 12);
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,211 @@
+package com.SIMATS.PathGenie.data;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * StreamGraph searches against a small hand-checked catalog.
+ */
+public class StreamGraphTest {
+
+    /**
+     * 1 -> 2 -> 4 -> 6 -> 3 (a cycle back through Commerce)
+     * 1 -> 3 -> 5 -> 6
+     * 7 on its own
+     */
+    static FakeCatalog catalog() {
+        return new FakeCatalog()
+                .stream(1, "10th Pass", "2 Years")
+                .stream(2, "Science (PCM)", "2 Years")
+                .stream(3, "Commerce", "2 Years")
+                .stream(4, "Engineering (B.Tech)", "4 Years")
+                .stream(5, "B.Com", "3 Years")
+                .stream(6, "MBA", "2 Years")
+                .stream(7, "Fine Arts", null)
+                .exams(4, 2)
+                .exams(6, 1)
+                .job(10, "Engineer", "PRIVATE")
+                .job(11, "Accountant", "PRIVATE")
+                .job(12, "Manager", "PRIVATE")
+                .job(13, "Officer", "GOVERNMENT")
+                .job(14, "Curator", "GOVERNMENT")
+                .next(1, 2)
+                .next(1, 3)
+                .next(2, 4)
+                .next(3, 5)
+                .next(4, 6)
+                .next(5, 6)
+                .next(6, 3)
+                .primary(4, 10)
+                .primary(5, 11)
+                .primary(6, 12)
+                .primary(2, 13)
+                .primary(7, 14)
+                .secondary(3, 12);
+    }
+
+    @Test
+    public void getReachableStreams_breadthFirstFromTheStream() {
+        StreamGraph graph = catalog().build();
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6 }, graph.getReachableStreams(1));
+        assertArrayEquals(new int[] { 4, 6, 3, 5 }, graph.getReachableStreams(4));
+        assertArrayEquals(new int[] { 7 }, graph.getReachableStreams(7));
+        assertArrayEquals(new int[0], graph.getReachableStreams(99));
+    }
+
+    @Test
+    public void findShortestPath_fewestStreams() {
+        StreamGraph graph = catalog().build();
+        assertArrayEquals(new int[] { 1, 2, 4, 6 }, graph.findShortestPath(1, 12));
+        assertArrayEquals(new int[] { 1, 3, 5 }, graph.findShortestPath(1, 11));
+        assertArrayEquals(new int[] { 1, 2 }, graph.findShortestPath(1, 13));
+        // Around the cycle
+        assertArrayEquals(new int[] { 6, 3, 5 }, graph.findShortestPath(6, 11));
+    }
+
+    @Test
+    public void findShortestPath_startOffersTheJob() {
+        assertArrayEquals(new int[] { 4 }, catalog().build().findShortestPath(4, 10));
+    }
+
+    @Test
+    public void findShortestPath_unreachableOrUnknown() {
+        StreamGraph graph = catalog().build();
+        assertNull(graph.findShortestPath(1, 14));
+        assertNull(graph.findShortestPath(7, 10));
+        assertNull(graph.findShortestPath(99, 10));
+        assertNull(graph.findShortestPath(1, 99));
+    }
+
+    @Test
+    public void findShortestPath_ignoresSecondaryEligibility() {
+        // Commerce is only SECONDARY for Manager, so the path goes on to MBA
+        assertArrayEquals(new int[] { 3, 5, 6 }, catalog().build().findShortestPath(3, 12));
+    }
+
+    @Test
+    public void edgesToUnknownRowsAreSkipped() {
+        StreamGraph graph = catalog()
+                .next(1, 99)
+                .next(98, 1)
+                .primary(1, 97)
+                .build();
+        assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6 }, graph.getReachableStreams(1));
+        assertArrayEquals(new int[0], graph.getPrimaryJobs(1));
+    }
+
+    @Test
+    public void lookups() {
+        StreamGraph graph = catalog().build();
+        assertTrue(graph.hasStream(7));
+        assertFalse(graph.hasStream(8));
+        assertEquals("Science (PCM)", graph.getStreamName(2));
+        assertNull(graph.getStreamName(8));
+        assertEquals("Manager", graph.getJobName(12));
+        assertEquals("GOVERNMENT", graph.getJobType(13));
+        assertEquals("Engineer work", graph.getJobDescription(10));
+        assertEquals("1 LPA", graph.getJobSalary(10));
+        assertNull(graph.getJobName(15));
+        assertArrayEquals(new int[] { 12 }, graph.getPrimaryJobs(6));
+    }
+
+    @Test
+    public void routeWeights() {
+        StreamGraph graph = catalog().build();
+        assertEquals(48, graph.durationMonths[graph.streamIndexOf(4)]);
+        assertEquals(36, graph.durationMonths[graph.streamIndexOf(5)]);
+        assertEquals(0, graph.durationMonths[graph.streamIndexOf(7)]);
+        assertEquals(2, graph.mandatoryExams[graph.streamIndexOf(4)]);
+        assertEquals(0, graph.mandatoryExams[graph.streamIndexOf(5)]);
+
+        StreamGraph months = new FakeCatalog()
+                .stream(1, "Diploma", "6–12 Months")
+                .stream(2, "LLB", "3–5 Years")
+                .stream(3, "Course", "Varies")
+                .build();
+        assertEquals(6, months.durationMonths[0]);
+        assertEquals(36, months.durationMonths[1]);
+        assertEquals(0, months.durationMonths[2]);
+    }
+
+    @Test
+    public void canReach_followsTheClosure() {
+        StreamGraph graph = catalog().build();
+        assertTrue(graph.canReach(1, 6));
+        assertTrue(graph.canReach(6, 3));
+        assertTrue(graph.canReach(7, 7));
+        assertFalse(graph.canReach(6, 1));
+        assertFalse(graph.canReach(1, 7));
+        assertFalse(graph.canReach(1, 99));
+        assertFalse(graph.canReach(99, 1));
+    }
+
+    @Test
+    public void canReachJob_onlyThroughPrimaryEligibility() {
+        StreamGraph graph = catalog().build();
+        assertTrue(graph.canReachJob(1, 12));
+        assertTrue(graph.canReachJob(6, 11));
+        assertTrue(graph.canReachJob(7, 14));
+        assertFalse(graph.canReachJob(1, 14));
+        assertFalse(graph.canReachJob(3, 10));
+        assertFalse(graph.canReachJob(99, 10));
+        assertFalse(graph.canReachJob(1, 99));
+    }
+
+    @Test
+    public void getReachableJobs_filteredByType() {
+        StreamGraph graph = catalog().build();
+        assertArrayEquals(new int[] { 10, 11, 12, 13 }, graph.getReachableJobs(1, null));
+        assertArrayEquals(new int[] { 10, 11, 12, 13 }, graph.getReachableJobs(1, "ALL"));
+        assertArrayEquals(new int[] { 13 }, graph.getReachableJobs(1, "GOVERNMENT"));
+        assertArrayEquals(new int[] { 10, 11, 12 }, graph.getReachableJobs(1, "private"));
+        assertArrayEquals(new int[] { 11, 12 }, graph.getReachableJobs(3, null));
+        assertArrayEquals(new int[0], graph.getReachableJobs(1, "NGO"));
+        assertArrayEquals(new int[0], graph.getReachableJobs(99, null));
+    }
+
+    @Test
+    public void closure_spansSeveralWords() {
+        // A chain of 150 streams, each offering its own job, so rows take
+        // three words and bits land on both sides of every word boundary
+        int n = 150;
+        FakeCatalog catalog = new FakeCatalog();
+        for (int i = 1; i <= n; i++) {
+            catalog.stream(i, "Stream " + i, "1 Year")
+                    .job(1000 + i, "Job " + i, i % 2 == 0 ? "PRIVATE" : "GOVERNMENT")
+                    .primary(i, 1000 + i);
+            if (i > 1) {
+                catalog.next(i - 1, i);
+            }
+        }
+        StreamGraph graph = catalog.build();
+
+        for (int from : new int[] { 1, 63, 64, 65, 128, 150 }) {
+            for (int to = 1; to <= n; to++) {
+                assertEquals(from + "->" + to, to >= from, graph.canReach(from, to));
+                assertEquals(from + "->job " + to, to >= from, graph.canReachJob(from, 1000 + to));
+            }
+            int[] jobs = graph.getReachableJobs(from, null);
+            assertEquals(n - from + 1, jobs.length);
+            for (int i = 0; i < jobs.length; i++) {
+                assertEquals(1000 + from + i, jobs[i]);
+            }
+            for (int job : graph.getReachableJobs(from, "PRIVATE")) {
+                assertEquals(0, job % 2);
+            }
+        }
+        assertEquals(75, graph.getReachableJobs(1, "GOVERNMENT").length);
+        assertEquals(n, graph.findShortestPath(1, 1000 + n).length);
+    }
+
+    @Test
+    public void emptyCatalog() {
+        StreamGraph graph = new FakeCatalog().build();
+        assertFalse(graph.hasStream(1));
+        assertArrayEquals(new int[0], graph.getReachableStreams(1));
+        assertNull(graph.findShortestPath(1, 1));
+        assertFalse(graph.canReach(1, 1));
+        assertArrayEquals(new int[0], graph.getReachableJobs(1, null));
+    }
+}
@@ -0,0 +1,103 @@
+package com.SIMATS.PathGenie.network;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Histogram percentiles against the exact values they estimate.
+ */
+public class HistogramTest {
+
+    /** Nearest-rank percentile of sorted values */
+    private static long exactPercentile(long[] sorted, double percentile) {
+        int rank = (int) Math.max(1, Math.ceil(percentile / 100.0 * sorted.length));
+        return sorted[rank - 1];
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        Histogram histogram = new Histogram(60_000);
+        for (long v = 0; v < 32; v++) {
+            histogram.record(v);
+        }
+        assertEquals(32, histogram.getTotalCount());
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(15, histogram.getPercentile(50));
+        assertEquals(31, histogram.getPercentile(100));
+        assertEquals(31, histogram.getMax());
+        assertEquals(15, histogram.getMean());
+    }
+
+    @Test
+    public void percentile_isTheBucketsUpperEndWithinSixPercent() {
+        Histogram histogram = new Histogram(60_000);
+        Random random = new Random(5);
+        long[] values = new long[5000];
+        for (int i = 0; i < values.length; i++) {
+            // Mostly fast, with a long tail, like request latencies
+            values[i] = random.nextInt(10) == 0 ? random.nextInt(60_000) : random.nextInt(800);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[] { 1, 10, 50, 90, 95, 99, 99.9, 100 }) {
+            long exact = exactPercentile(values, p);
+            long reported = histogram.getPercentile(p);
+            assertTrue("p" + p + ": " + reported + " < " + exact, reported >= exact);
+            assertTrue("p" + p + ": " + reported + " vs " + exact, reported - exact <= exact / 16);
+        }
+        assertEquals(values[values.length - 1], histogram.getPercentile(100));
+    }
+
+    @Test
+    public void bucketEdges() {
+        // 32..33 share a bucket, 34 starts the next one
+        Histogram histogram = new Histogram(60_000);
+        histogram.record(32);
+        histogram.record(34);
+        assertEquals(33, histogram.getPercentile(50));
+        assertEquals(34, histogram.getPercentile(100));
+
+        histogram.reset();
+        histogram.record(1023);
+        histogram.record(1024);
+        histogram.record(5000);
+        assertEquals(1023, histogram.getPercentile(33));
+        assertEquals(1087, histogram.getPercentile(66));
+        assertEquals(5000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void record_clampsToTheTrackedRange() {
+        Histogram histogram = new Histogram(1000);
+        histogram.record(-5);
+        histogram.record(1_000_000);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1000, histogram.getPercentile(100));
+        assertEquals(500, histogram.getMean());
+    }
+
+    @Test
+    public void emptyAndReset() {
+        Histogram histogram = new Histogram(60_000);
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMean());
+
+        histogram.record(700);
+        histogram.record(300);
+        assertEquals(500, histogram.getMean());
+        assertEquals(700, histogram.getMax());
+
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
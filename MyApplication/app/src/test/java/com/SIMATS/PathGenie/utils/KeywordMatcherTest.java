@@ -0,0 +1,147 @@
+package com.SIMATS.PathGenie.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * KeywordMatcher must find exactly the keywords that
+ * text.toLowerCase().contains(keyword) finds.
+ */
+public class KeywordMatcherTest {
+
+    /** What find() must return: the per-keyword contains() chain it replaces */
+    private static BitSet expected(String[] keywords, String... texts) {
+        StringBuilder joined = new StringBuilder();
+        for (int t = 0; t < texts.length; t++) {
+            if (t > 0) {
+                joined.append(' ');
+            }
+            if (texts[t] != null) {
+                joined.append(texts[t]);
+            }
+        }
+        String text = joined.toString().toLowerCase();
+
+        List<String> distinct = new ArrayList<>();
+        for (String keyword : keywords) {
+            String lower = keyword.toLowerCase();
+            if (!lower.isEmpty() && !distinct.contains(lower)) {
+                distinct.add(lower);
+            }
+        }
+        BitSet found = new BitSet();
+        for (int id = 0; id < distinct.size(); id++) {
+            if (text.contains(distinct.get(id))) {
+                found.set(id);
+            }
+        }
+        return found;
+    }
+
+    private static void assertSameAsContains(String[] keywords, String... texts) {
+        assertEquals(String.join("|", texts), expected(keywords, texts),
+                new KeywordMatcher(keywords).find(texts));
+    }
+
+    @Test
+    public void find_overlappingAndSuffixKeywords() {
+        String[] keywords = { "it", "with", "pcm", "science (pcm)", "science", "pc" };
+        assertSameAsContains(keywords, "with");
+        assertSameAsContains(keywords, "wit");
+        assertSameAsContains(keywords, "B.Sc IT");
+        assertSameAsContains(keywords, "Science (PCM)");
+        assertSameAsContains(keywords, "Science (PCB)");
+        assertSameAsContains(keywords, "science (pc");
+        assertSameAsContains(keywords, "Science with PCM");
+        assertSameAsContains(keywords, "sciencescience (pcm)");
+        assertSameAsContains(keywords, "");
+    }
+
+    @Test
+    public void find_suffixKeywordInsideLongerKeyword() {
+        KeywordMatcher matcher = new KeywordMatcher("it", "with");
+        BitSet found = matcher.find("with");
+        assertTrue(found.get(matcher.indexOf("it")));
+        assertTrue(found.get(matcher.indexOf("with")));
+
+        found = matcher.find("wit");
+        assertTrue(found.get(matcher.indexOf("it")));
+        assertFalse(found.get(matcher.indexOf("with")));
+
+        found = matcher.find("wi th");
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    public void find_ignoresCase() {
+        KeywordMatcher matcher = new KeywordMatcher("Law", "LLB");
+        BitSet found = matcher.find("BA LLB (hons) in LAW");
+        assertTrue(found.get(matcher.indexOf("law")));
+        assertTrue(found.get(matcher.indexOf("llb")));
+    }
+
+    @Test
+    public void find_readsTextsAsJoinedWithSpaces() {
+        String[] keywords = { "it ", "civil law", "law", " " };
+        assertSameAsContains(keywords, "B.Sc IT", "Diploma");
+        assertSameAsContains(keywords, "Civil", "Law");
+        assertSameAsContains(keywords, "civil", null, "law");
+        assertSameAsContains(keywords, null, null);
+        assertSameAsContains(keywords, "IT");
+    }
+
+    @Test
+    public void find_charactersNoKeywordUses() {
+        String[] keywords = { "ai", "data science" };
+        assertSameAsContains(keywords, "Data Science → AI");
+        assertSameAsContains(keywords, "Dätä science, aï");
+        assertSameAsContains(keywords, "data-science");
+    }
+
+    @Test
+    public void duplicateKeywordsShareANumber() {
+        KeywordMatcher matcher = new KeywordMatcher("law", "legal", "LAW", "", "llb");
+        assertEquals(3, matcher.size());
+        assertEquals(0, matcher.indexOf("Law"));
+        assertEquals(1, matcher.indexOf("legal"));
+        assertEquals(2, matcher.indexOf("llb"));
+        assertEquals(-1, matcher.indexOf("bar"));
+    }
+
+    @Test
+    public void find_noKeywords() {
+        assertTrue(new KeywordMatcher().find("anything").isEmpty());
+    }
+
+    @Test
+    public void find_matchesContainsOnRandomInput() {
+        // A small alphabet makes overlaps, shared prefixes and suffixes common
+        Random random = new Random(42);
+        String alphabet = "abcAB i";
+        for (int round = 0; round < 2000; round++) {
+            String[] keywords = new String[1 + random.nextInt(8)];
+            for (int k = 0; k < keywords.length; k++) {
+                keywords[k] = randomString(random, alphabet, 1 + random.nextInt(4));
+            }
+            String[] texts = new String[1 + random.nextInt(3)];
+            for (int t = 0; t < texts.length; t++) {
+                texts[t] = random.nextInt(10) == 0 ? null : randomString(random, alphabet, random.nextInt(20));
+            }
+            assertSameAsContains(keywords, texts);
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder s = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            s.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return s.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package com.SIMATS.PathGenie.utils;
+
+import com.SIMATS.PathGenie.R;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * StreamIconResolver must pick the same icon as the getStreamIcon() chain it
+ * replaced in StreamsListPage, kept below as legacyIcon().
+ */
+public class StreamIconResolverTest {
+
+    /** Stream names from the catalog */
+    private static final String[] CATALOG_NAMES = {
+            "Science (PCM)", "Science (PCB)", "Science (PCMB)", "Commerce", "Arts / Humanities",
+            "Vocational / ITI", "Engineering (B.Tech)", "Medical (MBBS / BDS)",
+            "Pure Sciences (B.Sc)", "Architecture (B.Arch)", "Pharmacy (B.Pharm)", "B.Com",
+            "BBA(Commerce)", "Chartered Accountant(CA)", "BA", "Law (LLB)", "Mass Communication",
+            "Advanced Diploma", "B.Tech (Lateral Entry)", "MBA", "M.Tech", "M.Sc", "PhD",
+            "Professional Certification", "BMS ", "Company Secretary (CS)", "CMA",
+            "BBA (Arts Stream)", "BFA", "BHM", "BCA", "B.Sc (CS / IT)", "MA (Master of Arts)",
+            "M.Com", "LLM (Master of Laws)", "Post-Doctoral Fellowship (Post-Doc)",
+            "NET / SET / JRF Qualification", "Professional Doctorate (Doctor of Laws)"
+    };
+
+    /** Names that exercise the ordering, exclusions and partial keywords */
+    private static final String[] EDGE_NAMES = {
+            "E-Commerce Management", "Fine Arts", "Visual Arts and Design", "IT Management",
+            "Certificate in IT", "Information Technology", "Civil Services (UPSC)",
+            "Civil Engineering", "Mechanical Engineering", "Data Science and AI",
+            "Maintenance Technician", "Nursing", "Veterinary Science", "Hotel Management",
+            "Aviation / Pilot Training", "Bank PO / SSC", "B.Ed", "Graduate Diploma",
+            "Postgraduate Diploma", "Bachelor of Science", "Science with Mathematics",
+            "Science with Biology", "Life Sciences", "Journalism & Media", "Political Science",
+            "Fashion Design", "Animation & Multimedia", "Interior Design", "Economics (Hons)",
+            "Marketing", "Psychology", "", "   "
+    };
+
+    /** Keywords of every rule, mixed into generated names */
+    private static final String[] FRAGMENTS = {
+            "pcm", "science", "math", "pcb", "bio", "biology", "life science", "physics", "chemistry",
+            "commerce", "e-commerce", "accounting", "finance", "business", "bba", "mba", "marketing",
+            "sales", "economics", "arts", "fine art", "literature", "english", "history", "political",
+            "psychology", "sociology", "humanities", "liberal", "journalism", "media", "visual art",
+            "computer", "cse", "software", "mechanical", "automobile", "electrical", "electronics",
+            "civil", "construction", "information tech", "it", "it ", "engineering", "b.tech", "btech",
+            "data science", "ai", "machine learning", "mbbs", "medicine", "doctor", "nursing",
+            "healthcare", "pharmacy", "pharma", "dental", "bds", "veterinary", "animal", "law", "llb",
+            "legal", "design", "graphic", "architecture", "interior", "fashion", "animation",
+            "multimedia", "aviation", "pilot", "aerospace", "hotel", "hospitality", "tourism",
+            "vocational", "skill", "iti", "diploma", "polytechnic", "civil service", "upsc", "ias",
+            "bank", "ssc", "research", "phd", "doctorate", "teaching", "education", "b.ed",
+            "undergraduate", "bachelor", "postgraduate", "master", "graduation", "graduate",
+            "(", ")", "/", "&", "-", "of", "in", "and", "hons", "with"
+    };
+
+    @Test
+    public void table_matchesLegacyChain() {
+        for (String name : CATALOG_NAMES) {
+            assertEquals(name, legacyIcon(name), StreamIconResolver.getStreamIcon(name));
+        }
+        for (String name : EDGE_NAMES) {
+            assertEquals(name, legacyIcon(name), StreamIconResolver.getStreamIcon(name));
+        }
+    }
+
+    @Test
+    public void generatedNames_matchLegacyChain() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder name = new StringBuilder();
+            int parts = 1 + random.nextInt(4);
+            for (int p = 0; p < parts; p++) {
+                if (p > 0 && random.nextBoolean()) {
+                    name.append(' ');
+                }
+                String fragment = FRAGMENTS[random.nextInt(FRAGMENTS.length)];
+                name.append(random.nextBoolean() ? fragment.toUpperCase() : fragment);
+            }
+            String generated = name.toString();
+            assertEquals(generated, legacyIcon(generated), StreamIconResolver.getStreamIcon(generated));
+        }
+    }
+
+    @Test
+    public void getStreamIcon_examples() {
+        assertEquals(R.drawable.ic_science, StreamIconResolver.getStreamIcon("Science (PCM)"));
+        assertEquals(R.drawable.ic_microscope, StreamIconResolver.getStreamIcon("Science (PCB)"));
+        assertEquals(R.drawable.ic_code, StreamIconResolver.getStreamIcon("IT Management"));
+        assertEquals(R.drawable.ic_design, StreamIconResolver.getStreamIcon("Fine Arts"));
+        assertEquals(R.drawable.ic_law, StreamIconResolver.getStreamIcon("Law (LLB)"));
+        assertEquals(R.drawable.ic_education, StreamIconResolver.getStreamIcon("BA"));
+        assertEquals(R.drawable.ic_education, StreamIconResolver.getStreamIcon(null));
+    }
+
+    /** StreamsListPage.getStreamIcon() before StreamIconResolver */
+    private static int legacyIcon(String streamName) {
+        if (streamName == null)
+            return R.drawable.ic_education;
+        String name = streamName.toLowerCase();
+
+        // === SCIENCE STREAMS ===
+        if (name.contains("pcm") || (name.contains("science") && name.contains("math"))) {
+            return R.drawable.ic_science;
+        } else if (name.contains("pcb") || (name.contains("science") && name.contains("bio"))) {
+            return R.drawable.ic_microscope;
+        } else if (name.contains("biology") || name.contains("life science")) {
+            return R.drawable.ic_biology;
+        } else if (name.contains("physics")) {
+            return R.drawable.ic_bulb;
+        } else if (name.contains("chemistry")) {
+            return R.drawable.ic_science;
+        }
+
+        // === COMMERCE & BUSINESS ===
+        else if (name.contains("commerce") && !name.contains("e-commerce")) {
+            return R.drawable.ic_commerce;
+        } else if (name.contains("accounting") || name.contains("finance")) {
+            return R.drawable.ic_rupee;
+        } else if (name.contains("business") || name.contains("bba") || name.contains("mba")) {
+            return R.drawable.ic_briefcase;
+        } else if (name.contains("marketing") || name.contains("sales")) {
+            return R.drawable.ic_trend_up;
+        } else if (name.contains("economics")) {
+            return R.drawable.ic_balance;
+        }
+
+        // === ARTS & HUMANITIES ===
+        else if (name.contains("arts") && !name.contains("fine art")) {
+            return R.drawable.ic_arts;
+        } else if (name.contains("literature") || name.contains("english")) {
+            return R.drawable.ic_book;
+        } else if (name.contains("history") || name.contains("political")) {
+            return R.drawable.ic_history;
+        } else if (name.contains("psychology") || name.contains("sociology")) {
+            return R.drawable.ic_user;
+        } else if (name.contains("humanities") || name.contains("liberal")) {
+            return R.drawable.ic_school;
+        } else if (name.contains("journalism") || name.contains("media")) {
+            return R.drawable.ic_mic;
+        } else if (name.contains("fine art") || name.contains("visual art")) {
+            return R.drawable.ic_design;
+        }
+
+        // === ENGINEERING & TECHNOLOGY ===
+        else if (name.contains("computer") || name.contains("cse") || name.contains("software")) {
+            return R.drawable.ic_computer;
+        } else if (name.contains("mechanical") || name.contains("automobile")) {
+            return R.drawable.ic_engineering;
+        } else if (name.contains("electrical") || name.contains("electronics")) {
+            return R.drawable.ic_bulb;
+        } else if (name.contains("civil") || name.contains("construction")) {
+            return R.drawable.ic_building;
+        } else if (name.contains("information tech") || name.contains("it ")) {
+            return R.drawable.ic_code;
+        } else if (name.contains("engineering") || name.contains("b.tech") || name.contains("btech")) {
+            return R.drawable.ic_engineering;
+        } else if (name.contains("data science") || name.contains("ai") || name.contains("machine learning")) {
+            return R.drawable.ic_ai_brain;
+        }
+
+        // === MEDICAL & HEALTH ===
+        else if (name.contains("mbbs") || name.contains("medicine") || name.contains("doctor")) {
+            return R.drawable.ic_medical;
+        } else if (name.contains("nursing") || name.contains("healthcare")) {
+            return R.drawable.ic_heart_filled;
+        } else if (name.contains("pharmacy") || name.contains("pharma")) {
+            return R.drawable.ic_science;
+        } else if (name.contains("dental") || name.contains("bds")) {
+            return R.drawable.ic_medical;
+        } else if (name.contains("veterinary") || name.contains("animal")) {
+            return R.drawable.ic_heart_outline;
+        }
+
+        // === LAW & LEGAL ===
+        else if (name.contains("law") || name.contains("llb") || name.contains("legal")) {
+            return R.drawable.ic_law;
+        }
+
+        // === DESIGN & CREATIVE ===
+        else if (name.contains("design") || name.contains("graphic")) {
+            return R.drawable.ic_design;
+        } else if (name.contains("architecture") || name.contains("interior")) {
+            return R.drawable.ic_architecture;
+        } else if (name.contains("fashion")) {
+            return R.drawable.ic_star;
+        } else if (name.contains("animation") || name.contains("multimedia")) {
+            return R.drawable.ic_camera;
+        }
+
+        // === AVIATION & TRAVEL ===
+        else if (name.contains("aviation") || name.contains("pilot") || name.contains("aerospace")) {
+            return R.drawable.ic_aviation;
+        } else if (name.contains("hotel") || name.contains("hospitality") || name.contains("tourism")) {
+            return R.drawable.ic_building;
+        }
+
+        // === VOCATIONAL & DIPLOMA ===
+        else if (name.contains("vocational") || name.contains("skill") || name.contains("iti")) {
+            return R.drawable.ic_vocational;
+        } else if (name.contains("diploma") || name.contains("polytechnic")) {
+            return R.drawable.ic_diploma;
+        }
+
+        // === GOVERNMENT & COMPETITIVE ===
+        else if (name.contains("civil service") || name.contains("upsc") || name.contains("ias")) {
+            return R.drawable.ic_govt;
+        } else if (name.contains("bank") || name.contains("ssc")) {
+            return R.drawable.ic_rupee;
+        }
+
+        // === RESEARCH & ACADEMIA ===
+        else if (name.contains("research") || name.contains("phd") || name.contains("doctorate")) {
+            return R.drawable.ic_research;
+        } else if (name.contains("teaching") || name.contains("education") || name.contains("b.ed")) {
+            return R.drawable.ic_school;
+        }
+
+        // === DEGREE LEVELS ===
+        else if (name.contains("undergraduate") || name.contains("bachelor")) {
+            return R.drawable.ic_undergraduate;
+        } else if (name.contains("postgraduate") || name.contains("master")) {
+            return R.drawable.ic_postgraduate;
+        } else if (name.contains("graduation") || name.contains("graduate")) {
+            return R.drawable.ic_graduation;
+        }
+
+        // === DEFAULT ===
+        else {
+            return R.drawable.ic_education;
+        }
+    }
+}
@@ -23,205 +23,286 @@ if (!$start_stream_id || !$target_job_id) {
 
 /*
 |--------------------------------------------------------------------------
-| Helper: Check PRIMARY job eligibility
+| Route weights (same as RoutePlanner in the app)
 |--------------------------------------------------------------------------
+| Entering a stream costs a step plus its mandatory exams and duration;
+| finishing at a stream with only SECONDARY eligibility costs extra.
+| Lower is better.
 */
-function hasPrimaryJob($conn, $stream_id, $job_id)
-{
-    $sql = "
-        SELECT 1 FROM stream_jobs
-        WHERE stream_id = ?
-          AND job_id = ?
-          AND eligibility_strength = 'PRIMARY'
-        LIMIT 1
-    ";
-    $stmt = $conn->prepare($sql);
-    $stmt->bind_param("ii", $stream_id, $job_id);
-    $stmt->execute();
-    $stmt->store_result();
-    return $stmt->num_rows > 0;
-}
+define("STEP_COST", 10);
+define("EXAM_COST", 4);
+define("YEAR_COST", 3);
+define("SECONDARY_COST", 15);
 
-/*
-|--------------------------------------------------------------------------
-| Helper: Get next streams
-|--------------------------------------------------------------------------
-*/
-function getNextStreams($conn, $stream_id)
+define("MAX_ROUTES", 3);        // best route + alternatives
+define("SEARCH_BUDGET", 200);   // shortest-path searches, bounds the work
+define("SINK", 0);              // virtual end node; stream ids start at 1
+
+function durationMonths($duration)
 {
-    $sql = "
-        SELECT next_stream_id
-        FROM stream_progression
-        WHERE current_stream_id = ?
-    ";
-    $stmt = $conn->prepare($sql);
-    $stmt->bind_param("i", $stream_id);
-    $stmt->execute();
-    $result = $stmt->get_result();
-
-    $next = [];
-    while ($row = $result->fetch_assoc()) {
-        $next[] = $row['next_stream_id'];
+    if (!preg_match('/(\d+)/', $duration ?? '', $m)) {
+        return 0;
     }
-    return $next;
+    return stripos($duration, 'month') !== false ? intval($m[1]) : intval($m[1]) * 12;
 }
 
 /*
 |--------------------------------------------------------------------------
-| DFS Traversal
+| Load the graph (one query per table)
 |--------------------------------------------------------------------------
 */
-$all_paths = [];
-
-function traverse($conn, $current_stream_id, $target_job_id, $current_path, &$all_paths)
-{
-    $current_path[] = $current_stream_id;
-
-    if (hasPrimaryJob($conn, $current_stream_id, $target_job_id)) {
-        $all_paths[] = $current_path;
-        return;
-    }
+$adjacency = [];
+$res = $conn->query("
+    SELECT current_stream_id, next_stream_id
+    FROM stream_progression
+    WHERE progression_type = 'ACADEMIC'
+    ORDER BY id
+");
+while ($row = $res->fetch_assoc()) {
+    $adjacency[intval($row['current_stream_id'])][] = intval($row['next_stream_id']);
+}
 
-    foreach (getNextStreams($conn, $current_stream_id) as $next_stream_id) {
-        if (!in_array($next_stream_id, $current_path)) {
-            traverse($conn, $next_stream_id, $target_job_id, $current_path, $all_paths);
-        }
-    }
+$exam_counts = [];
+$res = $conn->query("
+    SELECT stream_id, COUNT(*) AS exams
+    FROM stream_exams
+    WHERE exam_role = 'MANDATORY'
+    GROUP BY stream_id
+");
+while ($row = $res->fetch_assoc()) {
+    $exam_counts[intval($row['stream_id'])] = intval($row['exams']);
 }
 
-traverse($conn, $start_stream_id, $target_job_id, [], $all_paths);
+$node_cost = [];
+$res = $conn->query("SELECT stream_id, duration FROM streams");
+while ($row = $res->fetch_assoc()) {
+    $id = intval($row['stream_id']);
+    $node_cost[$id] = STEP_COST
+        + EXAM_COST * ($exam_counts[$id] ?? 0)
+        + intdiv(YEAR_COST * durationMonths($row['duration']), 12);
+}
 
-if (empty($all_paths)) {
-    error("No valid roadmap found");
+// Streams that qualify for the job -> cost of finishing there
+$end_cost = [];
+$stmt = $conn->prepare("SELECT stream_id, eligibility_strength FROM stream_jobs WHERE job_id = ?");
+$stmt->bind_param("i", $target_job_id);
+$stmt->execute();
+$res = $stmt->get_result();
+while ($row = $res->fetch_assoc()) {
+    $id = intval($row['stream_id']);
+    $cost = $row['eligibility_strength'] === 'PRIMARY' ? 0 : SECONDARY_COST;
+    $end_cost[$id] = min($end_cost[$id] ?? PHP_INT_MAX, $cost);
 }
 
 /*
 |--------------------------------------------------------------------------
-| SCORING FUNCTIONS
+| Shortest path (Dijkstra) from a stream to SINK
 |--------------------------------------------------------------------------
+| $blocked_nodes: stream id => true, never entered
+| $blocked_edges: "from>to" => true, never followed
+| Returns [path ending in SINK, cost] or null.
 */
-function scorePathLength($path)
+function shortestRoute($source, $adjacency, $node_cost, $end_cost, $blocked_nodes, $blocked_edges)
 {
-    $steps = count($path);
-    if ($steps <= 3) return 30;
-    if ($steps == 4) return 25;
-    if ($steps == 5) return 18;
-    return 10;
-}
+    $dist = [$source => 0];
+    $prev = [];
+    $done = [];
 
-function scoreJobStrength($conn, $stream_id, $job_id)
-{
-    $sql = "
-        SELECT eligibility_strength
-        FROM stream_jobs
-        WHERE stream_id = ? AND job_id = ?
-        LIMIT 1
-    ";
-    $stmt = $conn->prepare($sql);
-    $stmt->bind_param("ii", $stream_id, $job_id);
-    $stmt->execute();
-    $row = $stmt->get_result()->fetch_assoc();
-    return ($row && $row['eligibility_strength'] === 'PRIMARY') ? 25 : 15;
+    while (true) {
+        // Closest unfinished node; the graph is small, a linear scan is enough
+        $u = null;
+        foreach ($dist as $node => $d) {
+            if (!isset($done[$node]) && ($u === null || $d < $dist[$u])) {
+                $u = $node;
+            }
+        }
+        if ($u === null) {
+            return null;
+        }
+        if ($u === SINK) {
+            break;
+        }
+        $done[$u] = true;
+
+        $next = $adjacency[$u] ?? [];
+        if (isset($end_cost[$u])) {
+            $next[] = SINK;
+        }
+        foreach ($next as $v) {
+            if (isset($done[$v]) || isset($blocked_nodes[$v]) || isset($blocked_edges["$u>$v"])) {
+                continue;
+            }
+            if ($v !== SINK && !isset($node_cost[$v])) {
+                continue;
+            }
+            $d = $dist[$u] + ($v === SINK ? $end_cost[$u] : $node_cost[$v]);
+            if (!isset($dist[$v]) || $d < $dist[$v]) {
+                $dist[$v] = $d;
+                $prev[$v] = $u;
+            }
+        }
+    }
+
+    $path = [SINK];
+    for ($node = SINK; $node !== $source; $node = $prev[$node]) {
+        array_unshift($path, $prev[$node]);
+    }
+    return [$path, $dist[SINK]];
 }
 
-function scoreDetours($path)
+function routeCost($path, $node_cost, $end_cost)
 {
-    $unique = array_unique($path);
-    $detours = count($path) - count($unique);
-    if ($detours == 0) return 10;
-    if ($detours == 1) return 6;
-    return 2;
+    $cost = 0;
+    for ($i = 1; $i < count($path); $i++) {
+        $cost += $path[$i] === SINK ? $end_cost[$path[$i - 1]] : $node_cost[$path[$i]];
+    }
+    return $cost;
 }
 
 /*
 |--------------------------------------------------------------------------
-| Score All Paths
+| K best loopless routes (Yen)
 |--------------------------------------------------------------------------
+| Each new route branches off an accepted one at some stream ("spur"),
+| keeping its prefix and avoiding the edges accepted routes already take
+| from there. Stops after MAX_ROUTES routes or SEARCH_BUDGET searches.
 */
-$scored_paths = [];
-
-foreach ($all_paths as $path) {
-    $score  = 0;
-    $score += scorePathLength($path);
-    $score += scoreJobStrength($conn, end($path), $target_job_id);
-    $score += scoreDetours($path);
+$budget = SEARCH_BUDGET;
+$first = shortestRoute($start_stream_id, $adjacency, $node_cost, $end_cost, [], []);
+$budget--;
 
-    $scored_paths[] = [
-        "path" => $path,
-        "score" => $score
-    ];
+if (!$first) {
+    error("No valid roadmap found");
 }
 
-usort($scored_paths, fn($a, $b) => $b['score'] <=> $a['score']);
+$routes = [$first];
+$candidates = [];
+$seen = [implode(",", $first[0]) => true];
+
+while (count($routes) < MAX_ROUTES && $budget > 0) {
+    $last = $routes[count($routes) - 1][0];
+
+    for ($i = 0; $i < count($last) - 1 && $budget > 0; $i++) {
+        $root = array_slice($last, 0, $i + 1);
+        $spur = $last[$i];
+
+        $blocked_edges = [];
+        foreach ($routes as [$path, $cost]) {
+            if (count($path) > $i + 1 && array_slice($path, 0, $i + 1) === $root) {
+                $blocked_edges[$path[$i] . ">" . $path[$i + 1]] = true;
+            }
+        }
+        $blocked_nodes = array_fill_keys(array_slice($root, 0, $i), true);
 
-$best_path = $scored_paths[0]['path'];
+        $spur_route = shortestRoute($spur, $adjacency, $node_cost, $end_cost, $blocked_nodes, $blocked_edges);
+        $budget--;
+        if (!$spur_route) {
+            continue;
+        }
+
+        $path = array_merge(array_slice($root, 0, $i), $spur_route[0]);
+        $key = implode(",", $path);
+        if (!isset($seen[$key])) {
+            $seen[$key] = true;
+            $candidates[] = [$path, routeCost($path, $node_cost, $end_cost)];
+        }
+    }
+
+    if (empty($candidates)) {
+        break;
+    }
+    usort($candidates, fn($a, $b) => [$a[1], count($a[0])] <=> [$b[1], count($b[0])]);
+    $routes[] = array_shift($candidates);
+}
 
 /*
 |--------------------------------------------------------------------------
 | Attach Exams + Build Roadmap
 |--------------------------------------------------------------------------
 */
-$roadmap = [];
-$step = 1;
-
-foreach ($best_path as $stream_id) {
-
-    // Stream & level
-    $sql = "
-        SELECT s.stream_name, el.education_level_id, el.level_name
-        FROM streams s
-        JOIN education_levels el ON s.education_level_id = el.education_level_id
-        WHERE s.stream_id = ?
-    ";
-    $stmt = $conn->prepare($sql);
-    $stmt->bind_param("i", $stream_id);
-    $stmt->execute();
-    $stream = $stmt->get_result()->fetch_assoc();
-
-    // Mandatory exams only
-    $exam_sql = "
-        SELECT e.exam_name
-        FROM education_level_exams ele
-        JOIN stream_exams se ON ele.exam_id = se.exam_id
-        JOIN entrance_exams e ON e.exam_id = se.exam_id
-        WHERE ele.education_level_id = ?
-          AND se.stream_id = ?
-          AND se.exam_role = 'MANDATORY'
-    ";
-    $exam_stmt = $conn->prepare($exam_sql);
-    $exam_stmt->bind_param("ii", $stream['education_level_id'], $stream_id);
-    $exam_stmt->execute();
-    $exam_res = $exam_stmt->get_result();
-
-    $exams = [];
-    while ($row = $exam_res->fetch_assoc()) {
-        $exams[] = $row['exam_name'];
+function buildRoadmap($conn, $stream_path, $target_job_id)
+{
+    $roadmap = [];
+    $step = 1;
+
+    foreach ($stream_path as $stream_id) {
+
+        // Stream & level
+        $sql = "
+            SELECT s.stream_name, el.education_level_id, el.level_name
+            FROM streams s
+            JOIN education_levels el ON s.education_level_id = el.education_level_id
+            WHERE s.stream_id = ?
+        ";
+        $stmt = $conn->prepare($sql);
+        $stmt->bind_param("i", $stream_id);
+        $stmt->execute();
+        $stream = $stmt->get_result()->fetch_assoc();
+
+        // Mandatory exams only
+        $exam_sql = "
+            SELECT e.exam_name
+            FROM education_level_exams ele
+            JOIN stream_exams se ON ele.exam_id = se.exam_id
+            JOIN entrance_exams e ON e.exam_id = se.exam_id
+            WHERE ele.education_level_id = ?
+              AND se.stream_id = ?
+              AND se.exam_role = 'MANDATORY'
+        ";
+        $exam_stmt = $conn->prepare($exam_sql);
+        $exam_stmt->bind_param("ii", $stream['education_level_id'], $stream_id);
+        $exam_stmt->execute();
+        $exam_res = $exam_stmt->get_result();
+
+        $exams = [];
+        while ($row = $exam_res->fetch_assoc()) {
+            $exams[] = $row['exam_name'];
+        }
+
+        $roadmap[] = [
+            "step" => $step++,
+            "education_level" => $stream['level_name'],
+            "stream" => $stream['stream_name'],
+            "exams" => $exams
+        ];
     }
 
+    /*
+    |--------------------------------------------------------------------------
+    | Final Job Step
+    |--------------------------------------------------------------------------
+    */
+    $job_stmt = $conn->prepare("SELECT job_name FROM jobs WHERE job_id = ?");
+    $job_stmt->bind_param("i", $target_job_id);
+    $job_stmt->execute();
+    $job = $job_stmt->get_result()->fetch_assoc();
+
     $roadmap[] = [
-        "step" => $step++,
-        "education_level" => $stream['level_name'],
-        "stream" => $stream['stream_name'],
-        "exams" => $exams
+        "step" => $step,
+        "education_level" => "Career",
+        "job" => $job['job_name']
     ];
+
+    return $roadmap;
 }
 
 /*
 |--------------------------------------------------------------------------
-| Final Job Step
+| Response: best route first, then alternatives
 |--------------------------------------------------------------------------
 */
-$job_stmt = $conn->prepare("SELECT job_name FROM jobs WHERE job_id = ?");
-$job_stmt->bind_param("i", $target_job_id);
-$job_stmt->execute();
-$job = $job_stmt->get_result()->fetch_assoc();
-
-$roadmap[] = [
-    "step" => $step,
-    "education_level" => "Career",
-    "job" => $job['job_name']
-];
+$alternatives = [];
+foreach ($routes as [$path, $cost]) {
+    array_pop($path); // SINK
+    $alternatives[] = [
+        "path_ids" => $path,
+        "cost" => $cost,
+        "roadmap" => buildRoadmap($conn, $path, $target_job_id)
+    ];
+}
 
 success([
-    "roadmap" => $roadmap
+    "roadmap" => $alternatives[0]["roadmap"],
+    "path_ids" => $alternatives[0]["path_ids"],
+    "alternatives" => array_slice($alternatives, 1)
 ]);
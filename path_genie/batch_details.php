@@ -0,0 +1,100 @@
+<?php
+header("Content-Type: application/json");
+
+include("config/db.php");
+include("response.php");
+
+/*
+  Batched detail fetch for the recommendation result screens.
+  type = stream | exam | job
+  ids  = comma separated ids (max 50)
+
+  Returns the same columns as stream_details.php / exam_details.php /
+  job_details.php, as an object keyed by id. Unknown ids are omitted.
+*/
+$type = $_GET['type'] ?? '';
+$ids = array_values(array_unique(array_filter(
+    array_map('intval', explode(',', $_GET['ids'] ?? ''))
+)));
+
+if (!$ids) {
+    error("ids is required");
+}
+
+if (count($ids) > 50) {
+    error("At most 50 ids per request");
+}
+
+$idList = implode(',', $ids);
+
+switch ($type) {
+    case 'stream':
+        $idColumn = "stream_id";
+        $sql = "
+            SELECT 
+                stream_id,
+                stream_name,
+                description,
+                subjects,
+                who_should_choose,
+                career_scope,
+                duration,
+                difficulty_level
+            FROM streams
+            WHERE stream_id IN ($idList)
+        ";
+        break;
+
+    case 'exam':
+        $idColumn = "exam_id";
+        $sql = "
+            SELECT 
+                exam_id,
+                exam_name,
+                conducting_body,
+                exam_stage,
+                overview,
+                eligibility,
+                exam_pattern,
+                application_period,
+                outcome
+            FROM entrance_exams
+            WHERE exam_id IN ($idList)
+        ";
+        break;
+
+    case 'job':
+        $idColumn = "job_id";
+        $sql = "
+            SELECT 
+                job_id,
+                job_name,
+                job_type,
+                description,
+                required_education,
+                required_exams,
+                career_growth,
+                average_salary
+            FROM jobs
+            WHERE job_id IN ($idList)
+        ";
+        break;
+
+    default:
+        error("type must be stream, exam or job");
+}
+
+$res = mysqli_query($conn, $sql);
+
+if (!$res) {
+    error(mysqli_error($conn));
+}
+
+$details = [];
+
+while ($row = mysqli_fetch_assoc($res)) {
+    $details[$row[$idColumn]] = $row;
+}
+
+// Cast so an empty or 0-based result still encodes as a JSON object
+success_cacheable((object) $details);
@@ -0,0 +1,71 @@
+<?php
+header("Content-Type: application/json");
+
+include("config/db.php");
+include("response.php");
+include("catalog_tables.php");
+
+/*
+  Catalog mirror for the app's offline database (see CatalogRepository).
+
+  GET catalog.php?version=<version the client holds>
+
+  The version is a checksum of all catalog tables, so it changes whenever
+  any row does.
+  - client is current:  data = { version, revision, up_to_date: true }
+  - otherwise:          data = { version, revision, up_to_date: false, tables: { name: [rows] } }
+
+  revision is the change log position the rows are at; after this the client
+  follows catalog_changes.php?since=revision. It is read before the tables,
+  so a change made while they are read is sent again as a delta, never lost.
+*/
+
+$client_version = trim($_GET['version'] ?? '');
+
+$revision = catalog_revision($conn);
+
+/* ---------- CATALOG VERSION ---------- */
+$res = mysqli_query($conn, "CHECKSUM TABLE " . implode(", ", array_keys($CATALOG_TABLES)));
+
+if (!$res) {
+    error(mysqli_error($conn));
+}
+
+$checksums = [];
+while ($row = mysqli_fetch_assoc($res)) {
+    $checksums[] = $row['Table'] . ":" . $row['Checksum'];
+}
+sort($checksums);
+$version = md5(implode("|", $checksums));
+
+if ($client_version === $version) {
+    success([
+        "version" => $version,
+        "revision" => $revision,
+        "up_to_date" => true
+    ]);
+}
+
+/* ---------- FULL CATALOG ---------- */
+$tables = [];
+
+foreach ($CATALOG_TABLES as $table => $columns) {
+    $res = mysqli_query($conn, "SELECT $columns FROM $table");
+
+    if (!$res) {
+        error(mysqli_error($conn));
+    }
+
+    $rows = [];
+    while ($row = mysqli_fetch_assoc($res)) {
+        $rows[] = $row;
+    }
+    $tables[$table] = $rows;
+}
+
+success([
+    "version" => $version,
+    "revision" => $revision,
+    "up_to_date" => false,
+    "tables" => $tables
+]);
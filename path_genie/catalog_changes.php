@@ -0,0 +1,133 @@
+<?php
+header("Content-Type: application/json");
+
+include("config/db.php");
+include("response.php");
+include("catalog_tables.php");
+
+/*
+  Incremental catalog sync (see CatalogSyncEngine).
+
+  GET catalog_changes.php?since=<revision the client holds>&limit=<page size>
+
+  Returns the rows changed after `since`, oldest first, from the change log
+  filled by the triggers in create_catalog_changes.php:
+    data = {
+      revision: <revision of the last change in this page>,
+      has_more: <true if more changes follow; ask again with since=revision>,
+      changes: [ { table, id, op: "upsert", row: {...} } | { table, id, op: "delete" } ]
+    }
+  A row changed several times in one page is sent once, with its current
+  values; a row deleted since it was logged is sent as a delete.
+
+  If the log no longer reaches back to `since` (pruned, or the database was
+  rebuilt), data = { revision, reset: true } and the client downloads the
+  full catalog from catalog.php instead.
+*/
+
+$since = intval($_GET['since'] ?? 0);
+$limit = intval($_GET['limit'] ?? 500);
+$limit = max(1, min($limit, 2000));
+
+/* ---------- CAN WE CATCH UP? ---------- */
+$res = mysqli_query($conn,
+    "SELECT MIN(revision) AS oldest, MAX(revision) AS latest FROM catalog_changes");
+
+if (!$res) {
+    error(mysqli_error($conn));
+}
+
+$bounds = mysqli_fetch_assoc($res);
+$oldest = intval($bounds['oldest'] ?? 0);
+$latest = intval($bounds['latest'] ?? 0);
+
+if ($since < 0 || $since > $latest || ($oldest > 0 && $since < $oldest - 1)) {
+    success([
+        "revision" => $latest,
+        "reset" => true
+    ]);
+}
+
+/* ---------- CHANGED ROWS ---------- */
+// One extra row tells us whether another page follows
+$res = mysqli_query($conn,
+    "SELECT revision, table_name, row_id, op FROM catalog_changes
+     WHERE revision > $since ORDER BY revision LIMIT " . ($limit + 1));
+
+if (!$res) {
+    error(mysqli_error($conn));
+}
+
+$log = [];
+while ($row = mysqli_fetch_assoc($res)) {
+    $log[] = $row;
+}
+
+$has_more = count($log) > $limit;
+if ($has_more) {
+    array_pop($log);
+}
+
+$revision = empty($log) ? $since : intval($log[count($log) - 1]['revision']);
+
+// Keep only the last change per row, in revision order
+$last = [];
+foreach ($log as $entry) {
+    if (!isset($CATALOG_KEYS[$entry['table_name']])) {
+        continue;
+    }
+    $id = $entry['table_name'] . ":" . $entry['row_id'];
+    unset($last[$id]);
+    $last[$id] = $entry;
+}
+
+// Current values of upserted rows, one query per table
+$ids = [];
+foreach ($last as $entry) {
+    if ($entry['op'] === 'upsert') {
+        $ids[$entry['table_name']][] = intval($entry['row_id']);
+    }
+}
+
+$rows = [];
+foreach ($ids as $table => $tableIds) {
+    $key = $CATALOG_KEYS[$table];
+    $res = mysqli_query($conn,
+        "SELECT {$CATALOG_TABLES[$table]} FROM $table
+         WHERE $key IN (" . implode(",", $tableIds) . ")");
+
+    if (!$res) {
+        error(mysqli_error($conn));
+    }
+
+    while ($row = mysqli_fetch_assoc($res)) {
+        $rows[$table][$row[$key]] = $row;
+    }
+}
+
+$changes = [];
+foreach ($last as $entry) {
+    $table = $entry['table_name'];
+    $id = intval($entry['row_id']);
+
+    if ($entry['op'] === 'upsert' && isset($rows[$table][$id])) {
+        $changes[] = [
+            "table" => $table,
+            "id" => $id,
+            "op" => "upsert",
+            "row" => $rows[$table][$id]
+        ];
+    } else {
+        $changes[] = [
+            "table" => $table,
+            "id" => $id,
+            "op" => "delete"
+        ];
+    }
+}
+
+success([
+    "revision" => $revision,
+    "has_more" => $has_more,
+    "changes" => $changes
+]);
@@ -0,0 +1,50 @@
+<?php
+/*
+  Tables mirrored into the app's offline catalog (see CatalogDatabase).
+  Shared by catalog.php, catalog_changes.php and create_catalog_changes.php.
+
+  $CATALOG_TABLES: table => columns sent to the app
+  $CATALOG_KEYS:   table => primary key column
+*/
+
+$CATALOG_TABLES = [
+    "education_levels" => "education_level_id, level_name, description",
+    "streams" => "stream_id, education_level_id, stream_name, description, subjects,
+                  who_should_choose, career_scope, duration, difficulty_level",
+    "stream_progression" => "id, current_stream_id, next_stream_id, progression_type",
+    "stream_exams" => "id, stream_id, exam_id, exam_role",
+    "stream_jobs" => "id, stream_id, job_id, eligibility_strength",
+    "jobs" => "job_id, job_name, job_type, description, required_education,
+               required_exams, career_growth, average_salary",
+    "entrance_exams" => "exam_id, exam_name, conducting_body, exam_stage, overview,
+                         eligibility, exam_pattern, application_period, outcome",
+    "education_level_exams" => "id, education_level_id, exam_id",
+    "education_level_jobs" => "id, education_level_id, job_id"
+];
+
+$CATALOG_KEYS = [
+    "education_levels" => "education_level_id",
+    "streams" => "stream_id",
+    "stream_progression" => "id",
+    "stream_exams" => "id",
+    "stream_jobs" => "id",
+    "jobs" => "job_id",
+    "entrance_exams" => "exam_id",
+    "education_level_exams" => "id",
+    "education_level_jobs" => "id"
+];
+
+/*
+  Latest catalog revision (0 before the first logged change), or -1 if
+  create_catalog_changes.php has not been run; clients then keep doing full
+  downloads.
+*/
+function catalog_revision($conn) {
+    $res = mysqli_query($conn, "SELECT MAX(revision) AS revision FROM catalog_changes");
+    if (!$res) {
+        return -1;
+    }
+    $row = mysqli_fetch_assoc($res);
+    return intval($row['revision'] ?? 0);
+}
+?>
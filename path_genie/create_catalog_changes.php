@@ -0,0 +1,61 @@
+<?php
+require_once "config/db.php";
+require_once "catalog_tables.php";
+header("Content-Type: application/json");
+
+/*
+  Change log behind catalog_changes.php.
+  Every insert, update and delete on a catalog table appends a row here from
+  a trigger, so the revision (AUTO_INCREMENT) only ever grows. Safe to run
+  again: triggers are dropped and recreated.
+*/
+$sql_changes = "
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    revision BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_name VARCHAR(64) NOT NULL,
+    row_id INT NOT NULL,
+    op ENUM('upsert', 'delete') NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+)";
+
+$success = true;
+$errors = [];
+
+if (!$conn->query($sql_changes)) {
+    $success = false;
+    $errors[] = "catalog_changes: " . $conn->error;
+}
+
+foreach ($CATALOG_KEYS as $table => $key) {
+    $log = "INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('$table', ";
+
+    $triggers = [
+        "trg_{$table}_ai" => "AFTER INSERT ON $table FOR EACH ROW
+            $log NEW.$key, 'upsert')",
+        // A changed primary key is a delete of the old row plus an insert
+        "trg_{$table}_au" => "AFTER UPDATE ON $table FOR EACH ROW
+            BEGIN
+                IF OLD.$key <> NEW.$key THEN
+                    $log OLD.$key, 'delete');
+                END IF;
+                $log NEW.$key, 'upsert');
+            END",
+        "trg_{$table}_ad" => "AFTER DELETE ON $table FOR EACH ROW
+            $log OLD.$key, 'delete')"
+    ];
+
+    foreach ($triggers as $name => $body) {
+        if (!$conn->query("DROP TRIGGER IF EXISTS $name")
+                || !$conn->query("CREATE TRIGGER $name $body")) {
+            $success = false;
+            $errors[] = "$name: " . $conn->error;
+        }
+    }
+}
+
+echo json_encode([
+    "status" => $success,
+    "message" => $success ? "Catalog change log created successfully" : "Some errors occurred",
+    "errors" => $errors
+]);
+?>
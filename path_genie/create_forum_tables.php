@@ -28,6 +28,17 @@ CREATE TABLE IF NOT EXISTS notifications (
     INDEX idx_user_read (user_id, is_read)
 )";
 
+// Keyset pagination of the feed (get_questions.php): newest first, overall and per level
+$sql_feed_indexes = [
+    "CREATE INDEX IF NOT EXISTS idx_feed ON forum_questions (created_at, question_id)",
+    "CREATE INDEX IF NOT EXISTS idx_level_feed ON forum_questions (education_level_id, created_at, question_id)"
+];
+
+// Keyset pagination of a thread (get_answers.php): oldest answer first
+$sql_thread_indexes = [
+    "CREATE INDEX IF NOT EXISTS idx_thread ON forum_answers (question_id, created_at, answer_id)"
+];
+
 $success = true;
 $errors = [];
 
@@ -41,6 +52,20 @@ if (!$conn->query($sql_notifications)) {
     $errors[] = "notifications: " . $conn->error;
 }
 
+foreach ($sql_feed_indexes as $sql_index) {
+    if (!$conn->query($sql_index)) {
+        $success = false;
+        $errors[] = "forum_questions: " . $conn->error;
+    }
+}
+
+foreach ($sql_thread_indexes as $sql_index) {
+    if (!$conn->query($sql_index)) {
+        $success = false;
+        $errors[] = "forum_answers: " . $conn->error;
+    }
+}
+
 echo json_encode([
     "status" => $success,
     "message" => $success ? "Tables created successfully" : "Some errors occurred",
@@ -33,4 +33,4 @@ if (!$res || mysqli_num_rows($res) === 0) {
 
 $exam = mysqli_fetch_assoc($res);
 
-success($exam);
+success_cacheable($exam);
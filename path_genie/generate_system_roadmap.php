@@ -58,12 +58,49 @@ function findStreamPath($conn, $start_stream_id, $target_job_id) {
     return null; // No path found
 }
 
+// Check a path the app found on the device (see StreamGraph): it must start
+// at the start stream, follow ACADEMIC progressions, and end at a stream with
+// PRIMARY eligibility for the job. One query per step instead of a search.
+function isValidStreamPath($conn, $path, $start_stream_id, $target_job_id) {
+    if (empty($path) || $path[0] !== $start_stream_id
+            || count($path) > 20 || count(array_unique($path)) !== count($path)) {
+        return false;
+    }
+
+    for ($i = 1; $i < count($path); $i++) {
+        $from = $path[$i - 1];
+        $to = $path[$i];
+        $edgeRes = mysqli_query($conn, "
+            SELECT 1 FROM stream_progression
+            WHERE current_stream_id = $from
+              AND next_stream_id = $to
+              AND progression_type = 'ACADEMIC'
+            LIMIT 1
+        ");
+        if (!$edgeRes || mysqli_num_rows($edgeRes) === 0) {
+            return false;
+        }
+    }
+
+    $last = $path[count($path) - 1];
+    $jobRes = mysqli_query($conn, "
+        SELECT 1 FROM stream_jobs
+        WHERE stream_id = $last
+          AND job_id = $target_job_id
+          AND eligibility_strength = 'PRIMARY'
+        LIMIT 1
+    ");
+
+    return $jobRes && mysqli_num_rows($jobRes) > 0;
+}
+
 /* ---------- INPUT ---------- */
 $data = json_decode(file_get_contents("php://input"), true);
 
 $user_id = intval($data['user_id'] ?? 0);
 $start_stream_id = intval($data['start_stream_id'] ?? 0);
 $target_job_id = intval($data['target_job_id'] ?? 0);
+$path_hint = is_array($data['stream_path'] ?? null) ? array_map('intval', $data['stream_path']) : null;
 
 if (!$user_id || !$start_stream_id || !$target_job_id) {
     error("Missing inputs");
@@ -80,7 +117,12 @@ mysqli_query($conn, "
 $roadmap_id = mysqli_insert_id($conn);
 
 /* ---------- FIND PATH ---------- */
-$stream_path = findStreamPath($conn, $start_stream_id, $target_job_id);
+// Use the app's path when it checks out (its catalog may be out of date)
+if ($path_hint && isValidStreamPath($conn, $path_hint, $start_stream_id, $target_job_id)) {
+    $stream_path = $path_hint;
+} else {
+    $stream_path = findStreamPath($conn, $start_stream_id, $target_job_id);
+}
 
 if (!$stream_path) {
     // No path found, delete roadmap and return error
@@ -4,8 +4,22 @@ header("Content-Type: application/json");
 
 mysqli_report(MYSQLI_REPORT_ERROR | MYSQLI_REPORT_STRICT);
 
+/*
+  Answers to a question, oldest first, each with its replies.
+
+  GET get_answers.php?question_id=&user_id=
+      &limit=<page size>&cursor=<next_cursor of the previous page>
+
+  Without `limit` every answer is returned, as before. With it, pages are
+  cut by keyset on (created_at, answer_id), `total` is the number of
+  answers in the whole thread and `has_more` tells whether to ask again
+  with cursor = `next_cursor`.
+*/
+
 $question_id = (int)($_GET['question_id'] ?? 0);
 $user_id = (int)($_GET['user_id'] ?? 0);
+$limit = (int)($_GET['limit'] ?? 0);
+$cursor = $_GET['cursor'] ?? '';
 
 if (!$question_id) {
     echo json_encode([
@@ -22,13 +36,36 @@ SELECT
     a.created_at,
     u.user_id,
     u.full_name,
-    (SELECT COUNT(*) FROM forum_likes l WHERE l.answer_id = a.answer_id) AS likes_count
+    (SELECT COUNT(*) FROM forum_likes l WHERE l.answer_id = a.answer_id) AS likes_count,
+    EXISTS(SELECT 1 FROM forum_likes l WHERE l.answer_id = a.answer_id AND l.user_id = ?) AS user_liked
 FROM forum_answers a
 JOIN users u ON u.user_id = a.user_id
 WHERE a.question_id = ?
-ORDER BY a.created_at ASC
 ";
 
+$params = [$user_id, $question_id];
+$types = "ii";
+
+// Cursor: "<created_at>|<answer_id>" of the last answer already shown
+if ($limit > 0 && $cursor !== '') {
+    $parts = explode("|", $cursor, 2);
+    if (count($parts) == 2) {
+        $sql .= " AND (a.created_at > ? OR (a.created_at = ? AND a.answer_id > ?))";
+        $params[] = $parts[0];
+        $params[] = $parts[0];
+        $params[] = (int)$parts[1];
+        $types .= "ssi";
+    }
+}
+
+$sql .= " ORDER BY a.created_at ASC, a.answer_id ASC";
+
+if ($limit > 0) {
+    $limit = min($limit, 100);
+    // One extra row tells us whether another page follows
+    $sql .= " LIMIT " . ($limit + 1);
+}
+
 $stmt = $conn->prepare($sql);
 
 if (!$stmt) {
@@ -40,49 +77,63 @@ if (!$stmt) {
     exit;
 }
 
-$stmt->bind_param("i", $question_id);
+$stmt->bind_param($types, ...$params);
 $stmt->execute();
 $result = $stmt->get_result();
 
 $answers = [];
 while ($row = $result->fetch_assoc()) {
-    // Check if current user liked this answer
-    if ($user_id) {
-        $likeCheck = $conn->prepare("SELECT like_id FROM forum_likes WHERE user_id = ? AND answer_id = ?");
-        $likeCheck->bind_param("ii", $user_id, $row['answer_id']);
-        $likeCheck->execute();
-        $row['user_liked'] = $likeCheck->get_result()->num_rows > 0;
-    } else {
-        $row['user_liked'] = false;
+    $row['user_liked'] = $user_id && $row['user_liked'];
+    $row['replies'] = [];
+    $answers[] = $row;
+}
+
+$has_more = $limit > 0 && count($answers) > $limit;
+if ($has_more) {
+    array_pop($answers);
+}
+
+// Replies for every answer on this page in one query
+if ($answers) {
+    $index = [];
+    foreach ($answers as $i => $answer) {
+        $index[(int)$answer['answer_id']] = $i;
     }
-    
-    // Fetch replies for this answer
-    $answer_id = $row['answer_id'];
+    $ids = implode(",", array_keys($index));
     $replySql = "
         SELECT 
             r.reply_id,
+            r.answer_id,
             r.reply_text,
             r.created_at,
             u.full_name
         FROM forum_replies r
         JOIN users u ON u.user_id = r.user_id
-        WHERE r.answer_id = $answer_id
-        ORDER BY r.created_at ASC
+        WHERE r.answer_id IN ($ids)
+        ORDER BY r.created_at ASC, r.reply_id ASC
     ";
-    
+
     $replyResult = $conn->query($replySql);
-    $replies = [];
     if ($replyResult) {
         while ($replyRow = $replyResult->fetch_assoc()) {
-            $replies[] = $replyRow;
+            $answers[$index[(int)$replyRow['answer_id']]]['replies'][] = $replyRow;
         }
     }
-    
-    $row['replies'] = $replies;
-    $answers[] = $row;
 }
 
-echo json_encode([
+$response = [
     "status" => true,
     "answers" => $answers
-]);
+];
+
+if ($limit > 0) {
+    $count = $conn->prepare("SELECT COUNT(*) AS total FROM forum_answers WHERE question_id = ?");
+    $count->bind_param("i", $question_id);
+    $count->execute();
+    $last = end($answers);
+    $response["total"] = (int)$count->get_result()->fetch_assoc()['total'];
+    $response["has_more"] = $has_more;
+    $response["next_cursor"] = $has_more ? $last['created_at'] . "|" . $last['answer_id'] : null;
+}
+
+echo json_encode($response);
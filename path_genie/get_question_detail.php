@@ -6,6 +6,8 @@ header("Content-Type: application/json");
 mysqli_report(MYSQLI_REPORT_ERROR | MYSQLI_REPORT_STRICT);
 
 $question_id = (int)($_GET['question_id'] ?? 0);
+// Optional: include whether this user liked the question
+$user_id = (int)($_GET['user_id'] ?? 0);
 
 if (!$question_id) {
     echo json_encode([
@@ -22,7 +24,9 @@ SELECT
     q.description,
     q.created_at,
     u.user_id,
-    u.full_name
+    u.full_name,
+    (SELECT COUNT(*) FROM forum_likes l WHERE l.question_id = q.question_id) AS likes_count,
+    EXISTS(SELECT 1 FROM forum_likes l WHERE l.question_id = q.question_id AND l.user_id = ?) AS user_liked
 FROM forum_questions q
 JOIN users u ON u.user_id = q.user_id
 WHERE q.question_id = ?
@@ -39,7 +43,7 @@ if (!$stmt) {
     exit;
 }
 
-$stmt->bind_param("i", $question_id);
+$stmt->bind_param("ii", $user_id, $question_id);
 $stmt->execute();
 $result = $stmt->get_result();
 
@@ -51,7 +55,10 @@ if ($result->num_rows === 0) {
     exit;
 }
 
+$question = $result->fetch_assoc();
+$question['user_liked'] = $user_id && $question['user_liked'];
+
 echo json_encode([
     "status" => true,
-    "question" => $result->fetch_assoc()
+    "question" => $question
 ]);
@@ -2,22 +2,38 @@
 require_once "config/db.php";
 header("Content-Type: application/json");
 
+/*
+  Forum feed, newest first.
+
+  GET get_questions.php?user_id=&education_level_id=&my_questions=
+      &limit=<page size>&cursor=<next_cursor of the previous page>
+
+  Without `limit` every matching question is returned, as before. With it,
+  pages are cut by keyset on (created_at, question_id) - the same cost for
+  the hundredth page as for the first, and no duplicates or gaps when
+  questions are posted while the user scrolls. `has_more` tells whether to
+  ask again with cursor = `next_cursor`.
+*/
+
 $education_level_id = (int)($_GET['education_level_id'] ?? 0);
 $user_id = (int)($_GET['user_id'] ?? 0);
 $my_questions = (int)($_GET['my_questions'] ?? 0);
+$limit = (int)($_GET['limit'] ?? 0);
+$cursor = $_GET['cursor'] ?? '';
 
 $sql = "
 SELECT q.question_id, q.title, q.description, q.status, q.created_at, q.education_level_id,
        u.full_name as author_name,
        (SELECT COUNT(*) FROM forum_answers a WHERE a.question_id = q.question_id) AS replies,
-       (SELECT COUNT(*) FROM forum_likes l WHERE l.question_id = q.question_id) AS likes_count
+       (SELECT COUNT(*) FROM forum_likes l WHERE l.question_id = q.question_id) AS likes_count,
+       EXISTS(SELECT 1 FROM forum_likes l WHERE l.question_id = q.question_id AND l.user_id = ?) AS user_liked
 FROM forum_questions q
 LEFT JOIN users u ON u.user_id = q.user_id
 ";
 
 $conditions = [];
-$params = [];
-$types = "";
+$params = [$user_id];
+$types = "i";
 
 if ($education_level_id) {
     $conditions[] = "q.education_level_id = ?";
@@ -31,34 +47,55 @@ if ($my_questions && $user_id) {
     $types .= "i";
 }
 
+// Cursor: "<created_at>|<question_id>" of the last question already shown
+if ($limit > 0 && $cursor !== '') {
+    $parts = explode("|", $cursor, 2);
+    if (count($parts) == 2) {
+        $conditions[] = "(q.created_at < ? OR (q.created_at = ? AND q.question_id < ?))";
+        $params[] = $parts[0];
+        $params[] = $parts[0];
+        $params[] = (int)$parts[1];
+        $types .= "ssi";
+    }
+}
+
 if ($conditions) {
     $sql .= " WHERE " . implode(" AND ", $conditions);
 }
 
-$sql .= " ORDER BY q.created_at DESC";
+$sql .= " ORDER BY q.created_at DESC, q.question_id DESC";
 
-$stmt = $conn->prepare($sql);
-if ($params) {
-    $stmt->bind_param($types, ...$params);
+if ($limit > 0) {
+    $limit = min($limit, 100);
+    // One extra row tells us whether another page follows
+    $sql .= " LIMIT " . ($limit + 1);
 }
+
+$stmt = $conn->prepare($sql);
+$stmt->bind_param($types, ...$params);
 $stmt->execute();
 $result = $stmt->get_result();
 
 $questions = [];
 while ($row = $result->fetch_assoc()) {
-    // Check if current user liked this question
-    if ($user_id) {
-        $likeCheck = $conn->prepare("SELECT like_id FROM forum_likes WHERE user_id = ? AND question_id = ?");
-        $likeCheck->bind_param("ii", $user_id, $row['question_id']);
-        $likeCheck->execute();
-        $row['user_liked'] = $likeCheck->get_result()->num_rows > 0;
-    } else {
-        $row['user_liked'] = false;
-    }
+    $row['user_liked'] = $user_id && $row['user_liked'];
     $questions[] = $row;
 }
 
-echo json_encode([
+$response = [
     "status" => true,
     "questions" => $questions
-]);
+];
+
+if ($limit > 0) {
+    $has_more = count($questions) > $limit;
+    if ($has_more) {
+        array_pop($questions);
+    }
+    $last = end($questions);
+    $response["questions"] = $questions;
+    $response["has_more"] = $has_more;
+    $response["next_cursor"] = $has_more ? $last['created_at'] . "|" . $last['question_id'] : null;
+}
+
+echo json_encode($response);
@@ -32,4 +32,4 @@ if (!$res || mysqli_num_rows($res) === 0) {
 
 $job = mysqli_fetch_assoc($res);
 
-success($job);
+success_cacheable($job);
@@ -37,4 +37,4 @@ while ($row = mysqli_fetch_assoc($res)) {
     $jobs[] = $row;
 }
 
-success($jobs);
+success_cacheable($jobs);
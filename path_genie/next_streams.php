@@ -39,4 +39,4 @@ while ($row = mysqli_fetch_assoc($res)) {
     $next_streams[] = $row;
 }
 
-success($next_streams);
+success_cacheable($next_streams);
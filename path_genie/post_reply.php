@@ -24,7 +24,8 @@ if ($stmt) {
     if ($stmt->execute()) {
         echo json_encode([
             "status" => true,
-            "message" => "Reply posted successfully"
+            "message" => "Reply posted successfully",
+            "reply_id" => $stmt->insert_id
         ]);
         
         // Optional: Notify the answer author?
@@ -15,3 +15,29 @@ function error($message, $code = "GENERAL_ERROR") {
     ]);
     exit;
 }
+
+/*
+  Success response for read-only catalog data.
+  Sends an ETag (hash of the body) and answers 304 Not Modified when the
+  client already holds the same body (If-None-Match), so revalidation
+  costs no payload. Client-side TTLs are set per endpoint group in ApiConfig.
+*/
+function success_cacheable($data) {
+    $body = json_encode([
+        "status" => true,
+        "data" => $data
+    ]);
+    $etag = '"' . md5($body) . '"';
+
+    header("ETag: " . $etag);
+    header("Cache-Control: private, max-age=0");
+
+    $ifNoneMatch = trim($_SERVER['HTTP_IF_NONE_MATCH'] ?? '');
+    if ($ifNoneMatch === $etag) {
+        http_response_code(304);
+        exit;
+    }
+
+    echo $body;
+    exit;
+}
@@ -0,0 +1,134 @@
+<?php
+require_once "config/db.php";
+header("Content-Type: application/json");
+
+mysqli_report(MYSQLI_REPORT_ERROR | MYSQLI_REPORT_STRICT);
+
+/*
+  Set the like state of several questions / answers at once.
+
+  POST set_likes.php
+  {
+    "user_id": 1,
+    "likes": [ {"question_id": 5, "liked": true}, {"answer_id": 9, "liked": false} ]
+  }
+
+  Unlike like_question.php / like_answer.php, which toggle, each item says
+  the state it should end in, so sending it twice does no harm. Every item
+  gets a result, in request order, with the like count after the change:
+  {"question_id": 5, "status": true, "liked": true, "likes_count": 4}
+*/
+
+const MAX_LIKES = 50;
+
+$data = json_decode(file_get_contents("php://input"), true);
+
+$user_id = (int)($data['user_id'] ?? 0);
+$likes = $data['likes'] ?? null;
+
+if (!$user_id || !is_array($likes) || count($likes) > MAX_LIKES) {
+    echo json_encode(["status" => false, "message" => "Invalid input"]);
+    exit;
+}
+
+$results = [];
+foreach ($likes as $like) {
+    $question_id = (int)($like['question_id'] ?? 0);
+    $answer_id = (int)($like['answer_id'] ?? 0);
+    $liked = (bool)($like['liked'] ?? false);
+
+    if ($question_id) {
+        $column = "question_id";
+        $id = $question_id;
+    } elseif ($answer_id) {
+        $column = "answer_id";
+        $id = $answer_id;
+    } else {
+        $results[] = ["status" => false, "message" => "Invalid item"];
+        continue;
+    }
+    $result = [$column => $id];
+
+    try {
+        // INSERT IGNORE turns a missing question / answer (FK violation) into
+        // a warning, so check the item still exists first
+        $table = $column == "question_id" ? "forum_questions" : "forum_answers";
+        $exists = $conn->prepare("SELECT 1 FROM $table WHERE $column = ?");
+        $exists->bind_param("i", $id);
+        $exists->execute();
+        if (!$exists->get_result()->fetch_assoc()) {
+            $result["status"] = false;
+            $result["message"] = "Item not found";
+            $results[] = $result;
+            continue;
+        }
+
+        if ($liked) {
+            $stmt = $conn->prepare("INSERT IGNORE INTO forum_likes (user_id, $column) VALUES (?, ?)");
+            $stmt->bind_param("ii", $user_id, $id);
+            $stmt->execute();
+            if ($stmt->affected_rows > 0) {
+                notifyOwner($conn, $column, $id, $user_id);
+            } else {
+                // Nothing inserted: either already liked, or the item was
+                // deleted since the check above and the insert was ignored
+                $check = $conn->prepare("SELECT 1 FROM forum_likes WHERE user_id = ? AND $column = ?");
+                $check->bind_param("ii", $user_id, $id);
+                $check->execute();
+                if (!$check->get_result()->fetch_assoc()) {
+                    $result["status"] = false;
+                    $result["message"] = "Item not found";
+                    $results[] = $result;
+                    continue;
+                }
+            }
+        } else {
+            $stmt = $conn->prepare("DELETE FROM forum_likes WHERE user_id = ? AND $column = ?");
+            $stmt->bind_param("ii", $user_id, $id);
+            $stmt->execute();
+        }
+
+        $count = $conn->prepare("SELECT COUNT(*) AS likes_count FROM forum_likes WHERE $column = ?");
+        $count->bind_param("i", $id);
+        $count->execute();
+
+        $result["status"] = true;
+        $result["liked"] = $liked;
+        $result["likes_count"] = (int)$count->get_result()->fetch_assoc()['likes_count'];
+    } catch (mysqli_sql_exception $e) {
+        // Database error
+        $result["status"] = false;
+        $result["message"] = "Could not update like";
+    }
+    $results[] = $result;
+}
+
+echo json_encode([
+    "status" => true,
+    "results" => $results
+]);
+
+// Tell the author of a newly liked question / answer (if not self), as like_question.php does
+function notifyOwner($conn, $column, $id, $user_id) {
+    if ($column == "question_id") {
+        $ownerStmt = $conn->prepare("SELECT user_id FROM forum_questions WHERE question_id = ?");
+        $type = "like_question";
+        $message = "Someone liked your question";
+    } else {
+        $ownerStmt = $conn->prepare("SELECT user_id FROM forum_answers WHERE answer_id = ?");
+        $type = "like_answer";
+        $message = "Someone liked your answer";
+    }
+    $ownerStmt->bind_param("i", $id);
+    $ownerStmt->execute();
+    $owner = $ownerStmt->get_result()->fetch_assoc();
+
+    if ($owner && $owner['user_id'] != $user_id) {
+        $notifyStmt = $conn->prepare("
+            INSERT INTO notifications (user_id, type, reference_id, from_user_id, message)
+            VALUES (?, ?, ?, ?, ?)
+        ");
+        $notifyStmt->bind_param("isiis", $owner['user_id'], $type, $id, $user_id, $message);
+        $notifyStmt->execute();
+    }
+}
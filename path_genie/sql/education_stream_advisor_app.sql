@@ -40,6 +40,20 @@ CREATE TABLE `ai_chat_history` (
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `catalog_changes`
+--
+
+CREATE TABLE `catalog_changes` (
+  `revision` bigint(20) NOT NULL,
+  `table_name` varchar(64) NOT NULL,
+  `row_id` int(11) NOT NULL,
+  `op` enum('upsert','delete') NOT NULL,
+  `changed_at` timestamp NOT NULL DEFAULT current_timestamp()
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `education_levels`
 --
@@ -63,6 +77,27 @@ INSERT INTO `education_levels` (`education_level_id`, `level_name`, `description
 (6, 'Undergraduate', 'Students who completed a bachelor’s degree'),
 (7, 'Postgraduate', 'Students who completed a master’s degree');
 
+--
+-- Triggers `education_levels`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_education_levels_ad` AFTER DELETE ON `education_levels` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_levels', OLD.education_level_id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_education_levels_ai` AFTER INSERT ON `education_levels` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_levels', NEW.education_level_id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_education_levels_au` AFTER UPDATE ON `education_levels` FOR EACH ROW BEGIN
+    IF OLD.education_level_id <> NEW.education_level_id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_levels', OLD.education_level_id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_levels', NEW.education_level_id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -113,6 +148,27 @@ INSERT INTO `education_level_exams` (`id`, `education_level_id`, `exam_id`) VALU
 (61, 7, 28),
 (62, 7, 29);
 
+--
+-- Triggers `education_level_exams`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_education_level_exams_ad` AFTER DELETE ON `education_level_exams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_exams', OLD.id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_education_level_exams_ai` AFTER INSERT ON `education_level_exams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_exams', NEW.id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_education_level_exams_au` AFTER UPDATE ON `education_level_exams` FOR EACH ROW BEGIN
+    IF OLD.id <> NEW.id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_exams', OLD.id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_exams', NEW.id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -192,6 +248,27 @@ INSERT INTO `education_level_jobs` (`id`, `education_level_id`, `job_id`) VALUES
 (122, 7, 51),
 (123, 7, 52);
 
+--
+-- Triggers `education_level_jobs`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_education_level_jobs_ad` AFTER DELETE ON `education_level_jobs` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_jobs', OLD.id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_education_level_jobs_ai` AFTER INSERT ON `education_level_jobs` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_jobs', NEW.id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_education_level_jobs_au` AFTER UPDATE ON `education_level_jobs` FOR EACH ROW BEGIN
+    IF OLD.id <> NEW.id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_jobs', OLD.id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('education_level_jobs', NEW.id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -248,6 +325,27 @@ INSERT INTO `entrance_exams` (`exam_id`, `exam_name`, `conducting_body`, `exam_s
 (33, 'NIFT Entrance Exam', 'NIFT', 'After 12th-Arts', 'Entrance exam for fashion and design programs', '12th pass from any stream', 'Creative aptitude + design test', 'October – January', 'Admission into NIFT programs'),
 (34, 'XAT', 'XLRI', 'After UG', 'MBA entrance exam for XLRI and partner institutes', 'Bachelor degree', 'Aptitude + Decision Making', 'August – November', 'Admission into MBA programs');
 
+--
+-- Triggers `entrance_exams`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_entrance_exams_ad` AFTER DELETE ON `entrance_exams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('entrance_exams', OLD.exam_id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_entrance_exams_ai` AFTER INSERT ON `entrance_exams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('entrance_exams', NEW.exam_id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_entrance_exams_au` AFTER UPDATE ON `entrance_exams` FOR EACH ROW BEGIN
+    IF OLD.exam_id <> NEW.exam_id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('entrance_exams', OLD.exam_id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('entrance_exams', NEW.exam_id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -480,6 +578,27 @@ INSERT INTO `jobs` (`job_id`, `job_name`, `job_type`, `description`, `required_e
 (97, 'SSC Technical Assistant', 'Government', 'Performs technical duties in government departments', 'B.Sc / BCA / Engineering', 'SSC Technical / CGL', 'Technical Assistant → Technical Officer', '6–12 LPA'),
 (98, 'SSC Clerk (LDC/UDC)', 'Government', 'Performs clerical and administrative work', '12th / Any Graduate', 'SSC CHSL / CGL', 'Clerk → Section Officer', '4–7 LPA');
 
+--
+-- Triggers `jobs`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_jobs_ad` AFTER DELETE ON `jobs` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('jobs', OLD.job_id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_jobs_ai` AFTER INSERT ON `jobs` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('jobs', NEW.job_id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_jobs_au` AFTER UPDATE ON `jobs` FOR EACH ROW BEGIN
+    IF OLD.job_id <> NEW.job_id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('jobs', OLD.job_id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('jobs', NEW.job_id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -1291,6 +1410,27 @@ INSERT INTO `streams` (`stream_id`, `education_level_id`, `stream_name`, `descri
 (38, 7, 'NET / SET / JRF Qualification', 'National-level eligibility qualification for teaching and funded research positions in universities and colleges.', 'Subject Knowledge, Research Aptitude, Teaching Aptitude', 'Postgraduates aiming for assistant professor or research fellow positions', 'Assistant Professor, Research Fellow (JRF), Academic Careers', '6–12 Months', 'Hard'),
 (39, 7, 'Professional Doctorate (Doctor of Laws)', 'Practice-oriented doctoral programs focused on applied research and professional expertise.', 'Advanced Professional Studies, Applied Research, Case Studies', 'Professionals seeking doctoral-level expertise with industry or legal specialization', 'Senior Academic Roles, Industry-Academic Leadership, Legal Expertise', '3–5 Years', 'Hard');
 
+--
+-- Triggers `streams`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_streams_ad` AFTER DELETE ON `streams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('streams', OLD.stream_id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_streams_ai` AFTER INSERT ON `streams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('streams', NEW.stream_id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_streams_au` AFTER UPDATE ON `streams` FOR EACH ROW BEGIN
+    IF OLD.stream_id <> NEW.stream_id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('streams', OLD.stream_id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('streams', NEW.stream_id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -1465,6 +1605,27 @@ INSERT INTO `stream_exams` (`id`, `stream_id`, `exam_id`, `exam_role`) VALUES
 (97, 36, 24, 'OPTIONAL'),
 (98, 24, 28, 'OPTIONAL');
 
+--
+-- Triggers `stream_exams`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_stream_exams_ad` AFTER DELETE ON `stream_exams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_exams', OLD.id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_stream_exams_ai` AFTER INSERT ON `stream_exams` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_exams', NEW.id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_stream_exams_au` AFTER UPDATE ON `stream_exams` FOR EACH ROW BEGIN
+    IF OLD.id <> NEW.id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_exams', OLD.id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_exams', NEW.id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -1702,6 +1863,27 @@ INSERT INTO `stream_jobs` (`id`, `stream_id`, `job_id`, `eligibility_strength`)
 (322, 25, 86, 'PRIMARY'),
 (323, 25, 85, 'PRIMARY');
 
+--
+-- Triggers `stream_jobs`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_stream_jobs_ad` AFTER DELETE ON `stream_jobs` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_jobs', OLD.id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_stream_jobs_ai` AFTER INSERT ON `stream_jobs` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_jobs', NEW.id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_stream_jobs_au` AFTER UPDATE ON `stream_jobs` FOR EACH ROW BEGIN
+    IF OLD.id <> NEW.id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_jobs', OLD.id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_jobs', NEW.id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -1778,6 +1960,27 @@ INSERT INTO `stream_progression` (`id`, `current_stream_id`, `next_stream_id`, `
 (63, 24, 37, 'ACADEMIC'),
 (68, 25, 24, 'ACADEMIC');
 
+--
+-- Triggers `stream_progression`
+--
+DELIMITER $$
+CREATE TRIGGER `trg_stream_progression_ad` AFTER DELETE ON `stream_progression` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_progression', OLD.id, 'delete')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_stream_progression_ai` AFTER INSERT ON `stream_progression` FOR EACH ROW INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_progression', NEW.id, 'upsert')
+$$
+DELIMITER ;
+DELIMITER $$
+CREATE TRIGGER `trg_stream_progression_au` AFTER UPDATE ON `stream_progression` FOR EACH ROW BEGIN
+    IF OLD.id <> NEW.id THEN
+        INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_progression', OLD.id, 'delete');
+    END IF;
+    INSERT INTO catalog_changes (table_name, row_id, op) VALUES ('stream_progression', NEW.id, 'upsert');
+END
+$$
+DELIMITER ;
+
 -- --------------------------------------------------------
 
 --
@@ -2307,6 +2510,12 @@ ALTER TABLE `ai_chat_history`
   ADD PRIMARY KEY (`chat_id`),
   ADD KEY `user_id` (`user_id`);
 
+--
+-- Indexes for table `catalog_changes`
+--
+ALTER TABLE `catalog_changes`
+  ADD PRIMARY KEY (`revision`);
+
 --
 -- Indexes for table `education_levels`
 --
@@ -2340,7 +2549,8 @@ ALTER TABLE `entrance_exams`
 --
 ALTER TABLE `forum_answers`
   ADD PRIMARY KEY (`answer_id`),
-  ADD KEY `question_id` (`question_id`);
+  ADD KEY `question_id` (`question_id`),
+  ADD KEY `idx_thread` (`question_id`,`created_at`,`answer_id`);
 
 --
 -- Indexes for table `forum_answer_likes`
@@ -2364,7 +2574,9 @@ ALTER TABLE `forum_likes`
 --
 ALTER TABLE `forum_questions`
   ADD PRIMARY KEY (`question_id`),
-  ADD KEY `education_level_id` (`education_level_id`);
+  ADD KEY `education_level_id` (`education_level_id`),
+  ADD KEY `idx_feed` (`created_at`,`question_id`),
+  ADD KEY `idx_level_feed` (`education_level_id`,`created_at`,`question_id`);
 
 --
 -- Indexes for table `forum_replies`
@@ -2500,6 +2712,12 @@ ALTER TABLE `user_settings`
 ALTER TABLE `ai_chat_history`
   MODIFY `chat_id` int(11) NOT NULL AUTO_INCREMENT;
 
+--
+-- AUTO_INCREMENT for table `catalog_changes`
+--
+ALTER TABLE `catalog_changes`
+  MODIFY `revision` bigint(20) NOT NULL AUTO_INCREMENT;
+
 --
 -- AUTO_INCREMENT for table `education_levels`
 --
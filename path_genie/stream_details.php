@@ -34,4 +34,4 @@ if (!$stream) {
     error("Stream not found");
 }
 
-success($stream);
+success_cacheable($stream);
@@ -31,4 +31,4 @@ while ($row = mysqli_fetch_assoc($res)) {
     $streams[] = $row;
 }
 
-success($streams);
+success_cacheable($streams);